@@ -66,11 +66,8 @@ android {
 }
 
 dependencies {
-    // Include all JAR files in the libs directory
-    implementation(fileTree(mapOf(
-        "dir" to "libs", 
-        "include" to listOf("*.jar")
-    )))
+    // Timetable engine (generators, models, Choco Solver and jgrapht)
+    implementation(project(":timetable-core"))
     
     // Regular dependencies
     implementation(libs.appcompat)
@@ -86,14 +83,6 @@ dependencies {
     implementation(libs.firebase.storage)
     implementation(libs.play.services.maps)
     
-    // Add Trove library for collections (needed by Choco Solver)
-    implementation("net.sf.trove4j:trove4j:3.0.3") 
-    
-    // Choco Solver - Using local JAR file from libs directory
-    // implementation("org.choco-solver:choco-solver:4.10.7") {
-    //     exclude(group = "org.scala-lang", module = "scala-library")
-    // }
-    
     testImplementation(libs.junit)
     androidTestImplementation(libs.ext.junit)
     androidTestImplementation(libs.espresso.core)
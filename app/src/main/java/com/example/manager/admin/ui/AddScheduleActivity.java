@@ -19,6 +19,8 @@ import com.example.manager.R;
 import com.example.manager.databinding.ActivityAddScheduleBinding;
 import com.example.manager.lecturar.ui.ViewScheduleActivity;
 import com.example.manager.model.Lecturer;
+import com.example.manager.timetable.ConflictIndex;
+import com.example.manager.timetable.ConflictIndexSync;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.database.DataSnapshot;
 import com.google.firebase.database.DatabaseError;
@@ -64,6 +66,16 @@ public class AddScheduleActivity extends AppCompatActivity {
     private String selectedStartTime = "";
     private String selectedEndTime = "";
 
+    private ConflictIndexSync scheduleSync;
+    private DataSnapshot preferences; // Downloaded once, then filtered locally on every change
+    private boolean preferencesLoading;
+    private final Runnable onSchedulesChanged = () -> {
+        if (!selectedStartTime.isEmpty() && !selectedEndTime.isEmpty()) {
+            filterRoomsByAvailability();
+            filterLecturersByPreferences();
+        }
+    };
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -77,6 +89,8 @@ public class AddScheduleActivity extends AppCompatActivity {
         });
 
         databaseReference = FirebaseDatabase.getInstance().getReference();
+        scheduleSync = ConflictIndexSync.schedules();
+        scheduleSync.addListener(onSchedulesChanged);
 
         setupDayCheckBoxListeners();
         setupDatePickers();
@@ -97,6 +111,12 @@ public class AddScheduleActivity extends AppCompatActivity {
         }
     }
 
+    @Override
+    protected void onDestroy() {
+        scheduleSync.removeListener(onSchedulesChanged);
+        super.onDestroy();
+    }
+
     private void setupDatePickers() {
         // Start Date Picker
         binding.startDateText.setClickable(true);
@@ -348,27 +368,20 @@ public class AddScheduleActivity extends AppCompatActivity {
         String selectedRoomName = (String) binding.roomSpinner.getSelectedItem();
 
         // Check for conflicting schedules
+        if (!scheduleSync.isReady()) {
+            Toast.makeText(this, "Schedules are still loading, please try again", Toast.LENGTH_SHORT).show();
+            return;
+        }
         String courseId = getIntent().getStringExtra("courseId");
-        databaseReference.child("timetables").get().addOnCompleteListener(task -> {
-            if (task.isSuccessful()) {
-                boolean hasConflict = false;
-                for (DataSnapshot snapshot : task.getResult().getChildren()) {
-                    // Skip the current course being edited
-                    if (courseId != null && snapshot.getKey().equals(courseId)) {
-                        continue;
-                    }
-
-                    String lecturerId = snapshot.child("lecturerId").getValue(String.class);
-                    String roomId = snapshot.child("roomId").getValue(String.class);
-                    String existingTimeSlot = snapshot.child("timeSlot").getValue(String.class);
-                    List<String> days = (List<String>) snapshot.child("day").getValue();
-
-                }
-                saveTimetableData();
-            } else {
-                Toast.makeText(this, "Failed to validate schedule", Toast.LENGTH_SHORT).show();
-            }
-        });
+        List<String> conflicts = scheduleSync.getIndex().conflictsWith(selectedRoomId, selectedLecturerId,
+                getSelectedDays(), selectedStartTime, selectedEndTime, courseId);
+        if (!conflicts.isEmpty()) {
+            ConflictIndex.Entry conflict = scheduleSync.getIndex().get(conflicts.get(0));
+            String clash = selectedRoomId.equals(conflict.getRoomId()) ? selectedRoomName : selectedLecturerName;
+            Toast.makeText(this, clash + " is already booked at this time", Toast.LENGTH_SHORT).show();
+            return;
+        }
+        saveTimetableData();
     }
 
     private void loadRooms() {
@@ -406,39 +419,19 @@ public class AddScheduleActivity extends AppCompatActivity {
             return;
         }
 
-        databaseReference.child("timetables").get().addOnCompleteListener(task -> {
-            if (task.isSuccessful()) {
-                // Assume all rooms are available
-                List<String> unavailableRoomIds = new ArrayList<>();
-
-                for (DataSnapshot snapshot : task.getResult().getChildren()) {
-                    String roomId = snapshot.child("roomId").getValue(String.class);
-                    String courseTimeSlot = snapshot.child("timeSlot").getValue(String.class);
-                    List<String> courseDays = (List<String>) snapshot.child("day").getValue();
-
-                    // Skip if not related to our time/day selection
-                    if (roomId == null || courseTimeSlot == null || courseDays == null) {
-                        continue;
-                    }
-
-                    // Check for overlap
-                    if (hasTimeOverlap(courseTimeSlot, selectedStartTime + "-" + selectedEndTime) && hasDayOverlap(courseDays)) {
-                        unavailableRoomIds.add(roomId);
-                    }
-                }
-
-                // Add available rooms to filtered lists
-                for (int i = 0; i < roomIds.size(); i++) {
-                    String roomId = roomIds.get(i);
-                    if (!unavailableRoomIds.contains(roomId)) {
-                        filteredRoomIds.add(roomId);
-                        filteredRoomNames.add(roomNames.get(i));
-                    }
-                }
-
-                updateRoomSpinner();
+        // Rooms booked by other schedules at this time are left out
+        ConflictIndex index = scheduleSync.getIndex();
+        String courseId = getIntent().getStringExtra("courseId");
+        List<String> selectedDays = getSelectedDays();
+        for (int i = 0; i < roomIds.size(); i++) {
+            String roomId = roomIds.get(i);
+            if (index.isRoomFree(roomId, selectedDays, selectedStartTime, selectedEndTime, courseId)) {
+                filteredRoomIds.add(roomId);
+                filteredRoomNames.add(roomNames.get(i));
             }
-        });
+        }
+
+        updateRoomSpinner();
     }
 
     private void updateRoomSpinner() {
@@ -447,61 +440,58 @@ public class AddScheduleActivity extends AppCompatActivity {
     }
 
     private void filterLecturersByPreferences() {
+        if (preferences != null) {
+            applyLecturerFilter();
+            return;
+        }
+        // The download in flight filters with whatever is selected when it arrives
+        if (preferencesLoading) {
+            return;
+        }
+        preferencesLoading = true;
         databaseReference.child("preferences").get().addOnCompleteListener(task -> {
+            preferencesLoading = false;
             if (task.isSuccessful()) {
-                List<Lecturer> lecturers = new ArrayList<>();
-                filteredLecturerIds.clear();
-                List<String> filteredLecNames = new ArrayList<>();
-                List<String> filteredLecContact = new ArrayList<>();
+                preferences = task.getResult();
+                applyLecturerFilter();
+            }
+        });
+    }
 
-                // Step 1: Populate initial lecturer list based on preferences
-                for (DataSnapshot snapshot : task.getResult().getChildren()) {
-                    String lecturerId = snapshot.getKey();
-                    String lecturerName = snapshot.child("lecName").getValue(String.class);
-                    String lecturerContact = snapshot.child("lecContact").getValue(String.class);
-
-                    if (lecturerId != null && lecturerName != null) {
-                        List<String> preferredDays = (List<String>) snapshot.child("day").getValue();
-                        String preferredHours = snapshot.child("times").getValue(String.class);
-                        if (matchesSelectedDays(preferredDays)) {
-                            int proximityScore = calculateProximity(preferredHours, selectedStartTime, selectedEndTime);
-                            if (proximityScore != Integer.MAX_VALUE) {
-                                lecturers.add(new Lecturer(lecturerId, lecturerName, lecturerContact, proximityScore));
-                            }
-                        }
+    private void applyLecturerFilter() {
+        List<Lecturer> lecturers = new ArrayList<>();
+        filteredLecturerIds.clear();
+        List<String> filteredLecNames = new ArrayList<>();
+        List<String> filteredLecContact = new ArrayList<>();
+
+        // Step 1: Populate initial lecturer list based on preferences
+        for (DataSnapshot snapshot : preferences.getChildren()) {
+            String lecturerId = snapshot.getKey();
+            String lecturerName = snapshot.child("lecName").getValue(String.class);
+            String lecturerContact = snapshot.child("lecContact").getValue(String.class);
+
+            if (lecturerId != null && lecturerName != null) {
+                List<String> preferredDays = (List<String>) snapshot.child("day").getValue();
+                String preferredHours = snapshot.child("times").getValue(String.class);
+                if (matchesSelectedDays(preferredDays)) {
+                    int proximityScore = calculateProximity(preferredHours, selectedStartTime, selectedEndTime);
+                    if (proximityScore != Integer.MAX_VALUE) {
+                        lecturers.add(new Lecturer(lecturerId, lecturerName, lecturerContact, proximityScore));
                     }
                 }
+            }
+        }
 
-                // Step 2: Check timetable conflicts
-                databaseReference.child("timetables").get().addOnCompleteListener(conflictTask -> {
-                    if (conflictTask.isSuccessful()) {
-                        List<String> lecToRemove = new ArrayList<>();
-
-                        for (DataSnapshot snapshot : conflictTask.getResult().getChildren()) {
-                            String courseId = getIntent().getStringExtra("courseId");
-                            if (courseId != null && snapshot.getKey().equals(courseId)) {
-                                continue;  // Skip the current course
-                            }
-
-                            String lecId = snapshot.child("lecturerId").getValue(String.class);
-                            String timeSlot = snapshot.child("timeSlot").getValue(String.class);
-                            List<String> days = (List<String>) snapshot.child("day").getValue();
-
-                            if (lecId != null && timeSlot != null && days != null) {
-                                if (hasTimeOverlap(timeSlot, selectedStartTime + "-" + selectedEndTime) && hasDayOverlap(days)) {
-                                    lecToRemove.add(lecId);
-                                }
-                            }
-                        }
-
-                        lecturers.removeIf(lecturer -> lecToRemove.contains(lecturer.getId()));
-
-                        updateLecturerLists(lecturers, filteredLecNames, filteredLecContact);
-                    }
-                });
+        // Step 2: Check timetable conflicts
+        if (!selectedStartTime.isEmpty() && !selectedEndTime.isEmpty()) {
+            ConflictIndex index = scheduleSync.getIndex();
+            String courseId = getIntent().getStringExtra("courseId");
+            List<String> selectedDays = getSelectedDays();
+            lecturers.removeIf(lecturer -> !index.isLecturerFree(lecturer.getId(), selectedDays,
+                    selectedStartTime, selectedEndTime, courseId));
+        }
 
-            }
-        });
+        updateLecturerLists(lecturers, filteredLecNames, filteredLecContact);
     }
 
     private void updateLecturerLists(List<Lecturer> lecturers, List<String> filteredLecNames, List<String> filteredLecContact) {
@@ -578,32 +568,6 @@ public class AddScheduleActivity extends AppCompatActivity {
         return selectedDays;
     }
 
-    private boolean hasTimeOverlap(String timeSlot1, String timeSlot2) {
-        try {
-            String[] times1 = timeSlot1.split("-");
-            String[] times2 = timeSlot2.split("-");
-
-            String start1 = times1[0].trim();
-            String end1 = times1[1].trim();
-            String start2 = times2[0].trim();
-            String end2 = times2[1].trim();
-
-            return !(isTimeBefore(end1, start2) || isTimeBefore(end2, start1));
-        } catch (Exception e) {
-            return false;
-        }
-    }
-
-    private boolean hasDayOverlap(List<String> days) {
-        List<String> selectedDays = getSelectedDays();
-        for (String day : selectedDays) {
-            if (days.contains(day)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     private void saveTimetableData() {
         String courseName = binding.courseNameEditText.getText().toString();
         String duration = binding.classDurationEditText.getText().toString();
@@ -677,10 +641,6 @@ public class AddScheduleActivity extends AppCompatActivity {
         }
     }
 
-    private boolean isTimeBefore(String time1, String time2) {
-        return time1.compareTo(time2) < 0;
-    }
-
     private boolean isTimeAfterOrEqual(String time1, String time2) {
         return time1.compareTo(time2) <= 0;
     }
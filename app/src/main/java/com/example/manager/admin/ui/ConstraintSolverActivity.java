@@ -31,14 +31,22 @@ import com.example.manager.admin.model.Resource;
 import com.example.manager.admin.model.TimetableEntry;
 import com.example.manager.model.Lecturer;
 import com.example.manager.model.User;
+import com.example.manager.timetable.AndroidLogSink;
 import com.example.manager.timetable.ChocoSolverTimetableGenerator;
 import com.example.manager.timetable.Course;
 import com.example.manager.timetable.CourseConverter;
+import com.example.manager.timetable.RoomFilter;
+import com.example.manager.timetable.SessionIds;
 import com.example.manager.timetable.SimpleTimetableGenerator;
 import com.example.manager.timetable.Timetable;
 import com.example.manager.timetable.TimetableGenerator;
 import com.example.manager.timetable.TimetableGeneratorOptions;
-import com.example.manager.timetable.TimetableSession;
+import com.example.manager.timetable.cache.CachingTimetableGenerator;
+import com.example.manager.timetable.pareto.ParetoCandidate;
+import com.example.manager.timetable.pareto.ParetoTimetableGenerator;
+import com.example.manager.timetable.cache.TimetableCache;
+import com.example.manager.timetable.pipeline.PipelineTimetableGenerator;
+import com.example.manager.timetable.remote.RemoteTimetableGenerator;
 import com.example.manager.timetable.TimetableSession;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.database.DataSnapshot;
@@ -47,8 +55,10 @@ import com.google.firebase.database.DatabaseReference;
 import com.google.firebase.database.FirebaseDatabase;
 import com.google.firebase.database.ValueEventListener;
 
+import java.io.File;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -56,7 +66,6 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
-import java.util.UUID;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -69,8 +78,18 @@ public class ConstraintSolverActivity extends AppCompatActivity {
     
     // Enum for solver types
     private enum SolverType {
-        SIMPLE,
-        CHOCO
+        SIMPLE("simple", "Simple"),
+        CHOCO("choco", "Choco"),
+        HYBRID("hybrid", "Hybrid"),
+        PARETO("choco-pareto", "Pareto");
+        
+        final String generatorName; // Name in TimetableGenerators
+        final String displayName;
+        
+        SolverType(String generatorName, String displayName) {
+            this.generatorName = generatorName;
+            this.displayName = displayName;
+        }
     }
     
     // UI Elements
@@ -84,6 +103,8 @@ public class ConstraintSolverActivity extends AppCompatActivity {
     private RadioGroup solverTypeRadioGroup;
     private RadioButton simpleSolverRadioButton;
     private RadioButton chocoSolverRadioButton;
+    private RadioButton hybridSolverRadioButton;
+    private RadioButton paretoSolverRadioButton;
     private TextView solverHintTextView;
     
     // Currently selected solver type
@@ -100,6 +121,9 @@ public class ConstraintSolverActivity extends AppCompatActivity {
     // Background processing
     private ExecutorService executorService = Executors.newSingleThreadExecutor();
     private Handler mainHandler = new Handler(Looper.getMainLooper());
+    
+    // Generated timetables shared by all instances of this screen
+    private static TimetableCache timetableCache;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -115,6 +139,9 @@ public class ConstraintSolverActivity extends AppCompatActivity {
         // Initialize Firebase
         database = FirebaseDatabase.getInstance().getReference();
         
+        // Route timetable engine logging to logcat
+        AndroidLogSink.install();
+        
         // Initialize UI elements
         initializeUI();
         
@@ -134,6 +161,8 @@ public class ConstraintSolverActivity extends AppCompatActivity {
         solverTypeRadioGroup = findViewById(R.id.solverTypeRadioGroup);
         simpleSolverRadioButton = findViewById(R.id.simpleSolverRadioButton);
         chocoSolverRadioButton = findViewById(R.id.chocoSolverRadioButton);
+        hybridSolverRadioButton = findViewById(R.id.hybridSolverRadioButton);
+        paretoSolverRadioButton = findViewById(R.id.paretoSolverRadioButton);
         solverHintTextView = findViewById(R.id.solverHintTextView);
         
         // Set up spinner for max hours
@@ -153,6 +182,14 @@ public class ConstraintSolverActivity extends AppCompatActivity {
                 selectedSolverType = SolverType.CHOCO;
                 Log.d(TAG, "Selected Choco Solver");
                 solverHintTextView.setText(R.string.choco_solver_desc);
+            } else if (checkedId == R.id.hybridSolverRadioButton) {
+                selectedSolverType = SolverType.HYBRID;
+                Log.d(TAG, "Selected Hybrid Solver");
+                solverHintTextView.setText(R.string.hybrid_solver_desc);
+            } else if (checkedId == R.id.paretoSolverRadioButton) {
+                selectedSolverType = SolverType.PARETO;
+                Log.d(TAG, "Selected Pareto Solver");
+                solverHintTextView.setText(R.string.pareto_solver_desc);
             }
         });
         
@@ -165,7 +202,7 @@ public class ConstraintSolverActivity extends AppCompatActivity {
         statusTextView.setVisibility(View.VISIBLE);
         
         // Different status message based on solver type
-        String solverType = selectedSolverType == SolverType.CHOCO ? "Choco" : "Simple";
+        String solverType = selectedSolverType.displayName;
         statusTextView.setText("Generating timetable using " + solverType + " Solver...");
         
         // Disable generate button
@@ -380,6 +417,16 @@ public class ConstraintSolverActivity extends AppCompatActivity {
         });
     }
     
+    /**
+     * Gets the process-wide timetable cache, backed by the app's private files directory.
+     */
+    private static synchronized TimetableCache getTimetableCache(File filesDir) {
+        if (timetableCache == null) {
+            timetableCache = new TimetableCache(8, new File(filesDir, "timetable-cache"), 32);
+        }
+        return timetableCache;
+    }
+    
     private void generateTimetable() {
         // Run the timetable generator in a background thread
         executorService.execute(() -> {
@@ -391,17 +438,49 @@ public class ConstraintSolverActivity extends AppCompatActivity {
                 
                 // Create a timetable generator based on the selected solver type
                 TimetableGenerator generator;
-                if (selectedSolverType == SolverType.CHOCO) {
+                ParetoTimetableGenerator paretoGenerator = null;
+                String solverServiceUrl = getString(R.string.solver_service_url);
+                if (!solverServiceUrl.isEmpty() && selectedSolverType != SolverType.PARETO) {
+                    // Solve on the solver service; falls back to on-device if it is unreachable.
+                    // Pareto runs stay on the device, since the service returns one timetable and not the front
+                    RemoteTimetableGenerator remoteGenerator = new RemoteTimetableGenerator(solverServiceUrl,
+                            selectedSolverType.generatorName);
+                    remoteGenerator.setProgressListener(status -> runOnUiThread(() ->
+                            statusTextView.setText("Solver service: " + status.getState().toLowerCase()
+                                    + (status.getQueuePosition() > 0 ? " (" + status.getQueuePosition() + " ahead)" : "")
+                                    + ", " + status.getElapsedMillis() / 1000 + " s")));
+                    generator = remoteGenerator;
+                } else if (selectedSolverType == SolverType.CHOCO) {
                     generator = new ChocoSolverTimetableGenerator();
+                } else if (selectedSolverType == SolverType.HYBRID) {
+                    // Greedy first, then Choco seeded with the greedy result
+                    PipelineTimetableGenerator pipeline = PipelineTimetableGenerator.hybrid();
+                    pipeline.setStageListener((stageName, best, improved) -> runOnUiThread(() ->
+                            statusTextView.setText("Finished " + stageName + " stage"
+                                    + (best != null ? ", best so far: " + best.getSessions().size() + " sessions" : ""))));
+                    generator = pipeline;
+                } else if (selectedSolverType == SolverType.PARETO) {
+                    // Several non-dominated timetables; the admin picks one before saving
+                    paretoGenerator = new ParetoTimetableGenerator();
+                    generator = paretoGenerator;
                 } else {
                     generator = new SimpleTimetableGenerator();
                 }
                 
+                // Identical inputs and options return the previously generated timetable.
+                // Pareto runs are not cached, since the cache keeps one timetable and not the front.
+                if (paretoGenerator == null) {
+                    generator = new CachingTimetableGenerator(generator,
+                            selectedSolverType.generatorName, getTimetableCache(getFilesDir()));
+                }
+                
                 // Create options object based on UI settings
                 TimetableGeneratorOptions options = new TimetableGeneratorOptions();
                 options.setAvoidBackToBackClasses(avoidBackToBackCheckbox.isChecked());
                 options.setPreferEvenDistribution(preferEvenDistributionCheckbox.isChecked());
                 options.setMaxHoursPerDay((Integer) maxHoursSpinner.getSelectedItem());
+                options.setFilter(new RoomFilter(Arrays.asList(
+                        getResources().getStringArray(R.array.excluded_room_names))));
                 
                 // Generate timetable
                 Timetable timetable = generator.generateTimetable(resources, lecturers, courses, options);
@@ -456,7 +535,7 @@ public class ConstraintSolverActivity extends AppCompatActivity {
                         if (resource != null && lecturer != null) {
                             for (int i = 0; i < course.getRequiredSessionsPerWeek(); i++) {
                                 TimetableSession session = new TimetableSession();
-                                session.setId(UUID.randomUUID().toString());
+                                session.setId(SessionIds.random());
                                 session.setCourseName(course.getName());
                                 session.setCourseId(course.getId());
                                 session.setSessionType(course.getCode() != null ? course.getCode() : "LECTURE");
@@ -504,6 +583,13 @@ public class ConstraintSolverActivity extends AppCompatActivity {
                     Log.d(TAG, "All courses successfully included in the timetable!");
                 }
                 
+                // Let the admin choose between the trade-offs of a Pareto run
+                if (paretoGenerator != null && paretoGenerator.getLastCandidates().size() > 1) {
+                    List<ParetoCandidate> candidates = paretoGenerator.getLastCandidates();
+                    mainHandler.post(() -> showCandidatePicker(candidates));
+                    return;
+                }
+                
                 // Save the timetable to Firebase
                 saveTimetable(timetable);
                 
@@ -658,9 +744,34 @@ public class ConstraintSolverActivity extends AppCompatActivity {
         }
     }
     
+    /**
+     * Lets the administrator pick one of the non-dominated timetables of a Pareto run to save.
+     */
+    private void showCandidatePicker(List<ParetoCandidate> candidates) {
+        String[] labels = new String[candidates.size()];
+        for (int i = 0; i < candidates.size(); i++) {
+            labels[i] = candidates.get(i).describe();
+        }
+        statusTextView.setText("Found " + candidates.size() + " timetables with different trade-offs");
+        
+        new AlertDialog.Builder(this)
+                .setTitle("Choose a Timetable")
+                .setItems(labels, (dialog, which) -> {
+                    Log.d(TAG, "User chose Pareto candidate: " + labels[which]);
+                    saveTimetable(candidates.get(which).getTimetable());
+                })
+                .setNegativeButton("Cancel", (dialog, which) -> {
+                    progressBar.setVisibility(View.GONE);
+                    statusTextView.setText("No timetable saved");
+                    generateButton.setEnabled(true);
+                })
+                .setCancelable(false)
+                .show();
+    }
+    
     private void showSuccess(String timetableId) {
         progressBar.setVisibility(View.GONE);
-        String solverType = selectedSolverType == SolverType.CHOCO ? "Choco" : "Simple";
+        String solverType = selectedSolverType.displayName;
         statusTextView.setText("Timetable successfully generated using " + solverType + " Solver! Redirecting to view...");
         
         // Re-enable the generate button
@@ -692,8 +803,7 @@ public class ConstraintSolverActivity extends AppCompatActivity {
             Log.e(TAG, "Error during timetable generation", e);
             progressBar.setVisibility(View.GONE);
             
-            String errorPrefix = selectedSolverType == SolverType.CHOCO ?
-                "Error with Choco Solver: " : "Error with Simple Solver: ";
+            String errorPrefix = "Error with " + selectedSolverType.displayName + " Solver: ";
             
             // Provide specific error messages based on the solver type
             if (selectedSolverType == SolverType.CHOCO && e instanceof UnsatisfiedLinkError) {
@@ -2,6 +2,7 @@ package com.example.manager.admin.ui;
 
 import android.app.Dialog;
 import android.os.Bundle;
+import android.text.TextUtils;
 import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -274,6 +275,7 @@ public class CourseManagementActivity extends AppCompatActivity implements Cours
         EditText nameEditText = dialogView.findViewById(R.id.courseName);
         EditText codeEditText = dialogView.findViewById(R.id.courseCode);
         EditText lecturesEditText = dialogView.findViewById(R.id.courseLectures);
+        EditText studentGroupsEditText = dialogView.findViewById(R.id.courseStudentGroups);
         Spinner lecturerSpinner = dialogView.findViewById(R.id.lecturerSpinner);
         Spinner resourceSpinner = dialogView.findViewById(R.id.resourceSpinner);
         Spinner departmentSpinner = dialogView.findViewById(R.id.departmentSpinner);
@@ -301,6 +303,9 @@ public class CourseManagementActivity extends AppCompatActivity implements Cours
             nameEditText.setText(course.getName());
             codeEditText.setText(course.getCode());
             lecturesEditText.setText(String.valueOf(course.getNumberOfLectures()));
+            if (course.getStudentGroups() != null) {
+                studentGroupsEditText.setText(TextUtils.join(", ", course.getStudentGroups()));
+            }
             
             // Set selected department
             String department = course.getDepartment();
@@ -352,6 +357,7 @@ public class CourseManagementActivity extends AppCompatActivity implements Cours
             String name = nameEditText.getText().toString().trim();
             String code = codeEditText.getText().toString().trim();
             String lecturesStr = lecturesEditText.getText().toString().trim();
+            List<String> studentGroups = parseStudentGroups(studentGroupsEditText.getText().toString());
             
             // Get selected department from spinner
             String department = departmentSpinner.getSelectedItem().toString();
@@ -404,6 +410,7 @@ public class CourseManagementActivity extends AppCompatActivity implements Cours
                 if (id != null) {
                     CourseItem newCourse = new CourseItem(id, name, code, durationHours, department, 
                             lectures, labs, adminId, lecturerId, resourceId);
+                    newCourse.setStudentGroups(studentGroups);
                     databaseReference.child(id).setValue(newCourse)
                             .addOnSuccessListener(aVoid -> {
                                 Toast.makeText(CourseManagementActivity.this, "Course added successfully", 
@@ -422,6 +429,7 @@ public class CourseManagementActivity extends AppCompatActivity implements Cours
                 course.setNumberOfLabs(labs);
                 course.setAssignedLecturerId(lecturerId);
                 course.setAssignedResourceId(resourceId);
+                course.setStudentGroups(studentGroups);
                 
                 databaseReference.child(course.getId()).setValue(course)
                         .addOnSuccessListener(aVoid -> {
@@ -435,6 +443,20 @@ public class CourseManagementActivity extends AppCompatActivity implements Cours
         });
     }
 
+    /**
+     * Splits a comma separated list of student group IDs, dropping blanks and duplicates.
+     */
+    private List<String> parseStudentGroups(String text) {
+        List<String> groups = new ArrayList<>();
+        for (String group : text.split(",")) {
+            String trimmed = group.trim();
+            if (!trimmed.isEmpty() && !groups.contains(trimmed)) {
+                groups.add(trimmed);
+            }
+        }
+        return groups;
+    }
+
     @Override
     public void onCourseClick(CourseItem course, int position) {
         // Show course details or other actions
@@ -31,6 +31,7 @@ import com.example.manager.admin.adapter.ResourceAdapter;
 import com.example.manager.admin.model.Resource;
 import com.example.manager.databinding.ActivityResourceManagementBinding;
 import com.example.manager.databinding.DialogAddEditResourceBinding;
+import com.example.manager.timetable.RoomAvailability;
 import com.google.android.gms.maps.CameraUpdateFactory;
 import com.google.android.gms.maps.GoogleMap;
 import com.google.android.gms.maps.SupportMapFragment;
@@ -47,6 +48,7 @@ import com.google.firebase.database.ValueEventListener;
 import java.io.IOException;
 import java.net.DatagramSocketImpl;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 
@@ -199,6 +201,9 @@ public class ResourceManagementActivity extends AppCompatActivity {
             selectedLocation = resourceToEdit.getLocation();
             dialogBinding.locationText.setText(resourceToEdit.getLocation());
             dialogBinding.availabilitySwitch.setChecked("yes".equalsIgnoreCase(resourceToEdit.getIsAvailable()));
+            if (resourceToEdit.getUnavailableWindows() != null) {
+                dialogBinding.windowsEditText.setText(String.join("\n", resourceToEdit.getUnavailableWindows()));
+            }
         } else {
             // When adding a new resource, default to "Room" type (index 0)
             dialogBinding.typeSpinner.setSelection(0);
@@ -226,6 +231,7 @@ public class ResourceManagementActivity extends AppCompatActivity {
                 boolean isAvailable = dialogBinding.availabilitySwitch.isChecked();
                 String availability = isAvailable ? "yes" : "no";
                 String location = selectedLocation.trim();
+                List<String> windows = parseWindows(dialogBinding.windowsEditText.getText().toString());
 
                 // Validate form data
                 if (name.isEmpty()) {
@@ -248,10 +254,15 @@ public class ResourceManagementActivity extends AppCompatActivity {
                     return;
                 }
 
+                if (windows == null) {
+                    dialogBinding.windowsTextInputLayout.setError("Use lines like \"Monday 09:00-11:00\" or \"Friday\"");
+                    return;
+                }
+
                 // Save the resource (new or updated)
                 if (resourceToEdit == null) {
                     // Check for duplicate names before adding a new resource
-                    checkDuplicateAndAdd(name, type, capacity, location, isAvailable, dialog);
+                    checkDuplicateAndAdd(name, type, capacity, location, isAvailable, windows, dialog);
                 } else {
                     // Update existing resource
                     resourceToEdit.setName(name);
@@ -259,6 +270,7 @@ public class ResourceManagementActivity extends AppCompatActivity {
                     resourceToEdit.setCapacity(capacity);
                     resourceToEdit.setIsAvailable(availability);
                     resourceToEdit.setLocation(location);
+                    resourceToEdit.setUnavailableWindows(windows.isEmpty() ? null : windows);
                     
                     // Save to Firebase and dismiss dialog on success
                     databaseReference.child(resourceToEdit.getId()).setValue(resourceToEdit)
@@ -282,6 +294,28 @@ public class ResourceManagementActivity extends AppCompatActivity {
         dialog.show();
     }
 
+    /**
+     * Reads the unavailable windows typed into the dialog, one per line.
+     *
+     * @param text The text of the windows field
+     * @return The windows, empty if none were given, or null if a line is not a day name
+     *         optionally followed by a time range such as "09:00-11:00"
+     */
+    private List<String> parseWindows(String text) {
+        List<String> windows = new ArrayList<>();
+        for (String line : text.split("\n")) {
+            String window = line.trim();
+            if (window.isEmpty()) {
+                continue;
+            }
+            if (!RoomAvailability.isValidWindow(window)) {
+                return null;
+            }
+            windows.add(window);
+        }
+        return windows;
+    }
+
     /**
      * Checks if a resource with the given name already exists before adding a new one.
      * This prevents duplicate resources with the same name.
@@ -291,9 +325,11 @@ public class ResourceManagementActivity extends AppCompatActivity {
      * @param capacity Capacity of the resource
      * @param location Location of the resource
      * @param isAvailable Availability status
+     * @param windows Weekly windows in which the resource cannot be booked
      * @param dialog The dialog to dismiss on successful save
      */
-    private void checkDuplicateAndAdd(String name, String type, String capacity, String location, boolean isAvailable, AlertDialog dialog) {
+    private void checkDuplicateAndAdd(String name, String type, String capacity, String location, boolean isAvailable,
+                                      List<String> windows, AlertDialog dialog) {
         // Query Firebase for resources with the same name
         databaseReference.orderByChild("name").equalTo(name)
                 .addListenerForSingleValueEvent(new ValueEventListener() {
@@ -308,6 +344,7 @@ public class ResourceManagementActivity extends AppCompatActivity {
                             String availableStr = isAvailable ? "yes" : "no";
                             String id = databaseReference.push().getKey(); // Generate a unique Firebase key
                             Resource newResource = new Resource(id, name, type, capacity, adminId, location, availableStr);
+                            newResource.setUnavailableWindows(windows.isEmpty() ? null : windows);
                             
                             // Save to Firebase
                             databaseReference.child(id).setValue(newResource)
@@ -470,11 +507,7 @@ public class ResourceManagementActivity extends AppCompatActivity {
 
     // Method to check for and remove default rooms with unwanted names
     private void checkAndRemoveDefaultRooms() {
-        List<String> roomsToRemove = new ArrayList<>();
-        roomsToRemove.add("gy");
-        roomsToRemove.add("a5");
-        roomsToRemove.add("a6");
-        roomsToRemove.add("ac4");
+        List<String> roomsToRemove = Arrays.asList(getResources().getStringArray(R.array.excluded_room_names));
         
         Toast.makeText(this, "Checking for unwanted default rooms...", Toast.LENGTH_SHORT).show();
         deleteResourcesByName(roomsToRemove);
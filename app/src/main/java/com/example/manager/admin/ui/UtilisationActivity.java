@@ -0,0 +1,245 @@
+package com.example.manager.admin.ui;
+
+import android.graphics.Color;
+import android.graphics.Typeface;
+import android.os.Bundle;
+import android.text.TextUtils;
+import android.util.Log;
+import android.widget.LinearLayout;
+import android.widget.TextView;
+import android.widget.Toast;
+
+import androidx.activity.EdgeToEdge;
+import androidx.annotation.NonNull;
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.core.graphics.Insets;
+import androidx.core.view.ViewCompat;
+import androidx.core.view.WindowInsetsCompat;
+
+import com.example.manager.R;
+import com.example.manager.timetable.TimeGrid;
+import com.example.manager.timetable.TimetableSession;
+import com.example.manager.timetable.analytics.UtilisationStats;
+import com.google.firebase.database.ChildEventListener;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.Query;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Activity showing room occupancy, lecturer hours, peak slots and idle gaps of one generated
+ * timetable. Sessions arrive as child events and update a {@link UtilisationStats}, so a move
+ * in the timetable grid only changes the counters it touches before the screen is redrawn.
+ */
+public class UtilisationActivity extends AppCompatActivity {
+    private static final String TAG = "UtilisationActivity";
+
+    // Teaching week occupancy is measured against, in half-hour slots
+    private static final TimeGrid TEACHING_WEEK = new TimeGrid(5, 30, 8 * 60, 18 * 60);
+
+    private final UtilisationStats stats = new UtilisationStats(TEACHING_WEEK);
+    private final Map<String, String> roomNames = new HashMap<>();
+    private final Map<String, String> lecturerNames = new HashMap<>();
+    private int roomCount;
+    private boolean renderPending;
+
+    private Query sessionsQuery;
+    private ChildEventListener sessionsListener;
+
+    private TextView summaryTextView;
+    private LinearLayout contentLayout;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        EdgeToEdge.enable(this);
+        setContentView(R.layout.activity_utilisation);
+        ViewCompat.setOnApplyWindowInsetsListener(findViewById(R.id.main), (v, insets) -> {
+            Insets systemBars = insets.getInsets(WindowInsetsCompat.Type.systemBars());
+            v.setPadding(systemBars.left, systemBars.top, systemBars.right, systemBars.bottom);
+            return insets;
+        });
+
+        String timetableId = getIntent().getStringExtra("timetableId");
+        if (timetableId == null) {
+            Toast.makeText(this, "Error: No timetable ID provided", Toast.LENGTH_SHORT).show();
+            finish();
+            return;
+        }
+
+        summaryTextView = findViewById(R.id.summaryTextView);
+        contentLayout = findViewById(R.id.utilisationContentLayout);
+        findViewById(R.id.backButton).setOnClickListener(v -> finish());
+
+        DatabaseReference database = FirebaseDatabase.getInstance().getReference();
+
+        // Unused rooms count as empty in the overall occupancy
+        database.child("resources").get().addOnCompleteListener(task -> {
+            if (task.isSuccessful()) {
+                roomCount = (int) task.getResult().getChildrenCount();
+                scheduleRender();
+            }
+        });
+
+        sessionsQuery = database.child("timetableSessions").orderByChild("timetableId").equalTo(timetableId);
+        sessionsListener = new ChildEventListener() {
+            @Override
+            public void onChildAdded(@NonNull DataSnapshot snapshot, String previousChildName) {
+                put(snapshot);
+            }
+
+            @Override
+            public void onChildChanged(@NonNull DataSnapshot snapshot, String previousChildName) {
+                put(snapshot);
+            }
+
+            @Override
+            public void onChildRemoved(@NonNull DataSnapshot snapshot) {
+                stats.remove(snapshot.getKey());
+                scheduleRender();
+            }
+
+            @Override
+            public void onChildMoved(@NonNull DataSnapshot snapshot, String previousChildName) {
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                Log.e(TAG, "Error loading timetable sessions", error.toException());
+                Toast.makeText(UtilisationActivity.this, "Failed to load timetable data", Toast.LENGTH_SHORT).show();
+            }
+        };
+        sessionsQuery.addChildEventListener(sessionsListener);
+    }
+
+    @Override
+    protected void onDestroy() {
+        if (sessionsQuery != null) {
+            sessionsQuery.removeEventListener(sessionsListener);
+        }
+        super.onDestroy();
+    }
+
+    private void put(DataSnapshot snapshot) {
+        TimetableSession session = snapshot.getValue(TimetableSession.class);
+        if (session == null) {
+            return;
+        }
+        session.setId(snapshot.getKey());
+        stats.put(session);
+        if (session.getResourceId() != null) {
+            roomNames.put(session.getResourceId(), session.getResourceName());
+        }
+        if (session.getLecturerId() != null) {
+            lecturerNames.put(session.getLecturerId(), session.getLecturerName());
+        }
+        scheduleRender();
+    }
+
+    // The initial load arrives as one event per session, so redraws are merged into one per frame
+    private void scheduleRender() {
+        if (!renderPending) {
+            renderPending = true;
+            contentLayout.post(() -> {
+                renderPending = false;
+                render();
+            });
+        }
+    }
+
+    private void render() {
+        summaryTextView.setText(String.format(Locale.getDefault(),
+                "%d sessions, rooms %s occupied, peak %d concurrent sessions",
+                stats.size(), percent(stats.getRoomOccupancy(roomCount)), stats.getPeakLoad()));
+
+        contentLayout.removeAllViews();
+
+        addHeader("Peak slots");
+        List<String> peaks = new ArrayList<>();
+        for (int slot : stats.getPeakSlots()) {
+            peaks.add(TEACHING_WEEK.dayName(TEACHING_WEEK.dayOf(slot)) + " "
+                    + TimeGrid.formatTime(TEACHING_WEEK.startMinuteOf(TEACHING_WEEK.slotOfDay(slot))));
+        }
+        addRow(peaks.isEmpty() ? "None" : TextUtils.join(", ", peaks), "");
+
+        addHeader("Rooms");
+        List<String> rooms = new ArrayList<>(stats.getRooms());
+        rooms.sort((a, b) -> Double.compare(stats.getRoomOccupancy(b), stats.getRoomOccupancy(a)));
+        for (String roomId : rooms) {
+            addRow(nameOf(roomNames, roomId), percent(stats.getRoomOccupancy(roomId)) + " occupied, "
+                    + stats.getRoomSessionCount(roomId) + " sessions");
+        }
+
+        addHeader("Lecturers");
+        List<String> lecturers = new ArrayList<>(stats.getLecturers());
+        lecturers.sort((a, b) -> Integer.compare(stats.getLecturerWeeklyMinutes(b), stats.getLecturerWeeklyMinutes(a)));
+        for (String lecturerId : lecturers) {
+            addRow(nameOf(lecturerNames, lecturerId), hours(stats.getLecturerWeeklyMinutes(lecturerId)) + " a week, "
+                    + hours(stats.getLecturerGapMinutes(lecturerId)) + " idle between classes");
+        }
+    }
+
+    private void addHeader(String title) {
+        TextView headerView = new TextView(this);
+        headerView.setText(title);
+        headerView.setTextSize(18);
+        headerView.setTypeface(null, Typeface.BOLD);
+        headerView.setTextColor(Color.WHITE);
+        headerView.setBackgroundColor(Color.parseColor("#6200EE"));
+        headerView.setPadding(dpToPx(8), dpToPx(8), dpToPx(8), dpToPx(8));
+        LinearLayout.LayoutParams params = new LinearLayout.LayoutParams(
+                LinearLayout.LayoutParams.MATCH_PARENT,
+                LinearLayout.LayoutParams.WRAP_CONTENT);
+        params.topMargin = dpToPx(16);
+        headerView.setLayoutParams(params);
+        contentLayout.addView(headerView);
+    }
+
+    private void addRow(String label, String value) {
+        LinearLayout rowLayout = new LinearLayout(this);
+        rowLayout.setOrientation(LinearLayout.HORIZONTAL);
+        rowLayout.setPadding(dpToPx(8), dpToPx(8), dpToPx(8), dpToPx(8));
+
+        TextView labelView = new TextView(this);
+        labelView.setText(label);
+        labelView.setLayoutParams(new LinearLayout.LayoutParams(0, LinearLayout.LayoutParams.WRAP_CONTENT, 0.4f));
+        labelView.setTextSize(14);
+        labelView.setTypeface(null, Typeface.BOLD);
+        labelView.setTextColor(Color.parseColor("#333333"));
+        rowLayout.addView(labelView);
+
+        TextView valueView = new TextView(this);
+        valueView.setText(value);
+        valueView.setLayoutParams(new LinearLayout.LayoutParams(0, LinearLayout.LayoutParams.WRAP_CONTENT, 0.6f));
+        valueView.setTextSize(14);
+        valueView.setTextColor(Color.parseColor("#666666"));
+        rowLayout.addView(valueView);
+
+        contentLayout.addView(rowLayout);
+    }
+
+    private static String nameOf(Map<String, String> names, String id) {
+        String name = names.get(id);
+        return name == null || name.isEmpty() ? id : name;
+    }
+
+    private static String percent(double share) {
+        return String.format(Locale.getDefault(), "%.0f%%", share * 100);
+    }
+
+    private static String hours(int minutes) {
+        return String.format(Locale.getDefault(), "%.1f h", minutes / 60.0);
+    }
+
+    private int dpToPx(int dp) {
+        float density = getResources().getDisplayMetrics().density;
+        return Math.round(dp * density);
+    }
+}
@@ -1,11 +1,14 @@
 package com.example.manager.admin.ui;
 
+import android.content.ClipData;
 import android.content.Intent;
 import android.graphics.Color;
 import android.graphics.Typeface;
+import android.graphics.drawable.ColorDrawable;
 import android.os.Bundle;
 import android.text.TextUtils;
 import android.util.Log;
+import android.view.DragEvent;
 import android.view.Gravity;
 import android.view.View;
 import android.view.ViewGroup;
@@ -26,6 +29,11 @@ import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
 
 import com.example.manager.R;
+import com.example.manager.admin.model.Resource;
+import com.example.manager.timetable.RoomAvailability;
+import com.example.manager.timetable.SessionMoves;
+import com.example.manager.timetable.TimeGrid;
+import com.example.manager.timetable.TimetableGeneratorOptions;
 import com.example.manager.timetable.TimetableSession;
 import com.google.android.material.dialog.MaterialAlertDialogBuilder;
 import com.google.firebase.database.DataSnapshot;
@@ -39,8 +47,8 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
 import java.util.Set;
+import java.util.SplittableRandom;
 
 /**
  * Activity for viewing a generated timetable
@@ -54,11 +62,12 @@ public class ViewTimetableActivity extends AppCompatActivity {
     private String timetableId;
     private List<TimetableSession> sessions = new ArrayList<>();
     
-    // Timetable grid dimensions
-    private static final int START_HOUR = 8; // 8 AM
-    private static final int END_HOUR = 18;  // 6 PM
-    private static final int DAYS_PER_WEEK = 5; // Monday to Friday
-    private static final String[] DAY_NAMES = {"Monday", "Tuesday", "Wednesday", "Thursday", "Friday"};
+    // Timetable grid dimensions: at least Monday to Friday, 8 AM to 6 PM in one-hour rows,
+    // widened to fit the loaded sessions (see displayGridFor)
+    private static final TimeGrid MIN_DISPLAY_GRID = new TimeGrid(5, 60, 8 * 60, 18 * 60);
+    private static final TimeGrid FULL_WEEK = new TimeGrid(7, 60, 0, 24 * 60);
+    private static final int MIN_ROW_MINUTES = 15;
+    private TimeGrid grid = MIN_DISPLAY_GRID;
     
     // Cell dimensions
     private static final int TIME_CELL_WIDTH_DP = 80;
@@ -69,9 +78,19 @@ public class ViewTimetableActivity extends AppCompatActivity {
     // Maximum sessions to display in a single cell
     private static final int MAX_SESSIONS_PER_CELL = 3;
     
+    // Drag-and-drop moves: checked against the loaded sessions, with every cell rated when a drag starts
+    private static final int TARGET_FREE_COLOR = 0x4400C853;
+    private static final int TARGET_SAME_DAY_COLOR = 0x44FFD600;
+    private static final int TARGET_BUSY_COLOR = 0x33D50000;
+    private static final int TARGET_HOVER_COLOR = 0x8800C853;
+    private static final TimeGrid AVAILABILITY_GRID = new TimeGrid(7, 5, 0, 24 * 60);
+    private SessionMoves moves;
+    private SessionMoves.Verdict[] dragTargets;
+    // Rooms' opening windows, compiled once; drags wait until they are loaded
+    private RoomAvailability roomAvailability;
+    
     // Session colors for different courses/subjects
     private Map<String, Integer> courseColors = new HashMap<>();
-    private Random random = new Random();
     
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -97,11 +116,19 @@ public class ViewTimetableActivity extends AppCompatActivity {
         emptyView = findViewById(R.id.emptyView);
         
         // Load timetable data
+        loadRoomAvailability();
         loadTimetableSessions();
         
         // Set up back button
         findViewById(R.id.backButton).setOnClickListener(v -> finish());
         
+        // Open the utilisation screen for this timetable
+        findViewById(R.id.utilisationButton).setOnClickListener(v -> {
+            Intent intent = new Intent(this, UtilisationActivity.class);
+            intent.putExtra("timetableId", timetableId);
+            startActivity(intent);
+        });
+        
         // Log for debugging view structure
         View mainLayout = findViewById(R.id.main);
         if (mainLayout == null) {
@@ -109,6 +136,42 @@ public class ViewTimetableActivity extends AppCompatActivity {
         }
     }
     
+    /**
+     * Loads the rooms once and compiles their availability windows, so that moves can be
+     * checked against rooms that are closed.
+     */
+    private void loadRoomAvailability() {
+        FirebaseDatabase.getInstance().getReference().child("resources")
+                .addListenerForSingleValueEvent(new ValueEventListener() {
+                    @Override
+                    public void onDataChange(@NonNull DataSnapshot dataSnapshot) {
+                        List<Resource> resources = new ArrayList<>();
+                        for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
+                            Resource resource = snapshot.getValue(Resource.class);
+                            if (resource != null) {
+                                if (resource.getId() == null) {
+                                    resource.setId(snapshot.getKey());
+                                }
+                                resources.add(resource);
+                            }
+                        }
+                        TimetableGeneratorOptions options = new TimetableGeneratorOptions();
+                        options.setTimeGrid(AVAILABILITY_GRID);
+                        roomAvailability = RoomAvailability.compile(resources, options);
+                        if (moves != null) {
+                            moves = new SessionMoves(sessions, grid, roomAvailability);
+                        }
+                    }
+                    
+                    @Override
+                    public void onCancelled(@NonNull DatabaseError databaseError) {
+                        Log.e(TAG, "Error loading rooms", databaseError.toException());
+                        Toast.makeText(ViewTimetableActivity.this, "Failed to load rooms",
+                                Toast.LENGTH_SHORT).show();
+                    }
+                });
+    }
+    
     private void loadTimetableSessions() {
         DatabaseReference database = FirebaseDatabase.getInstance().getReference();
         database.child("timetableSessions")
@@ -121,6 +184,9 @@ public class ViewTimetableActivity extends AppCompatActivity {
                         for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
                             TimetableSession session = snapshot.getValue(TimetableSession.class);
                             if (session != null) {
+                                if (session.getId() == null) {
+                                    session.setId(snapshot.getKey());
+                                }
                                 sessions.add(session);
                             }
                         }
@@ -136,6 +202,8 @@ public class ViewTimetableActivity extends AppCompatActivity {
                         }
                         
                         // Validate that all sessions have the correct data
+                        grid = displayGridFor(sessions);
+                        moves = new SessionMoves(sessions, grid, roomAvailability);
                         validateSessions();
                         
                         if (sessions.isEmpty()) {
@@ -164,23 +232,23 @@ public class ViewTimetableActivity extends AppCompatActivity {
         
         for (TimetableSession session : sessions) {
             int day = parseDayOfWeek(session.getDayOfWeek());
-            int startHour = parseHour(session.getStartTime());
-            int endHour = parseHour(session.getEndTime());
+            int startMinute = parseMinute(session.getStartTime());
+            int endMinute = parseMinute(session.getEndTime());
             
-            if (day >= 0 && day < DAYS_PER_WEEK && startHour >= 0 && endHour > startHour) {
+            if (day >= 0 && day < grid.getDays() && startMinute >= 0 && endMinute > startMinute) {
                 validCount++;
                 // Check if session is outside our visible time range
-                if (startHour < START_HOUR || endHour > END_HOUR) {
+                if (startMinute < grid.getDayStartMinute() || endMinute > grid.getDayEndMinute()) {
                     Log.w(TAG, "Session for " + session.getCourseName() + 
                           " (" + session.getStartTime() + "-" + session.getEndTime() + 
-                          ") is outside visible time range (" + START_HOUR + "-" + END_HOUR + ")");
+                          ") is outside visible time range (" + grid + ")");
                 }
             } else {
                 invalidCount++;
                 Log.e(TAG, "Invalid session data: " + session.getCourseName() + 
                       ", Day=" + session.getDayOfWeek() + " (" + day + ")" +
                       ", Time=" + session.getStartTime() + "-" + session.getEndTime() + 
-                      " (" + startHour + "-" + endHour + ")");
+                      " (" + startMinute + "-" + endMinute + ")");
             }
         }
         
@@ -191,13 +259,13 @@ public class ViewTimetableActivity extends AppCompatActivity {
         // Clear the existing content first
         timetableContentLayout.removeAllViews();
         
-        // Skip adding a header row since it already exists in the XML layout
-        // The header row with days was defined twice - once in XML and once in code
+        // The header row sits outside the scrolling content, so only its day cells are updated
+        updateDaysHeader();
         
         // Create time slots (rows)
-        for (int hour = START_HOUR; hour < END_HOUR; hour++) {
+        for (int slot = 0; slot < grid.getSlotsPerDay(); slot++) {
             // Create a row for this time slot
-            LinearLayout timeSlotRow = createTimeSlotRow(hour);
+            LinearLayout timeSlotRow = createTimeSlotRow(grid.startMinuteOf(slot));
             timetableContentLayout.addView(timeSlotRow);
         }
         
@@ -205,23 +273,23 @@ public class ViewTimetableActivity extends AppCompatActivity {
         Map<String, Integer> displayedSessionsPerCourse = new HashMap<>();
         Map<String, Set<Integer>> sessionHoursPerCourse = new HashMap<>();
         
-        // Count sessions by course and track which hours they appear in
+        // Count sessions by course and track which rows they appear in
         for (TimetableSession session : sessions) {
             String courseId = session.getCourseId();
             displayedSessionsPerCourse.put(courseId, displayedSessionsPerCourse.getOrDefault(courseId, 0) + 1);
             
-            // Track which hours this session appears in
-            int startHour = parseHour(session.getStartTime());
-            int endHour = parseHour(session.getEndTime());
+            // Track which rows this session appears in
+            int startMinute = parseMinute(session.getStartTime());
+            int endMinute = parseMinute(session.getEndTime());
             
             // Create set for this course if it doesn't exist
             if (!sessionHoursPerCourse.containsKey(courseId)) {
                 sessionHoursPerCourse.put(courseId, new HashSet<>());
             }
             
-            // Add all hours this session spans
-            for (int hour = startHour; hour < endHour; hour++) {
-                sessionHoursPerCourse.get(courseId).add(hour);
+            // Add all rows this session spans
+            for (int minute = startMinute; minute >= 0 && minute < endMinute; minute += grid.getSlotMinutes()) {
+                sessionHoursPerCourse.get(courseId).add(minute);
             }
         }
         
@@ -232,7 +300,7 @@ public class ViewTimetableActivity extends AppCompatActivity {
             int sessionCount = entry.getValue();
             int hourCount = sessionHoursPerCourse.getOrDefault(courseId, new HashSet<>()).size();
             
-            Log.d(TAG, "Course " + courseId + " has " + sessionCount + " sessions spanning " + hourCount + " hours");
+            Log.d(TAG, "Course " + courseId + " has " + sessionCount + " sessions spanning " + hourCount + " rows");
         }
         
         // Add a summary section below the timetable
@@ -406,12 +474,12 @@ public class ViewTimetableActivity extends AppCompatActivity {
         headerRow.addView(emptyCell);
         
         // Add day headers
-        for (int day = 0; day < DAYS_PER_WEEK; day++) {
+        for (int day = 0; day < grid.getDays(); day++) {
             TextView dayHeader = new TextView(this);
             dayHeader.setLayoutParams(new LinearLayout.LayoutParams(
                     dpToPx(DAY_CELL_WIDTH_DP),
                     LinearLayout.LayoutParams.MATCH_PARENT));
-            dayHeader.setText(DAY_NAMES[day]);
+            dayHeader.setText(grid.dayName(day));
             dayHeader.setGravity(Gravity.CENTER);
             dayHeader.setBackgroundColor(Color.parseColor("#D0D0D0"));
             dayHeader.setTextColor(Color.BLACK);
@@ -423,7 +491,33 @@ public class ViewTimetableActivity extends AppCompatActivity {
         return headerRow;
     }
     
-    private LinearLayout createTimeSlotRow(int hour) {
+    /**
+     * Replaces the day cells of the header row with one cell per day of the display grid.
+     */
+    private void updateDaysHeader() {
+        LinearLayout daysHeaderLayout = findViewById(R.id.daysHeaderLayout);
+        if (daysHeaderLayout == null) {
+            return;
+        }
+        
+        // Keep the empty cell above the time column
+        daysHeaderLayout.removeViews(1, daysHeaderLayout.getChildCount() - 1);
+        for (int day = 0; day < grid.getDays(); day++) {
+            TextView dayHeader = new TextView(this);
+            dayHeader.setLayoutParams(new LinearLayout.LayoutParams(
+                    dpToPx(DAY_CELL_WIDTH_DP),
+                    dpToPx(40)));
+            dayHeader.setText(grid.dayName(day));
+            dayHeader.setGravity(Gravity.CENTER);
+            dayHeader.setPadding(dpToPx(8), dpToPx(8), dpToPx(8), dpToPx(8));
+            dayHeader.setBackgroundColor(Color.parseColor("#AAAAAA"));
+            dayHeader.setTextColor(Color.WHITE);
+            dayHeader.setTypeface(null, Typeface.BOLD);
+            daysHeaderLayout.addView(dayHeader);
+        }
+    }
+    
+    private LinearLayout createTimeSlotRow(int minute) {
         // Create a horizontal layout for this time slot row
         LinearLayout timeSlotRow = new LinearLayout(this);
         timeSlotRow.setOrientation(LinearLayout.HORIZONTAL);
@@ -436,26 +530,29 @@ public class ViewTimetableActivity extends AppCompatActivity {
         timeLabel.setLayoutParams(new LinearLayout.LayoutParams(
                 dpToPx(TIME_CELL_WIDTH_DP),
                 LinearLayout.LayoutParams.MATCH_PARENT));
-        timeLabel.setText(formatTimeSlot(hour));
+        timeLabel.setText(formatTimeSlot(minute));
         timeLabel.setGravity(Gravity.CENTER);
         timeLabel.setBackgroundColor(Color.parseColor("#F5F5F5"));
         timeLabel.setTextColor(Color.BLACK);
         timeSlotRow.addView(timeLabel);
         
         // Add cells for each day of the week
-        for (int day = 0; day < DAYS_PER_WEEK; day++) {
+        for (int day = 0; day < grid.getDays(); day++) {
             // Find all sessions for this day and time
-            List<TimetableSession> sessionsForCell = findSessionsForDayAndTime(day, hour);
+            List<TimetableSession> sessionsForCell = findSessionsForDayAndTime(day, minute);
             
             // Create and add the cell view
-            View cellView = createCellView(day, hour, sessionsForCell);
+            View cellView = createCellView(day, minute, sessionsForCell);
+            int cell = grid.slot(day, grid.slotOfDayAt(minute));
+            final int cellDay = day;
+            cellView.setOnDragListener((v, event) -> onCellDrag(v, event, cell, cellDay, minute));
             timeSlotRow.addView(cellView);
         }
         
         return timeSlotRow;
     }
     
-    private List<TimetableSession> findSessionsForDayAndTime(int day, int hour) {
+    private List<TimetableSession> findSessionsForDayAndTime(int day, int minute) {
         List<TimetableSession> matchingSessions = new ArrayList<>();
         
         for (TimetableSession session : sessions) {
@@ -464,31 +561,31 @@ public class ViewTimetableActivity extends AppCompatActivity {
             if (sessionDay != day) continue; // Skip if not the right day
             
             // Parse start and end time
-            int sessionStartHour = parseHour(session.getStartTime());
-            int sessionEndHour = parseHour(session.getEndTime());
+            int sessionStartMinute = parseMinute(session.getStartTime());
+            int sessionEndMinute = parseMinute(session.getEndTime());
             
-            // Check if the session covers this hour 
-            // A session covers the hour if it starts at or before the hour and ends after the hour
-            if (sessionStartHour <= hour && sessionEndHour > hour) {
+            // Check if the session overlaps this row
+            // A session covers the row if it starts before the row ends and ends after the row starts
+            if (sessionStartMinute < minute + grid.getSlotMinutes() && sessionEndMinute > minute) {
                 matchingSessions.add(session);
                 
                 // Add debug logging for session matching
-                Log.d(TAG, "Session match for day " + day + " hour " + hour + ": " + 
+                Log.d(TAG, "Session match for day " + day + " time " + TimeGrid.formatTime(minute) + ": " + 
                       session.getCourseName() + " (" + session.getStartTime() + "-" + 
                       session.getEndTime() + ")");
             }
         }
         
         if (matchingSessions.isEmpty()) {
-            Log.d(TAG, "No sessions found for day " + day + " hour " + hour);
+            Log.d(TAG, "No sessions found for day " + day + " time " + TimeGrid.formatTime(minute));
         } else {
-            Log.d(TAG, "Found " + matchingSessions.size() + " sessions for day " + day + " hour " + hour);
+            Log.d(TAG, "Found " + matchingSessions.size() + " sessions for day " + day + " time " + TimeGrid.formatTime(minute));
         }
         
         return matchingSessions;
     }
     
-    private View createCellView(int day, int hour, List<TimetableSession> sessionsForCell) {
+    private View createCellView(int day, int minute, List<TimetableSession> sessionsForCell) {
         // If no sessions, create empty cell
         if (sessionsForCell.isEmpty()) {
             return createEmptyCell();
@@ -496,11 +593,11 @@ public class ViewTimetableActivity extends AppCompatActivity {
         
         // If only one session, create simple cell
         if (sessionsForCell.size() == 1) {
-            return createSingleSessionCell(sessionsForCell.get(0), hour);
+            return createSingleSessionCell(sessionsForCell.get(0), minute);
         }
         
         // If multiple sessions, create a container with multiple session views
-        return createMultiSessionCell(sessionsForCell, hour);
+        return createMultiSessionCell(sessionsForCell, minute);
     }
     
     private View createEmptyCell() {
@@ -513,18 +610,18 @@ public class ViewTimetableActivity extends AppCompatActivity {
         return cellView;
     }
     
-    private View createSingleSessionCell(TimetableSession session, int hour) {
+    private View createSingleSessionCell(TimetableSession session, int minute) {
         TextView cellView = new TextView(this);
         cellView.setLayoutParams(new LinearLayout.LayoutParams(
                 dpToPx(DAY_CELL_WIDTH_DP),
                 LinearLayout.LayoutParams.MATCH_PARENT));
         cellView.setBackgroundResource(R.drawable.cell_border);
         
-        // Check if this cell is the first hour of a multi-hour session
-        int sessionStartHour = parseHour(session.getStartTime());
+        // Check if this cell is the first row of a multi-row session
+        int sessionStartMinute = parseMinute(session.getStartTime());
         
-        // Only show content in the first cell of a multi-hour session
-        if (sessionStartHour == hour) {
+        // Only show content in the first cell of a multi-row session
+        if (sessionStartMinute < minute + grid.getSlotMinutes() && sessionStartMinute >= minute) {
             // Generate or retrieve a color for this course
             String courseId = session.getCourseId();
             int backgroundColor = getCourseColor(courseId);
@@ -540,13 +637,14 @@ public class ViewTimetableActivity extends AppCompatActivity {
             cellView.setBackgroundColor(getCourseColor(session.getCourseId()));
         }
         
-        // Add click listener to show session details
+        // Add click listener to show session details, and long press to move it
         cellView.setOnClickListener(v -> showSessionDetails(session));
+        cellView.setOnLongClickListener(v -> startSessionDrag(v, session));
         
         return cellView;
     }
     
-    private View createMultiSessionCell(List<TimetableSession> sessions, int hour) {
+    private View createMultiSessionCell(List<TimetableSession> sessions, int minute) {
         LinearLayout containerLayout = new LinearLayout(this);
         containerLayout.setOrientation(LinearLayout.VERTICAL);
         containerLayout.setLayoutParams(new LinearLayout.LayoutParams(
@@ -588,6 +686,7 @@ public class ViewTimetableActivity extends AppCompatActivity {
             // Add click listener to show session details
             final TimetableSession finalSession = session;
             sessionView.setOnClickListener(v -> showSessionDetails(finalSession));
+            sessionView.setOnLongClickListener(v -> startSessionDrag(v, finalSession));
             
             containerLayout.addView(sessionView);
         }
@@ -615,16 +714,103 @@ public class ViewTimetableActivity extends AppCompatActivity {
         return containerLayout;
     }
     
+    /**
+     * Starts dragging a session, rating every cell of the grid as a target first so that
+     * hovering over a cell only reads the rating.
+     */
+    private boolean startSessionDrag(View view, TimetableSession session) {
+        if (moves == null || roomAvailability == null || session.getId() == null) {
+            return false;
+        }
+        dragTargets = moves.targets(session.getId(), grid);
+        ClipData data = ClipData.newPlainText("sessionId", session.getId());
+        return view.startDragAndDrop(data, new View.DragShadowBuilder(view), session, 0);
+    }
+    
+    private boolean onCellDrag(View cellView, DragEvent event, int cell, int day, int minute) {
+        switch (event.getAction()) {
+            case DragEvent.ACTION_DRAG_STARTED:
+                if (dragTargets == null) {
+                    return false;
+                }
+                cellView.setForeground(new ColorDrawable(targetColor(dragTargets[cell])));
+                return true;
+            case DragEvent.ACTION_DRAG_ENTERED:
+                if (dragTargets != null && dragTargets[cell].isAllowed()) {
+                    cellView.setForeground(new ColorDrawable(TARGET_HOVER_COLOR));
+                }
+                return true;
+            case DragEvent.ACTION_DRAG_EXITED:
+                if (dragTargets != null) {
+                    cellView.setForeground(new ColorDrawable(targetColor(dragTargets[cell])));
+                }
+                return true;
+            case DragEvent.ACTION_DROP:
+                return moveSession((TimetableSession) event.getLocalState(), day, minute);
+            case DragEvent.ACTION_DRAG_ENDED:
+                cellView.setForeground(null);
+                dragTargets = null;
+                return true;
+            default:
+                return true;
+        }
+    }
+    
+    private static int targetColor(SessionMoves.Verdict verdict) {
+        switch (verdict) {
+            case FREE:
+                return TARGET_FREE_COLOR;
+            case SAME_DAY:
+                return TARGET_SAME_DAY_COLOR;
+            default:
+                return TARGET_BUSY_COLOR;
+        }
+    }
+    
+    /**
+     * Moves a dropped session and writes only its day and times back to the database.
+     * The sessions listener then redraws the grid.
+     */
+    private boolean moveSession(TimetableSession session, int day, int minute) {
+        String sessionId = session.getId();
+        SessionMoves.Verdict verdict = moves.check(sessionId, grid.dayName(day), minute);
+        if (!verdict.isAllowed()) {
+            String reason = verdict == SessionMoves.Verdict.ROOM_BUSY ? "The room is booked at that time"
+                    : verdict == SessionMoves.Verdict.LECTURER_BUSY ? "The lecturer is booked at that time"
+                    : verdict == SessionMoves.Verdict.ROOM_CLOSED ? "The room is closed at that time"
+                    : "The class does not fit there";
+            Toast.makeText(this, reason, Toast.LENGTH_SHORT).show();
+            return false;
+        }
+        TimetableSession moved = moves.move(sessionId, grid.dayName(day), minute);
+        
+        Map<String, Object> updates = new HashMap<>();
+        updates.put("dayOfWeek", moved.getDayOfWeek());
+        updates.put("startTime", moved.getStartTime());
+        updates.put("endTime", moved.getEndTime());
+        FirebaseDatabase.getInstance().getReference()
+                .child("timetableSessions").child(sessionId)
+                .updateChildren(updates)
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Error moving session " + sessionId, e);
+                    Toast.makeText(this, "Failed to move class", Toast.LENGTH_SHORT).show();
+                });
+        Log.d(TAG, "Moved " + moved.getCourseName() + " to " + moved.getDayOfWeek() + " "
+                + moved.getStartTime() + "-" + moved.getEndTime());
+        return true;
+    }
+    
     private int getCourseColor(String courseId) {
         if (!courseColors.containsKey(courseId)) {
-            // Generate a new color for this course
-            int color = generateRandomColor();
+            // Derive the color from the course, so it is the same on every run and device
+            int color = generateCourseColor(courseId);
             courseColors.put(courseId, color);
         }
         return courseColors.get(courseId);
     }
     
-    private int generateRandomColor() {
+    private int generateCourseColor(String courseId) {
+        SplittableRandom random = new SplittableRandom(courseId == null ? 0 : courseId.hashCode());
         // Generate a dark but visible color (avoid too light or too dark)
         int red = random.nextInt(156) + 50;   // 50-205
         int green = random.nextInt(156) + 50; // 50-205
@@ -650,11 +836,42 @@ public class ViewTimetableActivity extends AppCompatActivity {
         return abbreviation.toString().toUpperCase();
     }
     
-    private String formatTimeSlot(int hour) {
-        // Format hour as "9:00 AM" or "2:00 PM"
+    private String formatTimeSlot(int minuteOfDay) {
+        // Format time as "9:00 AM" or "2:30 PM"
+        int hour = minuteOfDay / 60;
         String amPm = hour >= 12 ? "PM" : "AM";
         int displayHour = hour > 12 ? hour - 12 : hour;
-        return String.format("%d:00 %s", displayHour, amPm);
+        return String.format("%d:%02d %s", displayHour, minuteOfDay % 60, amPm);
+    }
+    
+    /**
+     * Builds the grid to display: the minimum grid widened to cover every session's day and
+     * hours, with rows short enough that each session starts and ends on a row boundary.
+     */
+    private TimeGrid displayGridFor(List<TimetableSession> sessions) {
+        int days = MIN_DISPLAY_GRID.getDays();
+        int startMinute = MIN_DISPLAY_GRID.getDayStartMinute();
+        int endMinute = MIN_DISPLAY_GRID.getDayEndMinute();
+        int rowMinutes = MIN_DISPLAY_GRID.getSlotMinutes();
+        
+        for (TimetableSession session : sessions) {
+            int day = parseDayOfWeek(session.getDayOfWeek());
+            int sessionStart = parseMinute(session.getStartTime());
+            int sessionEnd = parseMinute(session.getEndTime());
+            if (day < 0 || sessionStart < 0 || sessionEnd <= sessionStart || sessionEnd > 24 * 60) {
+                continue; // Reported by validateSessions
+            }
+            days = Math.max(days, day + 1);
+            startMinute = Math.min(startMinute, sessionStart / 60 * 60);
+            endMinute = Math.max(endMinute, (sessionEnd + 59) / 60 * 60);
+            rowMinutes = Math.max(MIN_ROW_MINUTES, gcd(rowMinutes, gcd(sessionStart % 60, sessionEnd % 60)));
+        }
+        
+        return new TimeGrid(days, rowMinutes, startMinute, Math.min(endMinute, 24 * 60));
+    }
+    
+    private static int gcd(int a, int b) {
+        return b == 0 ? a : gcd(b, a % b);
     }
     
     private int dpToPx(int dp) {
@@ -665,35 +882,17 @@ public class ViewTimetableActivity extends AppCompatActivity {
     private int parseDayOfWeek(String dayOfWeek) {
         if (dayOfWeek == null) return -1;
         
-        // Map day string to index (0-4 for Monday-Friday)
-        switch (dayOfWeek.toLowerCase()) {
-            case "monday": return 0;
-            case "tuesday": return 1;
-            case "wednesday": return 2;
-            case "thursday": return 3;
-            case "friday": return 4;
-            default: return -1;
-        }
+        // Map day string to index (0-6 for Monday-Sunday)
+        return FULL_WEEK.dayIndex(dayOfWeek);
     }
     
-    private int parseHour(String timeString) {
-        if (timeString == null || timeString.isEmpty()) {
-            return -1;
-        }
-        
-        try {
-            // Assuming time format like "09:00" or "14:30"
-            String[] parts = timeString.split(":");
-            int hour = Integer.parseInt(parts[0]);
-            
-            // Log hour parsing for debugging
-            Log.d(TAG, "Parsing time '" + timeString + "' to hour: " + hour);
-            
-            return hour;
-        } catch (Exception e) {
-            Log.e(TAG, "Error parsing time: " + timeString, e);
-            return -1;
+    private int parseMinute(String timeString) {
+        // Time format like "09:00" or "14:30", as minutes after midnight
+        int minute = TimeGrid.parseTime(timeString);
+        if (minute < 0 && timeString != null && !timeString.isEmpty()) {
+            Log.e(TAG, "Error parsing time: " + timeString);
         }
+        return minute;
     }
     
     /**
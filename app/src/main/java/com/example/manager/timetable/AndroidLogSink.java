@@ -0,0 +1,29 @@
+package com.example.manager.timetable;
+
+import android.util.Log;
+
+/**
+ * Forwards timetable engine log messages to android.util.Log.
+ * The engine lives in the pure-JVM :timetable-core module, so the app installs
+ * this sink before running any generator.
+ */
+public class AndroidLogSink implements TimetableLog.Sink {
+
+    /**
+     * Installs this sink as the timetable engine's log destination.
+     */
+    public static void install() {
+        if (!(TimetableLog.getSink() instanceof AndroidLogSink)) {
+            TimetableLog.setSink(new AndroidLogSink());
+        }
+    }
+
+    @Override
+    public void log(int priority, String tag, String message, Throwable error) {
+        if (error != null) {
+            Log.println(priority, tag, message + '\n' + Log.getStackTraceString(error));
+        } else {
+            Log.println(priority, tag, message);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.manager.timetable;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.google.firebase.database.ChildEventListener;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.ValueEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps a process-wide {@link ConflictIndex} of the manual schedules in "timetables" current.
+ * The node is downloaded once when the index is first used; after that only the changed
+ * children arrive, and screens check rooms and lecturers against the index instead of
+ * downloading every schedule again.
+ *
+ * Firebase delivers events on the main thread, so the index and the change listeners are
+ * only touched there.
+ */
+public final class ConflictIndexSync {
+    private static final String TAG = "ConflictIndexSync";
+
+    private static ConflictIndexSync schedules;
+
+    private final ConflictIndex index = new ConflictIndex();
+    private final List<Runnable> listeners = new ArrayList<>();
+    private boolean ready;
+
+    private ConflictIndexSync(DatabaseReference reference) {
+        reference.addChildEventListener(new ChildEventListener() {
+            @Override
+            public void onChildAdded(@NonNull DataSnapshot snapshot, String previousChildName) {
+                put(snapshot);
+            }
+
+            @Override
+            public void onChildChanged(@NonNull DataSnapshot snapshot, String previousChildName) {
+                put(snapshot);
+            }
+
+            @Override
+            public void onChildRemoved(@NonNull DataSnapshot snapshot) {
+                index.remove(snapshot.getKey());
+                notifyListeners();
+            }
+
+            @Override
+            public void onChildMoved(@NonNull DataSnapshot snapshot, String previousChildName) {
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                Log.e(TAG, "Schedule sync cancelled: " + error.getMessage());
+            }
+        });
+        // Child events for the initial data all arrive before this fires
+        reference.addListenerForSingleValueEvent(new ValueEventListener() {
+            @Override
+            public void onDataChange(@NonNull DataSnapshot snapshot) {
+                ready = true;
+                Log.d(TAG, "Indexed " + index.size() + " schedules");
+                notifyListeners();
+            }
+
+            @Override
+            public void onCancelled(@NonNull DatabaseError error) {
+                Log.e(TAG, "Schedule load cancelled: " + error.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Gets the index of the manual schedules, attaching it to the database on first use.
+     */
+    public static ConflictIndexSync schedules() {
+        if (schedules == null) {
+            schedules = new ConflictIndexSync(FirebaseDatabase.getInstance().getReference().child("timetables"));
+        }
+        return schedules;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void put(DataSnapshot snapshot) {
+        String roomId = snapshot.child("roomId").getValue(String.class);
+        String lecturerId = snapshot.child("lecturerId").getValue(String.class);
+        String timeSlot = snapshot.child("timeSlot").getValue(String.class);
+        List<String> days = (List<String>) snapshot.child("day").getValue();
+        if (!index.put(snapshot.getKey(), roomId, lecturerId, days, timeSlot)) {
+            Log.w(TAG, "Schedule " + snapshot.getKey() + " has no readable day or time slot");
+        }
+        notifyListeners();
+    }
+
+    private void notifyListeners() {
+        if (!ready) {
+            return;
+        }
+        for (Runnable listener : new ArrayList<>(listeners)) {
+            listener.run();
+        }
+    }
+
+    public ConflictIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * Checks whether the initial download has been indexed.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Adds a listener run after the initial download and after every change.
+     */
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Runnable listener) {
+        listeners.remove(listener);
+    }
+}
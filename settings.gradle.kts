@@ -24,4 +24,6 @@ dependencyResolutionManagement {
     }
 }
 rootProject.name = "Manager"
-include(":app")
\ No newline at end of file
+include(":app")
+include(":timetable-core")
+include(":timetable-headless")
\ No newline at end of file
@@ -0,0 +1,26 @@
+plugins {
+    `java-library`
+}
+
+// Pure-JVM timetable engine shared by the Android app and headless tools.
+// Must not depend on any android.* API so it can run on a server JVM.
+java {
+    sourceCompatibility = JavaVersion.VERSION_17
+    targetCompatibility = JavaVersion.VERSION_17
+}
+
+dependencies {
+    // Choco Solver and jgrapht - using local JAR files from libs directory
+    api(fileTree(mapOf(
+        "dir" to "libs",
+        "include" to listOf("*.jar")
+    )))
+
+    // Trove library for collections (needed by Choco Solver)
+    api("net.sf.trove4j:trove4j:3.0.3")
+
+    // JSON for the remote solver client
+    implementation(libs.gson)
+
+    testImplementation(libs.junit)
+}
@@ -1,5 +1,7 @@
 package com.example.manager.admin.model;
 
+import java.util.List;
+
 /**
  * CourseItem represents a course in the educational system.
  * It contains information such as name, code, duration hours, department,
@@ -16,6 +18,7 @@ public class CourseItem {
     private String adminId;
     private String assignedLecturerId;
     private String assignedResourceId;
+    private List<String> studentGroups;
 
     /**
      * Default constructor required for Firebase
@@ -134,6 +137,14 @@ public class CourseItem {
         this.assignedResourceId = assignedResourceId;
     }
     
+    public List<String> getStudentGroups() {
+        return studentGroups;
+    }
+    
+    public void setStudentGroups(List<String> studentGroups) {
+        this.studentGroups = studentGroups;
+    }
+    
     /**
      * Gets the total number of sessions required per week
      * (sum of lectures and labs)
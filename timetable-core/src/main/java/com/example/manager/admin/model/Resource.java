@@ -1,12 +1,15 @@
 package com.example.manager.admin.model;
 
+import java.util.List;
+
 /**
  * The Resource class represents educational resources managed by administrators in the FinalManager app.
  * These resources can include classrooms, labs, equipment, and other facilities that are used
  * for educational purposes within the institution.
  * 
  * Each resource is characterized by a unique identifier, name, type, capacity, location,
- * availability status, and the ID of the administrator who manages it.
+ * availability status, and the ID of the administrator who manages it. A resource may also
+ * list weekly windows in which it cannot be booked, such as maintenance or external bookings.
  */
 public class Resource {
     private String id;          // Unique identifier for the resource
@@ -16,6 +19,7 @@ public class Resource {
     private String adminId;     // ID of the administrator managing this resource
     private String location;    // Physical location of the resource within the institution
     private String isAvailable; // Availability status ("yes" or "no")
+    private List<String> unavailableWindows; // Weekly blocked windows, e.g. "Monday 09:00-11:00"
 
     /**
      * Default constructor required for Firebase data deserialization.
@@ -169,4 +173,24 @@ public class Resource {
     public void setLocation(String location) {
         this.location = location;
     }
+
+    /**
+     * Gets the weekly windows in which the resource cannot be booked.
+     *
+     * @return Windows of the form "Monday 09:00-11:00", or a day name alone for the whole day;
+     *         may be null
+     */
+    public List<String> getUnavailableWindows() {
+        return unavailableWindows;
+    }
+
+    /**
+     * Sets the weekly windows in which the resource cannot be booked.
+     *
+     * @param unavailableWindows Windows of the form "Monday 09:00-11:00", or a day name alone
+     *                           for the whole day
+     */
+    public void setUnavailableWindows(List<String> unavailableWindows) {
+        this.unavailableWindows = unavailableWindows;
+    }
 }
@@ -0,0 +1,2029 @@
+/**
+ * This class uses Choco Solver to generate a timetable.
+ * Choco Solver is a constraint programming library.
+ */
+package com.example.manager.timetable;
+
+import com.example.manager.admin.model.Resource;
+import com.example.manager.model.Lecturer;
+import com.example.manager.timetable.Course;
+import com.example.manager.timetable.Timetable;
+import com.example.manager.timetable.TimetableSession;
+import com.example.manager.timetable.TimetableGenerator;
+import com.example.manager.timetable.TimetableGeneratorOptions;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solution;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.constraints.extension.Tuples;
+import org.chocosolver.solver.search.limits.FailCounter;
+import org.chocosolver.solver.search.loop.monitors.IMonitorOpenNode;
+import org.chocosolver.solver.search.strategy.Search;
+import org.chocosolver.solver.search.strategy.selectors.values.IntDomainMin;
+import org.chocosolver.solver.search.strategy.selectors.variables.ActivityBased;
+import org.chocosolver.solver.search.strategy.selectors.variables.ConflictHistorySearch;
+import org.chocosolver.solver.search.strategy.selectors.variables.DomOverWDeg;
+import org.chocosolver.solver.search.strategy.selectors.variables.VariableSelector;
+import org.chocosolver.solver.variables.BoolVar;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.Variable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * ChocoSolverTimetableGenerator - Advanced Timetable Generator using Choco Solver
+ * 
+ * This class implements the TimetableGenerator interface using the Choco Solver constraint
+ * programming library. It formulates the timetable generation problem using decision variables
+ * and constraints, and uses Choco's search algorithms to find optimal solutions.
+ * 
+ * Features:
+ * - Handles hard constraints like avoiding double-booking
+ * - Enforces maxHoursPerDay as a hard limit per lecturer and day
+ * - Minimises a weighted sum of soft constraints like even distribution and back-to-back avoidance,
+ *   stopping early once the sum reaches its precomputed lower bound
+ * - Uses advanced variable and value selection heuristics for efficient solving
+ * - Falls back to a less optimal but valid solution if optimal solving times out
+ * 
+ * Dependencies: 
+ * - Requires org.choco-solver:choco-solver library (version 4.10.10)
+ * 
+ * @see TimetableGenerator
+ * @see SimpleTimetableGenerator
+ */
+public class ChocoSolverTimetableGenerator implements TimetableGenerator {
+    private static final String TAG = "ChocoSolverTimetable";
+    
+    /**
+     * Receives the objective value of every improving solution of a run, on the solver's thread.
+     */
+    public interface IncumbentListener {
+        void onIncumbent(int objective);
+    }
+    
+    // Sessions last one hour; periods are the one-hour blocks of the grid's daily window
+    private static final int SESSION_MINUTES = 60;
+    
+    // Preferred order for relocating sessions within an eight-period day: 12pm, 10am, 2pm, 9am, 3pm, 11am, 1pm, 4pm
+    private static final int[] RELOCATION_ORDER = {3, 1, 5, 0, 6, 2, 4, 7};
+    
+    // Timeout for solver (in milliseconds)
+    private static final int DEFAULT_TIMEOUT_MS = 30000; // 30 seconds
+    
+    // Total solver budget: one attempt plus a retry with twice the time
+    private long timeLimitMs = DEFAULT_TIMEOUT_MS * 3L;
+    
+    // Time spent improving the objective after the first solution, see setOptimisationTimeMs
+    private static final int DEFAULT_OPTIMISATION_MS = 5000;
+    private long optimisationTimeMs = DEFAULT_OPTIMISATION_MS;
+    
+    // Budgets in search failures that replace the time limits in deterministic runs, see setFailLimit
+    private static final long DEFAULT_FAIL_LIMIT = 300000;
+    private static final long DEFAULT_OPTIMISATION_FAILS = 20000;
+    private long failLimit = DEFAULT_FAIL_LIMIT;
+    private long optimisationFails = DEFAULT_OPTIMISATION_FAILS;
+    private boolean timeLimitsWithSeed;
+    
+    // Objective weights of the soft constraints
+    private static final int DAY_BALANCE_WEIGHT = 1;
+    private static final int EVEN_DAY_BALANCE_WEIGHT = 3; // With preferEvenDistribution
+    private static final int HOUR_BALANCE_WEIGHT = 1;
+    private static final int BACK_TO_BACK_WEIGHT = 2; // Per pair, with avoidBackToBackClasses
+    
+    // Restart cutoffs in failures
+    private static final int LUBY_SCALE = 100;
+    private static final int GEOMETRIC_BASE = 100;
+    private static final double GEOMETRIC_GROWTH = 1.5;
+    
+    // Most room sets whose capacity two-phase mode limits, see addRoomCapacityConstraints
+    private static final int MAX_ROOM_SETS = 256;
+    
+    // Time to the first solution of the last run, or -1 if none was found
+    private long lastFirstSolutionMs = -1;
+    // Best objective value of the last run, or -1 if none was found
+    private int lastObjective = -1;
+    // Sessions the last two-phase run left out because no free compatible room was left
+    private int lastUnmatchedRooms;
+    
+    // Optional timetable whose assignments are tried first by the search
+    private Timetable hint;
+    
+    // Trace for the current generation run
+    private TimetableTrace trace = TimetableTrace.DISABLED;
+    
+    // Time grid for the current run, see setGrid
+    private TimeGrid grid = TimeGrid.DEFAULT;
+    private int daysPerWeek;
+    private int periodsPerDay;
+    
+    // Result of the pre-solve feasibility check for the last run
+    private FeasibilityCheck.Result lastFeasibility;
+    
+    // Session conflict colouring for the last run
+    private SlotColouring lastColouring;
+    
+    // Solve for time slots only and match rooms per slot afterwards, see setTwoPhase
+    private boolean twoPhase;
+    
+    // Cap on the total back-to-back pairs, or -1 for none, see setBackToBackCap
+    private int backToBackCap = -1;
+    
+    // Incumbent sharing with other solvers, see setIncumbentListener and setSharedBound
+    private IncumbentListener incumbentListener;
+    private IntSupplier sharedBound;
+    
+    /**
+     * Creates a generator in two-phase mode, see {@link #setTwoPhase}.
+     */
+    public static ChocoSolverTimetableGenerator twoPhase() {
+        ChocoSolverTimetableGenerator generator = new ChocoSolverTimetableGenerator();
+        generator.setTwoPhase(true);
+        return generator;
+    }
+    
+    /**
+     * Sets the total time the solver may spend, split between the first attempt (a third)
+     * and the retry (two thirds). Defaults to 90 seconds.
+     */
+    public void setTimeLimitMs(long timeLimitMs) {
+        this.timeLimitMs = timeLimitMs;
+    }
+    
+    public long getTimeLimitMs() {
+        return timeLimitMs;
+    }
+    
+    /**
+     * Sets how long the solver keeps improving the objective once it has a solution, within the
+     * overall time limit. The search stops earlier when the objective reaches its lower bound.
+     * Defaults to 5 seconds.
+     */
+    public void setOptimisationTimeMs(long optimisationTimeMs) {
+        this.optimisationTimeMs = optimisationTimeMs;
+    }
+    
+    /**
+     * Sets the total number of search failures a deterministic run may take, split like the time
+     * limit between the first attempt and the retry. When the options set a seed, this budget and
+     * {@link #setOptimisationFails} replace the time limits, so the run stops at the same point on
+     * any machine. Defaults to 300,000.
+     */
+    public void setFailLimit(long failLimit) {
+        this.failLimit = failLimit;
+    }
+    
+    public long getFailLimit() {
+        return failLimit;
+    }
+    
+    /**
+     * Sets how many search failures a deterministic run keeps improving the objective once it has
+     * a solution, see {@link #setFailLimit}. Defaults to 20,000.
+     */
+    public void setOptimisationFails(long optimisationFails) {
+        this.optimisationFails = optimisationFails;
+    }
+    
+    /**
+     * Keeps the time limits when the options set a seed, instead of the failure budgets. The seed
+     * then only varies the tie-breaking of the seeded strategies (see {@link SearchStrategy#usesSeed()})
+     * and runs are not reproducible, as for portfolio workers that race each other anyway.
+     * Defaults to false.
+     */
+    public void setTimeLimitsWithSeed(boolean timeLimitsWithSeed) {
+        this.timeLimitsWithSeed = timeLimitsWithSeed;
+    }
+    
+    /**
+     * Sets a timetable, e.g. from a greedy run, used as a search hint. Its sessions are matched
+     * to courses by ID and their day, hour, room and lecturer are tried first. The hint only
+     * guides the search: it is not checked against room types or room windows, so it does not
+     * constrain the model.
+     *
+     * @param hint The hint, or null to search without one
+     */
+    public void setHint(Timetable hint) {
+        this.hint = hint;
+    }
+    
+    /**
+     * Enables time-then-room decomposition. The model then has no room variables; instead the
+     * sessions in each slot are limited to the number of rooms they can use. After solving,
+     * each slot's sessions are matched to rooms independently (see {@link RoomMatching}),
+     * which keeps the model much smaller and rules out double-booked rooms. Rooms closed in
+     * some slots can still leave a session without a room; it is then left out of the
+     * timetable rather than double-booked, see {@link #getLastUnmatchedRooms}.
+     */
+    public void setTwoPhase(boolean twoPhase) {
+        this.twoPhase = twoPhase;
+    }
+    
+    /**
+     * Caps the total number of back-to-back pairs over all lecturers as a hard constraint. The
+     * pairs are counted whether or not back-to-back classes are avoided, so a cap can trade
+     * them against the balance objective (an epsilon constraint). A run whose cap cannot be met
+     * finds no solution.
+     *
+     * @param backToBackCap The cap, or -1 for none (the default)
+     */
+    public void setBackToBackCap(int backToBackCap) {
+        this.backToBackCap = backToBackCap;
+    }
+    
+    /**
+     * Sets a listener told about every improving solution's objective value, e.g. to share it
+     * with other solvers of a portfolio.
+     *
+     * @param incumbentListener The listener, or null for none
+     */
+    public void setIncumbentListener(IncumbentListener incumbentListener) {
+        this.incumbentListener = incumbentListener;
+    }
+    
+    /**
+     * Sets a source of the best objective value known elsewhere, e.g. from other solvers of a
+     * portfolio, or {@link Integer#MAX_VALUE} while there is none. It is read at every search
+     * node; once the run has a solution of its own, the search only looks for solutions better
+     * than both.
+     *
+     * @param sharedBound The bound, or null to search alone
+     */
+    public void setSharedBound(IntSupplier sharedBound) {
+        this.sharedBound = sharedBound;
+    }
+    
+    /**
+     * Gets the feasibility check result of the last run, or null if the run stopped before the check.
+     * When it is infeasible the returned timetable is the manual fallback and misses sessions.
+     */
+    public FeasibilityCheck.Result getLastFeasibility() {
+        return lastFeasibility;
+    }
+    
+    /**
+     * Gets the session conflict colouring computed for the last run, or null if the run
+     * stopped before it was computed.
+     */
+    public SlotColouring getLastColouring() {
+        return lastColouring;
+    }
+    
+    /**
+     * Gets how long the last run's solver took to find its first solution, or -1 if it found none.
+     */
+    public long getLastFirstSolutionMs() {
+        return lastFirstSolutionMs;
+    }
+    
+    /**
+     * Gets the objective value of the last run's best solution, or -1 if it found none.
+     */
+    public int getLastObjective() {
+        return lastObjective;
+    }
+    
+    /**
+     * Gets how many sessions the last two-phase run left out of the timetable because the room
+     * matching found no free compatible room for them in their slot.
+     */
+    public int getLastUnmatchedRooms() {
+        return lastUnmatchedRooms;
+    }
+    
+    @Override
+    public Timetable generateTimetable(List<Resource> resources, List<Lecturer> lecturers, List<Course> courses) {
+        // Use default options
+        return generateTimetable(resources, lecturers, courses, new TimetableGeneratorOptions());
+    }
+
+    @Override
+    public Timetable generateTimetable(List<Resource> resources, List<Lecturer> lecturers, List<Course> courses, 
+                                     TimetableGeneratorOptions options) {
+        return SessionIds.assign(generate(resources, lecturers, courses, options), options);
+    }
+    
+    private Timetable generate(List<Resource> resources, List<Lecturer> lecturers, List<Course> courses,
+                               TimetableGeneratorOptions options) {
+        if (resources == null || resources.isEmpty() || lecturers == null || lecturers.isEmpty() || courses == null || courses.isEmpty()) {
+            TimetableLog.e(TAG, "Cannot generate timetable with empty resources, lecturers, or courses");
+            return new Timetable();
+        }
+        
+        this.trace = options.getTrace();
+        this.lastFeasibility = null;
+        this.lastColouring = null;
+        this.lastFirstSolutionMs = -1;
+        this.lastObjective = -1;
+        this.lastUnmatchedRooms = 0;
+        setGrid(options.getTimeGrid());
+        
+        TimetableLog.d(TAG, "Starting Choco Solver timetable generation with " + courses.size() + " courses");
+        
+        // Make copies of the input collections to avoid modifying the originals, leaving out
+        // unavailable and filtered rooms
+        RoomAvailability availability = RoomAvailability.compile(resources, options);
+        List<Resource> resourcesCopy = new ArrayList<>(availability.getRooms());
+        List<Lecturer> lecturersCopy = new ArrayList<>(lecturers);
+        if (resourcesCopy.isEmpty()) {
+            TimetableLog.e(TAG, "All resources are unavailable or filtered out");
+            return new Timetable();
+        }
+        
+        // Validate all courses before attempting to schedule
+        List<Course> validCourses = new ArrayList<>();
+        for (int c = 0; c < courses.size(); c++) {
+            Course course = courses.get(c);
+            // Make sure all courses have basic requirements filled
+            if (course.getName() == null || course.getName().isEmpty()) {
+                trace.record(TimetableTrace.Event.COURSE_SKIPPED, c);
+                continue;
+            }
+            
+            // Check if course has valid required sessions
+            if (course.getRequiredSessionsPerWeek() <= 0) {
+                course.setRequiredSessionsPerWeek(1);
+            }
+            
+            validCourses.add(course);
+            trace.record(TimetableTrace.Event.COURSE_VALIDATED, c, course.getRequiredSessionsPerWeek());
+        }
+        
+        // Exit early if no valid courses
+        if (validCourses.isEmpty()) {
+            TimetableLog.e(TAG, "No valid courses to schedule!");
+            return new Timetable();
+        }
+        
+        if (validCourses.size() < courses.size()) {
+            TimetableLog.w(TAG, "Skipped " + (courses.size() - validCourses.size()) + " courses without a name");
+        }
+
+        // Skip the solver when counting and matching bounds already prove it cannot place every session
+        lastFeasibility = new FeasibilityCheck(daysPerWeek, periodsPerDay)
+                .check(resourcesCopy, lecturersCopy, validCourses, options);
+        trace.record(TimetableTrace.Event.FEASIBILITY_CHECKED, lastFeasibility.getBottlenecks().size(),
+                (int) lastFeasibility.getElapsedMicros());
+        if (!lastFeasibility.isFeasible()) {
+            TimetableLog.w(TAG, "Skipping solver, input is infeasible: " + lastFeasibility.getBottlenecks());
+            return createManualTimetable(validCourses, resourcesCopy, lecturersCopy);
+        }
+        
+        // Colour the session conflict graph for a slot lower bound and a conflict-free starting layout
+        lastColouring = SlotColouring.compute(resourcesCopy, lecturersCopy, validCourses, options);
+        trace.record(TimetableTrace.Event.COLOURING_COMPUTED, lastColouring.getLowerBound(),
+                lastColouring.getSlotsUsed(), lastColouring.getAvailableSlots());
+        if (!lastColouring.isEnoughSlots()) {
+            TimetableLog.w(TAG, "Skipping solver, sessions need at least " + lastColouring.getLowerBound()
+                    + " slots but the week has " + lastColouring.getAvailableSlots());
+            return createManualTimetable(validCourses, resourcesCopy, lecturersCopy);
+        }
+        
+        // Fix load-balanced lecturers for courses without an assigned one, so their sessions
+        // need no lecturer search
+        LecturerAssignment lecturerAssignment = LecturerAssignment.compute(lecturersCopy, validCourses, options);
+        trace.record(TimetableTrace.Event.LECTURERS_ASSIGNED, lecturerAssignment.getAssignedCourses(),
+                lecturerAssignment.getMaxLoad(), (int) lecturerAssignment.getElapsedMicros());
+        
+        // Create flat list of all sessions to schedule
+        List<SessionToSchedule> allSessions = new ArrayList<>();
+        
+        int sessionIndex = 0;
+        for (int c = 0; c < validCourses.size(); c++) {
+            Course course = validCourses.get(c);
+            for (int i = 0; i < course.getRequiredSessionsPerWeek(); i++) {
+                trace.record(TimetableTrace.Event.SESSION_CREATED, sessionIndex, c);
+                allSessions.add(new SessionToSchedule(sessionIndex++, course));
+            }
+        }
+        
+        TimetableLog.d(TAG, "Total sessions created: " + allSessions.size());
+        
+        // Create a Choco-solver model
+        Model model = new Model("Timetable");
+        
+        // Create a solver with the model
+        Solver solver = model.getSolver();
+        // Deterministic runs count search failures instead of milliseconds
+        boolean deterministic = options.isDeterministic() && !timeLimitsWithSeed;
+        long limit = deterministic ? failLimit : timeLimitMs;
+        long firstAttempt = Math.max(1, limit / 3);
+        if (deterministic) {
+            solver.limitFail(firstAttempt);
+        } else {
+            solver.limitTime(firstAttempt);
+        }
+        
+        // Create variables for each session
+        Map<Integer, IntVar> sessionDayVars = new HashMap<>();
+        Map<Integer, IntVar> sessionHourVars = new HashMap<>();
+        Map<Integer, IntVar> sessionResourceVars = new HashMap<>();
+        Map<Integer, IntVar> sessionLecturerVars = new HashMap<>();
+        Map<Integer, IntVar> sessionSlotVars = new HashMap<>();
+        
+        // Rooms each session may use, for matching after solving in two-phase mode
+        Map<Integer, int[]> sessionRooms = new HashMap<>();
+        
+        // Compatible resources only depend on the course, so compute them once per course
+        Map<Course, int[]> compatibleResourcesByCourse = new HashMap<>();
+        PreparedInput.Rooms preparedRooms = PreparedInput.roomsFor(options, resourcesCopy);
+        
+        // Create variables for each session
+        Map<Course, Integer> sessionsSeen = new HashMap<>();
+        for (SessionToSchedule session : allSessions) {
+            int sIndex = session.getIndex();
+            Course course = session.getCourse();
+            int courseIndex = validCourses.indexOf(course);
+            int courseSession = sessionsSeen.merge(course, 1, Integer::sum) - 1;
+            
+            // Variables for day, hour, resource, and lecturer
+            IntVar day = model.intVar("day_" + sIndex, 0, daysPerWeek - 1);
+            IntVar hour = model.intVar("hour_" + sIndex, 0, periodsPerDay - 1);
+            
+            // Find compatible resources for this session
+            int[] compatibleResourceIndices = compatibleResourcesByCourse.get(course);
+            if (compatibleResourceIndices == null) {
+                compatibleResourceIndices = preparedRooms == null ? null : preparedRooms.compatible(course);
+                if (compatibleResourceIndices == null) {
+                    compatibleResourceIndices = findCompatibleResources(course, courseIndex, resourcesCopy)
+                            .stream().mapToInt(i -> i).toArray();
+                } else {
+                    trace.record(TimetableTrace.Event.RESOURCES_FOUND, courseIndex, compatibleResourceIndices.length);
+                }
+                compatibleResourcesByCourse.put(course, compatibleResourceIndices);
+            }
+            
+            // If the course has an assigned resource, constrain to that resource
+            int pinnedResource = -1;
+            if (course.getAssignedResourceId() != null && !course.getAssignedResourceId().isEmpty()) {
+                for (int j = 0; j < resourcesCopy.size(); j++) {
+                    Resource res = resourcesCopy.get(j);
+                    if (res.getId().equals(course.getAssignedResourceId())) {
+                        pinnedResource = j;
+                        trace.record(TimetableTrace.Event.RESOURCE_PINNED, sIndex, j);
+                        break;
+                    }
+                }
+            }
+            
+            // Rooms are matched after solving in two-phase mode; the model only counts them per slot
+            sessionRooms.put(sIndex, pinnedResource >= 0 ? new int[] {pinnedResource} : compatibleResourceIndices);
+            if (!twoPhase) {
+                IntVar resource;
+                if (pinnedResource >= 0) {
+                    resource = model.intVar("resource_" + sIndex, pinnedResource);
+                } else if (compatibleResourceIndices.length == 0) {
+                    resource = model.intVar("resource_" + sIndex, 0, resourcesCopy.size() - 1);
+                } else {
+                    resource = model.intVar("resource_" + sIndex, compatibleResourceIndices);
+                }
+                sessionResourceVars.put(sIndex, resource);
+            }
+            
+            // Create lecturer variable - fixed by the pre-assignment when it chose one, else any lecturer
+            IntVar lecturer;
+            if (lecturerAssignment.isAssigned(courseIndex)) {
+                lecturer = model.intVar("lecturer_" + sIndex, lecturerAssignment.getLecturer(courseIndex, courseSession));
+            } else {
+                lecturer = model.intVar("lecturer_" + sIndex, 0, lecturersCopy.size() - 1);
+            }
+            
+            // If the course has an assigned lecturer, constrain to that lecturer
+            if (course.getAssignedLecturerId() != null && !course.getAssignedLecturerId().isEmpty()) {
+                for (int j = 0; j < lecturersCopy.size(); j++) {
+                    Lecturer lect = lecturersCopy.get(j);
+                    if (lect.getId().equals(course.getAssignedLecturerId())) {
+                        // Set the lecturer variable to this specific lecturer index
+                        lecturer = model.intVar("lecturer_" + sIndex, j);
+                        trace.record(TimetableTrace.Event.LECTURER_PINNED, sIndex, j);
+                        break;
+                    }
+                }
+            }
+            
+            // Store variables in maps for easy lookup
+            sessionDayVars.put(sIndex, day);
+            sessionHourVars.put(sIndex, hour);
+            sessionLecturerVars.put(sIndex, lecturer);
+        }
+        
+        // Add constraints and the weighted soft-constraint objective
+        WeightedObjective objective = new WeightedObjective();
+        addConstraints(model, allSessions, resourcesCopy, lecturersCopy, 
+                      sessionDayVars, sessionHourVars, sessionResourceVars, sessionLecturerVars, options, objective);
+        addLecturerDayConstraints(model, allSessions, lecturersCopy, sessionDayVars, sessionHourVars,
+                sessionLecturerVars, sessionSlotVars, options, objective);
+        CourseConflictGraph conflicts = PreparedInput.conflicts(options, validCourses);
+        addStudentGroupConstraints(model, allSessions, validCourses, conflicts, sessionDayVars, sessionHourVars,
+                sessionSlotVars);
+        BitSet[] closedPeriods = closedPeriods(availability);
+        addRoomWindowConstraints(model, allSessions, sessionRooms, closedPeriods, sessionDayVars, sessionHourVars,
+                sessionResourceVars, sessionSlotVars);
+        if (twoPhase) {
+            addRoomCapacityConstraints(model, allSessions, sessionRooms, closedPeriods, sessionDayVars,
+                    sessionHourVars, sessionSlotVars);
+        }
+        
+        if (hint != null) {
+            applyHint(solver, allSessions, resourcesCopy, lecturersCopy,
+                    sessionDayVars, sessionHourVars, sessionResourceVars, sessionLecturerVars);
+        } else if (lastColouring.fits()) {
+            applyColouringHint(solver, allSessions, validCourses, sessionDayVars, sessionHourVars);
+        }
+        
+        IntVar objectiveVar = objective.post(model);
+        trace.record(TimetableTrace.Event.OBJECTIVE_POSTED, objective.size(), objective.getLowerBound());
+        configureSearch(model, solver, allSessions, validCourses, conflicts, resourcesCopy.size(),
+                compatibleResourcesByCourse, sessionDayVars, sessionHourVars, sessionResourceVars,
+                sessionLecturerVars, options);
+        
+        if (sharedBound != null) {
+            plugSharedBound(solver);
+        }
+        
+        TimetableLog.d(TAG, "Solving model with " + model.getNbVars() + " variables and " + 
+              model.getNbCstrs() + " constraints");
+        
+        // Stop improving once the optimisation time, or failures, after the first solution have passed
+        LongSupplier progress = deterministic ? solver::getFailCount : System::currentTimeMillis;
+        long optimisation = deterministic ? optimisationFails : optimisationTimeMs;
+        long[] optimiseUntil = {Long.MAX_VALUE};
+        solver.addStopCriterion(() -> progress.getAsLong() > optimiseUntil[0]);
+        // A cancelled caller interrupts the solving thread, e.g. the solver service on DELETE
+        Thread solving = Thread.currentThread();
+        solver.addStopCriterion(solving::isInterrupted);
+        
+        // Try to find a solution
+        long solveStart = System.currentTimeMillis();
+        Solution best = new Solution(model);
+        boolean solved = optimise(solver, objectiveVar, objective.getLowerBound(), best, progress, optimisation,
+                optimiseUntil, solveStart);
+        trace.record(TimetableTrace.Event.SOLVER_RESULT, 1, solved ? 1 : 0, (int) firstAttempt);
+        
+        if (!solved && !solving.isInterrupted()) {
+            TimetableLog.w(TAG, "No solution found. Trying with increased timeout.");
+            
+            // Increase timeout and try again
+            long retry = Math.max(1, limit - firstAttempt);
+            if (deterministic) {
+                solver.limitFail(retry);
+            } else {
+                solver.limitTime(retry);
+            }
+            solved = optimise(solver, objectiveVar, objective.getLowerBound(), best, progress, optimisation,
+                    optimiseUntil, solveStart);
+            trace.record(TimetableTrace.Event.SOLVER_RESULT, 2, solved ? 1 : 0, (int) retry);
+        }
+        
+        if (solved) {
+            TimetableLog.d(TAG, "Solution found with objective " + best.getIntVal(objectiveVar)
+                    + " (lower bound " + objective.getLowerBound() + ")");
+            
+            // Create a complete map of variable names to their values in the best solution
+            Map<String, Integer> variableValues = new HashMap<>();
+            recordValues("day_", sessionDayVars, best, variableValues);
+            recordValues("hour_", sessionHourVars, best, variableValues);
+            recordValues("resource_", sessionResourceVars, best, variableValues);
+            recordValues("lecturer_", sessionLecturerVars, best, variableValues);
+            if (twoPhase) {
+                matchRooms(allSessions, sessionRooms, closedPeriods, variableValues);
+            }
+            
+            // Create a simple object to pass the values to buildTimetableFromSolution
+            ValueSolution valueSolution = new ValueSolution(variableValues);
+            
+            // Modified version of buildTimetableFromSolution that uses our values directly
+            return buildTimetableFromDirectValues(
+                valueSolution, allSessions, resourcesCopy, lecturersCopy, validCourses
+            );
+        } else {
+            TimetableLog.e(TAG, "Choco Solver could not find a solution even with increased timeout.");
+            
+            // As a last resort, create a basic timetable with all courses manually scheduled
+            Timetable manualTimetable = createManualTimetable(validCourses, resourcesCopy, lecturersCopy);
+            
+            // Verify all courses are included
+            Set<String> scheduledCourseIds = new HashSet<>();
+            for (TimetableSession session : manualTimetable.getSessions()) {
+                scheduledCourseIds.add(session.getCourseId());
+            }
+            
+            List<Course> missingCourses = new ArrayList<>();
+            for (Course course : validCourses) {
+                if (!scheduledCourseIds.contains(course.getId())) {
+                    missingCourses.add(course);
+                }
+            }
+            
+            if (!missingCourses.isEmpty()) {
+                TimetableLog.e(TAG, "Still missing " + missingCourses.size() + " courses after manual addition!");
+                
+                // Last resort: Manually add missing courses
+                for (Course course : missingCourses) {
+                    Resource resource = resources.isEmpty() ? null : resources.get(0);
+                    Lecturer lecturer = lecturers.isEmpty() ? null : lecturers.get(0);
+                    
+                    if (resource != null && lecturer != null) {
+                        for (int i = 0; i < course.getRequiredSessionsPerWeek(); i++) {
+                            TimetableSession session = new TimetableSession();
+                            session.setId(SessionIds.random());
+                            session.setCourseName(course.getName());
+                            session.setCourseId(course.getId());
+                            session.setSessionType(course.getCode() != null ? course.getCode() : "LECTURE");
+                            
+                            // Use day and time based on session index
+                            int day = i % daysPerWeek;
+                            int hour = (i / daysPerWeek) % periodsPerDay;
+                            
+                            session.setDayOfWeek(grid.dayName(day));
+                            session.setStartTime(periodStart(hour));
+                            session.setEndTime(periodEnd(hour));
+                            
+                            session.setResourceId(resource.getId());
+                            session.setResourceName(resource.getName());
+                            session.setLecturerId(lecturer.getId());
+                            session.setLecturerName(lecturer.getName());
+                            manualTimetable.addSession(session);
+                            trace.record(TimetableTrace.Event.SESSION_PADDED, validCourses.indexOf(course), day, hour);
+                        }
+                    }
+                }
+            }
+            
+            return manualTimetable;
+        }
+    }
+    
+    /**
+     * Sets the search strategy, restarts and nogood recording chosen in the options. Decisions are
+     * made on the day, hour, room and lecturer variables of each session; the remaining variables
+     * follow by propagation or are completed by the default search.
+     */
+    private void configureSearch(Model model, Solver solver, List<SessionToSchedule> allSessions, List<Course> courses,
+                                 CourseConflictGraph conflicts, int resourceCount,
+                                 Map<Course, int[]> compatibleResourcesByCourse,
+                                 Map<Integer, IntVar> sessionDayVars, Map<Integer, IntVar> sessionHourVars,
+                                 Map<Integer, IntVar> sessionResourceVars, Map<Integer, IntVar> sessionLecturerVars,
+                                 TimetableGeneratorOptions options) {
+        SearchStrategy strategy = options.getSearchStrategy();
+        if (strategy != SearchStrategy.DEFAULT) {
+            // Conflict degree of each session: sessions sharing its lecturer or a student group,
+            // plus how scarce its rooms are
+            Map<Course, Integer> courseIndices = new HashMap<>();
+            int[] courseSessions = new int[courses.size()];
+            for (int c = 0; c < courses.size(); c++) {
+                courseIndices.put(courses.get(c), c);
+                courseSessions[c] = courses.get(c).getRequiredSessionsPerWeek();
+            }
+            Map<Integer, Integer> lecturerLoads = new HashMap<>();
+            for (IntVar lecturer : sessionLecturerVars.values()) {
+                if (lecturer.isInstantiated()) {
+                    lecturerLoads.merge(lecturer.getValue(), 1, Integer::sum);
+                }
+            }
+            
+            List<IntVar> decisions = new ArrayList<>();
+            List<IntVar> dayOf = new ArrayList<>();
+            List<IntVar> hourOf = new ArrayList<>();
+            List<Integer> degrees = new ArrayList<>();
+            for (SessionToSchedule session : allSessions) {
+                int sIndex = session.getIndex();
+                int c = courseIndices.get(session.getCourse());
+                IntVar lecturer = sessionLecturerVars.get(sIndex);
+                int degree = lecturer.isInstantiated() ? lecturerLoads.get(lecturer.getValue()) : 0;
+                for (int other : conflicts.getNeighbours(c)) {
+                    degree += courseSessions[other];
+                }
+                int rooms = compatibleResourcesByCourse.get(session.getCourse()).length;
+                degree += resourceCount / Math.max(1, rooms);
+                
+                IntVar[] vars = {sessionDayVars.get(sIndex), sessionHourVars.get(sIndex),
+                        sessionResourceVars.get(sIndex), lecturer};
+                for (IntVar var : vars) {
+                    if (var != null && !var.isInstantiated()) {
+                        decisions.add(var);
+                        dayOf.add(sessionDayVars.get(sIndex));
+                        hourOf.add(sessionHourVars.get(sIndex));
+                        degrees.add(degree);
+                    }
+                }
+            }
+            
+            // Choco's factories seed these heuristics' tie-breaking with 0; use the options' seed instead
+            long seed = options.getSeed() != null ? options.getSeed() : 0;
+            IntVar[] decisionVars = decisions.toArray(new IntVar[0]);
+            switch (decisionVars.length == 0 ? SearchStrategy.DEFAULT : strategy) {
+                case DOM_WDEG:
+                    solver.setSearch(Search.intVarSearch(new DomOverWDeg<>(decisionVars, seed), new IntDomainMin(),
+                            decisionVars));
+                    break;
+                case ACTIVITY:
+                    // Choco's default decay, sampling and restart settings
+                    solver.setSearch(new ActivityBased(model, decisionVars, null, 0.999d, 0.2d, 8, 1, seed));
+                    break;
+                case CONFLICT_HISTORY:
+                    solver.setSearch(Search.intVarSearch(new ConflictHistorySearch<>(decisionVars, seed),
+                            new IntDomainMin(), decisionVars));
+                    break;
+                case MOST_CONSTRAINED:
+                    solver.setSearch(Search.intVarSearch(
+                            mostConstrainedSession(dayOf.toArray(new IntVar[0]), hourOf.toArray(new IntVar[0]),
+                                    degrees.stream().mapToInt(Integer::intValue).toArray()),
+                            new IntDomainMin(), decisionVars));
+                    break;
+                default:
+                    break;
+            }
+            solver.makeCompleteStrategy(true);
+        }
+        
+        switch (options.getRestartPolicy()) {
+            case LUBY:
+                solver.setLubyRestart(LUBY_SCALE, new FailCounter(model, 0), Integer.MAX_VALUE);
+                break;
+            case GEOMETRIC:
+                solver.setGeometricalRestart(GEOMETRIC_BASE, GEOMETRIC_GROWTH, new FailCounter(model, 0),
+                        Integer.MAX_VALUE);
+                break;
+            default:
+                break;
+        }
+        if (options.getRestartPolicy() != RestartPolicy.NONE && options.shouldRecordNogoods()) {
+            solver.setNoGoodRecordingFromRestarts();
+        }
+        trace.record(TimetableTrace.Event.SEARCH_CONFIGURED, strategy.ordinal(), options.getRestartPolicy().ordinal(),
+                options.shouldRecordNogoods() ? 1 : 0);
+    }
+    
+    /**
+     * Picks a variable of the session with the fewest remaining day and hour combinations,
+     * breaking ties by the session's conflict degree. The arrays are parallel to the decision
+     * variables, and a session's day comes before its hour, room and lecturer.
+     */
+    private static VariableSelector<IntVar> mostConstrainedSession(IntVar[] dayOf, IntVar[] hourOf, int[] degrees) {
+        return variables -> {
+            int best = -1;
+            long bestSlots = Long.MAX_VALUE;
+            for (int i = 0; i < variables.length; i++) {
+                if (variables[i].isInstantiated()) {
+                    continue;
+                }
+                long slots = (long) dayOf[i].getDomainSize() * hourOf[i].getDomainSize();
+                if (slots < bestSlots || (slots == bestSlots && degrees[i] > degrees[best])) {
+                    best = i;
+                    bestSlots = slots;
+                }
+            }
+            return best < 0 ? null : variables[best];
+        };
+    }
+    
+    /**
+     * Finds solutions, each better than the last, until the objective reaches its lower bound,
+     * the optimisation budget after the first solution runs out or the limit stops the search.
+     * The budget is measured by {@code progress}. The best solution is kept in {@code best}.
+     *
+     * @return true if at least one solution was found
+     */
+    private boolean optimise(Solver solver, IntVar objectiveVar, int lowerBound, Solution best, LongSupplier progress,
+                             long optimisation, long[] optimiseUntil, long solveStart) {
+        boolean found = false;
+        while (solver.solve()) {
+            best.record();
+            if (!found) {
+                found = true;
+                lastFirstSolutionMs = System.currentTimeMillis() - solveStart;
+                optimiseUntil[0] = progress.getAsLong() + optimisation;
+            }
+            int value = best.getIntVal(objectiveVar);
+            lastObjective = value;
+            trace.record(TimetableTrace.Event.OBJECTIVE_IMPROVED, value);
+            if (incumbentListener != null) {
+                incumbentListener.onIncumbent(value);
+            }
+            if (value <= lowerBound) {
+                trace.record(TimetableTrace.Event.OBJECTIVE_BOUND_REACHED, value);
+                break;
+            }
+        }
+        return found;
+    }
+    
+    /**
+     * Tightens the objective cut to the shared bound before each node, once the solver has a
+     * solution of its own so that every run still returns a timetable.
+     */
+    private void plugSharedBound(Solver solver) {
+        IntSupplier bound = sharedBound;
+        solver.plugMonitor(new IMonitorOpenNode() {
+            @Override
+            public void beforeOpenNode() {
+                if (solver.getSolutionCount() == 0) {
+                    return;
+                }
+                int shared = bound.getAsInt();
+                if (shared < solver.getObjectiveManager().getBestUB().intValue()) {
+                    solver.getObjectiveManager().updateBestUB(shared);
+                }
+            }
+        });
+    }
+    
+    /**
+     * Copies the values of a group of variables in a solution into the value map,
+     * keyed by prefix and session index.
+     */
+    private void recordValues(String prefix, Map<Integer, IntVar> vars, Solution solution,
+                              Map<String, Integer> variableValues) {
+        for (Map.Entry<Integer, IntVar> entry : vars.entrySet()) {
+            int sessionId = entry.getKey();
+            IntVar var = entry.getValue();
+            try {
+                variableValues.put(prefix + sessionId, solution.getIntVal(var));
+            } catch (Exception e) {
+                TimetableLog.e(TAG, "Error getting value for " + prefix + sessionId, e);
+            }
+        }
+    }
+
+    private Timetable buildTimetableFromDirectValues(ValueSolution solution,
+                                                  List<SessionToSchedule> allSessions,
+                                                  List<Resource> resources,
+                                                  List<Lecturer> lecturers,
+                                                  List<Course> validCourses) {
+        Timetable timetable = new Timetable();
+        
+        // Track sessions scheduled per course
+        Map<String, Integer> scheduledSessionsPerCourse = new HashMap<>();
+        for (Course course : validCourses) {
+            scheduledSessionsPerCourse.put(course.getId(), 0);
+        }
+        // Two-phase sessions the room matching left without a room, which are not padded back in
+        Map<String, Integer> unmatchedSessionsPerCourse = new HashMap<>();
+        
+        // Process each session to create timetable entries
+        for (SessionToSchedule session : allSessions) {
+            int sessionId = session.getIndex();
+            Course course = session.getCourse();
+            
+            // Get variable names
+            String dayVarName = "day_" + sessionId;
+            String hourVarName = "hour_" + sessionId;
+            String resourceVarName = "resource_" + sessionId;
+            String lecturerVarName = "lecturer_" + sessionId;
+            
+            try {
+                // Extract values directly from our value map
+                int dayValue = solution.getValue(dayVarName);
+                int hourValue = solution.getValue(hourVarName);
+                int resourceValue = solution.getValue(resourceVarName);
+                int lecturerValue = solution.getValue(lecturerVarName);
+                
+                if (twoPhase && resourceValue == -1 && dayValue != -1 && hourValue != -1) {
+                    trace.record(TimetableTrace.Event.SESSION_UNMATCHED, sessionId, dayValue, hourValue);
+                    unmatchedSessionsPerCourse.merge(course.getId(), 1, Integer::sum);
+                    continue;
+                }
+                
+                // If any value wasn't found, log but don't skip (we'll use fallbacks)
+                boolean missingValues = false;
+                if (dayValue == -1 || hourValue == -1 || resourceValue == -1 || lecturerValue == -1) {
+                    trace.record(TimetableTrace.Event.SESSION_MISSING_VALUE, sessionId);
+                    missingValues = true;
+                }
+                
+                // Find the corresponding resource and lecturer
+                Resource resource;
+                Lecturer lecturer; 
+                
+                if (missingValues) {
+                    // Use fallback values if any are missing
+                    int currentCount = scheduledSessionsPerCourse.getOrDefault(course.getId(), 0);
+                    dayValue = currentCount % daysPerWeek;
+                    hourValue = (currentCount / daysPerWeek) % periodsPerDay;
+                    resource = resources.isEmpty() ? null : resources.get(0);
+                    lecturer = lecturers.isEmpty() ? null : lecturers.get(0);
+                } else {
+                    // Make sure indices are within bounds
+                    resourceValue = Math.min(resourceValue, resources.size() - 1);
+                    lecturerValue = Math.min(lecturerValue, lecturers.size() - 1);
+                    resource = resources.get(resourceValue);
+                    lecturer = lecturers.get(lecturerValue);
+                }
+                
+                // Create timetable entry
+                if (resource != null && lecturer != null) {
+                    TimetableSession timetableSession = new TimetableSession();
+                    timetableSession.setId(SessionIds.random());
+                    timetableSession.setCourseId(course.getId());
+                    timetableSession.setCourseName(course.getName());
+                    timetableSession.setSessionType(course.getCode() != null ? course.getCode() : "LECTURE");
+                    
+                    // Set day, hour, resource, and lecturer
+                    String dayOfWeek = grid.dayName(dayValue);
+                    String startTime = periodStart(hourValue);
+                    String endTime = periodEnd(hourValue);
+                    
+                    timetableSession.setDayOfWeek(dayOfWeek);
+                    timetableSession.setStartTime(startTime);
+                    timetableSession.setEndTime(endTime);
+                    
+                    timetableSession.setResourceId(resource.getId());
+                    timetableSession.setResourceName(resource.getName());
+                    timetableSession.setLecturerId(lecturer.getId());
+                    timetableSession.setLecturerName(lecturer.getName());
+                    
+                    timetable.addSession(timetableSession);
+                    
+                    // Increment count of sessions for this course
+                    int currentCount = scheduledSessionsPerCourse.getOrDefault(course.getId(), 0);
+                    scheduledSessionsPerCourse.put(course.getId(), currentCount + 1);
+                    
+                    trace.record(TimetableTrace.Event.SESSION_ASSIGNED, sessionId, dayValue, hourValue, resourceValue);
+                }
+            } catch (Exception e) {
+                TimetableLog.e(TAG, "Error accessing solution value for session " + sessionId, e);
+            }
+        }
+        
+        // Verify all courses have the correct number of sessions
+        int paddedSessions = 0;
+        for (int c = 0; c < validCourses.size(); c++) {
+            Course course = validCourses.get(c);
+            int scheduledSessions = scheduledSessionsPerCourse.getOrDefault(course.getId(), 0);
+            int requiredSessions = course.getRequiredSessionsPerWeek();
+            
+            trace.record(TimetableTrace.Event.COURSE_SESSIONS, c, scheduledSessions, requiredSessions);
+            requiredSessions -= unmatchedSessionsPerCourse.getOrDefault(course.getId(), 0);
+            
+            // Add any missing sessions manually
+            if (scheduledSessions < requiredSessions) {
+                for (int i = scheduledSessions; i < requiredSessions; i++) {
+                    Resource resource = resources.isEmpty() ? null : resources.get(0);
+                    Lecturer lecturer = lecturers.isEmpty() ? null : lecturers.get(0);
+                    
+                    if (resource != null && lecturer != null) {
+                        TimetableSession session = new TimetableSession();
+                        session.setId(SessionIds.random());
+                        session.setCourseId(course.getId());
+                        session.setCourseName(course.getName());
+                        session.setSessionType(course.getCode() != null ? course.getCode() : "LECTURE");
+                        
+                        // Calculate a unique day and hour for this session
+                        int day = i % daysPerWeek;
+                        int hour = (i / daysPerWeek) % periodsPerDay;
+                        
+                        // Adjust to minimize conflicts
+                        day = (day + scheduledSessions) % daysPerWeek;
+                        hour = (hour + scheduledSessions) % periodsPerDay;
+                        
+                        // Set day, hour, resource, and lecturer
+                        String dayOfWeek = grid.dayName(day);
+                        String startTime = periodStart(hour);
+                        String endTime = periodEnd(hour);
+                        
+                        session.setDayOfWeek(dayOfWeek);
+                        session.setStartTime(startTime);
+                        session.setEndTime(endTime);
+                        
+                        session.setResourceId(resource.getId());
+                        session.setResourceName(resource.getName());
+                        session.setLecturerId(lecturer.getId());
+                        session.setLecturerName(lecturer.getName());
+                        
+                        timetable.addSession(session);
+                        trace.record(TimetableTrace.Event.SESSION_PADDED, c, day, hour);
+                        paddedSessions++;
+                    }
+                }
+            }
+        }
+        
+        if (paddedSessions > 0) {
+            TimetableLog.w(TAG, "Added " + paddedSessions + " sessions manually for courses missing from the solution");
+        }
+        TimetableLog.d(TAG, "Final timetable has " + timetable.getSessions().size() + " total sessions");
+        
+        return timetable;
+    }
+
+    private List<Integer> findCompatibleResources(Course course, int courseIndex, List<Resource> resources) {
+        List<Integer> compatibleResourceIndices = new ArrayList<>();
+        
+        String requiredRoomType = course.getRequiredRoomType();
+        
+        for (int j = 0; j < resources.size(); j++) {
+            Resource resource = resources.get(j);
+            String resourceType = resource.getType();
+            
+            if (RoomTypes.isCompatible(requiredRoomType, resourceType)) {
+                compatibleResourceIndices.add(j);
+                trace.record(TimetableTrace.Event.RESOURCE_COMPATIBLE, courseIndex, j);
+            }
+        }
+        
+        // If no resources were found, use all resources
+        if (compatibleResourceIndices.isEmpty()) {
+            trace.record(TimetableTrace.Event.RESOURCES_FALLBACK_ALL, courseIndex, resources.size());
+            for (int j = 0; j < resources.size(); j++) {
+                compatibleResourceIndices.add(j);
+            }
+        }
+        
+        trace.record(TimetableTrace.Event.RESOURCES_FOUND, courseIndex, compatibleResourceIndices.size());
+        
+        return compatibleResourceIndices;
+    }
+
+    private Timetable createManualTimetable(List<Course> courses, List<Resource> resources, List<Lecturer> lecturers) {
+        TimetableLog.d(TAG, "Creating manual timetable as fallback");
+        Timetable timetable = new Timetable();
+        
+        // For each course, add the required number of sessions
+        // Try to distribute them evenly across the week
+        int totalSessions = 0;
+        for (Course course : courses) {
+            totalSessions += course.getRequiredSessionsPerWeek();
+        }
+        
+        TimetableLog.d(TAG, "Total sessions to manually schedule: " + totalSessions);
+        
+        // First, assign appropriate lecturers and resources
+        for (int courseIndex = 0; courseIndex < courses.size(); courseIndex++) {
+            addManualSessionsForCourse(courses.get(courseIndex), courseIndex, resources, lecturers, timetable);
+        }
+        
+        // Check for conflicts and try to resolve them
+        if (hasConflicts(timetable)) {
+            TimetableLog.w(TAG, "Manual timetable has conflicts - attempting to resolve");
+            
+            // Simple strategy: If conflicts found, shift problematic sessions to later hours
+            List<TimetableSession> sessions = new ArrayList<>(timetable.getSessions());
+            Map<String, List<TimetableSession>> sessionsByTime = new HashMap<>();
+            int[] hourOrder = relocationOrder();
+            
+            // Group sessions by day and hour
+            for (TimetableSession session : sessions) {
+                String key = session.getDayOfWeek() + "-" + session.getStartTime();
+                if (!sessionsByTime.containsKey(key)) {
+                    sessionsByTime.put(key, new ArrayList<>());
+                }
+                sessionsByTime.get(key).add(session);
+            }
+            
+            // Fix overlapping sessions by redistributing them to available slots
+            for (Map.Entry<String, List<TimetableSession>> entry : sessionsByTime.entrySet()) {
+                if (entry.getValue().size() > 1) {
+                    // Keep the first session in place, move others
+                    for (int i = 1; i < entry.getValue().size(); i++) {
+                        TimetableSession session = entry.getValue().get(i);
+                        
+                        // Try to find a free slot - prioritize spreading throughout the day
+                        boolean relocated = false;
+                        for (int day = 0; day < daysPerWeek; day++) {
+                            String dayOfWeek = grid.dayName(day);
+                            // Try to distribute across all periods of the day
+                            for (int hour : hourOrder) {
+                                String newTimeKey = dayOfWeek + "-" + periodStart(hour);
+                                
+                                if (!sessionsByTime.containsKey(newTimeKey) || sessionsByTime.get(newTimeKey).isEmpty()) {
+                                    // This slot is free, move the session here
+                                    session.setDayOfWeek(dayOfWeek);
+                                    session.setStartTime(periodStart(hour));
+                                    session.setEndTime(periodEnd(hour));
+                                    
+                                    // Update our tracking map
+                                    if (!sessionsByTime.containsKey(newTimeKey)) {
+                                        sessionsByTime.put(newTimeKey, new ArrayList<>());
+                                    }
+                                    sessionsByTime.get(newTimeKey).add(session);
+                                    
+                                    // Remove from old slot
+                                    entry.getValue().remove(i);
+                                    i--; // Adjust index after removal
+                                    
+                                    relocated = true;
+                                    trace.record(TimetableTrace.Event.SESSION_RELOCATED, day, hour);
+                                    break;
+                                }
+                            }
+                            if (relocated) break;
+                        }
+                        
+                        if (!relocated && trace.isEnabled(TimetableTrace.SUMMARY)) {
+                            trace.record(TimetableTrace.Event.SESSION_NOT_RELOCATED,
+                                    grid.dayIndex(session.getDayOfWeek()), periodOf(session.getStartTime()));
+                        }
+                    }
+                }
+            }
+        }
+        
+        return timetable;
+    }
+
+    private void addConstraints(Model model, List<SessionToSchedule> allSessions, 
+                                List<Resource> resources, List<Lecturer> lecturers,
+                                Map<Integer, IntVar> sessionDayVars,
+                                Map<Integer, IntVar> sessionHourVars,
+                                Map<Integer, IntVar> sessionResourceVars,
+                                Map<Integer, IntVar> sessionLecturerVars,
+                                TimetableGeneratorOptions options, WeightedObjective objective) {
+        TimetableLog.d(TAG, "Adding constraints to the model");
+        
+        // 1. No lecturer can be in two places at the same time
+        for (int i = 0; i < allSessions.size(); i++) {
+            SessionToSchedule session1 = allSessions.get(i);
+            IntVar day1 = sessionDayVars.get(session1.getIndex());
+            IntVar hour1 = sessionHourVars.get(session1.getIndex());
+            IntVar lecturer1 = sessionLecturerVars.get(session1.getIndex());
+            
+            for (int j = i + 1; j < allSessions.size(); j++) {
+                SessionToSchedule session2 = allSessions.get(j);
+                IntVar day2 = sessionDayVars.get(session2.getIndex());
+                IntVar hour2 = sessionHourVars.get(session2.getIndex());
+                IntVar lecturer2 = sessionLecturerVars.get(session2.getIndex());
+                
+                // If it's the same lecturer, they can't be in two sessions at the same time
+                model.ifThen(
+                    model.arithm(lecturer1, "=", lecturer2),
+                    model.or(
+                        model.arithm(day1, "!=", day2),
+                        model.arithm(hour1, "!=", hour2)
+                    )
+                );
+            }
+        }
+        
+        // Track the number of sessions per day and per hour
+        IntVar[] dayCounts = new IntVar[daysPerWeek];
+        IntVar[] hourCounts = new IntVar[periodsPerDay];
+        
+        for (int d = 0; d < daysPerWeek; d++) {
+            dayCounts[d] = model.intVar("dayCount_" + d, 0, allSessions.size());
+            
+            // Count sessions on this day
+            IntVar[] dayBoolVars = new IntVar[allSessions.size()];
+            for (int i = 0; i < allSessions.size(); i++) {
+                IntVar dayVar = sessionDayVars.get(allSessions.get(i).getIndex());
+                dayBoolVars[i] = model.intEqView(dayVar, d);
+            }
+            model.sum(dayBoolVars, "=", dayCounts[d]).post();
+        }
+        
+        for (int h = 0; h < periodsPerDay; h++) {
+            hourCounts[h] = model.intVar("hourCount_" + h, 0, allSessions.size());
+            
+            // Count sessions in this hour
+            IntVar[] hourBoolVars = new IntVar[allSessions.size()];
+            for (int i = 0; i < allSessions.size(); i++) {
+                IntVar hourVar = sessionHourVars.get(allSessions.get(i).getIndex());
+                hourBoolVars[i] = model.intEqView(hourVar, h);
+            }
+            model.sum(hourBoolVars, "=", hourCounts[h]).post();
+        }
+        
+        // Day distribution - Ensure sessions are distributed evenly across days
+        int totalSessions = allSessions.size();
+        int idealSessionsPerDay = (int) Math.ceil((double) totalSessions / daysPerWeek);
+        
+        // Create a max difference variable to minimize the imbalance between days
+        IntVar maxDayDiff = model.intVar("maxDayDiff", 0, totalSessions);
+        
+        // For each day, constrain the count to be close to the ideal
+        for (int d = 0; d < daysPerWeek; d++) {
+            // Create target variable for this day
+            IntVar targetDayVar = model.intVar("targetDay_" + d, idealSessionsPerDay);
+            
+            // Soft constraint to encourage approaching the target
+            IntVar dayDiff = model.intVar("dayDiff_" + d, 0, totalSessions);
+            model.distance(dayCounts[d], targetDayVar, "=", dayDiff).post();
+            
+            // Link to max difference to minimize the worst imbalance
+            model.arithm(dayDiff, "<=", maxDayDiff).post();
+        }
+        
+        // 6. Try to distribute the hours more evenly by encouraging sessions to spread 
+        // through specific hour slots
+        
+        // Create a max difference variable to minimize the imbalance between hours
+        IntVar maxHourDiff = model.intVar("maxHourDiff", 0, totalSessions);
+        
+        for (int h = 0; h < periodsPerDay; h++) {
+            // Try to keep the number of sessions per hour close to the ideal,
+            // with the middle hours (11am-2pm) slightly more preferable
+            int targetSessionsForHour = hourTarget(totalSessions, h);
+            
+            // Create an IntVar for the target value since distance requires IntVar, not int
+            IntVar targetVar = model.intVar("target_" + h, targetSessionsForHour);
+            
+            // Soft constraint to encourage approaching this target
+            IntVar diff = model.intVar("hourDiff_" + h, 0, totalSessions);
+            model.distance(hourCounts[h], targetVar, "=", diff).post();
+            
+            // Link to max difference to minimize the worst imbalance
+            model.arithm(diff, "<=", maxHourDiff).post();
+        }
+        
+        // Day counts can only all hit the (rounded up) ideal when the sessions divide evenly;
+        // hour counts must together cover the gap between the session total and the targets
+        int targetTotal = 0;
+        for (int h = 0; h < periodsPerDay; h++) {
+            targetTotal += hourTarget(totalSessions, h);
+        }
+        objective.add(maxDayDiff, options.shouldPreferEvenDistribution() ? EVEN_DAY_BALANCE_WEIGHT : DAY_BALANCE_WEIGHT,
+                totalSessions % daysPerWeek == 0 ? 0 : 1);
+        objective.add(maxHourDiff, HOUR_BALANCE_WEIGHT,
+                (Math.abs(totalSessions - targetTotal) + periodsPerDay - 1) / periodsPerDay);
+    }
+    
+    /**
+     * Limits every lecturer to maxHoursPerDay hours of sessions a day and, when back-to-back
+     * classes are to be avoided, adds each lecturer's number of back-to-back pairs to the
+     * objective. Back-to-back pairs are counted for sessions with a fixed lecturer, which after
+     * the lecturer pre-assignment is every session, and their total is limited by the
+     * back-to-back cap if one is set.
+     */
+    private void addLecturerDayConstraints(Model model, List<SessionToSchedule> allSessions, List<Lecturer> lecturers,
+                                           Map<Integer, IntVar> sessionDayVars, Map<Integer, IntVar> sessionHourVars,
+                                           Map<Integer, IntVar> sessionLecturerVars, Map<Integer, IntVar> sessionSlotVars,
+                                           TimetableGeneratorOptions options, WeightedObjective objective) {
+        int maxSessionsPerDay = options.getMaxHoursPerDay() * 60 / SESSION_MINUTES;
+        boolean avoidBackToBack = options.shouldAvoidBackToBackClasses();
+        boolean countBackToBack = avoidBackToBack || backToBackCap >= 0;
+        
+        List<List<Integer>> fixedSessions = new ArrayList<>();
+        for (int l = 0; l < lecturers.size(); l++) {
+            fixedSessions.add(new ArrayList<>());
+        }
+        List<Integer> openSessions = new ArrayList<>();
+        for (SessionToSchedule session : allSessions) {
+            IntVar lecturer = sessionLecturerVars.get(session.getIndex());
+            if (lecturer.isInstantiated()) {
+                fixedSessions.get(lecturer.getValue()).add(session.getIndex());
+            } else {
+                openSessions.add(session.getIndex());
+            }
+        }
+        
+        int dayLimits = 0;
+        int backToBackLecturers = 0;
+        List<IntVar> backToBackTerms = new ArrayList<>();
+        for (int l = 0; l < lecturers.size(); l++) {
+            List<Integer> fixed = fixedSessions.get(l);
+            if (maxSessionsPerDay > 0) {
+                for (int d = 0; d < daysPerWeek; d++) {
+                    List<IntVar> onDay = new ArrayList<>();
+                    for (int sIndex : fixed) {
+                        onDay.add(model.intEqView(sessionDayVars.get(sIndex), d));
+                    }
+                    for (int sIndex : openSessions) {
+                        if (sessionLecturerVars.get(sIndex).contains(l)) {
+                            onDay.add(model.and(model.arithm(sessionLecturerVars.get(sIndex), "=", l),
+                                    model.arithm(sessionDayVars.get(sIndex), "=", d)).reify());
+                        }
+                    }
+                    if (onDay.size() > maxSessionsPerDay) {
+                        model.sum(onDay.toArray(new IntVar[0]), "<=", maxSessionsPerDay).post();
+                        dayLimits++;
+                    }
+                }
+            }
+            
+            if (countBackToBack && fixed.size() > 1) {
+                List<IntVar> pairs = new ArrayList<>();
+                for (int d = 0; d < daysPerWeek; d++) {
+                    BoolVar[] teaching = new BoolVar[periodsPerDay];
+                    for (int h = 0; h < periodsPerDay; h++) {
+                        IntVar[] atSlot = new IntVar[fixed.size()];
+                        for (int i = 0; i < fixed.size(); i++) {
+                            IntVar slot = slotVar(model, fixed.get(i), sessionDayVars, sessionHourVars, sessionSlotVars);
+                            atSlot[i] = model.intEqView(slot, d * periodsPerDay + h);
+                        }
+                        teaching[h] = model.boolVar("teaching_" + l + "_" + d + "_" + h);
+                        model.sum(atSlot, "=", teaching[h]).post();
+                    }
+                    for (int h = 0; h + 1 < periodsPerDay; h++) {
+                        pairs.add(model.and(teaching[h], teaching[h + 1]).reify());
+                    }
+                }
+                IntVar backToBack = model.intVar("backToBack_" + l, 0, pairs.size());
+                model.sum(pairs.toArray(new IntVar[0]), "=", backToBack).post();
+                backToBackTerms.add(backToBack);
+                if (avoidBackToBack) {
+                    objective.add(backToBack, BACK_TO_BACK_WEIGHT, minBackToBack(fixed.size(), maxSessionsPerDay));
+                }
+                backToBackLecturers++;
+            }
+        }
+        if (backToBackCap >= 0 && !backToBackTerms.isEmpty()) {
+            model.sum(backToBackTerms.toArray(new IntVar[0]), "<=", backToBackCap).post();
+        }
+        trace.record(TimetableTrace.Event.LECTURER_DAYS_POSTED, dayLimits, backToBackLecturers);
+    }
+    
+    /**
+     * Gets the fewest back-to-back pairs a lecturer's sessions can form. k sessions in a day of
+     * P periods form at most min(k, P - k + 1) separate runs, so at least 2k - P - 1 pairs;
+     * that count is convex in k, so spreading the sessions evenly over the days is best.
+     */
+    private int minBackToBack(int sessions, int maxSessionsPerDay) {
+        int pairs = 0;
+        for (int d = 0; d < daysPerWeek; d++) {
+            int k = sessions / daysPerWeek + (d < sessions % daysPerWeek ? 1 : 0);
+            if (maxSessionsPerDay > 0) {
+                k = Math.min(k, maxSessionsPerDay);
+            }
+            pairs += Math.max(0, 2 * k - periodsPerDay - 1);
+        }
+        return pairs;
+    }
+    
+    /**
+     * Hints each session's day and hour from the seed colouring, so the search starts from a
+     * layout without lecturer, pinned-room or student-group clashes.
+     */
+    private void applyColouringHint(Solver solver, List<SessionToSchedule> allSessions, List<Course> courses,
+                                    Map<Integer, IntVar> sessionDayVars, Map<Integer, IntVar> sessionHourVars) {
+        Map<Course, Integer> courseIndices = new HashMap<>();
+        for (int c = 0; c < courses.size(); c++) {
+            courseIndices.put(courses.get(c), c);
+        }
+        int[] seen = new int[courses.size()];
+        for (SessionToSchedule session : allSessions) {
+            int c = courseIndices.get(session.getCourse());
+            int day = lastColouring.getDay(c, seen[c]);
+            int hour = lastColouring.getPeriod(c, seen[c]);
+            seen[c]++;
+            if (day >= 0 && hour >= 0 && hour < periodsPerDay) {
+                solver.addHint(sessionDayVars.get(session.getIndex()), day);
+                solver.addHint(sessionHourVars.get(session.getIndex()), hour);
+            }
+        }
+        TimetableLog.d(TAG, "Applied " + lastColouring.getAlgorithm() + " colouring hint using "
+                + lastColouring.getSlotsUsed() + " slots");
+    }
+    
+    /**
+     * Keeps courses that share a student group apart. Each clique of the course conflict graph
+     * becomes one allDifferent over the week slots (day * periodsPerDay + hour) of all its
+     * sessions, which covers every pair of conflicting courses with far fewer constraints.
+     */
+    private void addStudentGroupConstraints(Model model, List<SessionToSchedule> allSessions, List<Course> courses,
+                                            CourseConflictGraph conflicts,
+                                            Map<Integer, IntVar> sessionDayVars, Map<Integer, IntVar> sessionHourVars,
+                                            Map<Integer, IntVar> sessionSlotVars) {
+        if (conflicts.isEmpty()) {
+            return;
+        }
+        
+        Map<Course, Integer> courseIndices = new HashMap<>();
+        for (int c = 0; c < courses.size(); c++) {
+            courseIndices.put(courses.get(c), c);
+        }
+        
+        // Week slot variables, only for sessions of courses that conflict with another
+        List<List<IntVar>> slotVarsByCourse = new ArrayList<>();
+        for (int c = 0; c < courses.size(); c++) {
+            slotVarsByCourse.add(new ArrayList<>());
+        }
+        for (SessionToSchedule session : allSessions) {
+            int c = courseIndices.get(session.getCourse());
+            if (conflicts.getNeighbours(c).length == 0) {
+                continue;
+            }
+            slotVarsByCourse.get(c).add(slotVar(model, session.getIndex(), sessionDayVars, sessionHourVars,
+                    sessionSlotVars));
+        }
+        
+        int largest = 0;
+        for (int[] clique : conflicts.getCliques()) {
+            List<IntVar> slots = new ArrayList<>();
+            for (int c : clique) {
+                slots.addAll(slotVarsByCourse.get(c));
+            }
+            model.allDifferent(slots.toArray(new IntVar[0])).post();
+            largest = Math.max(largest, slots.size());
+        }
+        trace.record(TimetableTrace.Event.GROUP_CLIQUES_POSTED, conflicts.getCliques().size(), largest);
+    }
+    
+    /**
+     * Gets the week slot variable (day * periodsPerDay + hour) of a session, creating it on first use.
+     */
+    private IntVar slotVar(Model model, int sIndex, Map<Integer, IntVar> sessionDayVars,
+                           Map<Integer, IntVar> sessionHourVars, Map<Integer, IntVar> sessionSlotVars) {
+        IntVar slot = sessionSlotVars.get(sIndex);
+        if (slot == null) {
+            slot = model.intVar("slot_" + sIndex, 0, daysPerWeek * periodsPerDay - 1);
+            model.scalar(new IntVar[] {sessionDayVars.get(sIndex), sessionHourVars.get(sIndex)},
+                    new int[] {periodsPerDay, 1}, "=", slot).post();
+            sessionSlotVars.put(sIndex, slot);
+        }
+        return slot;
+    }
+    
+    /**
+     * Limits the sessions in each week slot to the rooms they can use, for two-phase mode.
+     * For every distinct set of compatible rooms, every union of overlapping sets (see
+     * {@link RoomMatching#overlapUnions}) and all rooms together, the sessions restricted to
+     * rooms within that set may occupy at most that many rooms in any slot. These are Hall's
+     * conditions for the per-slot room matching. Rooms closed in a slot are left out of that
+     * slot's capacity, which is no longer exact, so matchRooms still checks the result.
+     */
+    private void addRoomCapacityConstraints(Model model, List<SessionToSchedule> allSessions,
+                                            Map<Integer, int[]> sessionRooms, BitSet[] closedPeriods,
+                                            Map<Integer, IntVar> sessionDayVars, Map<Integer, IntVar> sessionHourVars,
+                                            Map<Integer, IntVar> sessionSlotVars) {
+        int slotCount = daysPerWeek * periodsPerDay;
+        Set<Integer> allRooms = new HashSet<>();
+        Set<Set<Integer>> distinctSets = new LinkedHashSet<>();
+        for (int[] rooms : sessionRooms.values()) {
+            Set<Integer> set = new HashSet<>();
+            for (int room : rooms) {
+                set.add(room);
+            }
+            allRooms.addAll(set);
+            distinctSets.add(set);
+        }
+        List<Set<Integer>> roomSets = RoomMatching.overlapUnions(distinctSets, MAX_ROOM_SETS);
+        if (roomSets.size() >= MAX_ROOM_SETS) {
+            TimetableLog.w(TAG, "Room capacity limited to the first " + MAX_ROOM_SETS + " room sets");
+        }
+        if (!roomSets.contains(allRooms)) {
+            roomSets.add(allRooms);
+        }
+        
+        int[] slotValues = new int[slotCount];
+        for (int k = 0; k < slotCount; k++) {
+            slotValues[k] = k;
+        }
+        int posted = 0;
+        for (Set<Integer> rooms : roomSets) {
+            List<IntVar> slots = new ArrayList<>();
+            for (SessionToSchedule session : allSessions) {
+                boolean within = true;
+                for (int room : sessionRooms.get(session.getIndex())) {
+                    if (!rooms.contains(room)) {
+                        within = false;
+                        break;
+                    }
+                }
+                if (within) {
+                    slots.add(slotVar(model, session.getIndex(), sessionDayVars, sessionHourVars, sessionSlotVars));
+                }
+            }
+            // Fewer sessions than rooms can never exceed the capacity
+            if (slots.size() <= rooms.size()) {
+                continue;
+            }
+            // Rooms closed in a slot do not count towards its capacity
+            IntVar[] occupancy = new IntVar[slotCount];
+            for (int k = 0; k < slotCount; k++) {
+                int open = 0;
+                for (int room : rooms) {
+                    if (!closedPeriods[room].get(k)) {
+                        open++;
+                    }
+                }
+                occupancy[k] = model.intVar("roomCapacity_" + posted + "_" + k, 0, open);
+            }
+            model.globalCardinality(slots.toArray(new IntVar[0]), slotValues, occupancy, false).post();
+            posted++;
+        }
+        trace.record(TimetableTrace.Event.ROOM_CAPACITY_POSTED, posted, roomSets.size());
+    }
+    
+    /**
+     * Matches the solved sessions to rooms slot by slot and stores the rooms as resource values.
+     * A session the matching leaves without a room keeps -1, so the timetable leaves it out
+     * instead of double-booking a room, and is counted in getLastUnmatchedRooms.
+     */
+    private void matchRooms(List<SessionToSchedule> allSessions, Map<Integer, int[]> sessionRooms,
+                            BitSet[] closedPeriods, Map<String, Integer> variableValues) {
+        int[] slotOfSession = new int[allSessions.size()];
+        int[][] compatibleRooms = new int[allSessions.size()][];
+        for (int i = 0; i < allSessions.size(); i++) {
+            int sIndex = allSessions.get(i).getIndex();
+            int day = variableValues.getOrDefault("day_" + sIndex, -1);
+            int hour = variableValues.getOrDefault("hour_" + sIndex, -1);
+            slotOfSession[i] = day < 0 || hour < 0 ? -1 : day * periodsPerDay + hour;
+            compatibleRooms[i] = openRooms(sessionRooms.get(sIndex), closedPeriods, slotOfSession[i]);
+        }
+        
+        RoomMatching matching = RoomMatching.match(slotOfSession, compatibleRooms, daysPerWeek * periodsPerDay);
+        for (int i = 0; i < allSessions.size(); i++) {
+            variableValues.put("resource_" + allSessions.get(i).getIndex(), matching.getRoom(i));
+        }
+        trace.record(TimetableTrace.Event.ROOMS_MATCHED, matching.getSlotsMatched(), matching.getUnmatched(),
+                (int) matching.getElapsedMicros());
+        lastUnmatchedRooms = matching.getUnmatched();
+        if (lastUnmatchedRooms > 0) {
+            TimetableLog.w(TAG, lastUnmatchedRooms + " sessions could not be matched to a free compatible room"
+                    + " and are left out of the timetable");
+        }
+    }
+    
+    /**
+     * Gets the rooms of a list that are open in a week period, or the whole list if none are.
+     */
+    private static int[] openRooms(int[] rooms, BitSet[] closedPeriods, int period) {
+        if (period < 0) {
+            return rooms;
+        }
+        int[] open = new int[rooms.length];
+        int count = 0;
+        for (int room : rooms) {
+            if (!closedPeriods[room].get(period)) {
+                open[count++] = room;
+            }
+        }
+        return count == 0 ? rooms : Arrays.copyOf(open, count);
+    }
+    
+    /**
+     * Gets the week periods (day * periodsPerDay + hour) in which each room is closed. A period
+     * is closed when any grid slot it covers is blocked.
+     */
+    private BitSet[] closedPeriods(RoomAvailability availability) {
+        int sessionSlots = grid.slotsFor(SESSION_MINUTES);
+        BitSet[] closed = new BitSet[availability.getRooms().size()];
+        for (int r = 0; r < closed.length; r++) {
+            closed[r] = new BitSet(daysPerWeek * periodsPerDay);
+            if (!availability.hasBlockedSlots(r)) {
+                continue;
+            }
+            for (int d = 0; d < daysPerWeek; d++) {
+                for (int p = 0; p < periodsPerDay; p++) {
+                    int first = grid.slotOfDayAt(grid.getDayStartMinute() + p * SESSION_MINUTES);
+                    int from = grid.slot(d, first);
+                    int to = grid.slot(d, Math.min(grid.getSlotsPerDay(), first + sessionSlots));
+                    if (availability.isBlocked(r, from, to)) {
+                        closed[r].set(d * periodsPerDay + p);
+                    }
+                }
+            }
+        }
+        return closed;
+    }
+    
+    /**
+     * Keeps sessions out of the periods in which their rooms are closed, before search starts.
+     * A session whose rooms are all closed in a period loses that period from its slot domain.
+     * With a room variable, a table of open (room, slot) pairs also keeps it out of the periods
+     * in which the room it is given is closed.
+     */
+    private void addRoomWindowConstraints(Model model, List<SessionToSchedule> allSessions,
+                                          Map<Integer, int[]> sessionRooms, BitSet[] closedPeriods,
+                                          Map<Integer, IntVar> sessionDayVars, Map<Integer, IntVar> sessionHourVars,
+                                          Map<Integer, IntVar> sessionResourceVars,
+                                          Map<Integer, IntVar> sessionSlotVars) {
+        int slotCount = daysPerWeek * periodsPerDay;
+        int[] allRooms = new int[closedPeriods.length];
+        boolean anyClosed = false;
+        for (int r = 0; r < closedPeriods.length; r++) {
+            allRooms[r] = r;
+            anyClosed |= !closedPeriods[r].isEmpty();
+        }
+        if (!anyClosed) {
+            return;
+        }
+        
+        int restricted = 0;
+        int closedSlots = 0;
+        for (SessionToSchedule session : allSessions) {
+            int sIndex = session.getIndex();
+            int[] rooms = sessionRooms.get(sIndex);
+            if (rooms.length == 0) {
+                rooms = allRooms;
+            }
+            boolean closed = false;
+            for (int room : rooms) {
+                closed |= !closedPeriods[room].isEmpty();
+            }
+            if (!closed) {
+                continue;
+            }
+            
+            BitSet open = new BitSet(slotCount);
+            Tuples tuples = new Tuples(true);
+            for (int room : rooms) {
+                for (int k = 0; k < slotCount; k++) {
+                    if (!closedPeriods[room].get(k)) {
+                        open.set(k);
+                        tuples.add(room, k);
+                    }
+                }
+            }
+            if (open.isEmpty()) {
+                TimetableLog.w(TAG, "Every room of " + session.getCourse().getName() + " is closed all week");
+                continue;
+            }
+            
+            IntVar slot = slotVar(model, sIndex, sessionDayVars, sessionHourVars, sessionSlotVars);
+            IntVar resource = sessionResourceVars.get(sIndex);
+            if (resource != null && !resource.isInstantiated()) {
+                model.table(new IntVar[] {resource, slot}, tuples).post();
+            } else {
+                model.member(slot, open.stream().toArray()).post();
+            }
+            restricted++;
+            closedSlots += slotCount - open.cardinality();
+        }
+        trace.record(TimetableTrace.Event.ROOM_WINDOWS_POSTED, restricted, closedSlots);
+    }
+    
+    /**
+     * Gets the number of sessions each hour slot aims for, favouring the middle of the day.
+     */
+    private int hourTarget(int totalSessions, int hour) {
+        int idealSessionsPerHour = (int) Math.ceil((double) totalSessions / periodsPerDay);
+        double preference = hour >= 2 && hour <= 5 ? 1.2 : 1.0;
+        return (int) Math.round(idealSessionsPerHour * preference);
+    }
+    
+    /**
+     * Adds the hint's assignments as search hints.
+     */
+    private void applyHint(Solver solver, List<SessionToSchedule> allSessions,
+                           List<Resource> resources, List<Lecturer> lecturers,
+                           Map<Integer, IntVar> sessionDayVars, Map<Integer, IntVar> sessionHourVars,
+                           Map<Integer, IntVar> sessionResourceVars, Map<Integer, IntVar> sessionLecturerVars) {
+        Map<String, Integer> resourceIndex = new HashMap<>();
+        for (int r = 0; r < resources.size(); r++) {
+            resourceIndex.put(resources.get(r).getId(), r);
+        }
+        Map<String, Integer> lecturerIndex = new HashMap<>();
+        for (int l = 0; l < lecturers.size(); l++) {
+            lecturerIndex.put(lecturers.get(l).getId(), l);
+        }
+        Map<String, List<TimetableSession>> hintsByCourse = new HashMap<>();
+        for (TimetableSession session : hint.getSessions()) {
+            hintsByCourse.computeIfAbsent(session.getCourseId(), id -> new ArrayList<>()).add(session);
+        }
+        
+        int hinted = 0;
+        Map<String, Integer> usedPerCourse = new HashMap<>();
+        for (SessionToSchedule session : allSessions) {
+            String courseId = session.getCourse().getId();
+            List<TimetableSession> courseHints = hintsByCourse.get(courseId);
+            int used = usedPerCourse.getOrDefault(courseId, 0);
+            if (courseHints == null || used >= courseHints.size()) {
+                continue;
+            }
+            usedPerCourse.put(courseId, used + 1);
+            TimetableSession hintSession = courseHints.get(used);
+            
+            int day = grid.dayIndex(hintSession.getDayOfWeek());
+            int hour = periodOf(hintSession.getStartTime());
+            if (day < 0 || hour < 0 || hour >= periodsPerDay) {
+                continue;
+            }
+            int sIndex = session.getIndex();
+            solver.addHint(sessionDayVars.get(sIndex), day);
+            solver.addHint(sessionHourVars.get(sIndex), hour);
+            Integer resource = resourceIndex.get(hintSession.getResourceId());
+            if (resource != null && sessionResourceVars.containsKey(sIndex)) {
+                solver.addHint(sessionResourceVars.get(sIndex), resource);
+            }
+            Integer lecturer = lecturerIndex.get(hintSession.getLecturerId());
+            if (lecturer != null) {
+                solver.addHint(sessionLecturerVars.get(sIndex), lecturer);
+            }
+            hinted++;
+        }
+        TimetableLog.d(TAG, "Applied hints for " + hinted + " of " + allSessions.size() + " sessions");
+    }
+
+    private void addManualSessionsForCourse(Course course, int courseIndex, List<Resource> resources, List<Lecturer> lecturers, Timetable timetable) {
+        // Find appropriate resource and lecturer
+        Resource resource = null;
+        Lecturer lecturer = null;
+        
+        // If course has assigned resource/lecturer, use those
+        if (course.getAssignedResourceId() != null && !course.getAssignedResourceId().isEmpty()) {
+            for (Resource r : resources) {
+                if (r.getId().equals(course.getAssignedResourceId())) {
+                    resource = r;
+                    break;
+                }
+            }
+        }
+        
+        if (course.getAssignedLecturerId() != null && !course.getAssignedLecturerId().isEmpty()) {
+            for (Lecturer l : lecturers) {
+                if (l.getId().equals(course.getAssignedLecturerId())) {
+                    lecturer = l;
+                    break;
+                }
+            }
+        }
+        
+        // If no assigned resource/lecturer, use the first available
+        if (resource == null && !resources.isEmpty()) {
+            resource = resources.get(0);
+        }
+        
+        if (lecturer == null && !lecturers.isEmpty()) {
+            lecturer = lecturers.get(0);
+        }
+        
+        if (resource != null && lecturer != null) {
+            int sessionsPerCourse = course.getRequiredSessionsPerWeek();
+            
+            // Get current session counts for better distribution
+            int[] sessionsByDay = new int[daysPerWeek];
+            int[] sessionsByHour = new int[periodsPerDay];
+            
+            // Calculate current distributions from existing sessions
+            for (TimetableSession session : timetable.getSessions()) {
+                int dayIndex = grid.dayIndex(session.getDayOfWeek());
+                
+                if (dayIndex >= 0) {
+                    sessionsByDay[dayIndex]++;
+                    
+                    int hourIndex = periodOf(session.getStartTime());
+                    if (hourIndex >= 0) {
+                        sessionsByHour[hourIndex]++;
+                    }
+                }
+            }
+            
+            // Spread the sessions evenly over days and hours
+            for (int i = 0; i < sessionsPerCourse; i++) {
+                TimetableSession session = new TimetableSession();
+                session.setId(SessionIds.random());
+                session.setCourseId(course.getId());
+                session.setCourseName(course.getName());
+                session.setSessionType(course.getCode() != null ? course.getCode() : "LECTURE");
+                
+                // Find the day with fewest sessions
+                int minDaySessions = Integer.MAX_VALUE;
+                int bestDayIndex = 0;
+                
+                for (int d = 0; d < daysPerWeek; d++) {
+                    if (sessionsByDay[d] < minDaySessions) {
+                        minDaySessions = sessionsByDay[d];
+                        bestDayIndex = d;
+                    }
+                }
+                
+                // Find the hour with fewest sessions
+                int minHourSessions = Integer.MAX_VALUE;
+                int bestHourIndex = 0;
+                
+                for (int h = 0; h < periodsPerDay; h++) {
+                    if (sessionsByHour[h] < minHourSessions) {
+                        minHourSessions = sessionsByHour[h];
+                        bestHourIndex = h;
+                    }
+                }
+                
+                // Set day and time for this session
+                String day = grid.dayName(bestDayIndex);
+                String formattedHour = periodStart(bestHourIndex);
+                
+                session.setDayOfWeek(day);
+                session.setStartTime(formattedHour);
+                session.setEndTime(periodEnd(bestHourIndex));
+                session.setResourceId(resource.getId());
+                session.setResourceName(resource.getName());
+                session.setLecturerId(lecturer.getId());
+                session.setLecturerName(lecturer.getName());
+                
+                // Check for conflicts
+                boolean hasConflict = false;
+                
+                // Check for conflicts with existing sessions
+                for (TimetableSession existingSession : timetable.getSessions()) {
+                    if (existingSession.getDayOfWeek().equals(day) && 
+                        existingSession.getStartTime().equals(formattedHour) && 
+                        (existingSession.getResourceId().equals(resource.getId()) || 
+                         existingSession.getLecturerId().equals(lecturer.getId()))) {
+                        hasConflict = true;
+                        break;
+                    }
+                }
+                
+                // If conflict detected, try alternate hours
+                if (hasConflict) {
+                    // Try other hours on the same day first
+                    for (int h = 0; h < periodsPerDay; h++) {
+                        if (h == bestHourIndex) continue;
+                        
+                        String alternateFormattedHour = periodStart(h);
+                        
+                        boolean alternateHasConflict = false;
+                        for (TimetableSession existingSession : timetable.getSessions()) {
+                            if (existingSession.getDayOfWeek().equals(day) &&
+                                existingSession.getStartTime().equals(alternateFormattedHour) && 
+                                (existingSession.getResourceId().equals(resource.getId()) || 
+                                 existingSession.getLecturerId().equals(lecturer.getId()))) {
+                                alternateHasConflict = true;
+                                break;
+                            }
+                        }
+                        
+                        if (!alternateHasConflict) {
+                            session.setStartTime(alternateFormattedHour);
+                            session.setEndTime(periodEnd(h));
+                            hasConflict = false;
+                            break;
+                        }
+                    }
+                    
+                    // If still conflict, try another day
+                    if (hasConflict) {
+                        // Find the next best day
+                        int secondBestDayIndex = 0;
+                        int secondMinSessions = Integer.MAX_VALUE;
+                        
+                        for (int d = 0; d < daysPerWeek; d++) {
+                            if (d != bestDayIndex && sessionsByDay[d] < secondMinSessions) {
+                                secondMinSessions = sessionsByDay[d];
+                                secondBestDayIndex = d;
+                            }
+                        }
+                        
+                        day = grid.dayName(secondBestDayIndex);
+                        session.setDayOfWeek(day);
+                        
+                        // Check all hours on this day for conflicts
+                        for (int h = 0; h < periodsPerDay; h++) {
+                            String alternateFormattedHour = periodStart(h);
+                            
+                            boolean alternateHasConflict = false;
+                            for (TimetableSession existingSession : timetable.getSessions()) {
+                                if (existingSession.getDayOfWeek().equals(day) &&
+                                    existingSession.getStartTime().equals(alternateFormattedHour) && 
+                                    (existingSession.getResourceId().equals(resource.getId()) || 
+                                     existingSession.getLecturerId().equals(lecturer.getId()))) {
+                                    alternateHasConflict = true;
+                                    break;
+                                }
+                            }
+                            
+                            if (!alternateHasConflict) {
+                                session.setStartTime(alternateFormattedHour);
+                                session.setEndTime(periodEnd(h));
+                                hasConflict = false;
+                                break;
+                            }
+                        }
+                    }
+                }
+                
+                // Only add if no conflict or conflict was resolved
+                if (!hasConflict) {
+                    timetable.addSession(session);
+                    
+                    // Update counts for next iteration
+                    int usedDayIndex = grid.dayIndex(day);
+                    sessionsByDay[usedDayIndex]++;
+                    
+                    int usedHourIndex = periodOf(session.getStartTime());
+                    sessionsByHour[usedHourIndex]++;
+                    
+                    trace.record(TimetableTrace.Event.MANUAL_SESSION, courseIndex, usedDayIndex, usedHourIndex);
+                } else {
+                    trace.record(TimetableTrace.Event.MANUAL_CONFLICT, courseIndex);
+                }
+            }
+        } else {
+            TimetableLog.e(TAG, "Could not add manual sessions for " + course.getName() + ": no resource or lecturer available");
+        }
+    }
+
+    /**
+     * Weighted sum of the soft-constraint terms to minimise, together with the sum of their
+     * lower bounds. The objective variable's domain starts at that bound.
+     */
+    private static class WeightedObjective {
+        private final List<IntVar> terms = new ArrayList<>();
+        private final List<Integer> weights = new ArrayList<>();
+        private int lowerBound;
+        
+        public void add(IntVar term, int weight, int termLowerBound) {
+            terms.add(term);
+            weights.add(weight);
+            lowerBound += weight * termLowerBound;
+        }
+        
+        public int size() {
+            return terms.size();
+        }
+        
+        public int getLowerBound() {
+            return lowerBound;
+        }
+        
+        public IntVar post(Model model) {
+            int upperBound = 0;
+            int[] coefficients = new int[weights.size()];
+            for (int i = 0; i < terms.size(); i++) {
+                coefficients[i] = weights.get(i);
+                upperBound += weights.get(i) * terms.get(i).getUB();
+            }
+            IntVar objective = model.intVar("objective", lowerBound, Math.max(lowerBound, upperBound));
+            model.scalar(terms.toArray(new IntVar[0]), coefficients, "=", objective).post();
+            model.setObjective(Model.MINIMIZE, objective);
+            return objective;
+        }
+    }
+
+    private static class ValueSolution {
+        private final Map<String, Integer> values;
+        
+        public ValueSolution(Map<String, Integer> values) {
+            this.values = values;
+        }
+        
+        public int getValue(String name) {
+            return values.getOrDefault(name, -1);
+        }
+    }
+
+    private static class SessionToSchedule {
+        private final int index;
+        private final Course course;
+        
+        public SessionToSchedule(int index, Course course) {
+            this.index = index;
+            this.course = course;
+        }
+        
+        public int getIndex() {
+            return index;
+        }
+        
+        public Course getCourse() {
+            return course;
+        }
+    }
+
+    @Override
+    public boolean hasConflicts(Timetable timetable) {
+        TimetableGenerator simpleGenerator = new SimpleTimetableGenerator();
+        return simpleGenerator.hasConflicts(timetable);
+    }
+
+    /**
+     * Sets the grid used for the current run. Sessions are one hour long and start at whole
+     * hours after the start of the daily window, so on a grid with 30-minute slots each
+     * period covers two slots.
+     */
+    private void setGrid(TimeGrid grid) {
+        this.grid = grid;
+        this.daysPerWeek = grid.getDays();
+        this.periodsPerDay = Math.max(1, grid.getWindowMinutes() / SESSION_MINUTES);
+    }
+    
+    private String periodStart(int period) {
+        return TimeGrid.formatTime(grid.getDayStartMinute() + period * SESSION_MINUTES);
+    }
+    
+    private String periodEnd(int period) {
+        return TimeGrid.formatTime(grid.getDayStartMinute() + (period + 1) * SESSION_MINUTES);
+    }
+    
+    /**
+     * Gets the period that starts at the given time, or -1 if no period starts then.
+     */
+    private int periodOf(String startTime) {
+        int offset = TimeGrid.parseTime(startTime) - grid.getDayStartMinute();
+        if (offset < 0 || offset % SESSION_MINUTES != 0 || offset / SESSION_MINUTES >= periodsPerDay) {
+            return -1;
+        }
+        return offset / SESSION_MINUTES;
+    }
+    
+    /**
+     * Gets the order in which periods are tried when relocating a conflicting session.
+     */
+    private int[] relocationOrder() {
+        int[] order = new int[periodsPerDay];
+        int count = 0;
+        for (int period : RELOCATION_ORDER) {
+            if (period < periodsPerDay) {
+                order[count++] = period;
+            }
+        }
+        for (int period = RELOCATION_ORDER.length; period < periodsPerDay; period++) {
+            order[count++] = period;
+        }
+        return order;
+    }
+}
@@ -0,0 +1,296 @@
+package com.example.manager.timetable;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Immutable, memory-compact copy of a timetable, for places that hold many timetables at once
+ * such as the result cache and what-if scenario results.
+ *
+ * Each session is a row of int codes in parallel arrays. Courses, lecturers and rooms are
+ * interned once as (ID, name) pairs, and days, times, session types and timetable IDs share
+ * one string dictionary, so a thousand sessions in the same room hold its name once. Session
+ * IDs in UUID form are packed into two longs. {@link TimetableSession} objects are only
+ * created on demand by {@link #session(int)}, {@link #sessions()} and {@link #toTimetable()},
+ * at the UI, Firebase and JSON boundary; each call returns new objects the caller may modify.
+ */
+public final class CompactTimetable {
+    private static final int NONE = -1;
+
+    private final String academicTerm;
+    private final String academicYear;
+    private final int size;
+
+    // Dictionaries
+    private final String[][] courses;   // Code -> {id, name}
+    private final String[][] lecturers;
+    private final String[][] rooms;
+    private final String[] strings;     // Days, times, session types and timetable IDs
+
+    // Per-session codes, NONE for null
+    private final int[] course;
+    private final int[] lecturer;
+    private final int[] room;
+    private final int[] day;
+    private final int[] start;
+    private final int[] end;
+    private final int[] type;
+    private final int[] timetableId;
+
+    // Session IDs: UUIDs packed into two longs, anything else kept as is
+    private final long[] idHigh;
+    private final long[] idLow;
+    private final BitSet packedIds;
+    private final String[] otherIds;
+
+    private CompactTimetable(Timetable timetable) {
+        List<TimetableSession> sessions = timetable.getSessions() != null ? timetable.getSessions()
+                : Collections.<TimetableSession>emptyList();
+        academicTerm = timetable.getAcademicTerm();
+        academicYear = timetable.getAcademicYear();
+        size = sessions.size();
+        course = new int[size];
+        lecturer = new int[size];
+        room = new int[size];
+        day = new int[size];
+        start = new int[size];
+        end = new int[size];
+        type = new int[size];
+        timetableId = new int[size];
+        idHigh = new long[size];
+        idLow = new long[size];
+        packedIds = new BitSet(size);
+        String[] unpacked = null;
+
+        Map<List<String>, Integer> courseCodes = new HashMap<>();
+        Map<List<String>, Integer> lecturerCodes = new HashMap<>();
+        Map<List<String>, Integer> roomCodes = new HashMap<>();
+        Map<String, Integer> stringCodes = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            TimetableSession session = sessions.get(i);
+            course[i] = pairCode(courseCodes, session.getCourseId(), session.getCourseName());
+            lecturer[i] = pairCode(lecturerCodes, session.getLecturerId(), session.getLecturerName());
+            room[i] = pairCode(roomCodes, session.getResourceId(), session.getResourceName());
+            day[i] = stringCode(stringCodes, session.getDayOfWeek());
+            start[i] = stringCode(stringCodes, session.getStartTime());
+            end[i] = stringCode(stringCodes, session.getEndTime());
+            type[i] = stringCode(stringCodes, session.getSessionType());
+            timetableId[i] = stringCode(stringCodes, session.getTimetableId());
+
+            UUID uuid = parseUuid(session.getId());
+            if (uuid != null) {
+                idHigh[i] = uuid.getMostSignificantBits();
+                idLow[i] = uuid.getLeastSignificantBits();
+                packedIds.set(i);
+            } else if (session.getId() != null) {
+                if (unpacked == null) {
+                    unpacked = new String[size];
+                }
+                unpacked[i] = session.getId();
+            }
+        }
+        otherIds = unpacked;
+        courses = pairs(courseCodes);
+        lecturers = pairs(lecturerCodes);
+        rooms = pairs(roomCodes);
+        strings = new String[stringCodes.size()];
+        for (Map.Entry<String, Integer> entry : stringCodes.entrySet()) {
+            strings[entry.getValue()] = entry.getKey();
+        }
+    }
+
+    /**
+     * Creates a compact copy of a timetable.
+     */
+    public static CompactTimetable of(Timetable timetable) {
+        return new CompactTimetable(timetable);
+    }
+
+    private static int pairCode(Map<List<String>, Integer> codes, String id, String name) {
+        if (id == null && name == null) {
+            return NONE;
+        }
+        return codes.computeIfAbsent(Arrays.asList(id, name), k -> codes.size());
+    }
+
+    private static int stringCode(Map<String, Integer> codes, String value) {
+        return value == null ? NONE : codes.computeIfAbsent(value, k -> codes.size());
+    }
+
+    private static String[][] pairs(Map<List<String>, Integer> codes) {
+        String[][] pairs = new String[codes.size()][];
+        for (Map.Entry<List<String>, Integer> entry : codes.entrySet()) {
+            pairs[entry.getValue()] = entry.getKey().toArray(new String[0]);
+        }
+        return pairs;
+    }
+
+    // Only IDs that print back identically are packed
+    private static UUID parseUuid(String id) {
+        if (id == null || id.length() != 36) {
+            return null;
+        }
+        try {
+            UUID uuid = UUID.fromString(id);
+            return uuid.toString().equals(id) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String getId(int i) {
+        if (packedIds.get(i)) {
+            return new UUID(idHigh[i], idLow[i]).toString();
+        }
+        return otherIds == null ? null : otherIds[i];
+    }
+
+    public String getCourseId(int i) {
+        return course[i] == NONE ? null : courses[course[i]][0];
+    }
+
+    public String getCourseName(int i) {
+        return course[i] == NONE ? null : courses[course[i]][1];
+    }
+
+    public String getLecturerId(int i) {
+        return lecturer[i] == NONE ? null : lecturers[lecturer[i]][0];
+    }
+
+    public String getLecturerName(int i) {
+        return lecturer[i] == NONE ? null : lecturers[lecturer[i]][1];
+    }
+
+    public String getResourceId(int i) {
+        return room[i] == NONE ? null : rooms[room[i]][0];
+    }
+
+    public String getResourceName(int i) {
+        return room[i] == NONE ? null : rooms[room[i]][1];
+    }
+
+    public String getDayOfWeek(int i) {
+        return string(day[i]);
+    }
+
+    public String getStartTime(int i) {
+        return string(start[i]);
+    }
+
+    public String getEndTime(int i) {
+        return string(end[i]);
+    }
+
+    public String getSessionType(int i) {
+        return string(type[i]);
+    }
+
+    public String getTimetableId(int i) {
+        return string(timetableId[i]);
+    }
+
+    private String string(int code) {
+        return code == NONE ? null : strings[code];
+    }
+
+    /**
+     * Gets a session's course code, an index below {@link #getCourseCount()}, or -1 if it has no course.
+     * Sessions of the same course ID and name share a code.
+     */
+    public int getCourseCode(int i) {
+        return course[i];
+    }
+
+    /**
+     * Gets a session's lecturer code, an index below {@link #getLecturerCount()}, or -1 if it has no lecturer.
+     */
+    public int getLecturerCode(int i) {
+        return lecturer[i];
+    }
+
+    /**
+     * Gets a session's room code, an index below {@link #getRoomCount()}, or -1 if it has no room.
+     */
+    public int getRoomCode(int i) {
+        return room[i];
+    }
+
+    /**
+     * Gets a session's day code, or -1 if it has no day. Sessions on the same day share a code.
+     */
+    public int getDayCode(int i) {
+        return day[i];
+    }
+
+    public int getCourseCount() {
+        return courses.length;
+    }
+
+    public int getLecturerCount() {
+        return lecturers.length;
+    }
+
+    public int getRoomCount() {
+        return rooms.length;
+    }
+
+    public String getAcademicTerm() {
+        return academicTerm;
+    }
+
+    public String getAcademicYear() {
+        return academicYear;
+    }
+
+    /**
+     * Creates a session object for one session.
+     */
+    public TimetableSession session(int i) {
+        TimetableSession session = new TimetableSession(getId(i), getCourseId(i), getCourseName(i),
+                getLecturerId(i), getLecturerName(i), getResourceId(i), getResourceName(i), getDayOfWeek(i),
+                getStartTime(i), getEndTime(i), getSessionType(i));
+        session.setTimetableId(getTimetableId(i));
+        return session;
+    }
+
+    /**
+     * Gets a read-only list view that creates each session object when it is read.
+     */
+    public List<TimetableSession> sessions() {
+        return new AbstractList<TimetableSession>() {
+            @Override
+            public TimetableSession get(int index) {
+                if (index < 0 || index >= size) {
+                    throw new IndexOutOfBoundsException("Index " + index + ", size " + size);
+                }
+                return session(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Creates a full timetable with its own session objects.
+     */
+    public Timetable toTimetable() {
+        Timetable timetable = new Timetable(academicTerm, academicYear);
+        for (int i = 0; i < size; i++) {
+            timetable.addSession(session(i));
+        }
+        return timetable;
+    }
+}
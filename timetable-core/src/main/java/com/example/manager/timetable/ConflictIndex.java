@@ -0,0 +1,342 @@
+package com.example.manager.timetable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory occupancy of rooms and lecturers over a week, for checking interactive edits
+ * without downloading every booked entry.
+ *
+ * An entry books one room and one lecturer on one or more days between a start and an end
+ * time, and is keyed by its database key (a manual schedule's key in "timetables" or a
+ * session's ID). The week is cut into {@link #SLOT_MINUTES}-minute slots. Every room and
+ * lecturer keeps a {@link SlotSet} of busy slots, a count of the entries on each slot and
+ * the key of one of them. "Is this free" is a few word operations and "who is there" one
+ * array read. Adding, removing and moving an entry only touch the slots it covers.
+ *
+ * Times are half-open, so an entry ending at 10:00 does not clash with one starting at 10:00,
+ * and are rounded outwards to whole slots. Instances are not thread-safe; the app keeps one
+ * on the main thread and updates it from database child events.
+ */
+public final class ConflictIndex {
+    public static final int SLOT_MINUTES = 5;
+
+    private static final TimeGrid WEEK = new TimeGrid(7, SLOT_MINUTES, 0, 24 * 60);
+
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Map<String, Occupancy> rooms = new HashMap<>();
+    private final Map<String, Occupancy> lecturers = new HashMap<>();
+
+    /**
+     * One booked entry. Immutable.
+     */
+    public static final class Entry {
+        private final String key;
+        private final String roomId;
+        private final String lecturerId;
+        private final int[] days;
+        private final int from; // First slot of the day
+        private final int to;   // Slot of the day after the last one
+
+        private Entry(String key, String roomId, String lecturerId, int[] days, int from, int to) {
+            this.key = key;
+            this.roomId = roomId;
+            this.lecturerId = lecturerId;
+            this.days = days;
+            this.from = from;
+            this.to = to;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public String getRoomId() {
+            return roomId;
+        }
+
+        public String getLecturerId() {
+            return lecturerId;
+        }
+
+        private boolean covers(int slot) {
+            int slotOfDay = WEEK.slotOfDay(slot);
+            if (slotOfDay < from || slotOfDay >= to) {
+                return false;
+            }
+            int day = WEEK.dayOf(slot);
+            for (int d : days) {
+                if (d == day) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    // Busy slots of one room or lecturer
+    private static final class Occupancy {
+        private final SlotSet busy = WEEK.newSlotSet();
+        private final short[] count = new short[WEEK.getSlotCount()];
+        private final String[] owner = new String[WEEK.getSlotCount()];
+    }
+
+    /**
+     * Adds an entry, or moves it if the key is already indexed.
+     *
+     * @param key Database key of the entry
+     * @param roomId Booked room, or null
+     * @param lecturerId Booked lecturer, or null
+     * @param days Day names such as "Monday"
+     * @param startTime Start time such as "09:00"
+     * @param endTime End time such as "10:30"
+     * @return false if the days or times could not be read, in which case the key is not indexed
+     */
+    public boolean put(String key, String roomId, String lecturerId, Collection<String> days,
+                       String startTime, String endTime) {
+        remove(key);
+        Entry entry = entry(key, roomId, lecturerId, days, startTime, endTime);
+        if (entry == null) {
+            return false;
+        }
+        entries.put(key, entry);
+        book(true, entry.roomId, entry, +1);
+        book(false, entry.lecturerId, entry, +1);
+        return true;
+    }
+
+    /**
+     * Adds an entry whose time is stored as one "09:00-10:30" string, as manual schedules are.
+     *
+     * @return false if the days or time slot could not be read
+     */
+    public boolean put(String key, String roomId, String lecturerId, Collection<String> days, String timeSlot) {
+        String[] times = timeSlot == null ? new String[0] : timeSlot.split("-");
+        if (times.length != 2) {
+            remove(key);
+            return false;
+        }
+        return put(key, roomId, lecturerId, days, times[0].trim(), times[1].trim());
+    }
+
+    /**
+     * Adds a generated session, keyed by its ID.
+     *
+     * @return false if the session's day or times could not be read
+     */
+    public boolean put(TimetableSession session) {
+        return put(session.getId(), session.getResourceId(), session.getLecturerId(),
+                Collections.singletonList(session.getDayOfWeek()), session.getStartTime(), session.getEndTime());
+    }
+
+    /**
+     * Removes an entry.
+     *
+     * @return true if the key was indexed
+     */
+    public boolean remove(String key) {
+        Entry entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        book(true, entry.roomId, entry, -1);
+        book(false, entry.lecturerId, entry, -1);
+        return true;
+    }
+
+    /**
+     * Removes every entry.
+     */
+    public void clear() {
+        entries.clear();
+        rooms.clear();
+        lecturers.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Gets an indexed entry, or null.
+     */
+    public Entry get(String key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Checks whether a room has no entry other than {@code ignoreKey} overlapping the given days and times.
+     *
+     * @param ignoreKey Key of the entry being edited, which never clashes with itself, or null
+     */
+    public boolean isRoomFree(String roomId, Collection<String> days, String startTime, String endTime,
+                              String ignoreKey) {
+        Entry probe = entry(null, roomId, null, days, startTime, endTime);
+        return probe == null || isFree(rooms.get(roomId), probe, ignoreKey);
+    }
+
+    /**
+     * Checks whether a lecturer has no entry other than {@code ignoreKey} overlapping the given days and times.
+     *
+     * @param ignoreKey Key of the entry being edited, which never clashes with itself, or null
+     */
+    public boolean isLecturerFree(String lecturerId, Collection<String> days, String startTime, String endTime,
+                                  String ignoreKey) {
+        Entry probe = entry(null, null, lecturerId, days, startTime, endTime);
+        return probe == null || isFree(lecturers.get(lecturerId), probe, ignoreKey);
+    }
+
+    /**
+     * Gets the key of an entry that books a room at a time, or null if it is free then.
+     */
+    public String roomOccupant(String roomId, String day, String time) {
+        return occupant(rooms.get(roomId), day, time);
+    }
+
+    /**
+     * Gets the key of an entry that books a lecturer at a time, or null if they are free then.
+     */
+    public String lecturerOccupant(String lecturerId, String day, String time) {
+        return occupant(lecturers.get(lecturerId), day, time);
+    }
+
+    /**
+     * Gets the keys of the entries, other than {@code ignoreKey}, that share a room or a lecturer
+     * with the given booking at an overlapping time. Answers from the occupancy alone when there
+     * are none, and looks through the entries only to name the clashing ones.
+     */
+    public List<String> conflictsWith(String roomId, String lecturerId, Collection<String> days,
+                                      String startTime, String endTime, String ignoreKey) {
+        List<String> keys = new ArrayList<>();
+        Entry probe = entry(null, roomId, lecturerId, days, startTime, endTime);
+        if (probe == null || (isFree(rooms.get(roomId), probe, ignoreKey)
+                && isFree(lecturers.get(lecturerId), probe, ignoreKey))) {
+            return keys;
+        }
+        for (Entry entry : entries.values()) {
+            if (!entry.key.equals(ignoreKey) && overlaps(entry, probe)
+                    && ((roomId != null && roomId.equals(entry.roomId))
+                    || (lecturerId != null && lecturerId.equals(entry.lecturerId)))) {
+                keys.add(entry.key);
+            }
+        }
+        return keys;
+    }
+
+    private static Entry entry(String key, String roomId, String lecturerId, Collection<String> days,
+                               String startTime, String endTime) {
+        if (days == null || days.isEmpty()) {
+            return null;
+        }
+        int[] dayIndices = new int[days.size()];
+        int count = 0;
+        for (String day : days) {
+            int d = WEEK.dayIndex(day);
+            if (d < 0) {
+                return null;
+            }
+            dayIndices[count++] = d;
+        }
+        int start = TimeGrid.parseTime(startTime);
+        int end = TimeGrid.parseTime(endTime);
+        if (start < 0 || end <= start || end > 24 * 60) {
+            return null;
+        }
+        return new Entry(key, roomId, lecturerId, dayIndices, start / SLOT_MINUTES,
+                (end + SLOT_MINUTES - 1) / SLOT_MINUTES);
+    }
+
+    private void book(boolean room, String id, Entry entry, int delta) {
+        if (id == null) {
+            return;
+        }
+        Map<String, Occupancy> occupancies = room ? rooms : lecturers;
+        Occupancy occupancy = occupancies.get(id);
+        if (occupancy == null) {
+            if (delta < 0) {
+                return;
+            }
+            occupancy = new Occupancy();
+            occupancies.put(id, occupancy);
+        }
+        List<Integer> orphaned = new ArrayList<>();
+        for (int day : entry.days) {
+            for (int slot = WEEK.slot(day, entry.from); slot < WEEK.slot(day, entry.to); slot++) {
+                occupancy.count[slot] += delta;
+                if (delta > 0) {
+                    occupancy.busy.set(slot);
+                    occupancy.owner[slot] = entry.key;
+                } else if (occupancy.count[slot] <= 0) {
+                    occupancy.count[slot] = 0;
+                    occupancy.busy.clear(slot);
+                    occupancy.owner[slot] = null;
+                } else if (entry.key.equals(occupancy.owner[slot])) {
+                    orphaned.add(slot);
+                }
+            }
+        }
+        // Slots still booked by an overlapping entry get that entry as their owner
+        if (!orphaned.isEmpty()) {
+            for (Entry other : entries.values()) {
+                if (id.equals(room ? other.roomId : other.lecturerId)) {
+                    for (int slot : orphaned) {
+                        if (other.covers(slot)) {
+                            occupancy.owner[slot] = other.key;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean isFree(Occupancy occupancy, Entry probe, String ignoreKey) {
+        if (occupancy == null) {
+            return true;
+        }
+        for (int day : probe.days) {
+            int from = WEEK.slot(day, probe.from);
+            int to = WEEK.slot(day, probe.to);
+            if (occupancy.busy.isRangeClear(from, to)) {
+                continue;
+            }
+            if (ignoreKey == null) {
+                return false;
+            }
+            // Busy slots are fine if the edited entry is their only occupant
+            for (int slot = from; slot < to; slot++) {
+                if (occupancy.count[slot] > 1
+                        || (occupancy.count[slot] == 1 && !ignoreKey.equals(occupancy.owner[slot]))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static String occupant(Occupancy occupancy, String day, String time) {
+        int d = WEEK.dayIndex(day);
+        int minute = TimeGrid.parseTime(time);
+        if (occupancy == null || d < 0 || minute < 0 || minute >= 24 * 60) {
+            return null;
+        }
+        return occupancy.owner[WEEK.slot(d, minute / SLOT_MINUTES)];
+    }
+
+    private static boolean overlaps(Entry a, Entry b) {
+        if (a.from >= b.to || b.from >= a.to) {
+            return false;
+        }
+        for (int x : a.days) {
+            for (int y : b.days) {
+                if (x == y) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -1,7 +1,5 @@
 package com.example.manager.timetable;
 
-import android.util.Log;
-
 import com.example.manager.admin.model.Resource;
 import com.example.manager.model.Lecturer;
 
@@ -20,7 +18,7 @@ public class ConstraintSolverTimetableGenerator implements TimetableGenerator {
     
     public ConstraintSolverTimetableGenerator() {
         delegateGenerator = new SimpleTimetableGenerator();
-        Log.d(TAG, "Using SimpleTimetableGenerator delegate due to OR-Tools native library issues");
+        TimetableLog.d(TAG, "Using SimpleTimetableGenerator delegate due to OR-Tools native library issues");
     }
 
     @Override
@@ -32,8 +30,8 @@ public class ConstraintSolverTimetableGenerator implements TimetableGenerator {
     @Override
     public Timetable generateTimetable(List<Resource> resources, List<Lecturer> lecturers, 
                                      List<Course> courses, TimetableGeneratorOptions options) {
-        Log.d(TAG, "Delegating timetable generation to SimpleTimetableGenerator");
-        Log.d(TAG, "Options: avoidBackToBack=" + options.shouldAvoidBackToBackClasses() + 
+        TimetableLog.d(TAG, "Delegating timetable generation to SimpleTimetableGenerator");
+        TimetableLog.d(TAG, "Options: avoidBackToBack=" + options.shouldAvoidBackToBackClasses() + 
               ", preferEvenDistribution=" + options.shouldPreferEvenDistribution() + 
               ", maxHoursPerDay=" + options.getMaxHoursPerDay());
         
@@ -1,5 +1,8 @@
 package com.example.manager.timetable;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Represents a course or subject in the academic system.
  * Contains information about the course requirements, such as
@@ -15,6 +18,7 @@ public class Course {
     private String requiredRoomType;
     private String assignedLecturerId; // ID of assigned lecturer from course management
     private String assignedResourceId; // ID of assigned resource (room) from course management
+    private List<String> studentGroups; // IDs of the student groups (cohorts) taking this course
     
     // Empty constructor for Firebase
     public Course() {
@@ -162,6 +166,25 @@ public class Course {
         this.assignedResourceId = assignedResourceId;
     }
     
+    /**
+     * Gets the student groups taking this course. Two courses that share a group must not
+     * be scheduled at the same time.
+     * 
+     * @return The student group IDs, never null
+     */
+    public List<String> getStudentGroups() {
+        return studentGroups != null ? studentGroups : Collections.<String>emptyList();
+    }
+    
+    /**
+     * Sets the student groups taking this course.
+     * 
+     * @param studentGroups The student group IDs, e.g. "CS-Y1"
+     */
+    public void setStudentGroups(List<String> studentGroups) {
+        this.studentGroups = studentGroups;
+    }
+    
     /**
      * Calculates the typical duration for a session of this course
      * based on credit hours and required sessions per week
@@ -178,7 +201,6 @@ public class Course {
      * Future constraint solver integration:
      * - Add preferred lecturers list
      * - Add required resource types (lab, lecture hall, etc.)
-     * - Add student group associations
      * - Add prerequisites and corequisites
      */
 }
@@ -0,0 +1,188 @@
+package com.example.manager.timetable;
+
+import org.jgrapht.Graph;
+import org.jgrapht.Graphs;
+import org.jgrapht.graph.DefaultEdge;
+import org.jgrapht.graph.SimpleGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Courses that must not run at the same time because they share a student group.
+ *
+ * The graph is built from aggregated group membership: each group contributes an edge between
+ * every pair of its courses, so the cost depends on the number of courses per group and not
+ * on the number of students. Vertices are indices into the course list the graph was built from.
+ *
+ * Every group's courses form a clique, so the cliques returned by {@link #getCliques()} start
+ * from the distinct group course sets and are grown with any course that conflicts with all
+ * members. Together they cover every edge, which lets the Choco generator post one
+ * {@code allDifferent} per clique instead of one constraint per conflicting pair.
+ */
+public final class CourseConflictGraph {
+    private static final String TAG = "CourseConflictGraph";
+
+    private final Graph<Integer, DefaultEdge> graph;
+    private final int[][] neighbours;
+    private final List<int[]> cliques;
+
+    private CourseConflictGraph(Graph<Integer, DefaultEdge> graph, int[][] neighbours, List<int[]> cliques) {
+        this.graph = graph;
+        this.neighbours = neighbours;
+        this.cliques = cliques;
+    }
+
+    /**
+     * Builds the conflict graph for a list of courses.
+     */
+    public static CourseConflictGraph build(List<Course> courses) {
+        Graph<Integer, DefaultEdge> graph = new SimpleGraph<>(DefaultEdge.class);
+        for (int c = 0; c < courses.size(); c++) {
+            graph.addVertex(c);
+        }
+
+        // Group ID -> courses taking it, in course order
+        Map<String, List<Integer>> coursesByGroup = new LinkedHashMap<>();
+        for (int c = 0; c < courses.size(); c++) {
+            for (String group : courses.get(c).getStudentGroups()) {
+                if (group == null || group.isEmpty()) {
+                    continue;
+                }
+                List<Integer> members = coursesByGroup.computeIfAbsent(group, g -> new ArrayList<>());
+                if (members.isEmpty() || members.get(members.size() - 1) != c) {
+                    members.add(c);
+                }
+            }
+        }
+
+        Set<String> seen = new HashSet<>();
+        List<int[]> groupCliques = new ArrayList<>();
+        for (List<Integer> members : coursesByGroup.values()) {
+            for (int i = 0; i < members.size(); i++) {
+                for (int j = i + 1; j < members.size(); j++) {
+                    graph.addEdge(members.get(i), members.get(j));
+                }
+            }
+            int[] clique = members.stream().mapToInt(Integer::intValue).toArray();
+            if (clique.length > 1 && seen.add(Arrays.toString(clique))) {
+                groupCliques.add(clique);
+            }
+        }
+
+        int[][] neighbours = new int[courses.size()][];
+        for (int c = 0; c < courses.size(); c++) {
+            neighbours[c] = Graphs.neighborListOf(graph, c).stream().mapToInt(Integer::intValue).sorted().toArray();
+        }
+
+        List<int[]> cliques = maximalCliques(groupCliques, neighbours, graph);
+        TimetableLog.d(TAG, "Conflict graph: " + courses.size() + " courses, " + graph.edgeSet().size()
+                + " edges, " + cliques.size() + " cliques from " + coursesByGroup.size() + " groups");
+        return new CourseConflictGraph(graph, neighbours, cliques);
+    }
+
+    /**
+     * Grows each group clique with courses adjacent to all of its members, then drops
+     * cliques contained in another one.
+     */
+    private static List<int[]> maximalCliques(List<int[]> groupCliques, int[][] neighbours,
+                                              Graph<Integer, DefaultEdge> graph) {
+        List<int[]> grown = new ArrayList<>(groupCliques.size());
+        Set<String> seen = new HashSet<>();
+        for (int[] clique : groupCliques) {
+            List<Integer> members = new ArrayList<>();
+            for (int c : clique) {
+                members.add(c);
+            }
+            // Candidates must neighbour the first member; check them against the rest
+            for (int candidate : neighbours[clique[0]]) {
+                if (members.contains(candidate)) {
+                    continue;
+                }
+                boolean adjacentToAll = true;
+                for (int member : members) {
+                    if (!graph.containsEdge(member, candidate)) {
+                        adjacentToAll = false;
+                        break;
+                    }
+                }
+                if (adjacentToAll) {
+                    members.add(candidate);
+                }
+            }
+            int[] result = members.stream().mapToInt(Integer::intValue).sorted().toArray();
+            if (seen.add(Arrays.toString(result))) {
+                grown.add(result);
+            }
+        }
+
+        // Largest first, so a clique only needs checking against those before it
+        grown.sort((a, b) -> Integer.compare(b.length, a.length));
+        List<int[]> cliques = new ArrayList<>(grown.size());
+        for (int[] clique : grown) {
+            boolean contained = false;
+            for (int[] larger : cliques) {
+                if (larger.length > clique.length && containsAll(larger, clique)) {
+                    contained = true;
+                    break;
+                }
+            }
+            if (!contained) {
+                cliques.add(clique);
+            }
+        }
+        return cliques;
+    }
+
+    // Both arrays are sorted
+    private static boolean containsAll(int[] larger, int[] smaller) {
+        int i = 0;
+        for (int value : smaller) {
+            while (i < larger.length && larger[i] < value) {
+                i++;
+            }
+            if (i == larger.length || larger[i] != value) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public Graph<Integer, DefaultEdge> getGraph() {
+        return graph;
+    }
+
+    /**
+     * Checks whether any course shares a student group with another.
+     */
+    public boolean isEmpty() {
+        return graph.edgeSet().isEmpty();
+    }
+
+    /**
+     * Checks whether two courses share a student group.
+     */
+    public boolean conflicts(int course1, int course2) {
+        return Arrays.binarySearch(neighbours[course1], course2) >= 0;
+    }
+
+    /**
+     * Gets the courses that share a student group with a course, in ascending order.
+     */
+    public int[] getNeighbours(int course) {
+        return neighbours[course];
+    }
+
+    /**
+     * Gets cliques of mutually conflicting courses that together cover every conflict.
+     * Each clique is a sorted array of course indices.
+     */
+    public List<int[]> getCliques() {
+        return cliques;
+    }
+}
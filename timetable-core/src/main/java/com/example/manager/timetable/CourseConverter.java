@@ -1,7 +1,6 @@
 package com.example.manager.timetable;
 
 import com.example.manager.admin.model.CourseItem;
-import android.util.Log;
 
 /**
  * Utility class to convert between CourseItem and Course objects.
@@ -18,7 +17,7 @@ public class CourseConverter {
      */
     public static Course convertToCourse(CourseItem courseItem) {
         if (courseItem == null) {
-            Log.w(TAG, "Null courseItem provided");
+            TimetableLog.w(TAG, "Null courseItem provided");
             return null;
         }
         
@@ -31,45 +30,45 @@ public class CourseConverter {
         
         // Validate required fields
         if (id == null || id.isEmpty()) {
-            Log.w(TAG, "Course has null or empty ID: " + name);
+            TimetableLog.w(TAG, "Course has null or empty ID: " + name);
             id = "course_" + System.currentTimeMillis(); // Generate a temporary ID
         }
         
         if (name == null || name.isEmpty()) {
-            Log.w(TAG, "Course has null or empty name, ID: " + id);
+            TimetableLog.w(TAG, "Course has null or empty name, ID: " + id);
             name = "Unnamed Course";
         }
         
         if (code == null || code.isEmpty()) {
-            Log.w(TAG, "Course has null or empty code: " + name);
+            TimetableLog.w(TAG, "Course has null or empty code: " + name);
             code = "CODE-" + id.substring(0, Math.min(5, id.length()));
         }
         
         // If durationHours is zero or negative, default to 1 hour
         if (durationHours <= 0) {
-            Log.w(TAG, "Course '" + name + "' has invalid duration (" + durationHours + "). Setting to 1 hour.");
+            TimetableLog.w(TAG, "Course '" + name + "' has invalid duration (" + durationHours + "). Setting to 1 hour.");
             durationHours = 1;
         }
         
         // Default department if missing
         if (department == null || department.isEmpty()) {
-            Log.w(TAG, "Course '" + name + "' has no department. Using default.");
+            TimetableLog.w(TAG, "Course '" + name + "' has no department. Using default.");
             department = "General";
         }
         
         // Get the assigned lecturer ID, use default if not set
         String assignedLecturerId = courseItem.getAssignedLecturerId();
         if (assignedLecturerId == null || assignedLecturerId.isEmpty()) {
-            Log.w(TAG, "Course '" + name + "' has no assigned lecturer ID. Will be assigned during scheduling.");
+            TimetableLog.w(TAG, "Course '" + name + "' has no assigned lecturer ID. Will be assigned during scheduling.");
             assignedLecturerId = "";  // Will be assigned during scheduling
         }
         
         // Get the assigned resource (room) ID, if any
         String assignedResourceId = courseItem.getAssignedResourceId();
         if (assignedResourceId == null || assignedResourceId.isEmpty()) {
-            Log.d(TAG, "Course '" + name + "' has no assigned resource ID.");
+            TimetableLog.d(TAG, "Course '" + name + "' has no assigned resource ID.");
         } else {
-            Log.d(TAG, "Course '" + name + "' has assigned resource ID: " + assignedResourceId);
+            TimetableLog.d(TAG, "Course '" + name + "' has assigned resource ID: " + assignedResourceId);
         }
         
         // Calculate total sessions required per week (lectures + labs)
@@ -85,7 +84,7 @@ public class CourseConverter {
         // Ensure at least one session is allocated, even if both lectures and labs are zero or negative
         if (totalSessions <= 0) {
             totalSessions = 1;
-            Log.w(TAG, "Course '" + name + "' had 0 sessions (lectures=" + 
+            TimetableLog.w(TAG, "Course '" + name + "' had 0 sessions (lectures=" + 
                              courseItem.getNumberOfLectures() + ", labs=" + 
                              courseItem.getNumberOfLabs() + "). Setting to 1 default session.");
         }
@@ -96,10 +95,10 @@ public class CourseConverter {
         // Set required room type based on whether there are lab sessions
         if (labs > 0) {
             course.setRequiredRoomType("LAB");
-            Log.d(TAG, "Course '" + name + "' requires a LAB room due to " + labs + " lab sessions");
+            TimetableLog.d(TAG, "Course '" + name + "' requires a LAB room due to " + labs + " lab sessions");
         } else {
             course.setRequiredRoomType("LECTURE_HALL");
-            Log.d(TAG, "Course '" + name + "' will use a LECTURE_HALL for its " + lectures + " lecture sessions");
+            TimetableLog.d(TAG, "Course '" + name + "' will use a LECTURE_HALL for its " + lectures + " lecture sessions");
         }
         
         // Set the assigned lecturer ID
@@ -110,7 +109,12 @@ public class CourseConverter {
             course.setAssignedResourceId(assignedResourceId);
         }
         
-        Log.d(TAG, "Converted course: " + name + 
+        // Student groups, used to keep courses taken by the same students apart
+        if (courseItem.getStudentGroups() != null) {
+            course.setStudentGroups(courseItem.getStudentGroups());
+        }
+        
+        TimetableLog.d(TAG, "Converted course: " + name + 
                 " with " + totalSessions + " sessions (lectures=" + 
                 lectures + ", labs=" + 
                 labs + "), required room type: " + course.getRequiredRoomType());
@@ -0,0 +1,333 @@
+package com.example.manager.timetable;
+
+import com.example.manager.admin.model.Resource;
+import com.example.manager.model.Lecturer;
+
+import org.jgrapht.alg.flow.PushRelabelMFImpl;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.jgrapht.graph.SimpleDirectedWeightedGraph;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Fast necessary-condition check run before the constraint solver.
+ *
+ * Every session needs its own (room, time slot) pair and every lecturer can teach at most
+ * maxHoursPerDay sessions on each day. The check counts demand against these capacities and,
+ * if the simple counts pass, solves a small max-flow problem (courses -> compatible rooms ->
+ * time slots) whose minimum cut is a Hall's-condition violation: a group of courses that
+ * together need more sessions than their rooms have slots. If any check fails no timetable
+ * can place every session, so the solver does not need to run.
+ *
+ * The check is necessary but not sufficient: passing it does not prove a timetable exists.
+ */
+public class FeasibilityCheck {
+    private static final String TAG = "FeasibilityCheck";
+
+    private final int daysPerWeek;
+    private final int hoursPerDay;
+
+    /**
+     * The kind of capacity that is exceeded.
+     */
+    public enum Kind {
+        LECTURER_LOAD,  // One pinned lecturer has more sessions than teaching hours
+        LECTURER_POOL,  // All lecturers together cannot teach every session
+        ROOM_TYPE,      // Courses of one room type need more slots than those rooms have
+        ROOM_GROUP,     // Hall's condition fails for a group of courses and their rooms
+        STUDENT_GROUP   // Courses sharing student groups need more sessions than there are slots
+    }
+
+    /**
+     * A capacity that the input exceeds.
+     */
+    public static class Bottleneck {
+        private final Kind kind;
+        private final List<String> ids;  // Lecturer, resource or course IDs involved
+        private final int demand;
+        private final int capacity;
+        private final String description;
+
+        Bottleneck(Kind kind, List<String> ids, int demand, int capacity, String description) {
+            this.kind = kind;
+            this.ids = ids;
+            this.demand = demand;
+            this.capacity = capacity;
+            this.description = description;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        public List<String> getIds() {
+            return ids;
+        }
+
+        public int getDemand() {
+            return demand;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        @Override
+        public String toString() {
+            return description;
+        }
+    }
+
+    /**
+     * Outcome of a check.
+     */
+    public static class Result {
+        private final List<Bottleneck> bottlenecks;
+        private final long elapsedMicros;
+
+        Result(List<Bottleneck> bottlenecks, long elapsedMicros) {
+            this.bottlenecks = bottlenecks;
+            this.elapsedMicros = elapsedMicros;
+        }
+
+        /**
+         * Checks whether no bottleneck was found. An infeasible result is a proof; a feasible one is not.
+         */
+        public boolean isFeasible() {
+            return bottlenecks.isEmpty();
+        }
+
+        public List<Bottleneck> getBottlenecks() {
+            return bottlenecks;
+        }
+
+        public long getElapsedMicros() {
+            return elapsedMicros;
+        }
+    }
+
+    public FeasibilityCheck(int daysPerWeek, int hoursPerDay) {
+        this.daysPerWeek = daysPerWeek;
+        this.hoursPerDay = hoursPerDay;
+    }
+
+    /**
+     * Runs all checks. Courses without a name are ignored and courses without a positive
+     * session count are treated as needing one session, as the generators do.
+     */
+    public Result check(List<Resource> resources, List<Lecturer> lecturers, List<Course> courses,
+                        TimetableGeneratorOptions options) {
+        long start = System.nanoTime();
+        List<Bottleneck> bottlenecks = new ArrayList<>();
+        int slots = daysPerWeek * hoursPerDay;
+        int hoursPerLecturer = daysPerWeek * Math.min(hoursPerDay, Math.max(1, options.getMaxHoursPerDay()));
+
+        Map<String, Integer> lecturerIndex = new HashMap<>();
+        for (int l = 0; l < lecturers.size(); l++) {
+            lecturerIndex.put(lecturers.get(l).getId(), l);
+        }
+        Map<String, Integer> resourceIndex = new HashMap<>();
+        for (int r = 0; r < resources.size(); r++) {
+            resourceIndex.put(resources.get(r).getId(), r);
+        }
+
+        // Sessions and compatible rooms per course, matching ChocoSolverTimetableGenerator
+        List<Course> scheduled = new ArrayList<>();
+        List<Integer> sessions = new ArrayList<>();
+        List<int[]> rooms = new ArrayList<>();
+        PreparedInput.Rooms preparedRooms = PreparedInput.roomsFor(options, resources);
+        int totalSessions = 0;
+        for (Course course : courses) {
+            if (course.getName() == null || course.getName().isEmpty()) {
+                continue;
+            }
+            int required = Math.max(1, course.getRequiredSessionsPerWeek());
+            Integer pinned = course.getAssignedResourceId() == null ? null
+                    : resourceIndex.get(course.getAssignedResourceId());
+            scheduled.add(course);
+            sessions.add(required);
+            rooms.add(pinned != null ? new int[] {pinned} : compatibleResources(course, resources, preparedRooms));
+            totalSessions += required;
+        }
+
+        // 1. Per-lecturer load for pinned lecturers, and the pool for everyone else
+        int[] pinnedLoad = new int[lecturers.size()];
+        int unpinnedSessions = 0;
+        for (int c = 0; c < scheduled.size(); c++) {
+            String lecturerId = scheduled.get(c).getAssignedLecturerId();
+            Integer l = lecturerId == null ? null : lecturerIndex.get(lecturerId);
+            if (l != null) {
+                pinnedLoad[l] += sessions.get(c);
+            } else {
+                unpinnedSessions += sessions.get(c);
+            }
+        }
+        int spareLecturerHours = 0;
+        for (int l = 0; l < lecturers.size(); l++) {
+            if (pinnedLoad[l] > hoursPerLecturer) {
+                Lecturer lecturer = lecturers.get(l);
+                bottlenecks.add(new Bottleneck(Kind.LECTURER_LOAD, listOf(lecturer.getId()), pinnedLoad[l],
+                        hoursPerLecturer, "Lecturer " + lecturer.getName() + " is assigned " + pinnedLoad[l]
+                        + " sessions but can teach at most " + hoursPerLecturer + " per week"));
+            } else {
+                spareLecturerHours += hoursPerLecturer - pinnedLoad[l];
+            }
+        }
+        if (unpinnedSessions > spareLecturerHours) {
+            bottlenecks.add(new Bottleneck(Kind.LECTURER_POOL, new ArrayList<>(), unpinnedSessions,
+                    spareLecturerHours, unpinnedSessions + " sessions without an assigned lecturer but only "
+                    + spareLecturerHours + " free lecturer hours"));
+        }
+
+        // Student groups: courses in a clique of the conflict graph all need different slots
+        CourseConflictGraph conflicts = PreparedInput.conflicts(options, scheduled);
+        for (int[] clique : conflicts.getCliques()) {
+            int demand = 0;
+            List<String> ids = new ArrayList<>(clique.length);
+            StringBuilder courseNames = new StringBuilder();
+            for (int c : clique) {
+                demand += sessions.get(c);
+                ids.add(scheduled.get(c).getId());
+                appendName(courseNames, scheduled.get(c).getName());
+            }
+            if (demand > slots) {
+                bottlenecks.add(new Bottleneck(Kind.STUDENT_GROUP, ids, demand, slots, "Courses [" + courseNames
+                        + "] share students and need " + demand + " sessions but there are only " + slots + " slots"));
+            }
+        }
+
+        // 2. Per-room-type capacity: all courses of a type compete for the same rooms
+        Map<String, int[]> demandByType = new LinkedHashMap<>(); // type -> {sessions, course}
+        for (int c = 0; c < scheduled.size(); c++) {
+            if (scheduled.get(c).getAssignedResourceId() != null
+                    && resourceIndex.containsKey(scheduled.get(c).getAssignedResourceId())) {
+                continue; // Pinned courses are covered by the flow check
+            }
+            String type = scheduled.get(c).getRequiredRoomType();
+            int[] demand = demandByType.computeIfAbsent(type == null ? "" : type, t -> new int[] {0, -1});
+            demand[0] += sessions.get(c);
+            demand[1] = c;
+        }
+        boolean roomTypeFailed = false;
+        for (Map.Entry<String, int[]> entry : demandByType.entrySet()) {
+            int[] typeRooms = rooms.get(entry.getValue()[1]);
+            int capacity = typeRooms.length * slots;
+            if (entry.getValue()[0] > capacity) {
+                roomTypeFailed = true;
+                String type = entry.getKey().isEmpty() ? "any" : entry.getKey();
+                bottlenecks.add(new Bottleneck(Kind.ROOM_TYPE, resourceIds(resources, typeRooms),
+                        entry.getValue()[0], capacity, type + " courses need " + entry.getValue()[0]
+                        + " sessions but " + typeRooms.length + " rooms x " + slots + " slots = " + capacity));
+            }
+        }
+
+        // 3. Hall's condition over all courses and rooms; the type check already explains simple failures
+        if (!roomTypeFailed && totalSessions > 0) {
+            Bottleneck hall = checkRoomMatching(scheduled, sessions, rooms, resources, totalSessions, slots);
+            if (hall != null) {
+                bottlenecks.add(hall);
+            }
+        }
+
+        Result result = new Result(bottlenecks, (System.nanoTime() - start) / 1000);
+        if (!result.isFeasible()) {
+            TimetableLog.w(TAG, "Input is infeasible: " + bottlenecks);
+        }
+        return result;
+    }
+
+    /**
+     * Max-flow from courses (capacity = sessions) through compatible rooms (capacity = slots).
+     * If the flow cannot carry every session, the source side of the minimum cut is a set of
+     * courses whose rooms are all saturated.
+     */
+    private Bottleneck checkRoomMatching(List<Course> courses, List<Integer> sessions, List<int[]> rooms,
+                                         List<Resource> resources, int totalSessions, int slots) {
+        int source = 0;
+        int sink = 1;
+        int firstCourse = 2;
+        int firstRoom = firstCourse + courses.size();
+
+        SimpleDirectedWeightedGraph<Integer, DefaultWeightedEdge> network =
+                new SimpleDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        network.addVertex(source);
+        network.addVertex(sink);
+        for (int r = 0; r < resources.size(); r++) {
+            network.addVertex(firstRoom + r);
+            network.setEdgeWeight(network.addEdge(firstRoom + r, sink), slots);
+        }
+        for (int c = 0; c < courses.size(); c++) {
+            network.addVertex(firstCourse + c);
+            network.setEdgeWeight(network.addEdge(source, firstCourse + c), sessions.get(c));
+            for (int r : rooms.get(c)) {
+                network.setEdgeWeight(network.addEdge(firstCourse + c, firstRoom + r), totalSessions);
+            }
+        }
+
+        PushRelabelMFImpl<Integer, DefaultWeightedEdge> flow = new PushRelabelMFImpl<>(network);
+        double maxFlow = flow.calculateMinCut(source, sink);
+        if (maxFlow >= totalSessions) {
+            return null;
+        }
+
+        Set<Integer> sourceSide = flow.getSourcePartition();
+        List<String> ids = new ArrayList<>();
+        StringBuilder courseNames = new StringBuilder();
+        StringBuilder roomNames = new StringBuilder();
+        int demand = 0;
+        int roomCount = 0;
+        for (int c = 0; c < courses.size(); c++) {
+            if (sourceSide.contains(firstCourse + c)) {
+                demand += sessions.get(c);
+                ids.add(courses.get(c).getId());
+                appendName(courseNames, courses.get(c).getName());
+            }
+        }
+        for (int r = 0; r < resources.size(); r++) {
+            if (sourceSide.contains(firstRoom + r)) {
+                roomCount++;
+                ids.add(resources.get(r).getId());
+                appendName(roomNames, resources.get(r).getName());
+            }
+        }
+        int capacity = roomCount * slots;
+        return new Bottleneck(Kind.ROOM_GROUP, ids, demand, capacity, "Courses [" + courseNames + "] need "
+                + demand + " sessions but their rooms [" + roomNames + "] only have " + capacity + " slots");
+    }
+
+    private static int[] compatibleResources(Course course, List<Resource> resources,
+                                             PreparedInput.Rooms preparedRooms) {
+        int[] rooms = preparedRooms == null ? null : preparedRooms.compatible(course);
+        return rooms != null ? rooms : RoomTypes.compatibleResources(course, resources);
+    }
+
+    private static void appendName(StringBuilder names, String name) {
+        if (names.length() > 0) {
+            names.append(", ");
+        }
+        names.append(name);
+    }
+
+    private static List<String> resourceIds(List<Resource> resources, int[] indices) {
+        List<String> ids = new ArrayList<>(indices.length);
+        for (int r : indices) {
+            ids.add(resources.get(r).getId());
+        }
+        return ids;
+    }
+
+    private static List<String> listOf(String id) {
+        List<String> ids = new ArrayList<>(1);
+        ids.add(id);
+        return ids;
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.manager.timetable;
+
+import com.example.manager.admin.model.Resource;
+import com.example.manager.model.Lecturer;
+import com.example.manager.timetable.exam.ExamTimetableGenerator;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Summary of a single timetable generation run.
+ * Records the input sizes, the options used, how many of the required sessions
+ * were scheduled and how long the generator took. Written next to the timetable
+ * by headless tools so runs can be compared.
+ *
+ * Runs of the exam generator require one exam per course and count a course as scheduled once,
+ * however many rooms its exam is split over. The slot colouring bound applies to lectures and is
+ * left out for them.
+ */
+public class GenerationReport {
+    private String generator;
+    private int resourceCount;
+    private int lecturerCount;
+    private int courseCount;
+    private int requiredSessions;
+    private int scheduledSessions;
+    private Map<String, Integer> missingSessionsByCourse; // Course ID -> sessions not scheduled
+    private boolean hasConflicts;
+    private long elapsedMillis;
+    private boolean avoidBackToBackClasses;
+    private boolean preferEvenDistribution;
+    private int maxHoursPerDay;
+    private int availableSlots;  // One-hour slots in the week
+    private int slotLowerBound;  // Fewest slots any timetable needs, see SlotColouring
+    private int colouringSlots;  // Slots used by the seed colouring
+    private List<String> notes;
+
+    // Empty constructor for deserialization
+    public GenerationReport() {
+        this.missingSessionsByCourse = new LinkedHashMap<>();
+        this.notes = new ArrayList<>();
+    }
+
+    /**
+     * Builds a report for a finished generation run.
+     *
+     * @param generator Name of the generator that produced the timetable
+     * @param resources Resources passed to the generator
+     * @param lecturers Lecturers passed to the generator
+     * @param courses Courses passed to the generator
+     * @param options Options passed to the generator
+     * @param timetable The generated timetable
+     * @param hasConflicts Result of the generator's conflict check
+     * @param elapsedMillis Wall-clock generation time in milliseconds
+     * @return The report
+     */
+    public static GenerationReport create(String generator, List<Resource> resources, List<Lecturer> lecturers,
+                                          List<Course> courses, TimetableGeneratorOptions options,
+                                          Timetable timetable, boolean hasConflicts, long elapsedMillis) {
+        GenerationReport report = new GenerationReport();
+        report.generator = generator;
+        report.resourceCount = resources.size();
+        report.lecturerCount = lecturers.size();
+        report.courseCount = courses.size();
+        report.hasConflicts = hasConflicts;
+        report.elapsedMillis = elapsedMillis;
+        report.avoidBackToBackClasses = options.shouldAvoidBackToBackClasses();
+        report.preferEvenDistribution = options.shouldPreferEvenDistribution();
+        report.maxHoursPerDay = options.getMaxHoursPerDay();
+
+        // Count scheduled sessions per course in a single pass
+        Map<String, Integer> scheduledByCourse = new HashMap<>();
+        for (TimetableSession session : timetable.getSessions()) {
+            scheduledByCourse.merge(session.getCourseId(), 1, Integer::sum);
+        }
+        boolean exams = ExamTimetableGenerator.NAME.equalsIgnoreCase(generator);
+        report.scheduledSessions = exams ? scheduledByCourse.size() : timetable.getSessions().size();
+
+        for (Course course : courses) {
+            int required = exams ? 1 : Math.max(1, course.getRequiredSessionsPerWeek());
+            int scheduled = scheduledByCourse.getOrDefault(course.getId(), 0);
+            report.requiredSessions += required;
+            int missing = required - (exams ? Math.min(1, scheduled) : scheduled);
+            if (missing > 0) {
+                report.missingSessionsByCourse.put(course.getId(), missing);
+            }
+        }
+        if (exams) {
+            return report;
+        }
+
+        // Tells whether the week has enough slots before looking at the generator's result. Uses the
+        // rooms the generators schedule into, so filtered and unavailable rooms do not lower the bound
+        List<Resource> rooms = RoomAvailability.compile(resources, options).getRooms();
+        SlotColouring colouring = SlotColouring.compute(rooms, lecturers, courses, options);
+        report.availableSlots = colouring.getAvailableSlots();
+        report.slotLowerBound = colouring.getLowerBound();
+        report.colouringSlots = colouring.getSlotsUsed();
+        if (!colouring.isEnoughSlots()) {
+            report.notes.add("Infeasible: sessions need at least " + colouring.getLowerBound()
+                    + " slots but the week has " + colouring.getAvailableSlots());
+        }
+        return report;
+    }
+
+    /**
+     * Adds a free-form note, e.g. a warning raised by a pre-processing stage.
+     */
+    public void addNote(String note) {
+        notes.add(note);
+    }
+
+    /**
+     * Adds a note for each bottleneck found by a feasibility check.
+     *
+     * @param feasibility Check result, may be null if no check ran
+     */
+    public void addBottlenecks(FeasibilityCheck.Result feasibility) {
+        if (feasibility == null) {
+            return;
+        }
+        for (FeasibilityCheck.Bottleneck bottleneck : feasibility.getBottlenecks()) {
+            notes.add("Infeasible: " + bottleneck.getDescription());
+        }
+    }
+
+    /**
+     * Checks whether every required session was scheduled without conflicts.
+     */
+    public boolean isComplete() {
+        return missingSessionsByCourse.isEmpty() && !hasConflicts;
+    }
+
+    public String getGenerator() {
+        return generator;
+    }
+
+    public int getResourceCount() {
+        return resourceCount;
+    }
+
+    public int getLecturerCount() {
+        return lecturerCount;
+    }
+
+    public int getCourseCount() {
+        return courseCount;
+    }
+
+    public int getRequiredSessions() {
+        return requiredSessions;
+    }
+
+    public int getScheduledSessions() {
+        return scheduledSessions;
+    }
+
+    public Map<String, Integer> getMissingSessionsByCourse() {
+        return missingSessionsByCourse;
+    }
+
+    public boolean hasConflicts() {
+        return hasConflicts;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public boolean isAvoidBackToBackClasses() {
+        return avoidBackToBackClasses;
+    }
+
+    public boolean isPreferEvenDistribution() {
+        return preferEvenDistribution;
+    }
+
+    public int getMaxHoursPerDay() {
+        return maxHoursPerDay;
+    }
+
+    public int getAvailableSlots() {
+        return availableSlots;
+    }
+
+    public int getSlotLowerBound() {
+        return slotLowerBound;
+    }
+
+    public int getColouringSlots() {
+        return colouringSlots;
+    }
+
+    public List<String> getNotes() {
+        return notes;
+    }
+}
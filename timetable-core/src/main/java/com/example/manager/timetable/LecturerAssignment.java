@@ -0,0 +1,326 @@
+package com.example.manager.timetable;
+
+import com.example.manager.model.Lecturer;
+
+import org.jgrapht.Graph;
+import org.jgrapht.alg.flow.mincost.CapacityScalingMinimumCostFlow;
+import org.jgrapht.alg.flow.mincost.MinimumCostFlowProblem;
+import org.jgrapht.alg.interfaces.MinimumCostFlowAlgorithm;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.jgrapht.graph.DirectedWeightedMultigraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Chooses lecturers for courses without an assigned lecturer before any slot is searched.
+ *
+ * The choice is a minimum-cost flow from courses (supplying one unit each, so a course is
+ * never split by the flow) through lecturers to a sink. A course-lecturer arc costs more when
+ * the lecturer teaches no pinned course of the course's department, has a low proximity score,
+ * or shares no student groups or subject code prefix with their pinned courses. The tree stores
+ * no explicit teaching preferences, so affinity and preference are read from the courses
+ * already assigned to each lecturer. Each lecturer's arcs to the sink cost more for every extra
+ * course, which spreads the load, up to as many courses as fit in a weekly capacity of
+ * maxHoursPerDay hours a day less their pinned sessions; courses beyond every capacity still
+ * flow over an expensive overload arc.
+ *
+ * The flow counts capacity in courses, so the sessions are then handed out against each
+ * lecturer's remaining hours. A course keeps the flow's lecturer when its sessions fit, moves
+ * to the cheapest lecturer they fit otherwise, and is only split between lecturers when no
+ * single one has room, which the generators allow since they assign lecturers per session.
+ */
+public final class LecturerAssignment {
+    private static final String TAG = "LecturerAssignment";
+
+    // Arc costs; one extra course of load costs LOAD_STEP
+    private static final int DEPARTMENT_COST = 10;
+    private static final int NO_HISTORY_COST = 5;
+    private static final int PROXIMITY_COST = 5;
+    private static final int PREFERENCE_COST = 5;
+    private static final int LOAD_STEP = 1;
+    private static final int OVERLOAD_COST = 1000;
+
+    private final int[][] lecturerOfSession;  // Course index -> lecturer per session, null if not assigned here
+    private final int[] loads;
+    private final int assignedCourses;
+    private final double cost;
+    private final long elapsedMicros;
+
+    private LecturerAssignment(int[][] lecturerOfSession, int[] loads, int assignedCourses, double cost,
+                               long elapsedMicros) {
+        this.lecturerOfSession = lecturerOfSession;
+        this.loads = loads;
+        this.assignedCourses = assignedCourses;
+        this.cost = cost;
+        this.elapsedMicros = elapsedMicros;
+    }
+
+    /**
+     * Assigns lecturers to the courses whose assigned lecturer is empty or unknown. Each course
+     * has max(1, required sessions) sessions, as in the generators; course indices refer to this list.
+     */
+    public static LecturerAssignment compute(List<Lecturer> lecturers, List<Course> courses,
+                                             TimetableGeneratorOptions options) {
+        long start = System.nanoTime();
+        int[][] lecturerOfSession = new int[courses.size()][];
+        int[] loads = new int[lecturers.size()];
+        if (lecturers.isEmpty()) {
+            return new LecturerAssignment(lecturerOfSession, loads, 0, 0, 0);
+        }
+
+        Map<String, Integer> lecturerIndex = new HashMap<>();
+        for (int l = 0; l < lecturers.size(); l++) {
+            lecturerIndex.put(lecturers.get(l).getId(), l);
+        }
+
+        // What each lecturer already teaches: departments, student groups and subject prefixes
+        List<Set<String>> departments = new ArrayList<>();
+        List<Set<String>> groups = new ArrayList<>();
+        List<Set<String>> subjects = new ArrayList<>();
+        for (int l = 0; l < lecturers.size(); l++) {
+            departments.add(new HashSet<>());
+            groups.add(new HashSet<>());
+            subjects.add(new HashSet<>());
+        }
+        List<Integer> open = new ArrayList<>();
+        int[] pinnedCourses = new int[lecturers.size()];
+        for (int c = 0; c < courses.size(); c++) {
+            Course course = courses.get(c);
+            Integer pinned = course.getAssignedLecturerId() == null ? null
+                    : lecturerIndex.get(course.getAssignedLecturerId());
+            if (pinned == null) {
+                open.add(c);
+                continue;
+            }
+            loads[pinned] += sessions(course);
+            pinnedCourses[pinned]++;
+            if (course.getDepartment() != null) {
+                departments.get(pinned).add(course.getDepartment());
+            }
+            groups.get(pinned).addAll(course.getStudentGroups());
+            subjects.get(pinned).add(subject(course.getCode()));
+        }
+        if (open.isEmpty()) {
+            return new LecturerAssignment(lecturerOfSession, loads, 0, 0, (System.nanoTime() - start) / 1000);
+        }
+
+        int minProximity = Integer.MAX_VALUE;
+        int maxProximity = Integer.MIN_VALUE;
+        for (Lecturer lecturer : lecturers) {
+            minProximity = Math.min(minProximity, lecturer.getProximityScore());
+            maxProximity = Math.max(maxProximity, lecturer.getProximityScore());
+        }
+        int weeklyHours = Math.max(1, options.getMaxHoursPerDay()) * options.getTimeGrid().getDays();
+
+        // Open course sizes, smallest first, to count how many courses fit in a lecturer's hours
+        int[] sizes = new int[open.size()];
+        for (int i = 0; i < open.size(); i++) {
+            sizes[i] = sessions(courses.get(open.get(i)));
+        }
+        Arrays.sort(sizes);
+
+        // Vertices: open courses 0..n-1, lecturers n..n+L-1, sink n+L
+        int lecturerBase = open.size();
+        int sink = lecturerBase + lecturers.size();
+        Graph<Integer, DefaultWeightedEdge> graph = new DirectedWeightedMultigraph<>(DefaultWeightedEdge.class);
+        for (int v = 0; v <= sink; v++) {
+            graph.addVertex(v);
+        }
+        Map<DefaultWeightedEdge, Integer> capacities = new HashMap<>();
+        int[][] arcCosts = new int[open.size()][lecturers.size()];
+        for (int i = 0; i < open.size(); i++) {
+            Course course = courses.get(open.get(i));
+            for (int l = 0; l < lecturers.size(); l++) {
+                arcCosts[i][l] = departmentCost(course, departments.get(l))
+                        + proximityCost(lecturers.get(l).getProximityScore(), minProximity, maxProximity)
+                        + preferenceCost(course, groups.get(l), subjects.get(l));
+                addArc(graph, capacities, i, lecturerBase + l, 1, arcCosts[i][l]);
+            }
+        }
+        int[] spare = new int[lecturers.size()];
+        for (int l = 0; l < lecturers.size(); l++) {
+            spare[l] = Math.max(0, weeklyHours - loads[l]);
+            // The k-th course on top of the pinned courses costs k steps
+            int fitting = 0;
+            for (int used = 0; fitting < sizes.length && used + sizes[fitting] <= spare[l]; fitting++) {
+                used += sizes[fitting];
+            }
+            for (int k = pinnedCourses[l] + 1; k <= pinnedCourses[l] + fitting; k++) {
+                addArc(graph, capacities, lecturerBase + l, sink, 1, k * LOAD_STEP);
+            }
+            addArc(graph, capacities, lecturerBase + l, sink, open.size(), OVERLOAD_COST);
+        }
+
+        MinimumCostFlowProblem<Integer, DefaultWeightedEdge> problem =
+                new MinimumCostFlowProblem.MinimumCostFlowProblemImpl<>(graph,
+                        v -> v < lecturerBase ? 1 : v == sink ? -open.size() : 0, capacities::get);
+        MinimumCostFlowAlgorithm.MinimumCostFlow<DefaultWeightedEdge> flow =
+                new CapacityScalingMinimumCostFlow<Integer, DefaultWeightedEdge>().getMinimumCostFlow(problem);
+
+        // Hand out each course's sessions against the lecturers' remaining hours
+        for (int i = 0; i < open.size(); i++) {
+            int c = open.get(i);
+            int chosen = 0;
+            for (DefaultWeightedEdge edge : graph.outgoingEdgesOf(i)) {
+                if (flow.getFlow(edge) > 0.5) {
+                    chosen = graph.getEdgeTarget(edge) - lecturerBase;
+                }
+            }
+            int[] assigned = new int[sessions(courses.get(c))];
+            if (spare[chosen] < assigned.length) {
+                chosen = cheapestWithRoom(arcCosts[i], loads, spare, assigned.length, chosen);
+            }
+            if (spare[chosen] >= assigned.length) {
+                Arrays.fill(assigned, chosen);
+            } else {
+                split(assigned, spare, chosen);
+            }
+            for (int l : assigned) {
+                loads[l]++;
+                spare[l] = Math.max(0, spare[l] - 1);
+            }
+            lecturerOfSession[c] = assigned;
+        }
+
+        LecturerAssignment result = new LecturerAssignment(lecturerOfSession, loads, open.size(), flow.getCost(),
+                (System.nanoTime() - start) / 1000);
+        TimetableLog.d(TAG, "Assigned lecturers to " + open.size() + " courses, cost "
+                + flow.getCost() + ", max load " + result.getMaxLoad());
+        return result;
+    }
+
+    // Cheapest lecturer, then least loaded, with room for every session, or the fallback if none has
+    private static int cheapestWithRoom(int[] arcCosts, int[] loads, int[] spare, int needed, int fallback) {
+        int best = -1;
+        for (int l = 0; l < arcCosts.length; l++) {
+            if (spare[l] >= needed && (best < 0 || arcCosts[l] < arcCosts[best]
+                    || arcCosts[l] == arcCosts[best] && loads[l] < loads[best])) {
+                best = l;
+            }
+        }
+        return best < 0 ? fallback : best;
+    }
+
+    // Fills the lecturers with the most spare hours in turn; sessions beyond all of them overload the fallback
+    private static void split(int[] assigned, int[] spare, int fallback) {
+        int[] left = spare.clone();
+        int filled = 0;
+        while (filled < assigned.length) {
+            int best = fallback;
+            for (int l = 0; l < left.length; l++) {
+                if (left[l] > left[best]) {
+                    best = l;
+                }
+            }
+            int count = left[best] > 0 ? Math.min(left[best], assigned.length - filled) : assigned.length - filled;
+            Arrays.fill(assigned, filled, filled + count, best);
+            filled += count;
+            left[best] = 0;
+        }
+    }
+
+    private static int sessions(Course course) {
+        return Math.max(1, course.getRequiredSessionsPerWeek());
+    }
+
+    // Subject part of a course code, e.g. "CS" for "CS101"
+    private static String subject(String code) {
+        if (code == null) {
+            return "";
+        }
+        int end = 0;
+        while (end < code.length() && Character.isLetter(code.charAt(end))) {
+            end++;
+        }
+        return code.substring(0, end).toUpperCase();
+    }
+
+    private static int departmentCost(Course course, Set<String> departments) {
+        if (departments.isEmpty()) {
+            return NO_HISTORY_COST;
+        }
+        return departments.contains(course.getDepartment()) ? 0 : DEPARTMENT_COST;
+    }
+
+    // Higher proximity scores are preferred
+    private static int proximityCost(int score, int minScore, int maxScore) {
+        if (maxScore == minScore) {
+            return 0;
+        }
+        return (int) Math.round((double) (maxScore - score) * PROXIMITY_COST / (maxScore - minScore));
+    }
+
+    private static int preferenceCost(Course course, Set<String> groups, Set<String> subjects) {
+        boolean sharesGroup = false;
+        for (String group : course.getStudentGroups()) {
+            if (groups.contains(group)) {
+                sharesGroup = true;
+                break;
+            }
+        }
+        String subject = subject(course.getCode());
+        boolean sharesSubject = !subject.isEmpty() && subjects.contains(subject);
+        return PREFERENCE_COST - (sharesGroup ? PREFERENCE_COST / 2 : 0) - (sharesSubject ? (PREFERENCE_COST + 1) / 2 : 0);
+    }
+
+    private static void addArc(Graph<Integer, DefaultWeightedEdge> graph, Map<DefaultWeightedEdge, Integer> capacities,
+                               int from, int to, int capacity, int cost) {
+        DefaultWeightedEdge edge = graph.addEdge(from, to);
+        graph.setEdgeWeight(edge, cost);
+        capacities.put(edge, capacity);
+    }
+
+    /**
+     * Checks whether this assignment chose the lecturers of a course.
+     */
+    public boolean isAssigned(int course) {
+        return course >= 0 && course < lecturerOfSession.length && lecturerOfSession[course] != null;
+    }
+
+    /**
+     * Gets the lecturer index chosen for a session of a course, or -1 if the course keeps its own lecturer.
+     */
+    public int getLecturer(int course, int session) {
+        if (!isAssigned(course)) {
+            return -1;
+        }
+        int[] assigned = lecturerOfSession[course];
+        return assigned[Math.min(session, assigned.length - 1)];
+    }
+
+    /**
+     * Gets the number of sessions each lecturer teaches, pinned and assigned.
+     */
+    public int[] getLoads() {
+        return loads.clone();
+    }
+
+    public int getMaxLoad() {
+        int max = 0;
+        for (int load : loads) {
+            max = Math.max(max, load);
+        }
+        return max;
+    }
+
+    /**
+     * Gets the number of courses whose lecturers were chosen here.
+     */
+    public int getAssignedCourses() {
+        return assignedCourses;
+    }
+
+    public double getCost() {
+        return cost;
+    }
+
+    public long getElapsedMicros() {
+        return elapsedMicros;
+    }
+}
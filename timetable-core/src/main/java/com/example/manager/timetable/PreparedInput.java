@@ -0,0 +1,242 @@
+package com.example.manager.timetable;
+
+import com.example.manager.admin.model.Resource;
+import com.example.manager.model.Lecturer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Preprocessed generator inputs shared by runs that differ only in options or in which
+ * resources and lecturers they keep, such as what-if scenarios.
+ *
+ * Holds interned indices for every resource, lecturer and course ID, the compatible rooms of
+ * each course as sorted resource indices, and the student-group conflict graph. Everything is computed once and
+ * never modified, so one instance can be read by many generator runs at the same time. The
+ * generators pick it up from {@link TimetableGeneratorOptions#getPreparedInput()} and fall back
+ * to computing these themselves for course lists it was not prepared for.
+ */
+public final class PreparedInput {
+    private static final String TAG = "PreparedInput";
+
+    private final List<Course> courses;
+    private final List<Course> namedCourses;
+    private final Map<String, Integer> resourceIndex = new HashMap<>();
+    private final Map<String, Integer> lecturerIndex = new HashMap<>();
+    private final Map<String, Integer> courseIndex = new HashMap<>();
+    private final Map<Course, Integer> courseIdentity = new IdentityHashMap<>();
+    private final int resourceCount;
+    private final int[][] compatibleRooms;  // Course index -> prepared resource indices, without the fallback
+    private final CourseConflictGraph conflicts;
+    private final CourseConflictGraph namedConflicts;
+    private final long elapsedMicros;
+
+    private PreparedInput(List<Resource> resources, List<Lecturer> lecturers, List<Course> courses) {
+        long start = System.nanoTime();
+        this.courses = Collections.unmodifiableList(new ArrayList<>(courses));
+        this.resourceCount = resources.size();
+        for (int r = 0; r < resources.size(); r++) {
+            resourceIndex.putIfAbsent(resources.get(r).getId(), r);
+        }
+        for (int l = 0; l < lecturers.size(); l++) {
+            lecturerIndex.putIfAbsent(lecturers.get(l).getId(), l);
+        }
+
+        // Generators that skip courses without a name build their graph from the rest
+        List<Course> named = new ArrayList<>(courses.size());
+        compatibleRooms = new int[courses.size()][];
+        int[] rooms = new int[resources.size()];
+        for (int c = 0; c < courses.size(); c++) {
+            Course course = courses.get(c);
+            courseIndex.putIfAbsent(course.getId(), c);
+            courseIdentity.put(course, c);
+            if (course.getName() != null && !course.getName().isEmpty()) {
+                named.add(course);
+            }
+            int count = 0;
+            for (int r = 0; r < resources.size(); r++) {
+                if (RoomTypes.isCompatible(course.getRequiredRoomType(), resources.get(r).getType())) {
+                    rooms[count++] = r;
+                }
+            }
+            compatibleRooms[c] = Arrays.copyOf(rooms, count);
+        }
+        this.namedCourses = Collections.unmodifiableList(named);
+        this.conflicts = CourseConflictGraph.build(this.courses);
+        this.namedConflicts = named.size() == courses.size() ? conflicts : CourseConflictGraph.build(namedCourses);
+        this.elapsedMicros = (System.nanoTime() - start) / 1000;
+        TimetableLog.d(TAG, "Prepared " + courses.size() + " courses, " + resources.size() + " resources and "
+                + lecturers.size() + " lecturers in " + elapsedMicros + " us");
+    }
+
+    /**
+     * Preprocesses the full inputs. Runs may then use any subset of these resources and lecturers.
+     */
+    public static PreparedInput prepare(List<Resource> resources, List<Lecturer> lecturers, List<Course> courses) {
+        return new PreparedInput(resources, lecturers, courses);
+    }
+
+    /**
+     * Gets the conflict graph for a course list, shared if the list holds the prepared courses
+     * (all of them, or all with a name) in the same order and built otherwise.
+     */
+    public CourseConflictGraph conflictsFor(List<Course> list) {
+        if (sameCourses(list, courses)) {
+            return conflicts;
+        }
+        if (sameCourses(list, namedCourses)) {
+            return namedConflicts;
+        }
+        return CourseConflictGraph.build(list);
+    }
+
+    /**
+     * Gets the conflict graph from the options' prepared input, or builds it when there is none.
+     */
+    public static CourseConflictGraph conflicts(TimetableGeneratorOptions options, List<Course> list) {
+        PreparedInput prepared = options == null ? null : options.getPreparedInput();
+        return prepared != null ? prepared.conflictsFor(list) : CourseConflictGraph.build(list);
+    }
+
+    private static boolean sameCourses(List<Course> a, List<Course> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            if (a.get(i) != b.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Maps a resource list, such as a scenario's remaining rooms, onto the prepared resources.
+     * Call once per run; looking up a course's rooms in the result then only visits the rooms
+     * it can use.
+     */
+    public Rooms roomsFor(List<Resource> resources) {
+        return new Rooms(resources);
+    }
+
+    /**
+     * Gets the room lookup for a resource list from the options' prepared input, or null when there is none.
+     */
+    public static Rooms roomsFor(TimetableGeneratorOptions options, List<Resource> resources) {
+        PreparedInput prepared = options == null ? null : options.getPreparedInput();
+        return prepared == null ? null : prepared.roomsFor(resources);
+    }
+
+    /**
+     * Compatible rooms of the prepared courses within one resource list.
+     */
+    public final class Rooms {
+        private final List<Resource> resources;
+        private final int[] position;     // Prepared resource index -> index in the list, or -1
+        private final int[] unprepared;   // List indices of resources that were not prepared
+        private final boolean identical;  // The list is the prepared resources in order
+
+        private Rooms(List<Resource> resources) {
+            this.resources = resources;
+            position = new int[resourceCount];
+            Arrays.fill(position, -1);
+            int[] others = new int[resources.size()];
+            int otherCount = 0;
+            boolean inOrder = resources.size() == resourceCount;
+            for (int r = 0; r < resources.size(); r++) {
+                Integer prepared = resourceIndex.get(resources.get(r).getId());
+                if (prepared != null && position[prepared] < 0) {
+                    position[prepared] = r;
+                    inOrder &= prepared == r;
+                } else {
+                    others[otherCount++] = r;
+                    inOrder = false;
+                }
+            }
+            unprepared = Arrays.copyOf(others, otherCount);
+            identical = inOrder;
+        }
+
+        /**
+         * Finds the indices of the resources in the list that a prepared course can use, in list
+         * order, falling back to all of them when none match as {@link RoomTypes#compatibleResources} does.
+         *
+         * @return The indices, or null if the course was not prepared
+         */
+        public int[] compatible(Course course) {
+            Integer c = courseIdentity.get(course);
+            if (c == null) {
+                return null;
+            }
+            int[] prepared = compatibleRooms[c];
+            if (identical && prepared.length > 0) {
+                return prepared.clone();
+            }
+            int[] indices = new int[prepared.length + unprepared.length];
+            int count = 0;
+            boolean sorted = true;
+            for (int p : prepared) {
+                int r = position[p];
+                if (r >= 0) {
+                    sorted &= count == 0 || indices[count - 1] < r;
+                    indices[count++] = r;
+                }
+            }
+            for (int r : unprepared) {
+                if (RoomTypes.isCompatible(course.getRequiredRoomType(), resources.get(r).getType())) {
+                    sorted &= count == 0 || indices[count - 1] < r;
+                    indices[count++] = r;
+                }
+            }
+            if (count == 0) {
+                indices = new int[resources.size()];
+                for (int r = 0; r < resources.size(); r++) {
+                    indices[r] = r;
+                }
+                return indices;
+            }
+            indices = Arrays.copyOf(indices, count);
+            if (!sorted) {
+                Arrays.sort(indices);
+            }
+            return indices;
+        }
+    }
+
+    /**
+     * Gets the interned index of a resource ID in the prepared resources, or -1.
+     */
+    public int resourceIndexOf(String id) {
+        Integer index = resourceIndex.get(id);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Gets the interned index of a lecturer ID in the prepared lecturers, or -1.
+     */
+    public int lecturerIndexOf(String id) {
+        Integer index = lecturerIndex.get(id);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Gets the interned index of a course ID in the prepared courses, or -1.
+     */
+    public int courseIndexOf(String id) {
+        Integer index = courseIndex.get(id);
+        return index == null ? -1 : index;
+    }
+
+    public List<Course> getCourses() {
+        return courses;
+    }
+
+    public long getElapsedMicros() {
+        return elapsedMicros;
+    }
+}
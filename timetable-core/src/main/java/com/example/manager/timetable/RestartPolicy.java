@@ -0,0 +1,14 @@
+package com.example.manager.timetable;
+
+/**
+ * How often the Choco generator restarts its search, measured in failures.
+ * Restarting lets learning strategies such as {@link SearchStrategy#DOM_WDEG} revise early decisions.
+ */
+public enum RestartPolicy {
+    /** Never restart. */
+    NONE,
+    /** Luby sequence of cutoffs (1, 1, 2, 1, 1, 2, 4, ...) times a scale factor. */
+    LUBY,
+    /** Cutoffs growing by a constant factor after each restart. */
+    GEOMETRIC
+}
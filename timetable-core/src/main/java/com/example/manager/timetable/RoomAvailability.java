@@ -0,0 +1,214 @@
+package com.example.manager.timetable;
+
+import com.example.manager.admin.model.Resource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Rooms a generation run may use and the slots each of them is closed, compiled once per run.
+ *
+ * A room is left out when it is marked unavailable ("no"), or when the options'
+ * {@link ResourceFilter} rejects it. Every remaining room gets a {@link SlotSet} of
+ * blocked slots from its {@link Resource#getUnavailableWindows() unavailable windows}. A
+ * window blocks every slot it overlaps. The greedy generator starts each room's busy set from
+ * this set, and the Choco generator removes blocked slots from each session's domain before
+ * search.
+ */
+public final class RoomAvailability {
+    private static final String TAG = "RoomAvailability";
+
+    // Whole week, for reading day names a run's grid may not have
+    private static final TimeGrid WEEK = new TimeGrid(7, 60, 0, 24 * 60);
+
+    private final TimeGrid grid;
+    private final List<Resource> rooms;
+    private final SlotSet[] blocked;
+    private final Map<String, Integer> roomIndex = new HashMap<>();
+    private final Set<String> leftOut;
+    private final int blockedSlots;
+
+    private RoomAvailability(TimeGrid grid, List<Resource> rooms, SlotSet[] blocked, Set<String> leftOut,
+                             int blockedSlots) {
+        this.grid = grid;
+        this.rooms = rooms;
+        this.blocked = blocked;
+        this.leftOut = leftOut;
+        this.blockedSlots = blockedSlots;
+        for (int r = 0; r < rooms.size(); r++) {
+            roomIndex.putIfAbsent(rooms.get(r).getId(), r);
+        }
+    }
+
+    /**
+     * Compiles the availability of a resource list on the options' time grid.
+     */
+    public static RoomAvailability compile(List<Resource> resources, TimetableGeneratorOptions options) {
+        TimeGrid grid = options.getTimeGrid();
+        TimetableTrace trace = options.getTrace();
+        ResourceFilter filter = options.getFilter();
+        List<Resource> rooms = new ArrayList<>(resources.size());
+        List<SlotSet> blocked = new ArrayList<>(resources.size());
+        Set<String> leftOut = new HashSet<>();
+        int blockedSlots = 0;
+        for (int r = 0; r < resources.size(); r++) {
+            Resource resource = resources.get(r);
+            if (!isMarkedAvailable(resource) || (filter != null && !filter.shouldUseResource(resource))) {
+                trace.record(TimetableTrace.Event.ROOM_FILTERED, r);
+                leftOut.add(resource.getId());
+                continue;
+            }
+            SlotSet slots = grid.newSlotSet();
+            if (resource.getUnavailableWindows() != null) {
+                for (String window : resource.getUnavailableWindows()) {
+                    if (!block(grid, window, slots)) {
+                        TimetableLog.w(TAG, "Ignoring unreadable window \"" + window + "\" of " + resource.getName());
+                    }
+                }
+            }
+            rooms.add(resource);
+            blocked.add(slots);
+            blockedSlots += slots.cardinality();
+        }
+        trace.record(TimetableTrace.Event.ROOM_WINDOWS_COMPILED, rooms.size(), resources.size() - rooms.size(),
+                blockedSlots);
+        return new RoomAvailability(grid, Collections.unmodifiableList(rooms), blocked.toArray(new SlotSet[0]),
+                leftOut, blockedSlots);
+    }
+
+    /**
+     * Checks a resource's availability status. Anything other than "no" counts as available,
+     * so resources saved before the status existed are still used.
+     */
+    public static boolean isMarkedAvailable(Resource resource) {
+        return resource.getIsAvailable() == null || !"no".equalsIgnoreCase(resource.getIsAvailable().trim());
+    }
+
+    /**
+     * Checks whether a window reads as a day name, optionally followed by a time range such
+     * as "09:00-11:00".
+     */
+    public static boolean isValidWindow(String window) {
+        return parseWindow(window) != null;
+    }
+
+    // Marks the slots a window overlaps; days the grid does not have block nothing
+    private static boolean block(TimeGrid grid, String window, SlotSet slots) {
+        int[] parsed = parseWindow(window);
+        if (parsed == null) {
+            return false;
+        }
+        if (parsed[0] >= grid.getDays()) {
+            return true;
+        }
+        for (int s = 0; s < grid.getSlotsPerDay(); s++) {
+            int start = grid.startMinuteOf(s);
+            if (start < parsed[2] && start + grid.getSlotMinutes() > parsed[1]) {
+                slots.set(grid.slot(parsed[0], s));
+            }
+        }
+        return true;
+    }
+
+    // Day index from Monday, start and end minute of a window, or null if it cannot be read
+    private static int[] parseWindow(String window) {
+        if (window == null) {
+            return null;
+        }
+        String text = window.trim();
+        int space = text.indexOf(' ');
+        int day = WEEK.dayIndex(space < 0 ? text : text.substring(0, space));
+        if (day < 0) {
+            return null;
+        }
+        if (space < 0) {
+            return new int[] {day, 0, 24 * 60};
+        }
+        String[] times = text.substring(space + 1).split("-");
+        if (times.length != 2) {
+            return null;
+        }
+        int from = TimeGrid.parseTime(times[0].trim());
+        int to = TimeGrid.parseTime(times[1].trim());
+        if (from < 0 || to <= from) {
+            return null;
+        }
+        return new int[] {day, from, to};
+    }
+
+    /**
+     * Gets the grid the blocked slots were compiled for.
+     */
+    public TimeGrid getGrid() {
+        return grid;
+    }
+
+    /**
+     * Gets the rooms the run may use, in input order. Room indices below refer to this list.
+     */
+    public List<Resource> getRooms() {
+        return rooms;
+    }
+
+    /**
+     * Creates a busy set for a room with its blocked slots already marked.
+     */
+    public SlotSet newBusySet(int room) {
+        return blocked[room].copy();
+    }
+
+    /**
+     * Checks whether any slot from {@code from} inclusive to {@code to} exclusive is blocked for a room.
+     */
+    public boolean isBlocked(int room, int from, int to) {
+        return !blocked[room].isRangeClear(from, to);
+    }
+
+    /**
+     * Checks whether a room can be booked on a day from one minute to another: it was not left
+     * out and none of the slots the time overlaps is blocked. Rooms the availability was not
+     * compiled with, and times outside the grid, count as open.
+     *
+     * @param day Day from Monday (0)
+     */
+    public boolean isOpen(String roomId, int day, int startMinute, int endMinute) {
+        if (leftOut.contains(roomId)) {
+            return false;
+        }
+        Integer room = roomIndex.get(roomId);
+        if (room == null || day < 0 || day >= grid.getDays()) {
+            return true;
+        }
+        int slotMinutes = grid.getSlotMinutes();
+        int from = Math.max(0, (startMinute - grid.getDayStartMinute()) / slotMinutes);
+        int to = Math.min(grid.getSlotsPerDay(),
+                (endMinute - grid.getDayStartMinute() + slotMinutes - 1) / slotMinutes);
+        return from >= to || !isBlocked(room, grid.slot(day, from), grid.slot(day, to));
+    }
+
+    /**
+     * Checks whether a room has any blocked slot.
+     */
+    public boolean hasBlockedSlots(int room) {
+        return !blocked[room].isRangeClear(0, grid.getSlotCount());
+    }
+
+    /**
+     * Gets the number of resources that were left out.
+     */
+    public int getFiltered() {
+        return leftOut.size();
+    }
+
+    /**
+     * Gets the number of blocked slots over all rooms.
+     */
+    public int getBlockedSlots() {
+        return blockedSlots;
+    }
+}
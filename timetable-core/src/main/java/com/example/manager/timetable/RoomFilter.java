@@ -0,0 +1,66 @@
+package com.example.manager.timetable;
+
+import com.example.manager.admin.model.Resource;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Resource filter built from data: a list of room names or IDs to leave out of generation.
+ * Names are compared ignoring case and surrounding whitespace. The app loads the list from
+ * its resources and the headless tools from the command line, so excluding a room no longer
+ * needs a code change.
+ */
+public final class RoomFilter implements ResourceFilter {
+    /**
+     * Filter that keeps every room.
+     */
+    public static final RoomFilter NONE = new RoomFilter(Collections.<String>emptyList());
+
+    private final Set<String> excluded = new HashSet<>();
+
+    /**
+     * @param excludedRooms Names or IDs of the rooms to leave out
+     */
+    public RoomFilter(Collection<String> excludedRooms) {
+        for (String room : excludedRooms) {
+            if (room != null && !room.trim().isEmpty()) {
+                excluded.add(normalise(room));
+            }
+        }
+    }
+
+    /**
+     * Creates a filter from a comma-separated list of room names or IDs.
+     */
+    public static RoomFilter parse(String excludedRooms) {
+        Set<String> rooms = new HashSet<>();
+        if (excludedRooms != null) {
+            Collections.addAll(rooms, excludedRooms.split(","));
+        }
+        return new RoomFilter(rooms);
+    }
+
+    private static String normalise(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public boolean shouldUseResource(Resource resource) {
+        if (excluded.isEmpty()) {
+            return true;
+        }
+        return (resource.getName() == null || !excluded.contains(normalise(resource.getName())))
+                && (resource.getId() == null || !excluded.contains(normalise(resource.getId())));
+    }
+
+    /**
+     * Gets the normalised names and IDs this filter leaves out.
+     */
+    public Set<String> getExcludedRooms() {
+        return Collections.unmodifiableSet(excluded);
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.manager.timetable;
+
+import org.jgrapht.Graph;
+import org.jgrapht.alg.interfaces.MatchingAlgorithm;
+import org.jgrapht.alg.matching.HopcroftKarpMaximumCardinalityBipartiteMatching;
+import org.jgrapht.graph.DefaultEdge;
+import org.jgrapht.graph.SimpleGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Assigns rooms to sessions whose time slots are already fixed.
+ *
+ * Sessions in different slots never compete for a room, so each slot is an independent
+ * bipartite matching of its sessions to their compatible rooms, solved with Hopcroft-Karp.
+ * The slots are matched in parallel. When the slot assignment respects the room capacity
+ * per slot (as the Choco generator's two-phase mode ensures), every session gets a room.
+ */
+public final class RoomMatching {
+    private static final String TAG = "RoomMatching";
+
+    private final int[] roomOfSession;
+    private final int unmatched;
+    private final int slotsMatched;
+    private final long elapsedMicros;
+
+    private RoomMatching(int[] roomOfSession, int unmatched, int slotsMatched, long elapsedMicros) {
+        this.roomOfSession = roomOfSession;
+        this.unmatched = unmatched;
+        this.slotsMatched = slotsMatched;
+        this.elapsedMicros = elapsedMicros;
+    }
+
+    /**
+     * Matches sessions to rooms slot by slot.
+     *
+     * @param slotOfSession Week slot of each session, or -1 for sessions to leave without a room
+     * @param compatibleRooms Room indices each session may use
+     * @param slotCount Number of slots in the week
+     */
+    public static RoomMatching match(int[] slotOfSession, int[][] compatibleRooms, int slotCount) {
+        long start = System.nanoTime();
+        List<List<Integer>> sessionsBySlot = new ArrayList<>(slotCount);
+        for (int k = 0; k < slotCount; k++) {
+            sessionsBySlot.add(new ArrayList<>());
+        }
+        for (int s = 0; s < slotOfSession.length; s++) {
+            if (slotOfSession[s] >= 0 && slotOfSession[s] < slotCount) {
+                sessionsBySlot.get(slotOfSession[s]).add(s);
+            }
+        }
+
+        int[] roomOfSession = new int[slotOfSession.length];
+        Arrays.fill(roomOfSession, -1);
+        // Each slot writes only the entries of its own sessions
+        IntStream.range(0, slotCount).parallel()
+                .forEach(k -> matchSlot(sessionsBySlot.get(k), compatibleRooms, roomOfSession));
+
+        int unmatched = 0;
+        int slotsMatched = 0;
+        for (int k = 0; k < slotCount; k++) {
+            if (!sessionsBySlot.get(k).isEmpty()) {
+                slotsMatched++;
+            }
+        }
+        for (int s = 0; s < slotOfSession.length; s++) {
+            if (slotOfSession[s] >= 0 && roomOfSession[s] < 0) {
+                unmatched++;
+            }
+        }
+        RoomMatching result = new RoomMatching(roomOfSession, unmatched, slotsMatched,
+                (System.nanoTime() - start) / 1000);
+        TimetableLog.d(TAG, "Matched rooms in " + slotsMatched + " slots, " + unmatched + " sessions without a room");
+        return result;
+    }
+
+    /**
+     * Solves the matching of one slot. Sessions are vertices 0..n-1 and room r is vertex -(r + 1).
+     */
+    private static void matchSlot(List<Integer> sessions, int[][] compatibleRooms, int[] roomOfSession) {
+        if (sessions.isEmpty()) {
+            return;
+        }
+        Graph<Integer, DefaultEdge> graph = new SimpleGraph<>(DefaultEdge.class);
+        Set<Integer> sessionSide = new HashSet<>();
+        Set<Integer> roomSide = new HashSet<>();
+        for (int i = 0; i < sessions.size(); i++) {
+            graph.addVertex(i);
+            sessionSide.add(i);
+            for (int room : compatibleRooms[sessions.get(i)]) {
+                int roomVertex = -(room + 1);
+                if (roomSide.add(roomVertex)) {
+                    graph.addVertex(roomVertex);
+                }
+                graph.addEdge(i, roomVertex);
+            }
+        }
+
+        MatchingAlgorithm.Matching<Integer, DefaultEdge> matching =
+                new HopcroftKarpMaximumCardinalityBipartiteMatching<>(graph, sessionSide, roomSide).getMatching();
+        for (DefaultEdge edge : matching.getEdges()) {
+            int a = graph.getEdgeSource(edge);
+            int b = graph.getEdgeTarget(edge);
+            int session = a >= 0 ? a : b;
+            int roomVertex = a >= 0 ? b : a;
+            roomOfSession[sessions.get(session)] = -roomVertex - 1;
+        }
+    }
+
+    /**
+     * Closes a family of room sets under the union of overlapping sets. Hall's condition for a
+     * slot only has to be checked on the rooms of some sessions taken together, and a union of
+     * disjoint sets splits into independent checks, so capping every set returned here is enough
+     * for the matching to succeed. The result keeps the input sets first, in order, and stops
+     * growing at {@code limit} sets.
+     */
+    static List<Set<Integer>> overlapUnions(Collection<Set<Integer>> sets, int limit) {
+        List<Set<Integer>> closed = new ArrayList<>(new LinkedHashSet<>(sets));
+        Set<Set<Integer>> seen = new HashSet<>(closed);
+        // Each set is joined with every earlier one, so the unions added later are joined too
+        for (int i = 0; i < closed.size() && closed.size() < limit; i++) {
+            for (int j = 0; j < i && closed.size() < limit; j++) {
+                if (Collections.disjoint(closed.get(i), closed.get(j))) {
+                    continue;
+                }
+                Set<Integer> union = new HashSet<>(closed.get(i));
+                union.addAll(closed.get(j));
+                if (seen.add(union)) {
+                    closed.add(union);
+                }
+            }
+        }
+        return closed;
+    }
+
+    /**
+     * Gets the room index assigned to a session, or -1 if it has none.
+     */
+    public int getRoom(int session) {
+        return roomOfSession[session];
+    }
+
+    /**
+     * Gets the number of placed sessions that could not be given a compatible room.
+     */
+    public int getUnmatched() {
+        return unmatched;
+    }
+
+    /**
+     * Gets the number of slots that had at least one session.
+     */
+    public int getSlotsMatched() {
+        return slotsMatched;
+    }
+
+    public long getElapsedMicros() {
+        return elapsedMicros;
+    }
+}
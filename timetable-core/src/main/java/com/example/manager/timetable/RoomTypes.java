@@ -0,0 +1,60 @@
+package com.example.manager.timetable;
+
+import com.example.manager.admin.model.Resource;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Rules for matching a course's required room type against resource types.
+ * Shared by the Choco generator and the pre-solve feasibility check so both see the same rooms.
+ */
+public final class RoomTypes {
+
+    private RoomTypes() {
+    }
+
+    /**
+     * Checks whether a resource type satisfies a required room type.
+     *
+     * @param requiredRoomType Type required by the course, null or empty for any room
+     * @param resourceType Type of the resource
+     * @return true if the resource can host the course
+     */
+    public static boolean isCompatible(String requiredRoomType, String resourceType) {
+        if (requiredRoomType == null || requiredRoomType.isEmpty()) {
+            return true;
+        }
+        if (resourceType == null) {
+            return false;
+        }
+        if (requiredRoomType.equals("LAB")) {
+            return resourceType.contains("LAB");
+        }
+        if (requiredRoomType.equals("LECTURE_HALL")) {
+            return resourceType.contains("HALL") || resourceType.contains("ROOM");
+        }
+        return resourceType.contains(requiredRoomType);
+    }
+
+    /**
+     * Finds the indices of the resources a course can use.
+     * Falls back to all resources when none match, as the generators do.
+     */
+    public static int[] compatibleResources(Course course, List<Resource> resources) {
+        int[] indices = new int[resources.size()];
+        int count = 0;
+        for (int r = 0; r < resources.size(); r++) {
+            if (isCompatible(course.getRequiredRoomType(), resources.get(r).getType())) {
+                indices[count++] = r;
+            }
+        }
+        if (count == 0) {
+            for (int r = 0; r < resources.size(); r++) {
+                indices[r] = r;
+            }
+            return indices;
+        }
+        return Arrays.copyOf(indices, count);
+    }
+}
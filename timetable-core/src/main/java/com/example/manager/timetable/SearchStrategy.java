@@ -0,0 +1,26 @@
+package com.example.manager.timetable;
+
+/**
+ * Variable ordering used by the Choco generator's search.
+ * Which one finds a first solution fastest depends on the instance, see the README benchmarks.
+ */
+public enum SearchStrategy {
+    /** Choco's default search. */
+    DEFAULT,
+    /** Smallest domain over weighted degree; constraints that fail often gain weight. */
+    DOM_WDEG,
+    /** Variables whose assignments reduce other domains the most, learnt during search. */
+    ACTIVITY,
+    /** Variables involved in recent conflicts first. */
+    CONFLICT_HISTORY,
+    /** Sessions with the fewest remaining day and hour combinations first, ties broken by conflict degree. */
+    MOST_CONSTRAINED;
+
+    /**
+     * Checks whether the options' seed changes this strategy's choices. The others search the
+     * same way for every seed.
+     */
+    public boolean usesSeed() {
+        return this == DOM_WDEG || this == ACTIVITY || this == CONFLICT_HISTORY;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.manager.timetable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Session IDs for generated timetables.
+ *
+ * Unseeded runs give each session a random UUID. Seeded runs give it a name-based UUID of
+ * its course, lecturer, room, day, times and type, so the same timetable always has the same
+ * IDs and benchmark outputs, regression baselines and cached results compare equal. Sessions
+ * with identical content are told apart by their order in the timetable. Both forms are
+ * ordinary UUIDs, which {@link CompactTimetable} packs into two longs.
+ */
+public final class SessionIds {
+    private SessionIds() {
+    }
+
+    /**
+     * Gets a random ID for a new session. Seeded runs replace it with {@link #assign}.
+     */
+    public static String random() {
+        return UUID.randomUUID().toString();
+    }
+
+    /**
+     * Replaces every session's ID with one derived from its content if the options set a seed.
+     *
+     * @return The same timetable
+     */
+    public static Timetable assign(Timetable timetable, TimetableGeneratorOptions options) {
+        if (options.isDeterministic()) {
+            assign(timetable);
+        }
+        return timetable;
+    }
+
+    /**
+     * Replaces every session's ID with one derived from its content.
+     */
+    public static void assign(Timetable timetable) {
+        if (timetable.getSessions() == null) {
+            return;
+        }
+        Map<String, Integer> occurrences = new HashMap<>();
+        for (TimetableSession session : timetable.getSessions()) {
+            String content = session.getCourseId() + '|' + session.getLecturerId() + '|' + session.getResourceId()
+                    + '|' + session.getDayOfWeek() + '|' + session.getStartTime() + '|' + session.getEndTime()
+                    + '|' + session.getSessionType();
+            int occurrence = occurrences.merge(content, 1, Integer::sum);
+            session.setId(UUID.nameUUIDFromBytes((content + '#' + occurrence).getBytes(StandardCharsets.UTF_8))
+                    .toString());
+        }
+    }
+}
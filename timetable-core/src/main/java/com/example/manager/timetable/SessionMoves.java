@@ -0,0 +1,177 @@
+package com.example.manager.timetable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Checks and applies moves of single sessions of one timetable to another day and start time,
+ * for dragging sessions around the timetable grid.
+ *
+ * The sessions are loaded once into a {@link ConflictIndex} keyed by session ID, together with
+ * the number of sessions each course has on each day. A move keeps the session's room,
+ * lecturer and length. Checking one target is a bitset range test on the room and the
+ * lecturer, so {@link #targets} can rate every cell of a grid when a drag starts, and the
+ * hovered cell is an array read. Targets must also stay within a window of days and daily
+ * hours, and the room must be open in the compiled {@link RoomAvailability}, when given.
+ * Instances are not thread-safe.
+ */
+public final class SessionMoves {
+    private static final String TAG = "SessionMoves";
+
+    // Whole week, for reading day names
+    private static final TimeGrid WEEK = new TimeGrid(7, 60, 0, 24 * 60);
+
+    /**
+     * Result of checking a target, best first. Only {@link #FREE} and {@link #SAME_DAY}
+     * targets can be moved to.
+     */
+    public enum Verdict {
+        /** No clash, and the course has no other session that day */
+        FREE,
+        /** No clash, but the course already has another session that day */
+        SAME_DAY,
+        /** The session's room is booked at the target time */
+        ROOM_BUSY,
+        /** The session's lecturer is booked at the target time */
+        LECTURER_BUSY,
+        /** The session's room is closed or unavailable at the target time */
+        ROOM_CLOSED,
+        /** The target falls outside the window's days or daily hours, or the session's own times cannot be read */
+        OUTSIDE;
+
+        public boolean isAllowed() {
+            return this == FREE || this == SAME_DAY;
+        }
+    }
+
+    private final TimeGrid window;
+    private final RoomAvailability availability;
+    private final ConflictIndex index = new ConflictIndex();
+    private final Map<String, TimetableSession> sessions = new HashMap<>();
+    private final Map<String, int[]> courseDays = new HashMap<>();
+
+    /**
+     * @param sessions Sessions of one timetable, each with a unique ID
+     */
+    public SessionMoves(List<TimetableSession> sessions) {
+        this(sessions, null, null);
+    }
+
+    /**
+     * @param sessions Sessions of one timetable, each with a unique ID
+     * @param window Days from Monday and daily hours targets must stay within, or null for any
+     *               time of any day
+     * @param availability Room availability targets are checked against, or null to skip it
+     */
+    public SessionMoves(List<TimetableSession> sessions, TimeGrid window, RoomAvailability availability) {
+        this.window = window == null ? WEEK : window;
+        this.availability = availability;
+        for (TimetableSession session : sessions) {
+            if (session.getId() == null) {
+                continue;
+            }
+            this.sessions.put(session.getId(), session);
+            if (index.put(session)) {
+                countDay(session, +1);
+            } else {
+                TimetableLog.w(TAG, "Session " + session.getId() + " has no readable day or time");
+            }
+        }
+    }
+
+    public TimetableSession get(String sessionId) {
+        return sessions.get(sessionId);
+    }
+
+    /**
+     * Checks moving a session to start at a minute of a day.
+     */
+    public Verdict check(String sessionId, String day, int startMinute) {
+        TimetableSession session = sessions.get(sessionId);
+        int length = session == null ? -1 : length(session);
+        if (length <= 0) {
+            return Verdict.OUTSIDE;
+        }
+        return check(session, WEEK.dayIndex(day), startMinute, length);
+    }
+
+    /**
+     * Rates moving a session to every slot of a grid.
+     *
+     * @return One verdict per slot, indexed by {@link TimeGrid#slot(int, int)}
+     */
+    public Verdict[] targets(String sessionId, TimeGrid grid) {
+        Verdict[] verdicts = new Verdict[grid.getSlotCount()];
+        TimetableSession session = sessions.get(sessionId);
+        int length = session == null ? -1 : length(session);
+        for (int day = 0; day < grid.getDays(); day++) {
+            int dayIndex = WEEK.dayIndex(grid.dayName(day));
+            for (int s = 0; s < grid.getSlotsPerDay(); s++) {
+                verdicts[grid.slot(day, s)] = length <= 0
+                        ? Verdict.OUTSIDE : check(session, dayIndex, grid.startMinuteOf(s), length);
+            }
+        }
+        return verdicts;
+    }
+
+    private Verdict check(TimetableSession session, int day, int startMinute, int length) {
+        if (day < 0 || day >= window.getDays() || startMinute < window.getDayStartMinute()
+                || startMinute + length > window.getDayEndMinute()) {
+            return Verdict.OUTSIDE;
+        }
+        if (availability != null
+                && !availability.isOpen(session.getResourceId(), day, startMinute, startMinute + length)) {
+            return Verdict.ROOM_CLOSED;
+        }
+        List<String> days = Collections.singletonList(WEEK.dayName(day));
+        String start = TimeGrid.formatTime(startMinute);
+        String end = TimeGrid.formatTime(startMinute + length);
+        if (!index.isRoomFree(session.getResourceId(), days, start, end, session.getId())) {
+            return Verdict.ROOM_BUSY;
+        }
+        if (!index.isLecturerFree(session.getLecturerId(), days, start, end, session.getId())) {
+            return Verdict.LECTURER_BUSY;
+        }
+        int[] counts = courseDays.get(session.getCourseId());
+        int others = counts == null ? 0 : counts[day];
+        if (day == WEEK.dayIndex(session.getDayOfWeek())) {
+            others--;
+        }
+        return others > 0 ? Verdict.SAME_DAY : Verdict.FREE;
+    }
+
+    /**
+     * Moves a session if the target is allowed, updating the session object in place.
+     *
+     * @return The moved session, or null if the move is not allowed
+     */
+    public TimetableSession move(String sessionId, String day, int startMinute) {
+        if (!check(sessionId, day, startMinute).isAllowed()) {
+            return null;
+        }
+        TimetableSession session = sessions.get(sessionId);
+        int length = length(session);
+        countDay(session, -1);
+        session.setDayOfWeek(WEEK.dayName(WEEK.dayIndex(day)));
+        session.setStartTime(TimeGrid.formatTime(startMinute));
+        session.setEndTime(TimeGrid.formatTime(startMinute + length));
+        index.put(session);
+        countDay(session, +1);
+        return session;
+    }
+
+    private void countDay(TimetableSession session, int delta) {
+        int day = WEEK.dayIndex(session.getDayOfWeek());
+        if (day >= 0) {
+            courseDays.computeIfAbsent(session.getCourseId(), k -> new int[WEEK.getDays()])[day] += delta;
+        }
+    }
+
+    private static int length(TimetableSession session) {
+        int start = TimeGrid.parseTime(session.getStartTime());
+        int end = TimeGrid.parseTime(session.getEndTime());
+        return start < 0 || end <= start ? -1 : end - start;
+    }
+}
@@ -1,7 +1,5 @@
 package com.example.manager.timetable;
 
-import android.util.Log;
-
 import com.example.manager.admin.model.Resource;
 import com.example.manager.model.Lecturer;
 
@@ -10,8 +8,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
-import java.util.UUID;
+import java.util.SplittableRandom;
 
 /**
  * A simple timetable generator that uses a greedy algorithm to allocate resources
@@ -19,14 +16,9 @@ import java.util.UUID;
  */
 public class SimpleTimetableGenerator implements TimetableGenerator {
     private static final String TAG = "SimpleTimetableGen";
-    private static final int DAYS_PER_WEEK = 5; // Monday to Friday
-    private static final int HOURS_PER_DAY = 8; // 9 AM to 5 PM
-    private static final int START_HOUR = 9; // Starting at 9 AM
-    
-    // Days of the week for output formatting
-    private static final String[] DAYS_OF_WEEK = {"Monday", "Tuesday", "Wednesday", "Thursday", "Friday"};
+    private static final int SESSION_MINUTES = 60; // Sessions last one hour
     
-    private Random random = new Random();
+    private SplittableRandom random = new SplittableRandom();
     // Default options
     private boolean avoidBackToBackClasses = false;
     private boolean preferEvenDistribution = false;
@@ -41,115 +33,99 @@ public class SimpleTimetableGenerator implements TimetableGenerator {
     @Override
     public Timetable generateTimetable(List<Resource> resources, List<Lecturer> lecturers, List<Course> courses,
                                       TimetableGeneratorOptions options) {
-        Log.d(TAG, "Starting timetable generation with simple greedy algorithm");
+        TimetableLog.d(TAG, "Starting timetable generation with simple greedy algorithm");
         
         // Apply options
         this.avoidBackToBackClasses = options.shouldAvoidBackToBackClasses();
         this.preferEvenDistribution = options.shouldPreferEvenDistribution();
         this.maxHoursPerDay = options.getMaxHoursPerDay();
+        this.random = options.newRandom();
+        TimetableTrace trace = options.getTrace();
+        TimeGrid grid = options.getTimeGrid();
+        int daysPerWeek = grid.getDays();
+        int slotsPerDay = grid.getSlotsPerDay();
+        int sessionSlots = grid.slotsFor(SESSION_MINUTES);
         
-        Log.d(TAG, "Using options: avoidBackToBack=" + avoidBackToBackClasses + 
+        TimetableLog.d(TAG, "Using options: avoidBackToBack=" + avoidBackToBackClasses + 
               ", preferEvenDistribution=" + preferEvenDistribution + 
-              ", maxHoursPerDay=" + maxHoursPerDay);
+              ", maxHoursPerDay=" + maxHoursPerDay + ", grid=" + grid);
         
         // Create a new timetable
         Timetable timetable = new Timetable();
         
         // Check for empty inputs
         if (resources.isEmpty() || lecturers.isEmpty() || courses.isEmpty()) {
-            Log.e(TAG, "Cannot generate timetable with empty resources, lecturers, or courses");
+            TimetableLog.e(TAG, "Cannot generate timetable with empty resources, lecturers, or courses");
             return timetable;
         }
         
-        // Filter out unwanted rooms that shouldn't be used for scheduling
-        List<String> unwantedRoomNames = new ArrayList<>();
-        unwantedRoomNames.add("gy");
-        unwantedRoomNames.add("a5");
-        unwantedRoomNames.add("a6");
-        unwantedRoomNames.add("ac4");
-        
-        List<Resource> filteredResources = new ArrayList<>();
-        for (Resource resource : resources) {
-            String resourceName = resource.getName().toLowerCase().trim();
-            boolean isUnwanted = false;
-            
-            for (String unwantedName : unwantedRoomNames) {
-                if (resourceName.equals(unwantedName.toLowerCase().trim())) {
-                    isUnwanted = true;
-                    Log.d(TAG, "Filtering out unwanted room: " + resource.getName());
-                    break;
-                }
-            }
-            
-            if (!isUnwanted) {
-                filteredResources.add(resource);
-            }
-        }
+        // Leave out unavailable and filtered rooms, and compile each room's blocked windows
+        RoomAvailability availability = RoomAvailability.compile(resources, options);
         
         // If we filtered out all resources, return empty timetable
-        if (filteredResources.isEmpty()) {
-            Log.e(TAG, "All resources were filtered out as unwanted. Please add valid rooms.");
+        if (availability.getRooms().isEmpty()) {
+            TimetableLog.e(TAG, "All resources are unavailable or filtered out. Please add valid rooms.");
             return timetable;
         }
         
         // Use filtered resources for the rest of the generation process
-        resources = filteredResources;
-        
-        // Resource availability: resource index -> day -> hour -> available?
-        boolean[][][] resourceAvailability = new boolean[resources.size()][DAYS_PER_WEEK][HOURS_PER_DAY];
-        // Lecturer availability: lecturer index -> day -> hour -> available?
-        boolean[][][] lecturerAvailability = new boolean[lecturers.size()][DAYS_PER_WEEK][HOURS_PER_DAY];
+        resources = availability.getRooms();
         
-        // Initialize all slots as available
+        // Busy slots per resource and per lecturer; rooms start with their blocked windows
+        SlotSet[] resourceBusy = new SlotSet[resources.size()];
         for (int r = 0; r < resources.size(); r++) {
-            for (int d = 0; d < DAYS_PER_WEEK; d++) {
-                for (int h = 0; h < HOURS_PER_DAY; h++) {
-                    resourceAvailability[r][d][h] = true;
-                }
-            }
+            resourceBusy[r] = availability.newBusySet(r);
         }
         
+        SlotSet[] lecturerBusy = new SlotSet[lecturers.size()];
         for (int l = 0; l < lecturers.size(); l++) {
-            for (int d = 0; d < DAYS_PER_WEEK; d++) {
-                for (int h = 0; h < HOURS_PER_DAY; h++) {
-                    lecturerAvailability[l][d][h] = true;
-                }
-            }
+            lecturerBusy[l] = grid.newSlotSet();
+        }
+        
+        // Slots where each course would clash with a course sharing one of its student groups
+        CourseConflictGraph conflicts = PreparedInput.conflicts(options, courses);
+        SlotSet[] groupBusy = new SlotSet[courses.size()];
+        for (int c = 0; c < courses.size(); c++) {
+            groupBusy[c] = grid.newSlotSet();
         }
         
+        // Conflict-free slot layout tried first for each session, when it fits the week
+        SlotColouring colouring = SlotColouring.compute(availability.getRooms(), lecturers, courses, options);
+        
+        // Load-balanced lecturers for courses without an assigned one
+        LecturerAssignment lecturerAssignment = LecturerAssignment.compute(lecturers, courses, options);
+        trace.record(TimetableTrace.Event.LECTURERS_ASSIGNED, lecturerAssignment.getAssignedCourses(),
+                lecturerAssignment.getMaxLoad(), (int) lecturerAssignment.getElapsedMicros());
+        
         // Pre-compute lecturer indices for quick lookup
         int teacher1Index = -1;
         
         // Find the index of Teacher 1 (for VR courses)
         for (int i = 0; i < lecturers.size(); i++) {
             Lecturer lecturer = lecturers.get(i);
-            Log.d(TAG, "Checking lecturer #" + i + ": '" + lecturer.getName() + "'");
             
             // Try exact match first for "teacher1" (without space)
             if (lecturer.getName().equals("teacher1")) {
                 teacher1Index = i;
-                Log.d(TAG, "FOUND EXACT MATCH for teacher1: '" + lecturer.getName() + "' at index " + i);
                 break;
             }
         }
         
         // If no exact match, try case-insensitive
         if (teacher1Index == -1) {
-            Log.d(TAG, "No exact match for 'teacher1', trying case-insensitive search");
             for (int i = 0; i < lecturers.size(); i++) {
                 Lecturer lecturer = lecturers.get(i);
                 if (lecturer.getName().toLowerCase().equals("teacher1")) {
                     teacher1Index = i;
-                    Log.d(TAG, "FOUND CASE-INSENSITIVE MATCH for teacher1: '" + lecturer.getName() + "' at index " + i);
                     break;
                 }
             }
         }
         
         if (teacher1Index == -1) {
-            Log.e(TAG, "WARNING: TEACHER 1 NOT FOUND in the lecturer list! VR courses will not be properly assigned.");
+            TimetableLog.e(TAG, "WARNING: TEACHER 1 NOT FOUND in the lecturer list! VR courses will not be properly assigned.");
         } else {
-            Log.d(TAG, "Teacher 1 found at index " + teacher1Index + ": " + lecturers.get(teacher1Index).getName());
+            TimetableLog.d(TAG, "Teacher 1 found at index " + teacher1Index + ": " + lecturers.get(teacher1Index).getName());
         }
         
         // Pre-compute lab room indices for quick lookup
@@ -163,7 +139,9 @@ public class SimpleTimetableGenerator implements TimetableGenerator {
         }
         
         // Process each course
-        for (Course course : courses) {
+        int unscheduledSessions = 0;
+        for (int courseIndex = 0; courseIndex < courses.size(); courseIndex++) {
+            Course course = courses.get(courseIndex);
             String courseName = course.getName();
             String courseCode = course.getCode() != null ? course.getCode() : "";
             boolean isVRCourse = courseName.contains("Virtual Reality") || courseCode.contains("VR");
@@ -180,7 +158,7 @@ public class SimpleTimetableGenerator implements TimetableGenerator {
             if (isVRCourse && !labRoomIndices.isEmpty()) {
                 // VR courses need lab rooms
                 suitableResources = new ArrayList<>(labRoomIndices);
-                Log.d(TAG, "VR course will use lab rooms (" + suitableResources.size() + " available)");
+                trace.record(TimetableTrace.Event.LAB_ROOMS_ONLY, courseIndex, suitableResources.size());
             } else {
                 // Other courses can use any room
                 suitableResources = new ArrayList<>();
@@ -191,6 +169,7 @@ public class SimpleTimetableGenerator implements TimetableGenerator {
             
             // Find suitable lecturers for this course
             List<Integer> suitableLecturers = new ArrayList<>();
+            boolean plannedLecturers = false; // One planned lecturer per session, in session order
             
             // Check if there's a pre-assigned lecturer from course management
             String assignedLecturerId = course.getAssignedLecturerId();
@@ -208,22 +187,19 @@ public class SimpleTimetableGenerator implements TimetableGenerator {
                 if (assignedLecturerIndex >= 0) {
                     // Use only the assigned lecturer
                     suitableLecturers.add(assignedLecturerIndex);
-                    Log.d(TAG, "Using pre-assigned lecturer '" + lecturers.get(assignedLecturerIndex).getName() + 
-                          "' for course: " + courseName);
+                    trace.record(TimetableTrace.Event.LECTURER_PREASSIGNED, courseIndex, assignedLecturerIndex);
                 } else {
                     // Assigned lecturer not found - treat as unassigned
-                    Log.w(TAG, "Assigned lecturer ID " + assignedLecturerId + " not found for course: " + 
-                          courseName + " - will use any suitable lecturer");
+                    trace.record(TimetableTrace.Event.LECTURER_NOT_FOUND, courseIndex);
                     
                     // For VR courses, prefer teacher1 if available
                     if (isVRCourse && teacher1Index >= 0) {
                         suitableLecturers.add(teacher1Index);
-                        Log.d(TAG, "VR course without valid assignment will use teacher1");
+                        trace.record(TimetableTrace.Event.LECTURER_FALLBACK, courseIndex, teacher1Index);
                     } else {
-                        // For non-VR courses or if teacher1 not available, use any lecturer
-                        for (int l = 0; l < lecturers.size(); l++) {
-                            suitableLecturers.add(l);
-                        }
+                        // For non-VR courses or if teacher1 not available, use the planned lecturers
+                        plannedLecturers = addPlannedLecturers(lecturerAssignment, courseIndex, sessionsNeeded,
+                                lecturers.size(), suitableLecturers, trace);
                     }
                 }
             } else {
@@ -231,18 +207,18 @@ public class SimpleTimetableGenerator implements TimetableGenerator {
                 // For VR courses, prefer teacher1
                 if (isVRCourse && teacher1Index >= 0) {
                     suitableLecturers.add(teacher1Index);
-                    Log.d(TAG, "VR course without assignment will use teacher1");
+                    trace.record(TimetableTrace.Event.LECTURER_FALLBACK, courseIndex, teacher1Index);
                 } else {
-                    // For non-VR courses, use any lecturer
-                    for (int l = 0; l < lecturers.size(); l++) {
-                        suitableLecturers.add(l);
-                    }
+                    // For non-VR courses, use the planned lecturers
+                    plannedLecturers = addPlannedLecturers(lecturerAssignment, courseIndex, sessionsNeeded,
+                            lecturers.size(), suitableLecturers, trace);
                 }
             }
             
             // Skip if no suitable resources or lecturers
             if (suitableResources.isEmpty() || suitableLecturers.isEmpty()) {
-                Log.w(TAG, "Cannot schedule " + courseName + " - no suitable resources or lecturers");
+                trace.record(TimetableTrace.Event.COURSE_UNSCHEDULABLE, courseIndex);
+                unscheduledSessions += sessionsNeeded;
                 continue;
             }
             
@@ -252,79 +228,89 @@ public class SimpleTimetableGenerator implements TimetableGenerator {
             // For each session needed for this course
             for (int session = 0; session < sessionsNeeded; session++) {
                 // Choose best resource and lecturer
-                Collections.shuffle(suitableResources, random);
-                Collections.shuffle(suitableLecturers, random);
+                shuffle(suitableResources);
+                int lecturerIndex;
+                if (plannedLecturers) {
+                    lecturerIndex = suitableLecturers.get(session);
+                } else {
+                    shuffle(suitableLecturers);
+                    lecturerIndex = suitableLecturers.get(0);
+                }
                 
                 int resourceIndex = suitableResources.get(0);
-                int lecturerIndex = suitableLecturers.get(0);
                 
                 // For even distribution, randomize the order of days
                 List<Integer> dayOrder = new ArrayList<>();
-                for (int d = 0; d < DAYS_PER_WEEK; d++) {
+                for (int d = 0; d < daysPerWeek; d++) {
                     dayOrder.add(d);
                 }
                 
                 // If prefer even distribution, shuffle the days to avoid clustering
                 if (preferEvenDistribution) {
-                    Collections.shuffle(dayOrder, random);
-                    Log.d(TAG, "Applying even distribution constraint - randomizing day order");
+                    shuffle(dayOrder);
+                }
+                
+                // Try the day and hour of the seed colouring first
+                int seedDay = colouring.getDay(courseIndex, session);
+                int seedStart = seedDay < 0 ? -1 : grid.slotOfDayAt(grid.getDayStartMinute()
+                        + colouring.getPeriod(courseIndex, session) * SESSION_MINUTES);
+                if (seedDay >= 0 && seedStart >= 0) {
+                    dayOrder.remove(Integer.valueOf(seedDay));
+                    dayOrder.add(0, seedDay);
                 }
                 
                 // Try to find an available slot for this course session
                 boolean sessionAllocated = false;
                 
-                // Calculate lecturer's teaching hours per day
-                int[] lecturerHoursPerDay = new int[DAYS_PER_WEEK];
-                for (int d = 0; d < DAYS_PER_WEEK; d++) {
-                    lecturerHoursPerDay[d] = 0;
-                    for (int h = 0; h < HOURS_PER_DAY; h++) {
-                        if (!lecturerAvailability[lecturerIndex][d][h]) {
-                            // Count hours already allocated to this lecturer
-                            lecturerHoursPerDay[d]++;
-                        }
-                    }
-                }
+                SlotSet lecturerSlots = lecturerBusy[lecturerIndex];
+                SlotSet resourceSlots = resourceBusy[resourceIndex];
+                SlotSet courseSlots = groupBusy[courseIndex];
                 
                 // Try each day in the (potentially shuffled) order
-                for (int dayIndex = 0; !sessionAllocated && dayIndex < DAYS_PER_WEEK; dayIndex++) {
+                for (int dayIndex = 0; !sessionAllocated && dayIndex < daysPerWeek; dayIndex++) {
                     int d = dayOrder.get(dayIndex);
+                    int dayStart = grid.slot(d, 0);
                     
                     // If respecting max hours constraint, skip days where lecturer already has maximum hours
-                    if (lecturerHoursPerDay[d] >= maxHoursPerDay) {
-                        Log.d(TAG, "Skipping day " + DAYS_OF_WEEK[d] + " - lecturer already has " + 
-                              lecturerHoursPerDay[d] + " hours (max: " + maxHoursPerDay + ")");
+                    int lecturerMinutes = lecturerSlots.countRange(dayStart, dayStart + slotsPerDay) * grid.getSlotMinutes();
+                    if (lecturerMinutes >= maxHoursPerDay * 60) {
+                        trace.record(TimetableTrace.Event.DAY_SKIPPED_MAX_HOURS, lecturerIndex, d, lecturerMinutes / 60);
                         continue;
                     }
                     
-                    // For avoiding back-to-back, sort hours to prefer those that don't create back-to-back
+                    // Sessions may start at any slot that leaves room for the whole session
                     List<Integer> hourOrder = new ArrayList<>();
-                    for (int h = 0; h < HOURS_PER_DAY; h++) {
+                    for (int h = 0; h + sessionSlots <= slotsPerDay; h++) {
                         hourOrder.add(h);
                     }
                     
+                    // For avoiding back-to-back, sort hours to prefer those that don't create back-to-back
                     if (avoidBackToBackClasses) {
-                        Log.d(TAG, "Applying back-to-back avoidance constraint");
                         Collections.sort(hourOrder, (hour1, hour2) -> {
-                            int backToBack1 = countBackToBackHours(lecturerAvailability[lecturerIndex], d, hour1, 1);
-                            int backToBack2 = countBackToBackHours(lecturerAvailability[lecturerIndex], d, hour2, 1);
+                            int backToBack1 = countBackToBackHours(lecturerSlots, grid, d, hour1, sessionSlots);
+                            int backToBack2 = countBackToBackHours(lecturerSlots, grid, d, hour2, sessionSlots);
                             return Integer.compare(backToBack1, backToBack2); // Prefer fewer back-to-back hours
                         });
                     } else {
                         // Otherwise, just shuffle for variety
-                        Collections.shuffle(hourOrder, random);
+                        shuffle(hourOrder);
+                    }
+                    if (d == seedDay && hourOrder.remove(Integer.valueOf(seedStart))) {
+                        hourOrder.add(0, seedStart);
                     }
                     
                     // Try each hour in the preferred order
                     for (int hourIndex = 0; !sessionAllocated && hourIndex < hourOrder.size(); hourIndex++) {
                         int h = hourOrder.get(hourIndex);
+                        int from = dayStart + h;
+                        int to = from + sessionSlots;
                         
-                        // Check if slot is available
-                        if (h < HOURS_PER_DAY && 
-                            resourceAvailability[resourceIndex][d][h] && 
-                            lecturerAvailability[lecturerIndex][d][h]) {
+                        // Check if every slot of the session is available
+                        if (resourceSlots.isRangeClear(from, to) && lecturerSlots.isRangeClear(from, to)
+                                && courseSlots.isRangeClear(from, to)) {
                             
                             // Create a unique ID for this session
-                            String sessionId = UUID.randomUUID().toString();
+                            String sessionId = SessionIds.random();
                             
                             // Create session
                             TimetableSession timetableSession = new TimetableSession();
@@ -335,26 +321,26 @@ public class SimpleTimetableGenerator implements TimetableGenerator {
                             timetableSession.setLecturerName(lecturers.get(lecturerIndex).getName());
                             timetableSession.setResourceId(resources.get(resourceIndex).getId());
                             timetableSession.setResourceName(resources.get(resourceIndex).getName());
-                            timetableSession.setDayOfWeek(DAYS_OF_WEEK[d]);
-                            timetableSession.setStartTime((START_HOUR + h) + ":00");
-                            timetableSession.setEndTime((START_HOUR + h + 1) + ":00");
+                            int startMinute = grid.startMinuteOf(h);
+                            timetableSession.setDayOfWeek(grid.dayName(d));
+                            timetableSession.setStartTime(TimeGrid.formatTime(startMinute));
+                            timetableSession.setEndTime(TimeGrid.formatTime(startMinute + SESSION_MINUTES));
                             timetableSession.setSessionType(course.getCode());
                             
                             // Mark as unavailable
-                            resourceAvailability[resourceIndex][d][h] = false;
-                            lecturerAvailability[lecturerIndex][d][h] = false;
+                            resourceSlots.setRange(from, to);
+                            lecturerSlots.setRange(from, to);
+                            for (int other : conflicts.getNeighbours(courseIndex)) {
+                                groupBusy[other].setRange(from, to);
+                            }
+                            if (!course.getStudentGroups().isEmpty()) {
+                                courseSlots.setRange(from, to);
+                            }
                             
                             // Add to timetable
                             timetable.addSession(timetableSession);
                             
-                            // Log
-                            Log.d(TAG, "Scheduled " + course.getName() + 
-                                   " on " + DAYS_OF_WEEK[d] + 
-                                   " at " + (START_HOUR + h) + ":00" +
-                                   " with " + lecturers.get(lecturerIndex).getName() +
-                                   " in " + resources.get(resourceIndex).getName() +
-                                   " (constraints: back-to-back=" + avoidBackToBackClasses + 
-                                   ", even-distribution=" + preferEvenDistribution + ")");
+                            trace.record(TimetableTrace.Event.SESSION_SCHEDULED, courseIndex, d, h, resourceIndex);
                             
                             sessionAllocated = true;
                             sessionsScheduled++;
@@ -363,99 +349,92 @@ public class SimpleTimetableGenerator implements TimetableGenerator {
                 }
                 
                 if (!sessionAllocated) {
-                    Log.w(TAG, "Could not schedule session " + (session + 1) + " for " + courseName);
+                    trace.record(TimetableTrace.Event.SESSION_UNSCHEDULED, courseIndex, session);
+                    unscheduledSessions++;
                 }
             }
             
-            Log.d(TAG, "Scheduled " + sessionsScheduled + "/" + sessionsNeeded + " sessions for " + courseName);
+            trace.record(TimetableTrace.Event.COURSE_DONE, courseIndex, sessionsScheduled, sessionsNeeded);
         }
         
-        Log.d(TAG, "Timetable generation completed with " + timetable.getSessions().size() + " sessions");
+        if (unscheduledSessions > 0) {
+            TimetableLog.w(TAG, "Could not schedule " + unscheduledSessions + " sessions");
+        }
+        TimetableLog.d(TAG, "Timetable generation completed with " + timetable.getSessions().size() + " sessions");
         
-        return timetable;
+        return SessionIds.assign(timetable, options);
     }
     
     /**
-     * Find an available resource from the list of suitable resources for a given time slot.
+     * Shuffles a list with this run's random generator (Fisher-Yates).
      */
-    private Integer findAvailableResource(boolean[][][] resourceAvailability, List<Integer> suitableResources, 
-                                         int day, int hour) {
-        // Randomize the order to avoid always picking the same resource
-        List<Integer> shuffledResources = new ArrayList<>(suitableResources);
-        Collections.shuffle(shuffledResources, random);
-        
-        for (Integer resourceIndex : shuffledResources) {
-            if (resourceAvailability[resourceIndex][day][hour]) {
-                return resourceIndex;
-            }
+    private <T> void shuffle(List<T> list) {
+        for (int i = list.size() - 1; i > 0; i--) {
+            Collections.swap(list, i, random.nextInt(i + 1));
         }
-        return null; // No available resource found
     }
     
     /**
-     * Find an available lecturer from the list of suitable lecturers for a given time slot.
+     * Adds the lecturers the pre-assignment planned for each session of a course, in session
+     * order, or every lecturer if it planned none.
+     * 
+     * @return true if the list holds one planned lecturer per session
      */
-    private Integer findAvailableLecturer(boolean[][][] lecturerAvailability, List<Integer> suitableLecturers, 
-                                         int day, int hour) {
-        // Randomize the order to avoid always picking the same lecturer
-        List<Integer> shuffledLecturers = new ArrayList<>(suitableLecturers);
-        Collections.shuffle(shuffledLecturers, random);
-        
-        for (Integer lecturerIndex : shuffledLecturers) {
-            if (lecturerAvailability[lecturerIndex][day][hour]) {
-                return lecturerIndex;
+    private boolean addPlannedLecturers(LecturerAssignment assignment, int courseIndex, int sessionsNeeded,
+                                        int lecturerCount, List<Integer> suitableLecturers, TimetableTrace trace) {
+        if (!assignment.isAssigned(courseIndex)) {
+            for (int l = 0; l < lecturerCount; l++) {
+                suitableLecturers.add(l);
             }
+            return false;
+        }
+        for (int session = 0; session < sessionsNeeded; session++) {
+            suitableLecturers.add(assignment.getLecturer(courseIndex, session));
         }
-        return null; // No available lecturer found
+        trace.record(TimetableTrace.Event.LECTURER_PLANNED, courseIndex, suitableLecturers.get(0));
+        return true;
     }
 
     @Override
     public boolean hasConflicts(Timetable timetable) {
         // Check for conflicts in the timetable
-        List<TimetableSession> sessions = timetable.getSessions();
+        List<TimetableSession> sessions = new ArrayList<>(timetable.getSessions());
         
-        // Map to track resource usage: day -> hour -> resourceId -> session
-        Map<String, Map<String, Map<String, TimetableSession>>> resourceUsage = new HashMap<>();
+        // Sessions may start on any slot of a fine grid, so compare time ranges rather than start times
+        Collections.sort(sessions, (a, b) -> Integer.compare(TimeGrid.parseTime(a.getStartTime()),
+                TimeGrid.parseTime(b.getStartTime())));
         
-        // Map to track lecturer assignments: day -> hour -> lecturerId -> session
-        Map<String, Map<String, Map<String, TimetableSession>>> lecturerAssignments = new HashMap<>();
+        // Latest end of the sessions seen so far: day|resourceId and day|lecturerId -> minute
+        Map<String, Integer> resourceBusyUntil = new HashMap<>();
+        Map<String, Integer> lecturerBusyUntil = new HashMap<>();
         
         for (TimetableSession session : sessions) {
             String day = session.getDayOfWeek();
-            String startTime = session.getStartTime();
-            String resourceId = session.getResourceId();
-            String lecturerId = session.getLecturerId();
-            
-            // Initialize maps if needed
-            if (!resourceUsage.containsKey(day)) {
-                resourceUsage.put(day, new HashMap<>());
-            }
-            if (!resourceUsage.get(day).containsKey(startTime)) {
-                resourceUsage.get(day).put(startTime, new HashMap<>());
-            }
-            
-            if (!lecturerAssignments.containsKey(day)) {
-                lecturerAssignments.put(day, new HashMap<>());
-            }
-            if (!lecturerAssignments.get(day).containsKey(startTime)) {
-                lecturerAssignments.get(day).put(startTime, new HashMap<>());
+            int start = TimeGrid.parseTime(session.getStartTime());
+            int end = TimeGrid.parseTime(session.getEndTime());
+            if (end <= start) {
+                end = start + 1;
             }
             
             // Check for resource conflicts
-            if (resourceUsage.get(day).get(startTime).containsKey(resourceId)) {
+            String resourceKey = day + "|" + session.getResourceId();
+            Integer resourceUntil = resourceBusyUntil.get(resourceKey);
+            if (resourceUntil != null && resourceUntil > start) {
                 // Resource already used at this time
                 return true;
             }
             
             // Check for lecturer conflicts
-            if (lecturerAssignments.get(day).get(startTime).containsKey(lecturerId)) {
+            String lecturerKey = day + "|" + session.getLecturerId();
+            Integer lecturerUntil = lecturerBusyUntil.get(lecturerKey);
+            if (lecturerUntil != null && lecturerUntil > start) {
                 // Lecturer already assigned at this time
                 return true;
             }
             
-            // Record usage
-            resourceUsage.get(day).get(startTime).put(resourceId, session);
-            lecturerAssignments.get(day).get(startTime).put(lecturerId, session);
+            // Record usage; a shorter session must not cut a longer one short
+            resourceBusyUntil.merge(resourceKey, end, Math::max);
+            lecturerBusyUntil.merge(lecturerKey, end, Math::max);
         }
         
         return false; // No conflicts found
@@ -465,22 +444,23 @@ public class SimpleTimetableGenerator implements TimetableGenerator {
      * Counts how many back-to-back hours would be created if a session is scheduled
      * at the given day and starting hour.
      * 
-     * @param lecturerAvail The lecturer's availability array
+     * @param lecturerBusy The lecturer's busy slots
+     * @param grid The time grid
      * @param day The day to check
-     * @param startHour The starting hour
-     * @param duration The session duration in hours
+     * @param startHour The starting slot of the day
+     * @param duration The session duration in slots
      * @return The number of back-to-back hours created
      */
-    private int countBackToBackHours(boolean[][] lecturerAvail, int day, int startHour, int duration) {
+    private int countBackToBackHours(SlotSet lecturerBusy, TimeGrid grid, int day, int startHour, int duration) {
         int count = 0;
         
-        // Check hour before session
-        if (startHour > 0 && !lecturerAvail[day][startHour - 1]) {
+        // Check slot before session
+        if (startHour > 0 && lecturerBusy.get(grid.slot(day, startHour - 1))) {
             count++;
         }
         
-        // Check hour after session
-        if (startHour + duration < HOURS_PER_DAY && !lecturerAvail[day][startHour + duration]) {
+        // Check slot after session
+        if (startHour + duration < grid.getSlotsPerDay() && lecturerBusy.get(grid.slot(day, startHour + duration))) {
             count++;
         }
         
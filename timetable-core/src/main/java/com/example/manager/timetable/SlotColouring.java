@@ -0,0 +1,260 @@
+package com.example.manager.timetable;
+
+import com.example.manager.admin.model.Resource;
+import com.example.manager.model.Lecturer;
+
+import org.jgrapht.Graph;
+import org.jgrapht.alg.color.LargestDegreeFirstColoring;
+import org.jgrapht.alg.color.SaturationDegreeColoring;
+import org.jgrapht.alg.interfaces.VertexColoringAlgorithm;
+import org.jgrapht.graph.DefaultEdge;
+import org.jgrapht.graph.SimpleGraph;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Colours the session conflict graph to bound and seed the number of time slots.
+ *
+ * Two sessions conflict when they share a pinned lecturer, a pinned room or a student group
+ * (see {@link CourseConflictGraph}). Each colour class is split into chunks of at most one
+ * session per room, so every class is a set of sessions that can run in the same slot.
+ * DSatur and largest-degree-first colourings are both tried and the one needing fewer slots is
+ * kept. Slots are spread over the week as slot k = day (k mod days), period (k / days), where
+ * periods are the one-hour blocks of the grid's daily window.
+ *
+ * The lower bound is the largest set of pairwise-conflicting sessions found (a pinned
+ * lecturer's or room's load, or a student-group clique) or the sessions per room, whichever is
+ * larger. If it exceeds the slots in the week no timetable exists; if the colouring fits, it is
+ * a conflict-free layout the generators try first.
+ */
+public class SlotColouring {
+    private static final String TAG = "SlotColouring";
+    private static final int SESSION_MINUTES = 60;
+
+    private final int[] firstSession;  // Course index -> index of its first session, plus the total at the end
+    private final int[] slotOfSession;
+    private final int slotsUsed;
+    private final int lowerBound;
+    private final int availableSlots;
+    private final int days;
+    private final String algorithm;
+    private final long elapsedMicros;
+
+    private SlotColouring(int[] firstSession, int[] slotOfSession, int slotsUsed, int lowerBound,
+                          int availableSlots, int days, String algorithm, long elapsedMicros) {
+        this.firstSession = firstSession;
+        this.slotOfSession = slotOfSession;
+        this.slotsUsed = slotsUsed;
+        this.lowerBound = lowerBound;
+        this.availableSlots = availableSlots;
+        this.days = days;
+        this.algorithm = algorithm;
+        this.elapsedMicros = elapsedMicros;
+    }
+
+    /**
+     * Colours the sessions of a list of courses. Each course has max(1, required sessions)
+     * sessions, as in the generators; course indices refer to this list.
+     */
+    public static SlotColouring compute(List<Resource> resources, List<Lecturer> lecturers, List<Course> courses,
+                                        TimetableGeneratorOptions options) {
+        long start = System.nanoTime();
+        TimeGrid grid = options.getTimeGrid();
+        int days = grid.getDays();
+        int availableSlots = days * Math.max(1, grid.getWindowMinutes() / SESSION_MINUTES);
+        int rooms = Math.max(1, resources.size());
+
+        int[] firstSession = new int[courses.size() + 1];
+        for (int c = 0; c < courses.size(); c++) {
+            firstSession[c + 1] = firstSession[c] + Math.max(1, courses.get(c).getRequiredSessionsPerWeek());
+        }
+        int sessionCount = firstSession[courses.size()];
+
+        Graph<Integer, DefaultEdge> graph = new SimpleGraph<>(DefaultEdge.class);
+        for (int s = 0; s < sessionCount; s++) {
+            graph.addVertex(s);
+        }
+
+        // Sessions of the same pinned lecturer or pinned room are cliques
+        Map<String, List<Integer>> byLecturer = new HashMap<>();
+        Map<String, List<Integer>> byRoom = new HashMap<>();
+        Set<String> knownLecturers = new HashSet<>();
+        for (Lecturer lecturer : lecturers) {
+            knownLecturers.add(lecturer.getId());
+        }
+        Set<String> knownRooms = new HashSet<>();
+        for (Resource resource : resources) {
+            knownRooms.add(resource.getId());
+        }
+        for (int c = 0; c < courses.size(); c++) {
+            Course course = courses.get(c);
+            if (course.getAssignedLecturerId() != null && knownLecturers.contains(course.getAssignedLecturerId())) {
+                addSessions(byLecturer.computeIfAbsent(course.getAssignedLecturerId(), id -> new ArrayList<>()),
+                        firstSession, c);
+            }
+            if (course.getAssignedResourceId() != null && knownRooms.contains(course.getAssignedResourceId())) {
+                addSessions(byRoom.computeIfAbsent(course.getAssignedResourceId(), id -> new ArrayList<>()),
+                        firstSession, c);
+            }
+        }
+        int lowerBound = (sessionCount + rooms - 1) / rooms;
+        for (List<Integer> clique : byLecturer.values()) {
+            addClique(graph, clique);
+            lowerBound = Math.max(lowerBound, clique.size());
+        }
+        for (List<Integer> clique : byRoom.values()) {
+            addClique(graph, clique);
+            lowerBound = Math.max(lowerBound, clique.size());
+        }
+
+        // Courses sharing a student group: all their sessions conflict pairwise
+        CourseConflictGraph conflicts = PreparedInput.conflicts(options, courses);
+        for (int[] courseClique : conflicts.getCliques()) {
+            List<Integer> clique = new ArrayList<>();
+            for (int c : courseClique) {
+                addSessions(clique, firstSession, c);
+            }
+            addClique(graph, clique);
+            lowerBound = Math.max(lowerBound, clique.size());
+        }
+
+        // Keep whichever heuristic needs fewer room-sized slots
+        int[] best = null;
+        int bestSlots = Integer.MAX_VALUE;
+        String bestAlgorithm = null;
+        List<VertexColoringAlgorithm<Integer>> algorithms = new ArrayList<>();
+        algorithms.add(new SaturationDegreeColoring<>(graph));
+        algorithms.add(new LargestDegreeFirstColoring<>(graph));
+        String[] names = {"dsatur", "largest-degree-first"};
+        for (int a = 0; a < algorithms.size(); a++) {
+            VertexColoringAlgorithm.Coloring<Integer> coloring = algorithms.get(a).getColoring();
+            int[] slots = new int[sessionCount];
+            int used = splitByRooms(coloring, sessionCount, rooms, slots);
+            if (used < bestSlots) {
+                best = slots;
+                bestSlots = used;
+                bestAlgorithm = names[a];
+            }
+        }
+
+        SlotColouring result = new SlotColouring(firstSession, best, bestSlots, lowerBound, availableSlots, days,
+                bestAlgorithm, (System.nanoTime() - start) / 1000);
+        TimetableLog.d(TAG, "Colouring: " + sessionCount + " sessions, " + graph.edgeSet().size() + " conflicts, "
+                + "lower bound " + lowerBound + ", " + bestAlgorithm + " uses " + bestSlots + " of "
+                + availableSlots + " slots");
+        return result;
+    }
+
+    private static void addSessions(List<Integer> sessions, int[] firstSession, int course) {
+        for (int s = firstSession[course]; s < firstSession[course + 1]; s++) {
+            sessions.add(s);
+        }
+    }
+
+    private static void addClique(Graph<Integer, DefaultEdge> graph, List<Integer> clique) {
+        for (int i = 0; i < clique.size(); i++) {
+            for (int j = i + 1; j < clique.size(); j++) {
+                graph.addEdge(clique.get(i), clique.get(j));
+            }
+        }
+    }
+
+    /**
+     * Splits each colour class into chunks of at most {@code rooms} sessions, numbering the chunks
+     * as slots. A chunk of one colour class is still conflict-free.
+     *
+     * @return The number of slots used
+     */
+    private static int splitByRooms(VertexColoringAlgorithm.Coloring<Integer> coloring, int sessionCount,
+                                    int rooms, int[] slots) {
+        int used = 0;
+        for (Set<Integer> colourClass : coloring.getColorClasses()) {
+            int inChunk = 0;
+            for (int session : colourClass) {
+                if (inChunk == rooms) {
+                    used++;
+                    inChunk = 0;
+                }
+                slots[session] = used;
+                inChunk++;
+            }
+            if (inChunk > 0) {
+                used++;
+            }
+        }
+        return used;
+    }
+
+    /**
+     * Gets the fewest slots any timetable needs.
+     */
+    public int getLowerBound() {
+        return lowerBound;
+    }
+
+    /**
+     * Gets the number of slots the colouring uses, an upper bound for the conflicts it models.
+     */
+    public int getSlotsUsed() {
+        return slotsUsed;
+    }
+
+    /**
+     * Gets the number of one-hour slots in the week.
+     */
+    public int getAvailableSlots() {
+        return availableSlots;
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public long getElapsedMicros() {
+        return elapsedMicros;
+    }
+
+    /**
+     * Checks whether the lower bound leaves a chance of fitting the week. False is a proof
+     * that no timetable can place every session.
+     */
+    public boolean isEnoughSlots() {
+        return lowerBound <= availableSlots;
+    }
+
+    /**
+     * Checks whether the colouring itself fits the week, so it can seed a generator.
+     */
+    public boolean fits() {
+        return slotsUsed <= availableSlots;
+    }
+
+    /**
+     * Gets the seeded day of a session, or -1 if the colouring does not fit or there is no such session.
+     */
+    public int getDay(int course, int session) {
+        int slot = slotOf(course, session);
+        return slot < 0 ? -1 : slot % days;
+    }
+
+    /**
+     * Gets the seeded one-hour period of a session within its day, or -1 as for {@link #getDay}.
+     */
+    public int getPeriod(int course, int session) {
+        int slot = slotOf(course, session);
+        return slot < 0 ? -1 : slot / days;
+    }
+
+    private int slotOf(int course, int session) {
+        if (!fits() || course < 0 || course + 1 >= firstSession.length
+                || session < 0 || firstSession[course] + session >= firstSession[course + 1]) {
+            return -1;
+        }
+        return slotOfSession[firstSession[course] + session];
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.manager.timetable;
+
+/**
+ * Set of busy slots of a {@link TimeGrid} week.
+ *
+ * A week of up to 64 slots (e.g. five days of eight hours) fits in a single {@code long};
+ * finer grids use an array of words. {@link #create} picks the representation, so the
+ * generators' range checks stay a few mask operations either way.
+ */
+public abstract class SlotSet {
+
+    /**
+     * Creates an empty set for a week of the given number of slots.
+     */
+    public static SlotSet create(int size) {
+        return size <= Long.SIZE ? new Word(size) : new Words(size);
+    }
+
+    private final int size;
+
+    SlotSet(int size) {
+        this.size = size;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public abstract boolean get(int slot);
+
+    public abstract void set(int slot);
+
+    public abstract void clear(int slot);
+
+    /**
+     * Marks the slots from {@code from} inclusive to {@code to} exclusive.
+     */
+    public abstract void setRange(int from, int to);
+
+    /**
+     * Checks whether none of the slots from {@code from} inclusive to {@code to} exclusive are set.
+     */
+    public abstract boolean isRangeClear(int from, int to);
+
+    /**
+     * Counts the set slots from {@code from} inclusive to {@code to} exclusive.
+     */
+    public abstract int countRange(int from, int to);
+
+    public int cardinality() {
+        return countRange(0, size);
+    }
+
+    /**
+     * Creates an independent set with the same slots marked.
+     */
+    public abstract SlotSet copy();
+
+    // Mask of bits from..to-1 within one word, for 0 <= from < to <= 64
+    private static long mask(int from, int to) {
+        return (-1L >>> (Long.SIZE - (to - from))) << from;
+    }
+
+    /**
+     * Single-word set for weeks of at most 64 slots.
+     */
+    private static final class Word extends SlotSet {
+        private long bits;
+
+        Word(int size) {
+            super(size);
+        }
+
+        @Override
+        public boolean get(int slot) {
+            return (bits & (1L << slot)) != 0;
+        }
+
+        @Override
+        public void set(int slot) {
+            bits |= 1L << slot;
+        }
+
+        @Override
+        public void clear(int slot) {
+            bits &= ~(1L << slot);
+        }
+
+        @Override
+        public void setRange(int from, int to) {
+            if (from < to) {
+                bits |= mask(from, to);
+            }
+        }
+
+        @Override
+        public boolean isRangeClear(int from, int to) {
+            return from >= to || (bits & mask(from, to)) == 0;
+        }
+
+        @Override
+        public int countRange(int from, int to) {
+            return from >= to ? 0 : Long.bitCount(bits & mask(from, to));
+        }
+
+        @Override
+        public SlotSet copy() {
+            Word copy = new Word(size());
+            copy.bits = bits;
+            return copy;
+        }
+    }
+
+    /**
+     * Multi-word set for weeks of more than 64 slots.
+     */
+    private static final class Words extends SlotSet {
+        private final long[] words;
+
+        Words(int size) {
+            super(size);
+            this.words = new long[(size + Long.SIZE - 1) / Long.SIZE];
+        }
+
+        @Override
+        public boolean get(int slot) {
+            return (words[slot >>> 6] & (1L << slot)) != 0;
+        }
+
+        @Override
+        public void set(int slot) {
+            words[slot >>> 6] |= 1L << slot;
+        }
+
+        @Override
+        public void clear(int slot) {
+            words[slot >>> 6] &= ~(1L << slot);
+        }
+
+        @Override
+        public void setRange(int from, int to) {
+            while (from < to) {
+                int word = from >>> 6;
+                int end = Math.min(to, (word + 1) << 6);
+                words[word] |= mask(from & 63, end - (word << 6));
+                from = end;
+            }
+        }
+
+        @Override
+        public boolean isRangeClear(int from, int to) {
+            while (from < to) {
+                int word = from >>> 6;
+                int end = Math.min(to, (word + 1) << 6);
+                if ((words[word] & mask(from & 63, end - (word << 6))) != 0) {
+                    return false;
+                }
+                from = end;
+            }
+            return true;
+        }
+
+        @Override
+        public int countRange(int from, int to) {
+            int count = 0;
+            while (from < to) {
+                int word = from >>> 6;
+                int end = Math.min(to, (word + 1) << 6);
+                count += Long.bitCount(words[word] & mask(from & 63, end - (word << 6)));
+                from = end;
+            }
+            return count;
+        }
+
+        @Override
+        public SlotSet copy() {
+            Words copy = new Words(size());
+            System.arraycopy(words, 0, copy.words, 0, words.length);
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.manager.timetable;
+
+/**
+ * The weekly grid that sessions are placed on: a number of days, each with the same daily
+ * window divided into slots of equal length.
+ *
+ * Slots are numbered densely across the week, so slot {@code day * getSlotsPerDay() + slotOfDay}
+ * is the given slot on the given day. Generators keep availability per slot in a {@link SlotSet}.
+ */
+public final class TimeGrid {
+
+    private static final String[] DAY_NAMES =
+            {"Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday", "Sunday"};
+
+    /**
+     * Monday to Friday, 9:00 to 17:00 in one-hour slots.
+     */
+    public static final TimeGrid DEFAULT = new TimeGrid(5, 60, 9 * 60, 17 * 60);
+
+    private final int days;
+    private final int slotMinutes;
+    private final int dayStartMinute;
+    private final int dayEndMinute;
+    private final int slotsPerDay;
+
+    /**
+     * @param days Number of days starting from Monday, 1 to 7
+     * @param slotMinutes Length of a slot in minutes
+     * @param dayStartMinute Start of the daily window in minutes after midnight
+     * @param dayEndMinute End of the daily window in minutes after midnight
+     * @throws IllegalArgumentException if the window is empty or not a whole number of slots
+     */
+    public TimeGrid(int days, int slotMinutes, int dayStartMinute, int dayEndMinute) {
+        if (days < 1 || days > DAY_NAMES.length) {
+            throw new IllegalArgumentException("Days must be between 1 and " + DAY_NAMES.length + ": " + days);
+        }
+        if (slotMinutes <= 0) {
+            throw new IllegalArgumentException("Slot length must be positive: " + slotMinutes);
+        }
+        if (dayStartMinute < 0 || dayEndMinute > 24 * 60 || dayEndMinute <= dayStartMinute) {
+            throw new IllegalArgumentException("Invalid daily window: " + formatTime(dayStartMinute)
+                    + "-" + formatTime(dayEndMinute));
+        }
+        if ((dayEndMinute - dayStartMinute) % slotMinutes != 0) {
+            throw new IllegalArgumentException("Daily window is not a whole number of "
+                    + slotMinutes + "-minute slots");
+        }
+        this.days = days;
+        this.slotMinutes = slotMinutes;
+        this.dayStartMinute = dayStartMinute;
+        this.dayEndMinute = dayEndMinute;
+        this.slotsPerDay = (dayEndMinute - dayStartMinute) / slotMinutes;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    public int getSlotMinutes() {
+        return slotMinutes;
+    }
+
+    public int getDayStartMinute() {
+        return dayStartMinute;
+    }
+
+    public int getDayEndMinute() {
+        return dayEndMinute;
+    }
+
+    public int getWindowMinutes() {
+        return dayEndMinute - dayStartMinute;
+    }
+
+    public int getSlotsPerDay() {
+        return slotsPerDay;
+    }
+
+    /**
+     * Gets the number of slots in the week.
+     */
+    public int getSlotCount() {
+        return days * slotsPerDay;
+    }
+
+    /**
+     * Gets the dense week slot for a slot of a day.
+     */
+    public int slot(int day, int slotOfDay) {
+        return day * slotsPerDay + slotOfDay;
+    }
+
+    public int dayOf(int slot) {
+        return slot / slotsPerDay;
+    }
+
+    public int slotOfDay(int slot) {
+        return slot % slotsPerDay;
+    }
+
+    /**
+     * Gets the number of slots needed to cover a duration, rounding up.
+     */
+    public int slotsFor(int minutes) {
+        return (minutes + slotMinutes - 1) / slotMinutes;
+    }
+
+    /**
+     * Gets the start of a slot of a day in minutes after midnight.
+     */
+    public int startMinuteOf(int slotOfDay) {
+        return dayStartMinute + slotOfDay * slotMinutes;
+    }
+
+    /**
+     * Gets the slot of a day that contains a time, or -1 if the time is outside the daily window.
+     */
+    public int slotOfDayAt(int minuteOfDay) {
+        if (minuteOfDay < dayStartMinute || minuteOfDay >= dayEndMinute) {
+            return -1;
+        }
+        return (minuteOfDay - dayStartMinute) / slotMinutes;
+    }
+
+    public String dayName(int day) {
+        return DAY_NAMES[day];
+    }
+
+    /**
+     * Gets the index of a day name on this grid, ignoring case, or -1 if the grid has no such day.
+     */
+    public int dayIndex(String dayName) {
+        if (dayName == null) {
+            return -1;
+        }
+        for (int d = 0; d < days; d++) {
+            if (DAY_NAMES[d].equalsIgnoreCase(dayName.trim())) {
+                return d;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Creates an empty slot set sized for the week.
+     */
+    public SlotSet newSlotSet() {
+        return SlotSet.create(getSlotCount());
+    }
+
+    /**
+     * Formats minutes after midnight as "HH:mm", the format sessions store.
+     */
+    public static String formatTime(int minuteOfDay) {
+        return String.format("%02d:%02d", minuteOfDay / 60, minuteOfDay % 60);
+    }
+
+    /**
+     * Parses a time such as "9:00" or "09:30" into minutes after midnight, or -1 if it is not a time.
+     */
+    public static int parseTime(String time) {
+        if (time == null) {
+            return -1;
+        }
+        int colon = time.indexOf(':');
+        try {
+            if (colon < 0) {
+                return Integer.parseInt(time.trim()) * 60;
+            }
+            int hour = Integer.parseInt(time.substring(0, colon).trim());
+            int minute = Integer.parseInt(time.substring(colon + 1, Math.min(time.length(), colon + 3)));
+            return hour * 60 + minute;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TimeGrid)) {
+            return false;
+        }
+        TimeGrid other = (TimeGrid) o;
+        return days == other.days && slotMinutes == other.slotMinutes
+                && dayStartMinute == other.dayStartMinute && dayEndMinute == other.dayEndMinute;
+    }
+
+    @Override
+    public int hashCode() {
+        return ((days * 31 + slotMinutes) * 31 + dayStartMinute) * 31 + dayEndMinute;
+    }
+
+    @Override
+    public String toString() {
+        return days + " days, " + formatTime(dayStartMinute) + "-" + formatTime(dayEndMinute)
+                + " in " + slotMinutes + "-minute slots";
+    }
+}
@@ -0,0 +1,321 @@
+package com.example.manager.timetable;
+
+import java.util.SplittableRandom;
+
+/**
+ * Configuration options for timetable generation.
+ * This class holds various constraints and preferences that affect
+ * how the timetable is generated.
+ */
+public class TimetableGeneratorOptions {
+    private boolean avoidBackToBackClasses;
+    private boolean preferEvenDistribution;
+    private int maxHoursPerDay;
+    private ResourceFilter filter; // Added resource filter field
+    private TimetableTrace trace; // Structured trace for the generation run
+    private TimeGrid timeGrid; // Days, slot length and daily window to schedule into
+    private SearchStrategy searchStrategy; // Variable ordering for constraint solvers
+    private RestartPolicy restartPolicy; // Search restarts for constraint solvers
+    private boolean nogoodRecording; // Learn nogoods from the search path on each restart
+    private PreparedInput preparedInput; // Preprocessing shared between runs, may be null
+    private Long seed; // Seed for randomised choices, null for different choices on every run
+    
+    // Search defaults, chosen with the scaling benchmark (see README)
+    private static final SearchStrategy DEFAULT_SEARCH_STRATEGY = SearchStrategy.MOST_CONSTRAINED;
+    private static final RestartPolicy DEFAULT_RESTART_POLICY = RestartPolicy.LUBY;
+    private static final boolean DEFAULT_NOGOOD_RECORDING = true;
+    
+    /**
+     * Creates a default set of timetable generator options
+     */
+    public TimetableGeneratorOptions() {
+        this.avoidBackToBackClasses = false;
+        this.preferEvenDistribution = false;
+        this.maxHoursPerDay = 6; // Default max hours
+        this.filter = null; // Default no filter
+        this.trace = TimetableTrace.DISABLED;
+        this.timeGrid = TimeGrid.DEFAULT;
+        this.searchStrategy = DEFAULT_SEARCH_STRATEGY;
+        this.restartPolicy = DEFAULT_RESTART_POLICY;
+        this.nogoodRecording = DEFAULT_NOGOOD_RECORDING;
+    }
+    
+    /**
+     * Creates timetable generator options with specified constraints
+     * 
+     * @param avoidBackToBackClasses Whether to avoid scheduling back-to-back classes for lecturers
+     * @param preferEvenDistribution Whether to prefer evenly distributing classes across the week
+     * @param maxHoursPerDay Maximum teaching hours per day for lecturers
+     */
+    public TimetableGeneratorOptions(boolean avoidBackToBackClasses, boolean preferEvenDistribution, int maxHoursPerDay) {
+        this.avoidBackToBackClasses = avoidBackToBackClasses;
+        this.preferEvenDistribution = preferEvenDistribution;
+        this.maxHoursPerDay = maxHoursPerDay;
+        this.filter = null; // Default no filter
+        this.trace = TimetableTrace.DISABLED;
+        this.timeGrid = TimeGrid.DEFAULT;
+        this.searchStrategy = DEFAULT_SEARCH_STRATEGY;
+        this.restartPolicy = DEFAULT_RESTART_POLICY;
+        this.nogoodRecording = DEFAULT_NOGOOD_RECORDING;
+    }
+    
+    /**
+     * Creates a copy of another set of options. The trace, filter and prepared input are shared.
+     * 
+     * @param other The options to copy
+     */
+    public TimetableGeneratorOptions(TimetableGeneratorOptions other) {
+        this.avoidBackToBackClasses = other.avoidBackToBackClasses;
+        this.preferEvenDistribution = other.preferEvenDistribution;
+        this.maxHoursPerDay = other.maxHoursPerDay;
+        this.filter = other.filter;
+        this.trace = other.trace;
+        this.timeGrid = other.timeGrid;
+        this.searchStrategy = other.searchStrategy;
+        this.restartPolicy = other.restartPolicy;
+        this.nogoodRecording = other.nogoodRecording;
+        this.preparedInput = other.preparedInput;
+        this.seed = other.seed;
+    }
+    
+    /**
+     * Determines whether back-to-back classes for lecturers should be avoided.
+     * 
+     * @return true if back-to-back classes should be avoided, false otherwise
+     */
+    public boolean shouldAvoidBackToBackClasses() {
+        return avoidBackToBackClasses;
+    }
+    
+    /**
+     * Sets whether back-to-back classes for lecturers should be avoided.
+     * 
+     * @param avoidBackToBackClasses true to avoid back-to-back classes, false otherwise
+     */
+    public void setAvoidBackToBackClasses(boolean avoidBackToBackClasses) {
+        this.avoidBackToBackClasses = avoidBackToBackClasses;
+    }
+    
+    /**
+     * Determines whether classes should be evenly distributed across the week.
+     * 
+     * @return true if even distribution is preferred, false otherwise
+     */
+    public boolean shouldPreferEvenDistribution() {
+        return preferEvenDistribution;
+    }
+    
+    /**
+     * Sets whether classes should be evenly distributed across the week.
+     * 
+     * @param preferEvenDistribution true for even distribution, false otherwise
+     */
+    public void setPreferEvenDistribution(boolean preferEvenDistribution) {
+        this.preferEvenDistribution = preferEvenDistribution;
+    }
+    
+    /**
+     * Gets the maximum teaching hours per day for lecturers.
+     * 
+     * @return Maximum teaching hours per day
+     */
+    public int getMaxHoursPerDay() {
+        return maxHoursPerDay;
+    }
+    
+    /**
+     * Sets the maximum teaching hours per day for lecturers.
+     * 
+     * @param maxHoursPerDay Maximum teaching hours per day
+     */
+    public void setMaxHoursPerDay(int maxHoursPerDay) {
+        this.maxHoursPerDay = maxHoursPerDay;
+    }
+    
+    /**
+     * Gets the resource filter for this timetable generation.
+     * 
+     * @return The current resource filter, or null if no filter is set
+     */
+    public ResourceFilter getFilter() {
+        return filter;
+    }
+    
+    /**
+     * Sets a resource filter for timetable generation.
+     * 
+     * @param filter The resource filter to apply
+     */
+    public void setFilter(ResourceFilter filter) {
+        this.filter = filter;
+    }
+    
+    /**
+     * Gets the trace that generators record events into.
+     * 
+     * @return The trace for this run, never null
+     */
+    public TimetableTrace getTrace() {
+        return trace;
+    }
+    
+    /**
+     * Sets the trace that generators record events into.
+     * Pass null to disable tracing.
+     * 
+     * @param trace The trace to record into
+     */
+    public void setTrace(TimetableTrace trace) {
+        this.trace = trace != null ? trace : TimetableTrace.DISABLED;
+    }
+    
+    /**
+     * Gets the time grid that sessions are scheduled into.
+     * 
+     * @return The time grid, never null
+     */
+    public TimeGrid getTimeGrid() {
+        return timeGrid;
+    }
+    
+    /**
+     * Sets the time grid that sessions are scheduled into.
+     * Pass null to use {@link TimeGrid#DEFAULT}.
+     * 
+     * @param timeGrid The time grid to use
+     */
+    public void setTimeGrid(TimeGrid timeGrid) {
+        this.timeGrid = timeGrid != null ? timeGrid : TimeGrid.DEFAULT;
+    }
+    
+    /**
+     * Gets the variable ordering constraint solvers search with.
+     * 
+     * @return The search strategy, never null
+     */
+    public SearchStrategy getSearchStrategy() {
+        return searchStrategy;
+    }
+    
+    /**
+     * Sets the variable ordering constraint solvers search with.
+     * Pass null to use the default.
+     * 
+     * @param searchStrategy The search strategy to use
+     */
+    public void setSearchStrategy(SearchStrategy searchStrategy) {
+        this.searchStrategy = searchStrategy != null ? searchStrategy : DEFAULT_SEARCH_STRATEGY;
+    }
+    
+    /**
+     * Gets how often constraint solvers restart their search.
+     * 
+     * @return The restart policy, never null
+     */
+    public RestartPolicy getRestartPolicy() {
+        return restartPolicy;
+    }
+    
+    /**
+     * Sets how often constraint solvers restart their search.
+     * Pass null to use the default.
+     * 
+     * @param restartPolicy The restart policy to use
+     */
+    public void setRestartPolicy(RestartPolicy restartPolicy) {
+        this.restartPolicy = restartPolicy != null ? restartPolicy : DEFAULT_RESTART_POLICY;
+    }
+    
+    /**
+     * Determines whether constraint solvers record nogoods from the search path on each restart.
+     * Has no effect without restarts.
+     * 
+     * @return true if nogoods are recorded
+     */
+    public boolean shouldRecordNogoods() {
+        return nogoodRecording;
+    }
+    
+    /**
+     * Sets whether constraint solvers record nogoods from the search path on each restart.
+     * 
+     * @param nogoodRecording true to record nogoods
+     */
+    public void setNogoodRecording(boolean nogoodRecording) {
+        this.nogoodRecording = nogoodRecording;
+    }
+    
+    /**
+     * Gets the preprocessed inputs generators may reuse instead of recomputing them.
+     * 
+     * @return The prepared input, or null if there is none
+     */
+    public PreparedInput getPreparedInput() {
+        return preparedInput;
+    }
+    
+    /**
+     * Sets preprocessed inputs for generators to reuse, see {@link PreparedInput}.
+     * 
+     * @param preparedInput The prepared input, or null to compute everything per run
+     */
+    public void setPreparedInput(PreparedInput preparedInput) {
+        this.preparedInput = preparedInput;
+    }
+    
+    /**
+     * Gets the seed of the generators' randomised choices.
+     * 
+     * @return The seed, or null if every run makes different choices
+     */
+    public Long getSeed() {
+        return seed;
+    }
+    
+    /**
+     * Sets the seed of the generators' randomised choices. With a seed, generation is
+     * deterministic: the same input and options give the same sessions with the same IDs,
+     * which are derived from each session's content (see {@link SessionIds}). Solvers stop on
+     * move or fail budgets instead of time limits, so a loaded machine stops them at the same point.
+     * 
+     * @param seed The seed, or null for different choices on every run
+     */
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+    
+    /**
+     * Checks whether a seed is set, so generators should derive session IDs from content.
+     */
+    public boolean isDeterministic() {
+        return seed != null;
+    }
+    
+    /**
+     * Creates the random generator for one run: seeded if a seed is set, otherwise
+     * different on every call. {@link SplittableRandom#split()} gives parallel workers
+     * independent, reproducible streams, see {@link #workerSeeds}.
+     */
+    public SplittableRandom newRandom() {
+        return seed != null ? new SplittableRandom(seed) : new SplittableRandom();
+    }
+    
+    /**
+     * Derives a seed for each of several parallel runs, each from its own
+     * {@link SplittableRandom#split()} stream of this seed. Runs therefore make independent
+     * choices, and the same seed always hands out the same seeds in the same order.
+     * 
+     * @param count Number of runs
+     * @return One seed per run, or nulls if no seed is set
+     */
+    public Long[] workerSeeds(int count) {
+        Long[] seeds = new Long[count];
+        if (seed != null) {
+            SplittableRandom random = newRandom();
+            for (int i = 0; i < count; i++) {
+                seeds[i] = random.split().nextLong();
+            }
+        }
+        return seeds;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.manager.timetable;
+
+import com.example.manager.timetable.exam.ExamTimetableGenerator;
+import com.example.manager.timetable.pareto.ParetoTimetableGenerator;
+import com.example.manager.timetable.pipeline.PipelineTimetableGenerator;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Looks up timetable generator implementations by name.
+ * Used by headless tools and services that select the generator from a command-line
+ * flag or a request field. Each call returns a new instance because generators keep
+ * per-run state.
+ */
+public final class TimetableGenerators {
+    private static final Map<String, Supplier<TimetableGenerator>> GENERATORS = new LinkedHashMap<>();
+
+    static {
+        GENERATORS.put("simple", SimpleTimetableGenerator::new);
+        GENERATORS.put("choco", ChocoSolverTimetableGenerator::new);
+        GENERATORS.put("choco-two-phase", ChocoSolverTimetableGenerator::twoPhase);
+        GENERATORS.put("hybrid", PipelineTimetableGenerator::hybrid);
+        GENERATORS.put("choco-pareto", ParetoTimetableGenerator::new);
+        GENERATORS.put(ExamTimetableGenerator.NAME, ExamTimetableGenerator::new);
+    }
+
+    private TimetableGenerators() {
+    }
+
+    /**
+     * Creates a new generator.
+     *
+     * @param name Generator name, e.g. "simple" or "choco" (case-insensitive)
+     * @return A new generator instance
+     * @throws IllegalArgumentException if no generator has that name
+     */
+    public static TimetableGenerator create(String name) {
+        Supplier<TimetableGenerator> supplier = name == null ? null : GENERATORS.get(name.toLowerCase());
+        if (supplier == null) {
+            throw new IllegalArgumentException("Unknown generator '" + name + "', expected one of " + names());
+        }
+        return supplier.get();
+    }
+
+    /**
+     * Gets the names of all registered generators.
+     */
+    public static List<String> names() {
+        return new ArrayList<>(GENERATORS.keySet());
+    }
+}
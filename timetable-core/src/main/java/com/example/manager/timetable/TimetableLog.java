@@ -0,0 +1,109 @@
+package com.example.manager.timetable;
+
+import java.io.PrintStream;
+
+/**
+ * Logging facade used by the timetable engine.
+ * The engine has no dependency on android.util.Log so that it can run on a plain JVM;
+ * the host application installs a {@link Sink} that forwards messages to its own logger.
+ * By default messages are written to the console.
+ */
+public final class TimetableLog {
+    // Priorities match the android.util.Log constants so sinks can pass them straight through
+    public static final int DEBUG = 3;
+    public static final int INFO = 4;
+    public static final int WARN = 5;
+    public static final int ERROR = 6;
+
+    /**
+     * Destination for log messages produced by the timetable engine.
+     */
+    public interface Sink {
+        /**
+         * Writes a single log message.
+         *
+         * @param priority One of DEBUG, INFO, WARN or ERROR
+         * @param tag Tag identifying the class that produced the message
+         * @param message The log message
+         * @param error Optional throwable to log, may be null
+         */
+        void log(int priority, String tag, String message, Throwable error);
+    }
+
+    /**
+     * Sink that writes messages at or above a minimum priority to standard error.
+     */
+    public static class ConsoleSink implements Sink {
+        private final int minPriority;
+
+        public ConsoleSink(int minPriority) {
+            this.minPriority = minPriority;
+        }
+
+        @Override
+        public void log(int priority, String tag, String message, Throwable error) {
+            if (priority < minPriority) {
+                return;
+            }
+            PrintStream out = System.err;
+            out.println(label(priority) + "/" + tag + ": " + message);
+            if (error != null) {
+                error.printStackTrace(out);
+            }
+        }
+
+        private static String label(int priority) {
+            switch (priority) {
+                case DEBUG: return "D";
+                case INFO: return "I";
+                case WARN: return "W";
+                default: return "E";
+            }
+        }
+    }
+
+    private static volatile Sink sink = new ConsoleSink(INFO);
+
+    private TimetableLog() {
+    }
+
+    /**
+     * Replaces the sink that receives engine log messages.
+     *
+     * @param newSink The sink to use, or null to discard all messages
+     */
+    public static void setSink(Sink newSink) {
+        sink = newSink;
+    }
+
+    public static Sink getSink() {
+        return sink;
+    }
+
+    public static void d(String tag, String message) {
+        log(DEBUG, tag, message, null);
+    }
+
+    public static void i(String tag, String message) {
+        log(INFO, tag, message, null);
+    }
+
+    public static void w(String tag, String message) {
+        log(WARN, tag, message, null);
+    }
+
+    public static void e(String tag, String message) {
+        log(ERROR, tag, message, null);
+    }
+
+    public static void e(String tag, String message, Throwable error) {
+        log(ERROR, tag, message, error);
+    }
+
+    private static void log(int priority, String tag, String message, Throwable error) {
+        Sink current = sink;
+        if (current != null) {
+            current.log(priority, tag, message, error);
+        }
+    }
+}
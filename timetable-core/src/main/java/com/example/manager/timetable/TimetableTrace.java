@@ -0,0 +1,222 @@
+package com.example.manager.timetable;
+
+import java.io.IOException;
+
+/**
+ * Low-overhead structured tracing for the timetable generators.
+ *
+ * Events are stored in a fixed-size ring buffer of preallocated primitive arrays, so recording
+ * an event never allocates. Each event carries up to four int arguments (indices of courses,
+ * resources, lecturers, slots etc.) instead of a formatted string; formatting only happens when
+ * the buffer is dumped after a run. When the trace level is below an event's level the call
+ * returns immediately, which makes hot-loop trace points free when tracing is off.
+ *
+ * A trace instance belongs to a single generation run and is not thread-safe.
+ */
+public final class TimetableTrace {
+    private static final String TAG = "TimetableTrace";
+
+    // Trace levels
+    public static final int OFF = 0;
+    public static final int SUMMARY = 1; // Per-course and per-stage events
+    public static final int DETAIL = 2;  // Per-session, per-variable and per-resource events
+
+    /**
+     * Shared trace that records nothing. Used when no trace is configured.
+     */
+    public static final TimetableTrace DISABLED = new TimetableTrace(OFF, 1);
+
+    /**
+     * Event types that can be recorded. The argument names are only used when dumping.
+     */
+    public enum Event {
+        // RoomAvailability
+        ROOM_FILTERED(DETAIL, "resource"),
+        ROOM_WINDOWS_COMPILED(SUMMARY, "rooms", "filtered", "blockedSlots"),
+
+        // SimpleTimetableGenerator
+        LAB_ROOMS_ONLY(DETAIL, "course", "labRooms"),
+        LECTURER_PREASSIGNED(DETAIL, "course", "lecturer"),
+        LECTURER_NOT_FOUND(SUMMARY, "course"),
+        LECTURER_FALLBACK(DETAIL, "course", "lecturer"),
+        LECTURER_PLANNED(DETAIL, "course", "lecturer"),
+        COURSE_UNSCHEDULABLE(SUMMARY, "course"),
+        DAY_SKIPPED_MAX_HOURS(DETAIL, "lecturer", "day", "hours"),
+        SESSION_SCHEDULED(DETAIL, "course", "day", "hour", "resource"),
+        SESSION_UNSCHEDULED(SUMMARY, "course", "session"),
+        COURSE_DONE(SUMMARY, "course", "scheduled", "required"),
+
+        // ChocoSolverTimetableGenerator
+        COURSE_SKIPPED(SUMMARY, "course"),
+        FEASIBILITY_CHECKED(SUMMARY, "bottlenecks", "micros"),
+        COLOURING_COMPUTED(SUMMARY, "lowerBound", "slotsUsed", "availableSlots"),
+        LECTURERS_ASSIGNED(SUMMARY, "courses", "maxLoad", "micros"),
+        COURSE_VALIDATED(DETAIL, "course", "sessions"),
+        SESSION_CREATED(DETAIL, "session", "course"),
+        RESOURCE_COMPATIBLE(DETAIL, "course", "resource"),
+        RESOURCES_FALLBACK_ALL(SUMMARY, "course", "resources"),
+        RESOURCES_FOUND(DETAIL, "course", "resources"),
+        RESOURCE_PINNED(DETAIL, "session", "resource"),
+        LECTURER_PINNED(DETAIL, "session", "lecturer"),
+        GROUP_CLIQUES_POSTED(SUMMARY, "cliques", "largestSessions"),
+        ROOM_CAPACITY_POSTED(SUMMARY, "constraints", "roomSets"),
+        ROOM_WINDOWS_POSTED(SUMMARY, "sessions", "closedSlots"),
+        ROOMS_MATCHED(SUMMARY, "slots", "unmatched", "micros"),
+        LECTURER_DAYS_POSTED(SUMMARY, "dayLimits", "backToBackLecturers"),
+        OBJECTIVE_POSTED(SUMMARY, "terms", "lowerBound"),
+        SEARCH_CONFIGURED(SUMMARY, "strategy", "restarts", "nogoods"),
+        OBJECTIVE_IMPROVED(DETAIL, "value"),
+        OBJECTIVE_BOUND_REACHED(SUMMARY, "value"),
+        SOLVER_RESULT(SUMMARY, "attempt", "solved", "timeoutMs"),
+        SESSION_ASSIGNED(DETAIL, "session", "day", "hour", "resource"),
+        SESSION_MISSING_VALUE(SUMMARY, "session"),
+        SESSION_UNMATCHED(SUMMARY, "session", "day", "hour"),
+        SESSION_PADDED(SUMMARY, "course", "day", "hour"),
+        COURSE_SESSIONS(DETAIL, "course", "scheduled", "required"),
+        SESSION_RELOCATED(DETAIL, "day", "hour"),
+        SESSION_NOT_RELOCATED(SUMMARY, "day", "hour"),
+        MANUAL_SESSION(DETAIL, "course", "day", "hour"),
+        MANUAL_CONFLICT(SUMMARY, "course"),
+
+        // PipelineTimetableGenerator
+        STAGE_FINISHED(SUMMARY, "stage", "improved", "elapsedMs");
+
+        private final int level;
+        private final String[] argNames;
+
+        Event(int level, String... argNames) {
+            this.level = level;
+            this.argNames = argNames;
+        }
+
+        public int getLevel() {
+            return level;
+        }
+    }
+
+    private final int level;
+    private final int mask;
+    private final Event[] events;
+    private final long[] timestamps;
+    private final int[] args; // 4 ints per record
+    private final long startNanos;
+    private long recorded;
+
+    /**
+     * Creates a trace that keeps the most recent events up to the given capacity.
+     *
+     * @param level Highest event level to record (OFF, SUMMARY or DETAIL)
+     * @param capacity Number of events to keep; rounded up to a power of two
+     */
+    public TimetableTrace(int level, int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, capacity) - 1) << 1;
+        if (size <= 0) {
+            size = 1;
+        }
+        this.level = level;
+        this.mask = size - 1;
+        this.events = new Event[size];
+        this.timestamps = new long[size];
+        this.args = new int[size * 4];
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Checks whether events of the given level are recorded.
+     * Use this to guard trace points whose arguments are expensive to compute.
+     */
+    public boolean isEnabled(int eventLevel) {
+        return eventLevel <= level;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public void record(Event event, int a) {
+        record(event, a, 0, 0, 0);
+    }
+
+    public void record(Event event, int a, int b) {
+        record(event, a, b, 0, 0);
+    }
+
+    public void record(Event event, int a, int b, int c) {
+        record(event, a, b, c, 0);
+    }
+
+    public void record(Event event, int a, int b, int c, int d) {
+        if (event.level > level) {
+            return;
+        }
+        int slot = (int) (recorded++ & mask);
+        events[slot] = event;
+        timestamps[slot] = System.nanoTime();
+        int base = slot * 4;
+        args[base] = a;
+        args[base + 1] = b;
+        args[base + 2] = c;
+        args[base + 3] = d;
+    }
+
+    /**
+     * Gets the number of events currently held in the buffer.
+     */
+    public int size() {
+        return (int) Math.min(recorded, mask + 1L);
+    }
+
+    /**
+     * Gets the total number of events recorded, including those overwritten in the buffer.
+     */
+    public long getRecordedCount() {
+        return recorded;
+    }
+
+    /**
+     * Discards all buffered events.
+     */
+    public void clear() {
+        recorded = 0;
+    }
+
+    /**
+     * Writes the buffered events, oldest first, one per line.
+     *
+     * @param out Destination for the formatted events
+     */
+    public void dump(Appendable out) throws IOException {
+        long first = recorded - size();
+        if (first > 0) {
+            out.append("... ").append(String.valueOf(first)).append(" earlier events dropped\n");
+        }
+        for (long i = first; i < recorded; i++) {
+            int slot = (int) (i & mask);
+            Event event = events[slot];
+            out.append(String.format("+%.3fms ", (timestamps[slot] - startNanos) / 1_000_000.0));
+            out.append(event.name());
+            for (int a = 0; a < event.argNames.length; a++) {
+                out.append(' ').append(event.argNames[a]).append('=')
+                        .append(String.valueOf(args[slot * 4 + a]));
+            }
+            out.append('\n');
+        }
+    }
+
+    /**
+     * Writes the buffered events to the timetable log at info level, which the default console
+     * sink prints, as one message.
+     */
+    public void dumpToLog() {
+        if (recorded == 0) {
+            return;
+        }
+        StringBuilder builder = new StringBuilder();
+        try {
+            dump(builder);
+        } catch (IOException e) {
+            // StringBuilder does not throw
+        }
+        TimetableLog.i(TAG, builder.toString());
+    }
+}
@@ -0,0 +1,359 @@
+package com.example.manager.timetable.analytics;
+
+import com.example.manager.timetable.TimeGrid;
+import com.example.manager.timetable.TimetableSession;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Room and lecturer utilisation of one timetable, kept up to date as sessions are added,
+ * moved and removed instead of being recomputed from every session.
+ *
+ * Occupancy is measured on a teaching-week {@link TimeGrid}: a session occupies every slot it
+ * overlaps. Each room keeps a session count per slot and its busy slots per day, each
+ * lecturer keeps a count per slot, their teaching minutes per day and the idle slots between
+ * their first and last session of each day, and the grid keeps the number of sessions per
+ * slot. Adding or removing a session only touches the slots it covers and, for idle gaps,
+ * one day of its lecturer, so every getter is a constant-time read apart from
+ * {@link #getPeakSlots()}, which lists slots. Teaching minutes count the whole session even
+ * where it falls outside the grid. Instances are not thread-safe.
+ */
+public final class UtilisationStats {
+    // Whole week, for reading day names the grid may not have
+    private static final TimeGrid WEEK = new TimeGrid(7, 60, 0, 24 * 60);
+
+    private final TimeGrid grid;
+    private final Map<String, Booking> bookings = new HashMap<>();
+    private final Map<String, RoomStats> rooms = new HashMap<>();
+    private final Map<String, LecturerStats> lecturers = new HashMap<>();
+
+    private final int[] slotLoad;
+    private int[] loadHistogram = new int[8]; // Number of slots with each load
+    private int peakLoad;
+    private int busyRoomSlots;
+
+    // Where one session sits
+    private static final class Booking {
+        private final String roomId;
+        private final String lecturerId;
+        private final int weekDay;  // Day from Monday, -1 if unreadable
+        private final int day;      // Day of the grid, -1 if outside it
+        private final int from;     // Slots of the day covered, from inclusive to exclusive
+        private final int to;
+        private final int minutes;
+
+        private Booking(String roomId, String lecturerId, int weekDay, int day, int from, int to, int minutes) {
+            this.roomId = roomId;
+            this.lecturerId = lecturerId;
+            this.weekDay = weekDay;
+            this.day = day;
+            this.from = from;
+            this.to = to;
+            this.minutes = minutes;
+        }
+    }
+
+    private static final class RoomStats {
+        private final short[] count;
+        private final int[] dayBusySlots;
+        private int busySlots;
+        private int sessions;
+
+        private RoomStats(TimeGrid grid) {
+            count = new short[grid.getSlotCount()];
+            dayBusySlots = new int[grid.getDays()];
+        }
+    }
+
+    private static final class LecturerStats {
+        private final short[] count;
+        private final int[] dayMinutes = new int[7];
+        private final int[] dayGapSlots;
+        private int minutes;
+        private int gapSlots;
+        private int sessions;
+
+        private LecturerStats(TimeGrid grid) {
+            count = new short[grid.getSlotCount()];
+            dayGapSlots = new int[grid.getDays()];
+        }
+    }
+
+    /**
+     * @param grid Teaching week that occupancy is measured against
+     */
+    public UtilisationStats(TimeGrid grid) {
+        this.grid = grid;
+        this.slotLoad = new int[grid.getSlotCount()];
+        loadHistogram[0] = grid.getSlotCount();
+    }
+
+    public TimeGrid getGrid() {
+        return grid;
+    }
+
+    /**
+     * Adds a session, or moves it if its ID was already added.
+     *
+     * @return false if the session has no ID
+     */
+    public boolean put(TimetableSession session) {
+        if (session.getId() == null) {
+            return false;
+        }
+        remove(session.getId());
+        Booking booking = booking(session);
+        bookings.put(session.getId(), booking);
+        apply(booking, +1);
+        return true;
+    }
+
+    /**
+     * Removes a session.
+     *
+     * @return true if the session had been added
+     */
+    public boolean remove(String sessionId) {
+        Booking booking = bookings.remove(sessionId);
+        if (booking == null) {
+            return false;
+        }
+        apply(booking, -1);
+        return true;
+    }
+
+    /**
+     * Removes every session.
+     */
+    public void clear() {
+        bookings.clear();
+        rooms.clear();
+        lecturers.clear();
+        Arrays.fill(slotLoad, 0);
+        loadHistogram = new int[8];
+        loadHistogram[0] = grid.getSlotCount();
+        peakLoad = 0;
+        busyRoomSlots = 0;
+    }
+
+    public int size() {
+        return bookings.size();
+    }
+
+    private Booking booking(TimetableSession session) {
+        int weekDay = WEEK.dayIndex(session.getDayOfWeek());
+        int start = TimeGrid.parseTime(session.getStartTime());
+        int end = TimeGrid.parseTime(session.getEndTime());
+        if (weekDay < 0 || start < 0 || end <= start) {
+            return new Booking(session.getResourceId(), session.getLecturerId(), -1, -1, 0, 0, 0);
+        }
+        int day = weekDay < grid.getDays() ? weekDay : -1;
+        int slotMinutes = grid.getSlotMinutes();
+        int from = Math.max(0, (start - grid.getDayStartMinute()) / slotMinutes);
+        int to = Math.min(grid.getSlotsPerDay(),
+                (end - grid.getDayStartMinute() + slotMinutes - 1) / slotMinutes);
+        if (start >= grid.getDayEndMinute() || end <= grid.getDayStartMinute()) {
+            from = 0;
+            to = 0;
+        }
+        return new Booking(session.getResourceId(), session.getLecturerId(), weekDay, day, from, to, end - start);
+    }
+
+    private void apply(Booking booking, int delta) {
+        RoomStats room = null;
+        if (booking.roomId != null) {
+            room = rooms.computeIfAbsent(booking.roomId, k -> new RoomStats(grid));
+            room.sessions += delta;
+        }
+        LecturerStats lecturer = null;
+        if (booking.lecturerId != null) {
+            lecturer = lecturers.computeIfAbsent(booking.lecturerId, k -> new LecturerStats(grid));
+            lecturer.sessions += delta;
+            if (booking.weekDay >= 0) {
+                lecturer.dayMinutes[booking.weekDay] += delta * booking.minutes;
+                lecturer.minutes += delta * booking.minutes;
+            }
+        }
+        if (booking.day < 0) {
+            return;
+        }
+        for (int s = booking.from; s < booking.to; s++) {
+            int slot = grid.slot(booking.day, s);
+            setLoad(slot, slotLoad[slot] + delta);
+            if (room != null) {
+                room.count[slot] += delta;
+                // A slot turns busy or free when its count moves between 0 and 1
+                if (room.count[slot] == (delta > 0 ? 1 : 0)) {
+                    room.busySlots += delta;
+                    room.dayBusySlots[booking.day] += delta;
+                    busyRoomSlots += delta;
+                }
+            }
+            if (lecturer != null) {
+                lecturer.count[slot] += delta;
+            }
+        }
+        if (lecturer != null && booking.to > booking.from) {
+            updateGap(lecturer, booking.day);
+        }
+    }
+
+    private void setLoad(int slot, int load) {
+        loadHistogram[slotLoad[slot]]--;
+        if (load >= loadHistogram.length) {
+            loadHistogram = Arrays.copyOf(loadHistogram, loadHistogram.length * 2);
+        }
+        loadHistogram[load]++;
+        slotLoad[slot] = load;
+        if (load > peakLoad) {
+            peakLoad = load;
+        }
+        while (peakLoad > 0 && loadHistogram[peakLoad] == 0) {
+            peakLoad--;
+        }
+    }
+
+    // Idle slots between the first and last busy slot of one day
+    private void updateGap(LecturerStats lecturer, int day) {
+        int first = -1;
+        int last = -1;
+        int busy = 0;
+        for (int s = 0; s < grid.getSlotsPerDay(); s++) {
+            if (lecturer.count[grid.slot(day, s)] > 0) {
+                if (first < 0) {
+                    first = s;
+                }
+                last = s;
+                busy++;
+            }
+        }
+        int gap = first < 0 ? 0 : last - first + 1 - busy;
+        lecturer.gapSlots += gap - lecturer.dayGapSlots[day];
+        lecturer.dayGapSlots[day] = gap;
+    }
+
+    /**
+     * Gets the IDs of the rooms that have had sessions.
+     */
+    public Set<String> getRooms() {
+        return Collections.unmodifiableSet(rooms.keySet());
+    }
+
+    /**
+     * Gets the IDs of the lecturers that have had sessions.
+     */
+    public Set<String> getLecturers() {
+        return Collections.unmodifiableSet(lecturers.keySet());
+    }
+
+    /**
+     * Gets the share of the grid's slots in which a room has at least one session, from 0 to 1.
+     */
+    public double getRoomOccupancy(String roomId) {
+        RoomStats room = rooms.get(roomId);
+        return room == null ? 0 : (double) room.busySlots / grid.getSlotCount();
+    }
+
+    /**
+     * Gets the share of one day's slots in which a room has at least one session, from 0 to 1.
+     */
+    public double getRoomDayOccupancy(String roomId, int day) {
+        RoomStats room = rooms.get(roomId);
+        return room == null ? 0 : (double) room.dayBusySlots[day] / grid.getSlotsPerDay();
+    }
+
+    /**
+     * Gets the share of all room slots that are busy, counting {@code roomCount} rooms.
+     * Pass the number of bookable rooms so that unused rooms count as empty.
+     */
+    public double getRoomOccupancy(int roomCount) {
+        int rooms = Math.max(roomCount, this.rooms.size());
+        return rooms == 0 ? 0 : (double) busyRoomSlots / ((long) rooms * grid.getSlotCount());
+    }
+
+    public int getRoomSessionCount(String roomId) {
+        RoomStats room = rooms.get(roomId);
+        return room == null ? 0 : room.sessions;
+    }
+
+    /**
+     * Gets the number of sessions a room has in one slot; more than one is a clash.
+     */
+    public int getRoomLoad(String roomId, int slot) {
+        RoomStats room = rooms.get(roomId);
+        return room == null ? 0 : room.count[slot];
+    }
+
+    /**
+     * Gets a lecturer's teaching minutes over the week.
+     */
+    public int getLecturerWeeklyMinutes(String lecturerId) {
+        LecturerStats lecturer = lecturers.get(lecturerId);
+        return lecturer == null ? 0 : lecturer.minutes;
+    }
+
+    /**
+     * Gets a lecturer's teaching minutes on a day from Monday (0) to Sunday (6).
+     */
+    public int getLecturerDayMinutes(String lecturerId, int weekDay) {
+        LecturerStats lecturer = lecturers.get(lecturerId);
+        return lecturer == null ? 0 : lecturer.dayMinutes[weekDay];
+    }
+
+    /**
+     * Gets a lecturer's idle minutes between classes over the week, at the grid's resolution.
+     */
+    public int getLecturerGapMinutes(String lecturerId) {
+        LecturerStats lecturer = lecturers.get(lecturerId);
+        return lecturer == null ? 0 : lecturer.gapSlots * grid.getSlotMinutes();
+    }
+
+    /**
+     * Gets a lecturer's idle minutes between classes on one day of the grid.
+     */
+    public int getLecturerDayGapMinutes(String lecturerId, int day) {
+        LecturerStats lecturer = lecturers.get(lecturerId);
+        return lecturer == null ? 0 : lecturer.dayGapSlots[day] * grid.getSlotMinutes();
+    }
+
+    public int getLecturerSessionCount(String lecturerId) {
+        LecturerStats lecturer = lecturers.get(lecturerId);
+        return lecturer == null ? 0 : lecturer.sessions;
+    }
+
+    /**
+     * Gets the number of sessions running in a slot, over all rooms.
+     */
+    public int getSlotLoad(int slot) {
+        return slotLoad[slot];
+    }
+
+    /**
+     * Gets the highest number of sessions running in any one slot.
+     */
+    public int getPeakLoad() {
+        return peakLoad;
+    }
+
+    /**
+     * Lists the slots that have the peak load, or none if the timetable is empty.
+     */
+    public List<Integer> getPeakSlots() {
+        List<Integer> slots = new ArrayList<>();
+        if (peakLoad == 0) {
+            return slots;
+        }
+        for (int slot = 0; slot < slotLoad.length; slot++) {
+            if (slotLoad[slot] == peakLoad) {
+                slots.add(slot);
+            }
+        }
+        return slots;
+    }
+}
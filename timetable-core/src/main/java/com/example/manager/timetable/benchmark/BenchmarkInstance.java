@@ -0,0 +1,184 @@
+package com.example.manager.timetable.benchmark;
+
+import com.example.manager.admin.model.Resource;
+import com.example.manager.model.Lecturer;
+import com.example.manager.timetable.Course;
+import com.example.manager.timetable.SlotSet;
+import com.example.manager.timetable.TimeGrid;
+import com.example.manager.timetable.TimetableGeneratorOptions;
+import com.example.manager.timetable.TimetableSession;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A public benchmark instance mapped onto the generator inputs.
+ *
+ * Besides the resources, lecturers and courses, an instance keeps the data of the original
+ * format that the generator model has no field for (enrolments, minimum working days, course
+ * unavailability and the original time IDs), so solutions can be scored and exported.
+ */
+public final class BenchmarkInstance {
+
+    /**
+     * The file format an instance was read from.
+     */
+    public enum Format {
+        /** ITC-2007 curriculum-based course timetabling (.ctt) */
+        CTT,
+        /** XML high school timetabling archive (XHSTT) */
+        XHSTT
+    }
+
+    private final String name;
+    private final Format format;
+    private final TimeGrid grid;
+    private final List<Resource> resources = new ArrayList<>();
+    private final List<Lecturer> lecturers = new ArrayList<>();
+    private final List<Course> courses = new ArrayList<>();
+    private final Map<String, Integer> students = new HashMap<>();
+    private final Map<String, Integer> minWorkingDays = new HashMap<>();
+    private final Map<String, SlotSet> unavailable = new HashMap<>();
+    private final Map<String, List<String>> curricula = new LinkedHashMap<>();
+    private final List<String> timeIds = new ArrayList<>();
+    private final Map<String, String> openRoomRoles = new HashMap<>();
+    private final Map<String, String> openTeacherRoles = new HashMap<>();
+
+    BenchmarkInstance(String name, Format format, TimeGrid grid) {
+        this.name = name;
+        this.format = format;
+        this.grid = grid;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Format getFormat() {
+        return format;
+    }
+
+    public TimeGrid getGrid() {
+        return grid;
+    }
+
+    public List<Resource> getResources() {
+        return resources;
+    }
+
+    public List<Lecturer> getLecturers() {
+        return lecturers;
+    }
+
+    public List<Course> getCourses() {
+        return courses;
+    }
+
+    /**
+     * Creates generator options for this instance: default options on the instance's grid.
+     */
+    public TimetableGeneratorOptions newOptions() {
+        TimetableGeneratorOptions options = new TimetableGeneratorOptions();
+        options.setTimeGrid(grid);
+        return options;
+    }
+
+    /**
+     * Gets the week slot a session starts in, or -1 if it is not on the grid.
+     */
+    public int slotOf(TimetableSession session) {
+        int day = grid.dayIndex(session.getDayOfWeek());
+        int slotOfDay = grid.slotOfDayAt(TimeGrid.parseTime(session.getStartTime()));
+        return day < 0 || slotOfDay < 0 ? -1 : grid.slot(day, slotOfDay);
+    }
+
+    /**
+     * Gets the number of students attending a course, or 0 if the format does not say.
+     */
+    public int getStudents(String courseId) {
+        Integer count = students.get(courseId);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * Gets the number of days a course's lectures should be spread over, or 0 if there is no minimum.
+     */
+    public int getMinWorkingDays(String courseId) {
+        Integer days = minWorkingDays.get(courseId);
+        return days == null ? 0 : days;
+    }
+
+    /**
+     * Checks whether a course may not be taught in a week slot of the grid.
+     */
+    public boolean isUnavailable(String courseId, int slot) {
+        SlotSet slots = unavailable.get(courseId);
+        return slots != null && slots.get(slot);
+    }
+
+    /**
+     * Gets the curricula (groups of courses that share students) by ID, in file order.
+     */
+    public Map<String, List<String>> getCurricula() {
+        return Collections.unmodifiableMap(curricula);
+    }
+
+    /**
+     * Gets the format's ID of a week slot, for formats that name their times.
+     */
+    String getTimeId(int slot) {
+        return slot >= 0 && slot < timeIds.size() ? timeIds.get(slot) : null;
+    }
+
+    /**
+     * Gets the role name under which an event expects a room to be assigned, or null.
+     */
+    String getOpenRoomRole(String courseId) {
+        return openRoomRoles.get(courseId);
+    }
+
+    /**
+     * Gets the role name under which an event expects a teacher to be assigned, or null.
+     */
+    String getOpenTeacherRole(String courseId) {
+        return openTeacherRoles.get(courseId);
+    }
+
+    void setStudents(String courseId, int count) {
+        students.put(courseId, count);
+    }
+
+    void setMinWorkingDays(String courseId, int days) {
+        minWorkingDays.put(courseId, days);
+    }
+
+    void addUnavailable(String courseId, int slot) {
+        unavailable.computeIfAbsent(courseId, id -> grid.newSlotSet()).set(slot);
+    }
+
+    void addCurriculum(String id, List<String> courseIds) {
+        curricula.put(id, courseIds);
+    }
+
+    void addTimeId(String timeId) {
+        timeIds.add(timeId);
+    }
+
+    void setOpenRoomRole(String courseId, String role) {
+        openRoomRoles.put(courseId, role);
+    }
+
+    void setOpenTeacherRole(String courseId, String role) {
+        openTeacherRoles.put(courseId, role);
+    }
+
+    @Override
+    public String toString() {
+        return name + " (" + format + ", " + courses.size() + " courses, " + resources.size() + " rooms, "
+                + grid.getDays() + "x" + grid.getSlotsPerDay() + " slots)";
+    }
+}
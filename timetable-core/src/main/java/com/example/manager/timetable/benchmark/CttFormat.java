@@ -0,0 +1,181 @@
+package com.example.manager.timetable.benchmark;
+
+import com.example.manager.admin.model.Resource;
+import com.example.manager.model.Lecturer;
+import com.example.manager.timetable.Course;
+import com.example.manager.timetable.TimeGrid;
+import com.example.manager.timetable.Timetable;
+import com.example.manager.timetable.TimetableSession;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads ITC-2007 curriculum-based course timetabling instances (.ctt) and writes solutions.
+ *
+ * Each course becomes a {@link Course} with one session per lecture, pinned to its teacher, with
+ * its curricula as student groups. Teachers become lecturers and rooms become resources of type
+ * "ROOM" with their seat count as capacity. Periods are one-hour slots from 9:00. Enrolments,
+ * minimum working days and unavailability are kept on the {@link BenchmarkInstance} for scoring;
+ * the generators do not see them.
+ *
+ * Solutions are written in the competition format, one "COURSE ROOM DAY PERIOD" line per lecture.
+ */
+public final class CttFormat {
+    private static final int DAY_START_MINUTE = 9 * 60;
+    private static final int PERIOD_MINUTES = 60;
+    static final String ROOM_TYPE = "ROOM";
+
+    private CttFormat() {
+    }
+
+    /**
+     * Reads an instance file. The instance name is taken from its "Name:" header.
+     */
+    public static BenchmarkInstance read(Path file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return read(reader);
+        }
+    }
+
+    public static BenchmarkInstance read(Reader source) throws IOException {
+        BufferedReader reader = new BufferedReader(source);
+        Map<String, String> header = new HashMap<>();
+        Map<String, List<String[]>> sections = new HashMap<>();
+        List<String[]> section = null;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            if (line.isEmpty()) {
+                continue;
+            }
+            if (line.equals("END.")) {
+                break;
+            }
+            if (line.endsWith(":") && line.indexOf(' ') < 0) {
+                section = new ArrayList<>();
+                sections.put(line.substring(0, line.length() - 1), section);
+            } else if (section == null) {
+                int colon = line.indexOf(':');
+                if (colon < 0) {
+                    throw new IOException("Expected a header field: " + line);
+                }
+                header.put(line.substring(0, colon).trim(), line.substring(colon + 1).trim());
+            } else {
+                section.add(line.split("\\s+"));
+            }
+        }
+
+        int days = intField(header, "Days");
+        int periods = intField(header, "Periods_per_day");
+        TimeGrid grid;
+        try {
+            grid = new TimeGrid(days, PERIOD_MINUTES, DAY_START_MINUTE, DAY_START_MINUTE + periods * PERIOD_MINUTES);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Unsupported grid: " + e.getMessage());
+        }
+        String name = header.containsKey("Name") ? header.get("Name") : "ctt";
+        BenchmarkInstance instance = new BenchmarkInstance(name, BenchmarkInstance.Format.CTT, grid);
+
+        // Curricula first, so each course knows its student groups
+        Map<String, List<String>> groupsByCourse = new HashMap<>();
+        for (String[] fields : rows(sections, "CURRICULA", 2)) {
+            int count = parseInt(fields[1], fields);
+            if (fields.length < 2 + count) {
+                throw new IOException("Curriculum " + fields[0] + " lists fewer than " + count + " courses");
+            }
+            List<String> members = new ArrayList<>(Arrays.asList(fields).subList(2, 2 + count));
+            instance.addCurriculum(fields[0], members);
+            for (String course : members) {
+                groupsByCourse.computeIfAbsent(course, id -> new ArrayList<>()).add(fields[0]);
+            }
+        }
+
+        Set<String> teachers = new LinkedHashSet<>();
+        for (String[] fields : rows(sections, "COURSES", 5)) {
+            String id = fields[0];
+            int lectures = parseInt(fields[2], fields);
+            Course course = new Course(id, id, id, lectures, name, lectures);
+            course.setAssignedLecturerId(fields[1]);
+            course.setStudentGroups(groupsByCourse.getOrDefault(id, new ArrayList<>()));
+            instance.getCourses().add(course);
+            instance.setMinWorkingDays(id, parseInt(fields[3], fields));
+            instance.setStudents(id, parseInt(fields[4], fields));
+            teachers.add(fields[1]);
+        }
+        for (String teacher : teachers) {
+            instance.getLecturers().add(new Lecturer(teacher, teacher, "", 0));
+        }
+
+        for (String[] fields : rows(sections, "ROOMS", 2)) {
+            parseInt(fields[1], fields);
+            instance.getResources().add(new Resource(fields[0], fields[0], ROOM_TYPE, fields[1], "", "", "yes"));
+        }
+
+        for (String[] fields : rows(sections, "UNAVAILABILITY_CONSTRAINTS", 3)) {
+            int day = parseInt(fields[1], fields);
+            int period = parseInt(fields[2], fields);
+            if (day < 0 || day >= days || period < 0 || period >= periods) {
+                throw new IOException("Unavailability outside the grid: " + String.join(" ", fields));
+            }
+            instance.addUnavailable(fields[0], grid.slot(day, period));
+        }
+        return instance;
+    }
+
+    private static List<String[]> rows(Map<String, List<String[]>> sections, String name, int fields)
+            throws IOException {
+        List<String[]> rows = sections.getOrDefault(name, new ArrayList<>());
+        for (String[] row : rows) {
+            if (row.length < fields) {
+                throw new IOException(name + ": expected " + fields + " fields: " + String.join(" ", row));
+            }
+        }
+        return rows;
+    }
+
+    private static int intField(Map<String, String> header, String key) throws IOException {
+        String value = header.get(key);
+        if (value == null) {
+            throw new IOException("Missing header field " + key);
+        }
+        return parseInt(value, new String[]{key, value});
+    }
+
+    private static int parseInt(String value, String[] context) throws IOException {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IOException("Expected a number: " + String.join(" ", context));
+        }
+    }
+
+    /**
+     * Writes a timetable as a competition solution. Sessions without a room or outside the
+     * grid are left out, and count as unscheduled lectures when the solution is validated.
+     */
+    public static void writeSolution(BenchmarkInstance instance, Timetable timetable, Writer out) throws IOException {
+        TimeGrid grid = instance.getGrid();
+        for (TimetableSession session : timetable.getSessions()) {
+            int slot = instance.slotOf(session);
+            if (slot < 0 || session.getResourceId() == null) {
+                continue;
+            }
+            out.write(session.getCourseId() + " " + session.getResourceId() + " "
+                    + grid.dayOf(slot) + " " + grid.slotOfDay(slot) + "\n");
+        }
+        out.flush();
+    }
+}
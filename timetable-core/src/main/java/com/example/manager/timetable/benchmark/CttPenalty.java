@@ -0,0 +1,216 @@
+package com.example.manager.timetable.benchmark;
+
+import com.example.manager.admin.model.Resource;
+import com.example.manager.timetable.Course;
+import com.example.manager.timetable.TimeGrid;
+import com.example.manager.timetable.Timetable;
+import com.example.manager.timetable.TimetableSession;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Scores a timetable with the ITC-2007 curriculum-based course timetabling rules.
+ *
+ * Hard violations are counted as the competition validator does: unscheduled lectures, pairs
+ * of lectures of one curriculum or teacher in the same period, extra lectures in an occupied
+ * room, and lectures in unavailable periods. The soft penalty is the weighted sum of room
+ * capacity (1 per student over capacity), minimum working days (5 per missing day), curriculum
+ * compactness (2 per isolated curriculum period) and room stability (1 per extra room of a course).
+ *
+ * For XHSTT instances only the hard violations are meaningful; their soft constraints are
+ * defined per instance and are not evaluated here.
+ */
+public final class CttPenalty {
+    private static final int MIN_WORKING_DAYS_WEIGHT = 5;
+    private static final int COMPACTNESS_WEIGHT = 2;
+
+    private int unscheduled;
+    private int conflicts;
+    private int roomOccupancy;
+    private int unavailable;
+    private int roomCapacity;
+    private int minWorkingDays;
+    private int compactness;
+    private int roomStability;
+
+    private CttPenalty() {
+    }
+
+    public static CttPenalty evaluate(BenchmarkInstance instance, Timetable timetable) {
+        CttPenalty penalty = new CttPenalty();
+        TimeGrid grid = instance.getGrid();
+        int slots = grid.getSlotCount();
+
+        Map<String, Integer> capacities = new HashMap<>();
+        for (Resource resource : instance.getResources()) {
+            capacities.put(resource.getId(), parseCapacity(resource.getCapacity()));
+        }
+
+        // Placed lectures per course, per room and slot, per teacher and slot
+        Map<String, Integer> placed = new HashMap<>();
+        Map<String, Set<Integer>> daysOfCourse = new HashMap<>();
+        Map<String, Set<String>> roomsOfCourse = new HashMap<>();
+        Map<String, int[]> roomUse = new HashMap<>();
+        Map<String, int[]> teacherUse = new HashMap<>();
+        Map<String, int[]> courseUse = new HashMap<>();
+        for (TimetableSession session : timetable.getSessions()) {
+            int slot = instance.slotOf(session);
+            String courseId = session.getCourseId();
+            if (slot < 0 || courseId == null) {
+                continue;
+            }
+            placed.merge(courseId, 1, Integer::sum);
+            daysOfCourse.computeIfAbsent(courseId, id -> new HashSet<>()).add(grid.dayOf(slot));
+            courseUse.computeIfAbsent(courseId, id -> new int[slots])[slot]++;
+            if (session.getLecturerId() != null) {
+                teacherUse.computeIfAbsent(session.getLecturerId(), id -> new int[slots])[slot]++;
+            }
+            if (instance.isUnavailable(courseId, slot)) {
+                penalty.unavailable++;
+            }
+            String room = session.getResourceId();
+            if (room != null) {
+                roomUse.computeIfAbsent(room, id -> new int[slots])[slot]++;
+                roomsOfCourse.computeIfAbsent(courseId, id -> new HashSet<>()).add(room);
+                Integer capacity = capacities.get(room);
+                if (capacity != null) {
+                    penalty.roomCapacity += Math.max(0, instance.getStudents(courseId) - capacity);
+                }
+            }
+        }
+
+        for (Course course : instance.getCourses()) {
+            String id = course.getId();
+            int lectures = Math.max(1, course.getRequiredSessionsPerWeek());
+            penalty.unscheduled += Math.max(0, lectures - placed.getOrDefault(id, 0));
+            int days = daysOfCourse.containsKey(id) ? daysOfCourse.get(id).size() : 0;
+            penalty.minWorkingDays += MIN_WORKING_DAYS_WEIGHT * Math.max(0, instance.getMinWorkingDays(id) - days);
+            if (roomsOfCourse.containsKey(id)) {
+                penalty.roomStability += roomsOfCourse.get(id).size() - 1;
+            }
+        }
+        for (int[] use : roomUse.values()) {
+            for (int count : use) {
+                penalty.roomOccupancy += Math.max(0, count - 1);
+            }
+        }
+        for (int[] use : teacherUse.values()) {
+            penalty.conflicts += pairs(use);
+        }
+        for (List<String> members : instance.getCurricula().values()) {
+            int[] use = new int[slots];
+            for (String member : members) {
+                int[] course = courseUse.get(member);
+                if (course == null) {
+                    continue;
+                }
+                for (int k = 0; k < slots; k++) {
+                    use[k] += course[k];
+                }
+            }
+            // Pairs within one course are counted once, through its teacher
+            int samePeriod = pairs(use);
+            for (String member : members) {
+                int[] course = courseUse.get(member);
+                if (course != null) {
+                    samePeriod -= pairs(course);
+                }
+            }
+            penalty.conflicts += samePeriod;
+            penalty.compactness += COMPACTNESS_WEIGHT * isolated(use, grid);
+        }
+        return penalty;
+    }
+
+    private static int parseCapacity(String capacity) {
+        try {
+            return Integer.parseInt(capacity.trim());
+        } catch (NumberFormatException | NullPointerException e) {
+            return Integer.MAX_VALUE;
+        }
+    }
+
+    private static int pairs(int[] use) {
+        int pairs = 0;
+        for (int count : use) {
+            pairs += count * (count - 1) / 2;
+        }
+        return pairs;
+    }
+
+    // Periods with a lecture of the curriculum but none in the period before or after on that day
+    private static int isolated(int[] use, TimeGrid grid) {
+        int isolated = 0;
+        int periods = grid.getSlotsPerDay();
+        for (int k = 0; k < use.length; k++) {
+            if (use[k] == 0) {
+                continue;
+            }
+            int period = grid.slotOfDay(k);
+            boolean before = period > 0 && use[k - 1] > 0;
+            boolean after = period < periods - 1 && use[k + 1] > 0;
+            if (!before && !after) {
+                isolated++;
+            }
+        }
+        return isolated;
+    }
+
+    public int getUnscheduled() {
+        return unscheduled;
+    }
+
+    public int getConflicts() {
+        return conflicts;
+    }
+
+    public int getRoomOccupancy() {
+        return roomOccupancy;
+    }
+
+    public int getUnavailable() {
+        return unavailable;
+    }
+
+    /**
+     * Gets the total number of hard constraint violations; zero for a feasible timetable.
+     */
+    public int getHardViolations() {
+        return unscheduled + conflicts + roomOccupancy + unavailable;
+    }
+
+    public int getRoomCapacity() {
+        return roomCapacity;
+    }
+
+    public int getMinWorkingDays() {
+        return minWorkingDays;
+    }
+
+    public int getCompactness() {
+        return compactness;
+    }
+
+    public int getRoomStability() {
+        return roomStability;
+    }
+
+    /**
+     * Gets the weighted soft penalty, the competition's objective.
+     */
+    public int getSoftPenalty() {
+        return roomCapacity + minWorkingDays + compactness + roomStability;
+    }
+
+    @Override
+    public String toString() {
+        return "hard " + getHardViolations() + " (unscheduled " + unscheduled + ", conflicts " + conflicts
+                + ", room occupancy " + roomOccupancy + ", unavailable " + unavailable + "), soft " + getSoftPenalty()
+                + " (capacity " + roomCapacity + ", min working days " + minWorkingDays + ", compactness "
+                + compactness + ", room stability " + roomStability + ")";
+    }
+}
@@ -0,0 +1,296 @@
+package com.example.manager.timetable.benchmark;
+
+import com.example.manager.admin.model.Resource;
+import com.example.manager.model.Lecturer;
+import com.example.manager.timetable.Course;
+import com.example.manager.timetable.TimeGrid;
+import com.example.manager.timetable.Timetable;
+import com.example.manager.timetable.TimetableSession;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.xml.sax.SAXException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+/**
+ * Reads XML high school timetabling (XHSTT) archives and writes solutions.
+ *
+ * Only the first instance of an archive is read. Times are laid out on the grid by their Day
+ * time group, one-hour periods from 8:00; times without a day form a single day. Resources are
+ * classified by their resource type's ID or name: teachers become lecturers, rooms become
+ * resources of type "ROOM" and classes (or student groups) become student groups. Each event
+ * becomes a course with one session per unit of duration, pinned to its preassigned teacher and
+ * room. Open resource slots are remembered by role so solutions can fill them.
+ *
+ * The XHSTT model is richer than the generators' inputs: preassigned times, split events and
+ * the instance's constraints are ignored, and events without a teacher still get a lecturer.
+ */
+public final class XhsttFormat {
+    private static final int DAY_START_MINUTE = 8 * 60;
+    private static final int PERIOD_MINUTES = 60;
+
+    private XhsttFormat() {
+    }
+
+    public static BenchmarkInstance read(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return read(in);
+        }
+    }
+
+    public static BenchmarkInstance read(InputStream in) throws IOException {
+        Document document;
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            factory.setExpandEntityReferences(false);
+            DocumentBuilder builder = factory.newDocumentBuilder();
+            document = builder.parse(in);
+        } catch (ParserConfigurationException | SAXException e) {
+            throw new IOException("Not an XHSTT archive: " + e.getMessage(), e);
+        }
+        Element instances = child(document.getDocumentElement(), "Instances");
+        Element root = instances == null ? null : child(instances, "Instance");
+        if (root == null) {
+            throw new IOException("The archive has no instance");
+        }
+
+        // Times, grouped into days in order of appearance
+        Map<String, List<String>> timesByDay = new LinkedHashMap<>();
+        for (Element time : children(child(root, "Times"), "Time")) {
+            List<Element> days = children(child(time, "TimeGroups"), "Day");
+            String day = days.isEmpty() ? "" : days.get(0).getAttribute("Reference");
+            timesByDay.computeIfAbsent(day, d -> new ArrayList<>()).add(time.getAttribute("Id"));
+        }
+        if (timesByDay.isEmpty()) {
+            throw new IOException("The instance has no times");
+        }
+        int periods = 0;
+        for (List<String> times : timesByDay.values()) {
+            periods = Math.max(periods, times.size());
+        }
+        TimeGrid grid;
+        try {
+            grid = new TimeGrid(timesByDay.size(), PERIOD_MINUTES, DAY_START_MINUTE,
+                    DAY_START_MINUTE + periods * PERIOD_MINUTES);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Unsupported time layout: " + e.getMessage());
+        }
+        BenchmarkInstance instance = new BenchmarkInstance(root.getAttribute("Id"), BenchmarkInstance.Format.XHSTT,
+                grid);
+        List<Integer> missingSlots = new ArrayList<>();
+        int day = 0;
+        for (List<String> times : timesByDay.values()) {
+            for (int p = 0; p < periods; p++) {
+                instance.addTimeId(p < times.size() ? times.get(p) : null);
+                if (p >= times.size()) {
+                    missingSlots.add(grid.slot(day, p));
+                }
+            }
+            day++;
+        }
+
+        // Resource types, then resources by kind
+        Element resourcesElement = child(root, "Resources");
+        Map<String, Kind> kindOfType = new HashMap<>();
+        for (Element type : children(child(resourcesElement, "ResourceTypes"), "ResourceType")) {
+            kindOfType.put(type.getAttribute("Id"), Kind.of(type.getAttribute("Id") + " " + text(type, "Name")));
+        }
+        Map<String, Kind> kindOfResource = new HashMap<>();
+        for (Element resource : children(resourcesElement, "Resource")) {
+            String id = resource.getAttribute("Id");
+            String name = text(resource, "Name");
+            Element type = child(resource, "ResourceType");
+            Kind kind = type == null ? Kind.OTHER : kindOfType.getOrDefault(type.getAttribute("Reference"), Kind.OTHER);
+            kindOfResource.put(id, kind);
+            if (kind == Kind.TEACHER) {
+                instance.getLecturers().add(new Lecturer(id, name != null ? name : id, "", 0));
+            } else if (kind == Kind.ROOM) {
+                instance.getResources().add(new Resource(id, name != null ? name : id, CttFormat.ROOM_TYPE, "",
+                        "", "", "yes"));
+            }
+        }
+
+        for (Element event : children(child(root, "Events"), "Event")) {
+            String id = event.getAttribute("Id");
+            String name = text(event, "Name");
+            int duration;
+            try {
+                duration = Math.max(1, Integer.parseInt(text(event, "Duration").trim()));
+            } catch (NumberFormatException | NullPointerException e) {
+                throw new IOException("Event " + id + " has no valid duration");
+            }
+            Course course = new Course(id, name != null ? name : id, id, duration, instance.getName(), duration);
+            List<String> groups = new ArrayList<>();
+            for (Element resource : children(child(event, "Resources"), "Resource")) {
+                String reference = resource.getAttribute("Reference");
+                String role = text(resource, "Role");
+                Kind kind;
+                if (!reference.isEmpty()) {
+                    kind = kindOfResource.getOrDefault(reference, Kind.OTHER);
+                } else {
+                    Element type = child(resource, "ResourceType");
+                    kind = type == null ? Kind.OTHER : kindOfType.getOrDefault(type.getAttribute("Reference"), Kind.OTHER);
+                }
+                if (kind == Kind.TEACHER) {
+                    if (reference.isEmpty()) {
+                        instance.setOpenTeacherRole(id, role);
+                    } else if (course.getAssignedLecturerId() == null) {
+                        course.setAssignedLecturerId(reference);
+                    }
+                } else if (kind == Kind.ROOM) {
+                    if (reference.isEmpty()) {
+                        instance.setOpenRoomRole(id, role);
+                    } else if (course.getAssignedResourceId() == null) {
+                        course.setAssignedResourceId(reference);
+                    }
+                } else if (kind == Kind.GROUP && !reference.isEmpty()) {
+                    groups.add(reference);
+                }
+            }
+            course.setStudentGroups(groups);
+            instance.getCourses().add(course);
+            for (int slot : missingSlots) {
+                instance.addUnavailable(id, slot);
+            }
+        }
+
+        // Classes play the part of curricula when scoring clashes
+        Map<String, List<String>> coursesByGroup = new LinkedHashMap<>();
+        for (Course course : instance.getCourses()) {
+            for (String group : course.getStudentGroups()) {
+                coursesByGroup.computeIfAbsent(group, g -> new ArrayList<>()).add(course.getId());
+            }
+        }
+        for (Map.Entry<String, List<String>> entry : coursesByGroup.entrySet()) {
+            instance.addCurriculum(entry.getKey(), entry.getValue());
+        }
+        return instance;
+    }
+
+    /**
+     * Writes a timetable as an XHSTT archive holding one solution group. Each session becomes a
+     * one-period sub-event with its time and the room and teacher for the event's open roles.
+     * To check it with an XHSTT evaluator, merge the solution group into the instance archive.
+     *
+     * @param solutionGroup ID of the solution group, e.g. the generator name
+     */
+    public static void writeSolution(BenchmarkInstance instance, Timetable timetable, String solutionGroup,
+                                     Writer out) throws IOException {
+        out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        out.write("<HighSchoolTimetableArchive Id=\"" + escape(instance.getName() + "-" + solutionGroup) + "\">\n");
+        out.write("  <SolutionGroups>\n");
+        out.write("    <SolutionGroup Id=\"" + escape(solutionGroup) + "\">\n");
+        out.write("      <MetaData>\n");
+        out.write("        <Contributor>FinalManager</Contributor>\n");
+        out.write("        <Date>" + LocalDate.now() + "</Date>\n");
+        out.write("        <Description>Generated by " + escape(solutionGroup) + "</Description>\n");
+        out.write("      </MetaData>\n");
+        out.write("      <Solution Reference=\"" + escape(instance.getName()) + "\">\n");
+        out.write("        <Events>\n");
+        for (TimetableSession session : timetable.getSessions()) {
+            String time = instance.getTimeId(instance.slotOf(session));
+            if (time == null || session.getCourseId() == null) {
+                continue;
+            }
+            out.write("          <Event Reference=\"" + escape(session.getCourseId()) + "\">\n");
+            out.write("            <Duration>1</Duration>\n");
+            out.write("            <Time Reference=\"" + escape(time) + "\"/>\n");
+            String roomRole = instance.getOpenRoomRole(session.getCourseId());
+            String teacherRole = instance.getOpenTeacherRole(session.getCourseId());
+            boolean room = roomRole != null && session.getResourceId() != null;
+            boolean teacher = teacherRole != null && session.getLecturerId() != null;
+            if (room || teacher) {
+                out.write("            <Resources>\n");
+                if (room) {
+                    writeResource(out, session.getResourceId(), roomRole);
+                }
+                if (teacher) {
+                    writeResource(out, session.getLecturerId(), teacherRole);
+                }
+                out.write("            </Resources>\n");
+            }
+            out.write("          </Event>\n");
+        }
+        out.write("        </Events>\n");
+        out.write("      </Solution>\n");
+        out.write("    </SolutionGroup>\n");
+        out.write("  </SolutionGroups>\n");
+        out.write("</HighSchoolTimetableArchive>\n");
+        out.flush();
+    }
+
+    private static void writeResource(Writer out, String reference, String role) throws IOException {
+        out.write("              <Resource Reference=\"" + escape(reference) + "\"><Role>" + escape(role)
+                + "</Role></Resource>\n");
+    }
+
+    private static String escape(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    private enum Kind {
+        TEACHER, ROOM, GROUP, OTHER;
+
+        static Kind of(String typeName) {
+            String name = typeName.toLowerCase(Locale.ROOT);
+            if (name.contains("teacher")) {
+                return TEACHER;
+            }
+            if (name.contains("room")) {
+                return ROOM;
+            }
+            if (name.contains("class") || name.contains("student")) {
+                return GROUP;
+            }
+            return OTHER;
+        }
+    }
+
+    private static Element child(Element parent, String tag) {
+        if (parent == null) {
+            return null;
+        }
+        for (Node node = parent.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node instanceof Element && ((Element) node).getTagName().equals(tag)) {
+                return (Element) node;
+            }
+        }
+        return null;
+    }
+
+    private static List<Element> children(Element parent, String tag) {
+        List<Element> result = new ArrayList<>();
+        if (parent == null) {
+            return result;
+        }
+        for (Node node = parent.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node instanceof Element && ((Element) node).getTagName().equals(tag)) {
+                result.add((Element) node);
+            }
+        }
+        return result;
+    }
+
+    private static String text(Element parent, String tag) {
+        Element element = child(parent, tag);
+        return element == null ? null : element.getTextContent();
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.manager.timetable.cache;
+
+import com.example.manager.admin.model.Resource;
+import com.example.manager.model.Lecturer;
+import com.example.manager.timetable.ChocoSolverTimetableGenerator;
+import com.example.manager.timetable.Course;
+import com.example.manager.timetable.Timetable;
+import com.example.manager.timetable.TimetableGenerator;
+import com.example.manager.timetable.TimetableGeneratorOptions;
+import com.example.manager.timetable.TimetableLog;
+import com.example.manager.timetable.remote.RemoteTimetableGenerator;
+
+import java.util.List;
+
+/**
+ * Generator decorator that returns a cached timetable when the same inputs and options
+ * were solved before, and caches fresh results otherwise.
+ *
+ * Only timetables the delegate found itself and without conflicts are cached. A Choco run
+ * that found no solution returns its manual fallback, a two-phase run can leave sessions
+ * without a room, and the remote generator can fall back to the device; caching those would
+ * keep serving the poor result after the cause, e.g. a short time limit or an unreachable
+ * service, has gone away.
+ */
+public class CachingTimetableGenerator implements TimetableGenerator {
+    private static final String TAG = "CachingTimetableGen";
+
+    private final TimetableGenerator delegate;
+    private final String generatorName;
+    private final TimetableCache cache;
+    private boolean lastRunCached;
+
+    /**
+     * @param delegate Generator that solves on a cache miss
+     * @param generatorName Name of the delegate, part of the cache key
+     * @param cache Shared cache
+     */
+    public CachingTimetableGenerator(TimetableGenerator delegate, String generatorName, TimetableCache cache) {
+        this.delegate = delegate;
+        this.generatorName = generatorName;
+        this.cache = cache;
+    }
+
+    /**
+     * Checks whether the last timetable came from the cache.
+     */
+    public boolean wasLastRunCached() {
+        return lastRunCached;
+    }
+
+    @Override
+    public Timetable generateTimetable(List<Resource> resources, List<Lecturer> lecturers, List<Course> courses) {
+        return generateTimetable(resources, lecturers, courses, new TimetableGeneratorOptions());
+    }
+
+    @Override
+    public Timetable generateTimetable(List<Resource> resources, List<Lecturer> lecturers, List<Course> courses,
+                                       TimetableGeneratorOptions options) {
+        // Hash before solving: generators may fill in fields such as assigned lecturers
+        String key = TimetableCacheKey.compute(generatorName, resources, lecturers, courses, options);
+        Timetable cached = cache.get(key);
+        if (cached != null) {
+            TimetableLog.i(TAG, "Using cached timetable " + key.substring(0, 12));
+            lastRunCached = true;
+            return cached;
+        }
+
+        lastRunCached = false;
+        Timetable timetable = delegate.generateTimetable(resources, lecturers, courses, options);
+        if (timetable == null) {
+            return null;
+        }
+        if (usedFallback() || delegate.hasConflicts(timetable)) {
+            TimetableLog.i(TAG, "Not caching timetable " + key.substring(0, 12) + ": fallback or conflicts");
+        } else {
+            cache.put(key, timetable);
+        }
+        return timetable;
+    }
+
+    /**
+     * Checks whether the delegate's last timetable is a fallback rather than its own solution.
+     */
+    private boolean usedFallback() {
+        if (delegate instanceof ChocoSolverTimetableGenerator) {
+            ChocoSolverTimetableGenerator choco = (ChocoSolverTimetableGenerator) delegate;
+            return choco.getLastFirstSolutionMs() < 0 || choco.getLastUnmatchedRooms() > 0;
+        }
+        if (delegate instanceof RemoteTimetableGenerator) {
+            return !((RemoteTimetableGenerator) delegate).wasLastRunRemote();
+        }
+        return false;
+    }
+
+    @Override
+    public boolean hasConflicts(Timetable timetable) {
+        return delegate.hasConflicts(timetable);
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.manager.timetable.cache;
+
+import com.example.manager.timetable.CompactTimetable;
+import com.example.manager.timetable.Timetable;
+import com.example.manager.timetable.TimetableLog;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Two-level store of generated timetables keyed by {@link TimetableCacheKey}.
+ *
+ * The memory level is an LRU map of {@link CompactTimetable}s, so every hit returns a fresh
+ * Timetable the caller may modify; the optional disk level is a directory of KEY.json files
+ * (the app uses its private files directory) trimmed to the most recently used entries.
+ * Instances are thread-safe.
+ */
+public class TimetableCache {
+    private static final String TAG = "TimetableCache";
+    private static final Gson GSON = new Gson();
+    private static final String SUFFIX = ".json";
+
+    private final Map<String, CompactTimetable> memory;
+    private final File directory;
+    private final int maxDiskEntries;
+
+    /**
+     * Creates a memory-only cache.
+     */
+    public TimetableCache(int maxMemoryEntries) {
+        this(maxMemoryEntries, null, 0);
+    }
+
+    /**
+     * @param maxMemoryEntries Timetables kept in memory
+     * @param directory Directory for the disk store, or null for memory only
+     * @param maxDiskEntries Timetables kept on disk
+     */
+    public TimetableCache(int maxMemoryEntries, File directory, int maxDiskEntries) {
+        this.memory = new LinkedHashMap<String, CompactTimetable>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompactTimetable> eldest) {
+                return size() > maxMemoryEntries;
+            }
+        };
+        this.directory = directory;
+        this.maxDiskEntries = maxDiskEntries;
+        if (directory != null && !directory.isDirectory() && !directory.mkdirs()) {
+            TimetableLog.w(TAG, "Cannot create cache directory " + directory + ", using memory only");
+        }
+    }
+
+    /**
+     * Looks up a cached timetable.
+     *
+     * @return A new copy of the cached timetable, or null on a miss
+     */
+    public synchronized Timetable get(String key) {
+        CompactTimetable cached = memory.get(key);
+        if (cached == null) {
+            String json = readFromDisk(key);
+            if (json == null) {
+                return null;
+            }
+            Timetable timetable;
+            try {
+                timetable = GSON.fromJson(json, Timetable.class);
+            } catch (JsonParseException e) {
+                timetable = null;
+            }
+            if (timetable == null) {
+                TimetableLog.w(TAG, "Dropping unreadable cache entry " + key);
+                remove(key);
+                return null;
+            }
+            memory.put(key, CompactTimetable.of(timetable));
+            return timetable;
+        }
+        return cached.toTimetable();
+    }
+
+    /**
+     * Stores a timetable in memory and on disk.
+     */
+    public synchronized void put(String key, Timetable timetable) {
+        memory.put(key, CompactTimetable.of(timetable));
+        writeToDisk(key, GSON.toJson(timetable));
+    }
+
+    /**
+     * Removes an entry from both levels.
+     */
+    public synchronized void remove(String key) {
+        memory.remove(key);
+        if (directory != null) {
+            new File(directory, key + SUFFIX).delete();
+        }
+    }
+
+    /**
+     * Removes every entry from both levels.
+     */
+    public synchronized void clear() {
+        memory.clear();
+        for (File file : diskEntries()) {
+            file.delete();
+        }
+    }
+
+    private String readFromDisk(String key) {
+        if (directory == null) {
+            return null;
+        }
+        File file = new File(directory, key + SUFFIX);
+        if (!file.isFile()) {
+            return null;
+        }
+        StringBuilder json = new StringBuilder((int) file.length());
+        try (Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+            char[] buffer = new char[8192];
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                json.append(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            TimetableLog.w(TAG, "Cannot read cache entry " + file + ": " + e.getMessage());
+            return null;
+        }
+        file.setLastModified(System.currentTimeMillis()); // Recency for disk eviction
+        return json.toString();
+    }
+
+    private void writeToDisk(String key, String json) {
+        if (directory == null || !directory.isDirectory()) {
+            return;
+        }
+        // Write to a temporary file first so a crash never leaves a truncated entry behind
+        File target = new File(directory, key + SUFFIX);
+        File temp = new File(directory, key + ".tmp");
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(temp), StandardCharsets.UTF_8)) {
+            writer.write(json);
+        } catch (IOException e) {
+            TimetableLog.w(TAG, "Cannot write cache entry " + target + ": " + e.getMessage());
+            temp.delete();
+            return;
+        }
+        if (!temp.renameTo(target)) {
+            target.delete();
+            if (!temp.renameTo(target)) {
+                temp.delete();
+                return;
+            }
+        }
+        trimDisk();
+    }
+
+    private void trimDisk() {
+        File[] files = diskEntries();
+        if (files.length <= maxDiskEntries) {
+            return;
+        }
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        for (int i = 0; i < files.length - maxDiskEntries; i++) {
+            files[i].delete();
+        }
+    }
+
+    private File[] diskEntries() {
+        if (directory == null) {
+            return new File[0];
+        }
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(SUFFIX));
+        return files != null ? files : new File[0];
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.manager.timetable.cache;
+
+import com.example.manager.admin.model.Resource;
+import com.example.manager.model.Lecturer;
+import com.example.manager.timetable.Course;
+import com.example.manager.timetable.ResourceFilter;
+import com.example.manager.timetable.TimeGrid;
+import com.example.manager.timetable.TimetableGeneratorOptions;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Stable content hash of everything that determines a generated timetable.
+ *
+ * Each resource, lecturer and course is reduced to a canonical line of its fields and the lines
+ * are sorted, so the key does not depend on list order or on Firebase load order. Resources
+ * rejected by the options' ResourceFilter are left out, because the generator never sees them.
+ * Any change to an input field or option produces a different key, which is how cache entries
+ * are invalidated.
+ */
+public final class TimetableCacheKey {
+    // Bump when generator behaviour changes so old cached timetables are no longer used
+    private static final int FORMAT_VERSION = 5;
+    private static final char FIELD_SEPARATOR = '\u001f';
+
+    private TimetableCacheKey() {
+    }
+
+    /**
+     * Computes the key for a generation request.
+     *
+     * @param generator Name of the generator, e.g. "simple" or "choco"
+     * @return Lower-case hex SHA-256 digest
+     */
+    public static String compute(String generator, List<Resource> resources, List<Lecturer> lecturers,
+                                 List<Course> courses, TimetableGeneratorOptions options) {
+        MessageDigest digest = newDigest();
+        StringBuilder line = new StringBuilder(128);
+
+        line.append("v").append(FORMAT_VERSION).append(FIELD_SEPARATOR).append(generator);
+        append(line, options.shouldAvoidBackToBackClasses());
+        append(line, options.shouldPreferEvenDistribution());
+        append(line, options.getMaxHoursPerDay());
+        append(line, options.getSearchStrategy());
+        append(line, options.getRestartPolicy());
+        append(line, options.shouldRecordNogoods());
+        append(line, options.getSeed());
+        TimeGrid grid = options.getTimeGrid();
+        append(line, grid.getDays());
+        append(line, grid.getSlotMinutes());
+        append(line, grid.getDayStartMinute());
+        append(line, grid.getDayEndMinute());
+        update(digest, line);
+
+        ResourceFilter filter = options.getFilter();
+        List<String> lines = new ArrayList<>(resources.size());
+        for (Resource resource : resources) {
+            if (filter != null && !filter.shouldUseResource(resource)) {
+                continue;
+            }
+            line.setLength(0);
+            line.append('R');
+            append(line, resource.getId());
+            append(line, resource.getName());
+            append(line, resource.getType());
+            append(line, resource.getCapacity());
+            append(line, resource.getLocation());
+            append(line, resource.getIsAvailable());
+            append(line, resource.getUnavailableWindows());
+            lines.add(line.toString());
+        }
+        updateSorted(digest, lines);
+
+        lines = new ArrayList<>(lecturers.size());
+        for (Lecturer lecturer : lecturers) {
+            line.setLength(0);
+            line.append('L');
+            append(line, lecturer.getId());
+            append(line, lecturer.getName());
+            append(line, lecturer.getContact());
+            append(line, lecturer.getProximityScore());
+            lines.add(line.toString());
+        }
+        updateSorted(digest, lines);
+
+        lines = new ArrayList<>(courses.size());
+        for (Course course : courses) {
+            line.setLength(0);
+            line.append('C');
+            append(line, course.getId());
+            append(line, course.getName());
+            append(line, course.getCode());
+            append(line, course.getCreditHours());
+            append(line, course.getDepartment());
+            append(line, course.getRequiredSessionsPerWeek());
+            append(line, course.getRequiredRoomType());
+            append(line, course.getAssignedLecturerId());
+            append(line, course.getAssignedResourceId());
+            List<String> groups = new ArrayList<>(course.getStudentGroups());
+            Collections.sort(groups);
+            append(line, groups);
+            lines.add(line.toString());
+        }
+        updateSorted(digest, lines);
+
+        return toHex(digest.digest());
+    }
+
+    private static void append(StringBuilder line, Object value) {
+        line.append(FIELD_SEPARATOR);
+        if (value != null) {
+            line.append(value);
+        }
+    }
+
+    private static void updateSorted(MessageDigest digest, List<String> lines) {
+        Collections.sort(lines);
+        // Prefix the count so entities cannot shift between sections
+        digest.update(Integer.toString(lines.size()).getBytes(StandardCharsets.UTF_8));
+        for (String line : lines) {
+            digest.update((byte) '\n');
+            digest.update(line.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static void update(MessageDigest digest, CharSequence line) {
+        digest.update(line.toString().getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) '\n');
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        char[] hex = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            hex[i * 2] = Character.forDigit((bytes[i] >> 4) & 0xF, 16);
+            hex[i * 2 + 1] = Character.forDigit(bytes[i] & 0xF, 16);
+        }
+        return new String(hex);
+    }
+}
@@ -0,0 +1,806 @@
+package com.example.manager.timetable.exam;
+
+import com.example.manager.admin.model.Resource;
+import com.example.manager.model.Lecturer;
+import com.example.manager.timetable.Course;
+import com.example.manager.timetable.CourseConflictGraph;
+import com.example.manager.timetable.PreparedInput;
+import com.example.manager.timetable.RoomAvailability;
+import com.example.manager.timetable.SessionIds;
+import com.example.manager.timetable.TimeGrid;
+import com.example.manager.timetable.Timetable;
+import com.example.manager.timetable.TimetableGenerator;
+import com.example.manager.timetable.TimetableGeneratorOptions;
+import com.example.manager.timetable.TimetableLog;
+import com.example.manager.timetable.TimetableSession;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Generator for end-of-term exam timetables, where every course sits one exam.
+ *
+ * Exams that share a student group (see {@link CourseConflictGraph}) must not run in the same
+ * period. Periods are exam-length blocks of the grid's daily window, so a 9:00-17:00 day with
+ * two-hour exams has four. Rooms are pools of seats, sized by {@link Resource#getCapacity()}:
+ * exams with a known enrolment share a room while their students fit, an exam larger than every
+ * free room is split over empty rooms that it then has to itself, and an exam without an
+ * enrolment takes one room alone. A room is not used in periods its unavailable windows overlap
+ * (see {@link RoomAvailability}).
+ *
+ * Periods come from one week of the grid, and a {@link TimeGrid} has at most seven days, since
+ * sessions only carry a day of the week. A 9:00-17:00 day with two-hour exams therefore gives at
+ * most 28 periods. A sitting that needs more has to be split into one run per week, each with the
+ * courses examined that week; exams that fit in no period are left out and counted by
+ * {@link #getLastUnplaced()}.
+ *
+ * Construction colours the conflict graph with DSatur, putting each exam in the feasible period
+ * that adds the least spread penalty. Kempe-chain moves then improve the spread: the chain of an
+ * exam and a second period is every exam of the two periods connected to it by conflicts, so
+ * swapping the chain's periods never creates a clash. Moves are accepted by simulated annealing
+ * within the time limit and rejected if either period's exams no longer fit its rooms; a move
+ * fits the chain around the exams that stay and only repacks both periods if that fails. When the
+ * options set a seed, a move budget replaces the time limit, so the run stops after the same
+ * moves on any machine.
+ *
+ * The spread penalty counts, for every pair of conflicting exams on the same day, 3 if their
+ * periods are consecutive and 1 otherwise. Lecturers are not constrained, since exams are
+ * invigilated by others; a session names the course's assigned lecturer when there is one.
+ */
+public class ExamTimetableGenerator implements TimetableGenerator {
+    /**
+     * Name of this generator in {@link com.example.manager.timetable.TimetableGenerators}.
+     */
+    public static final String NAME = "exam";
+
+    private static final String TAG = "ExamTimetableGen";
+
+    private static final int DEFAULT_EXAM_MINUTES = 120;
+    private static final long DEFAULT_TIME_LIMIT_MS = 5000;
+    private static final long DEFAULT_SEED = 1;
+    private static final long DEFAULT_MOVE_LIMIT = 200000;
+
+    // Spread penalties for two conflicting exams on the same day
+    private static final int SAME_DAY_PENALTY = 1;
+    private static final int CONSECUTIVE_PENALTY = 3;
+
+    // Annealing temperatures at the start and end of the local search
+    private static final double START_TEMPERATURE = 3.0;
+    private static final double END_TEMPERATURE = 0.05;
+
+    private int examMinutes = DEFAULT_EXAM_MINUTES;
+    private long timeLimitMs = DEFAULT_TIME_LIMIT_MS;
+    private long moveLimit = DEFAULT_MOVE_LIMIT;
+    private long seed = DEFAULT_SEED;
+    private final Map<String, Integer> enrolments = new HashMap<>();
+
+    // Last run's inputs, for hasConflicts
+    private Map<String, Set<String>> lastGroups = Collections.emptyMap();
+    private Map<String, Integer> lastCapacities = Collections.emptyMap();
+
+    // Last run's results
+    private int lastUnplaced;
+    private int lastInitialPenalty = -1;
+    private int lastPenalty = -1;
+    private long lastMoves;
+
+    /**
+     * Sets the length of every exam, which also sets the number of periods a day. Defaults to 120 minutes.
+     */
+    public void setExamMinutes(int examMinutes) {
+        this.examMinutes = Math.max(1, examMinutes);
+    }
+
+    /**
+     * Sets the total time a run may take, construction included. Defaults to 5 seconds.
+     */
+    public void setTimeLimitMs(long timeLimitMs) {
+        this.timeLimitMs = timeLimitMs;
+    }
+
+    /**
+     * Sets how many Kempe-chain moves a run may try when the options set a seed, in place of the
+     * time limit. Defaults to 200,000, about what the default time limit allows for 2,000 exams;
+     * a move costs more as exams and their conflicts grow.
+     */
+    public void setMoveLimit(long moveLimit) {
+        this.moveLimit = moveLimit;
+    }
+
+    /**
+     * Sets the seed of the local search's random moves, used when the options set none. Runs
+     * with the same inputs and seed that finish the same number of moves return the same
+     * timetable.
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Sets how many students sit a course's exam. Exams without an enrolment take a room alone.
+     */
+    public void setEnrolment(String courseId, int students) {
+        enrolments.put(courseId, students);
+    }
+
+    /**
+     * Sets the enrolments of several courses, see {@link #setEnrolment}.
+     */
+    public void setEnrolments(Map<String, Integer> enrolments) {
+        this.enrolments.putAll(enrolments);
+    }
+
+    /**
+     * Gets the number of exams the last run could not place in any period.
+     */
+    public int getLastUnplaced() {
+        return lastUnplaced;
+    }
+
+    /**
+     * Gets the spread penalty after construction in the last run, or -1 before the first run.
+     */
+    public int getLastInitialPenalty() {
+        return lastInitialPenalty;
+    }
+
+    /**
+     * Gets the spread penalty of the last run's timetable, or -1 before the first run.
+     */
+    public int getLastPenalty() {
+        return lastPenalty;
+    }
+
+    /**
+     * Gets the number of Kempe-chain moves the last run tried.
+     */
+    public long getLastMoves() {
+        return lastMoves;
+    }
+
+    @Override
+    public Timetable generateTimetable(List<Resource> resources, List<Lecturer> lecturers, List<Course> courses) {
+        return generateTimetable(resources, lecturers, courses, new TimetableGeneratorOptions());
+    }
+
+    @Override
+    public Timetable generateTimetable(List<Resource> resources, List<Lecturer> lecturers, List<Course> courses,
+                                       TimetableGeneratorOptions options) {
+        long start = System.currentTimeMillis();
+        long deadline = start + timeLimitMs;
+        TimeGrid grid = options.getTimeGrid();
+        int periodsPerDay = Math.max(1, grid.getWindowMinutes() / examMinutes);
+        int periodCount = grid.getDays() * periodsPerDay;
+
+        // Available rooms in ascending capacity order
+        RoomAvailability availability = RoomAvailability.compile(resources, options);
+        List<Integer> order = new ArrayList<>();
+        for (int r = 0; r < availability.getRooms().size(); r++) {
+            order.add(r);
+        }
+        order.sort((a, b) -> Integer.compare(capacityOf(availability.getRooms().get(a)),
+                capacityOf(availability.getRooms().get(b))));
+        List<Resource> rooms = new ArrayList<>();
+        int[] capacity = new int[order.size()];
+        Map<String, Integer> capacities = new HashMap<>();
+        for (int r = 0; r < order.size(); r++) {
+            rooms.add(availability.getRooms().get(order.get(r)));
+            capacity[r] = capacityOf(rooms.get(r));
+            capacities.put(rooms.get(r).getId(), capacity[r]);
+        }
+
+        // Rooms closed in each period by their unavailable windows
+        BitSet[] closed = new BitSet[periodCount];
+        int examSlots = grid.slotsFor(examMinutes);
+        for (int p = 0; p < periodCount; p++) {
+            closed[p] = new BitSet(rooms.size());
+            int first = grid.slotOfDayAt(grid.getDayStartMinute() + (p % periodsPerDay) * examMinutes);
+            int from = grid.slot(p / periodsPerDay, first);
+            int to = grid.slot(p / periodsPerDay, Math.min(grid.getSlotsPerDay(), first + examSlots));
+            for (int r = 0; r < rooms.size(); r++) {
+                if (availability.isBlocked(order.get(r), from, to)) {
+                    closed[p].set(r);
+                }
+            }
+        }
+
+        int examCount = courses.size();
+        CourseConflictGraph conflicts = PreparedInput.conflicts(options, courses);
+        int[][] neighbours = new int[examCount][];
+        int[] size = new int[examCount];
+        Map<String, Set<String>> groups = new HashMap<>();
+        for (int e = 0; e < examCount; e++) {
+            Course course = courses.get(e);
+            neighbours[e] = conflicts.getNeighbours(e);
+            Integer students = enrolments.get(course.getId());
+            size[e] = students == null || students <= 0 ? -1 : students;
+            groups.put(course.getId(), new HashSet<>(course.getStudentGroups()));
+        }
+        lastGroups = groups;
+        lastCapacities = capacities;
+
+        Schedule schedule = new Schedule(neighbours, size, capacity, closed, periodCount, periodsPerDay);
+        lastUnplaced = schedule.construct();
+        lastInitialPenalty = schedule.penalty;
+        if (lastUnplaced > 0) {
+            TimetableLog.w(TAG, lastUnplaced + " of " + examCount + " exams fit in no period of " + periodCount);
+        }
+        if (options.isDeterministic()) {
+            lastMoves = schedule.improve(options.newRandom(), Long.MAX_VALUE, moveLimit);
+        } else {
+            lastMoves = schedule.improve(new SplittableRandom(seed), deadline, Long.MAX_VALUE);
+        }
+        lastPenalty = schedule.bestPenalty;
+        TimetableLog.i(TAG, "Scheduled " + (examCount - lastUnplaced) + " of " + examCount + " exams in "
+                + periodCount + " periods and " + rooms.size() + " rooms, penalty " + lastInitialPenalty + " -> "
+                + lastPenalty + " after " + lastMoves + " moves in " + (System.currentTimeMillis() - start) + " ms");
+
+        return SessionIds.assign(buildTimetable(schedule, grid, periodsPerDay, rooms, lecturers, courses), options);
+    }
+
+    private Timetable buildTimetable(Schedule schedule, TimeGrid grid, int periodsPerDay, List<Resource> rooms,
+                                     List<Lecturer> lecturers, List<Course> courses) {
+        Map<String, Lecturer> lecturersById = new HashMap<>();
+        for (Lecturer lecturer : lecturers) {
+            lecturersById.put(lecturer.getId(), lecturer);
+        }
+        Timetable timetable = new Timetable();
+        for (int e = 0; e < courses.size(); e++) {
+            int period = schedule.bestPeriod[e];
+            if (period < 0) {
+                continue;
+            }
+            Course course = courses.get(e);
+            int startMinute = grid.getDayStartMinute() + (period % periodsPerDay) * examMinutes;
+            Lecturer lecturer = course.getAssignedLecturerId() == null ? null
+                    : lecturersById.get(course.getAssignedLecturerId());
+            for (int r : schedule.bestRooms[e]) {
+                Resource room = rooms.get(r);
+                TimetableSession session = new TimetableSession();
+                session.setId(SessionIds.random());
+                session.setCourseId(course.getId());
+                session.setCourseName(course.getName());
+                session.setSessionType("EXAM");
+                session.setDayOfWeek(grid.dayName(period / periodsPerDay));
+                session.setStartTime(TimeGrid.formatTime(startMinute));
+                session.setEndTime(TimeGrid.formatTime(startMinute + examMinutes));
+                session.setResourceId(room.getId());
+                session.setResourceName(room.getName());
+                if (lecturer != null) {
+                    session.setLecturerId(lecturer.getId());
+                    session.setLecturerName(lecturer.getName());
+                }
+                timetable.addSession(session);
+            }
+        }
+        return timetable;
+    }
+
+    /**
+     * Gets a room's capacity, or 0 if it is not a number.
+     */
+    private static int capacityOf(Resource resource) {
+        String capacity = resource.getCapacity();
+        if (capacity == null) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Integer.parseInt(capacity.trim()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Checks a timetable from the last run for exams that share a student group in the same
+     * period, and for rooms holding more students than their capacity, or holding a split exam
+     * or an exam without an enrolment together with another exam.
+     */
+    @Override
+    public boolean hasConflicts(Timetable timetable) {
+        Map<String, List<TimetableSession>> byPeriod = new HashMap<>();
+        for (TimetableSession session : timetable.getSessions()) {
+            byPeriod.computeIfAbsent(session.getDayOfWeek() + "|" + session.getStartTime(),
+                    k -> new ArrayList<>()).add(session);
+        }
+        for (List<TimetableSession> sessions : byPeriod.values()) {
+            Map<String, Integer> roomsByCourse = new HashMap<>();
+            Map<String, List<String>> coursesByRoom = new HashMap<>();
+            for (TimetableSession session : sessions) {
+                roomsByCourse.merge(session.getCourseId(), 1, Integer::sum);
+                coursesByRoom.computeIfAbsent(session.getResourceId(), k -> new ArrayList<>())
+                        .add(session.getCourseId());
+            }
+
+            List<String> courseIds = new ArrayList<>(roomsByCourse.keySet());
+            for (int i = 0; i < courseIds.size(); i++) {
+                Set<String> groups = lastGroups.get(courseIds.get(i));
+                if (groups == null || groups.isEmpty()) {
+                    continue;
+                }
+                for (int j = i + 1; j < courseIds.size(); j++) {
+                    Set<String> other = lastGroups.get(courseIds.get(j));
+                    if (other != null && !Collections.disjoint(groups, other)) {
+                        return true;
+                    }
+                }
+            }
+
+            for (Map.Entry<String, List<String>> entry : coursesByRoom.entrySet()) {
+                List<String> shared = entry.getValue();
+                if (shared.size() < 2) {
+                    continue;
+                }
+                int students = 0;
+                for (String courseId : shared) {
+                    Integer enrolment = enrolments.get(courseId);
+                    if (enrolment == null || enrolment <= 0 || roomsByCourse.get(courseId) > 1) {
+                        return true;
+                    }
+                    students += enrolment;
+                }
+                Integer capacity = lastCapacities.get(entry.getKey());
+                if (capacity != null && students > capacity) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Period and room assignment of every exam, with the construction and Kempe-chain search.
+     * Exams are indices into the course list; periods are numbered day by day.
+     */
+    private static final class Schedule {
+        private final int[][] neighbours;
+        private final int[] size;
+        private final int[] capacity;
+        private final BitSet[] closed;
+        private final int periodCount;
+        private final int periodsPerDay;
+
+        private final int[] period;
+        private final int[][] rooms;
+        private final List<List<Integer>> members = new ArrayList<>();
+        private final RoomPacking[] packings;
+        private int penalty;
+
+        private int[] bestPeriod;
+        private int[][] bestRooms;
+        private int bestPenalty;
+
+        Schedule(int[][] neighbours, int[] size, int[] capacity, BitSet[] closed, int periodCount,
+                 int periodsPerDay) {
+            this.neighbours = neighbours;
+            this.size = size;
+            this.capacity = capacity;
+            this.closed = closed;
+            this.periodCount = periodCount;
+            this.periodsPerDay = periodsPerDay;
+            this.period = new int[size.length];
+            this.rooms = new int[size.length][];
+            this.packings = new RoomPacking[periodCount];
+            Arrays.fill(period, -1);
+            for (int p = 0; p < periodCount; p++) {
+                members.add(new ArrayList<>());
+                packings[p] = new RoomPacking(capacity, closed[p]);
+            }
+        }
+
+        private int pairPenalty(int p, int q) {
+            if (p < 0 || q < 0 || p / periodsPerDay != q / periodsPerDay) {
+                return 0;
+            }
+            return Math.abs(p - q) == 1 ? CONSECUTIVE_PENALTY : SAME_DAY_PENALTY;
+        }
+
+        /**
+         * Places exams by DSatur: the exam with the most distinct periods among its placed
+         * neighbours goes first, ties to more neighbours and then more students. Returns the
+         * number of exams that fit nowhere.
+         */
+        int construct() {
+            int examCount = size.length;
+            int[][] blocked = new int[examCount][periodCount];
+            int[] saturation = new int[examCount];
+            boolean[] done = new boolean[examCount];
+            int unplaced = 0;
+            int[] cost = new int[periodCount];
+            Integer[] order = new Integer[periodCount];
+
+            for (int step = 0; step < examCount; step++) {
+                int exam = -1;
+                for (int e = 0; e < examCount; e++) {
+                    if (done[e]) {
+                        continue;
+                    }
+                    if (exam < 0 || saturation[e] > saturation[exam]
+                            || (saturation[e] == saturation[exam] && (neighbours[e].length > neighbours[exam].length
+                            || (neighbours[e].length == neighbours[exam].length && size[e] > size[exam])))) {
+                        exam = e;
+                    }
+                }
+                done[exam] = true;
+
+                // Penalty each period would add, from the neighbours placed on its day
+                Arrays.fill(cost, 0);
+                for (int n : neighbours[exam]) {
+                    int q = period[n];
+                    if (q < 0) {
+                        continue;
+                    }
+                    int first = q / periodsPerDay * periodsPerDay;
+                    for (int p = first; p < first + periodsPerDay; p++) {
+                        cost[p] += pairPenalty(p, q);
+                    }
+                }
+                for (int p = 0; p < periodCount; p++) {
+                    order[p] = p;
+                }
+                Arrays.sort(order, (a, b) -> cost[a] != cost[b] ? Integer.compare(cost[a], cost[b])
+                        : Integer.compare(members.get(a).size(), members.get(b).size()));
+
+                int chosen = -1;
+                for (int p : order) {
+                    if (blocked[exam][p] == 0 && place(exam, p)) {
+                        chosen = p;
+                        break;
+                    }
+                }
+                if (chosen < 0) {
+                    unplaced++;
+                    continue;
+                }
+                penalty += cost[chosen];
+                for (int n : neighbours[exam]) {
+                    if (!done[n] && blocked[n][chosen]++ == 0) {
+                        saturation[n]++;
+                    }
+                }
+            }
+            bestPeriod = period.clone();
+            bestRooms = rooms.clone();
+            bestPenalty = penalty;
+            return unplaced;
+        }
+
+        // Adds an exam to a period's rooms, repacking the period if it does not fit as they are
+        private boolean place(int exam, int p) {
+            int[] assigned = packings[p].place(size[exam]);
+            if (assigned == null) {
+                List<Integer> exams = new ArrayList<>(members.get(p));
+                exams.add(exam);
+                Packed packed = pack(exams, p);
+                if (packed == null) {
+                    return false;
+                }
+                apply(p, packed);
+            } else {
+                rooms[exam] = assigned;
+                members.get(p).add(exam);
+            }
+            period[exam] = p;
+            return true;
+        }
+
+        // Packs a period's rooms from scratch, largest exams first, or returns null if they do not all fit
+        private Packed pack(List<Integer> exams, int p) {
+            RoomPacking packing = new RoomPacking(capacity, closed[p]);
+            int[][] assigned = new int[exams.size()][];
+            Integer[] byPosition = new Integer[exams.size()];
+            for (int i = 0; i < byPosition.length; i++) {
+                byPosition[i] = i;
+            }
+            // Known enrolments largest first, then the exams that need a room alone
+            Arrays.sort(byPosition, (a, b) -> Integer.compare(packOrder(exams.get(b)), packOrder(exams.get(a))));
+            for (int i : byPosition) {
+                assigned[i] = packing.place(size[exams.get(i)]);
+                if (assigned[i] == null) {
+                    return null;
+                }
+            }
+            return new Packed(exams, packing, assigned);
+        }
+
+        private void apply(int p, Packed packed) {
+            packings[p] = packed.packing;
+            members.set(p, packed.exams);
+            for (int i = 0; i < packed.exams.size(); i++) {
+                rooms[packed.exams.get(i)] = packed.assigned[i];
+            }
+        }
+
+        private int packOrder(int exam) {
+            return size[exam] < 0 ? 0 : size[exam] + 1;
+        }
+
+        /**
+         * Runs Kempe-chain moves until the deadline, the move limit or an interrupt and returns how
+         * many were tried. The temperature falls with the time used or, without a deadline, the
+         * moves tried, so that runs without one never read the clock.
+         */
+        long improve(SplittableRandom random, long deadline, long moveLimit) {
+            int examCount = size.length;
+            List<Integer> placed = new ArrayList<>();
+            for (int e = 0; e < examCount; e++) {
+                if (period[e] >= 0) {
+                    placed.add(e);
+                }
+            }
+            if (placed.isEmpty() || periodCount < 2) {
+                return 0;
+            }
+
+            int[] mark = new int[examCount];
+            int[] chain = new int[examCount];
+            int[] stack = new int[examCount];
+            long start = System.currentTimeMillis();
+            long duration = Math.max(1, deadline - start);
+            double temperature = START_TEMPERATURE;
+            long moves = 0;
+            while (bestPenalty > 0 && moves < moveLimit) {
+                if ((moves & 0xff) == 0) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        break;
+                    }
+                    double progress;
+                    if (deadline == Long.MAX_VALUE) {
+                        progress = (double) moves / moveLimit;
+                    } else {
+                        long now = System.currentTimeMillis();
+                        if (now >= deadline) {
+                            break;
+                        }
+                        progress = (double) (now - start) / duration;
+                    }
+                    temperature = START_TEMPERATURE * Math.pow(END_TEMPERATURE / START_TEMPERATURE, progress);
+                }
+                moves++;
+                int stamp = (int) moves;
+
+                int exam = placed.get(random.nextInt(placed.size()));
+                int p = period[exam];
+                int q = random.nextInt(periodCount - 1);
+                if (q >= p) {
+                    q++;
+                }
+
+                // The chain: exams of p and q connected to the exam through conflicts
+                int chainSize = 0;
+                int top = 0;
+                stack[top++] = exam;
+                mark[exam] = stamp;
+                while (top > 0) {
+                    int c = stack[--top];
+                    chain[chainSize++] = c;
+                    for (int n : neighbours[c]) {
+                        if (mark[n] != stamp && (period[n] == p || period[n] == q)) {
+                            mark[n] = stamp;
+                            stack[top++] = n;
+                        }
+                    }
+                }
+
+                // Pairs inside the chain keep their penalty; only edges leaving it change
+                int delta = 0;
+                for (int i = 0; i < chainSize; i++) {
+                    int c = chain[i];
+                    int from = period[c];
+                    int to = from == p ? q : p;
+                    for (int n : neighbours[c]) {
+                        if (mark[n] != stamp) {
+                            delta += pairPenalty(to, period[n]) - pairPenalty(from, period[n]);
+                        }
+                    }
+                }
+                if (delta > 0 && random.nextDouble() >= Math.exp(-delta / temperature)) {
+                    continue;
+                }
+                if (!swap(chain, chainSize, mark, stamp, p, q)) {
+                    continue;
+                }
+                penalty += delta;
+                if (penalty < bestPenalty) {
+                    bestPenalty = penalty;
+                    bestPeriod = period.clone();
+                    bestRooms = rooms.clone();
+                }
+            }
+            return moves;
+        }
+
+        /**
+         * Swaps the chain between periods p and q if both still fit their rooms. The chain's
+         * exams leave their rooms and are fitted around the exams that stay, largest first; only
+         * if that fails are both periods packed from scratch.
+         */
+        private boolean swap(int[] chain, int chainSize, int[] mark, int stamp, int p, int q) {
+            List<Integer> newP = new ArrayList<>();
+            List<Integer> newQ = new ArrayList<>();
+            for (int e : members.get(p)) {
+                if (mark[e] != stamp) {
+                    newP.add(e);
+                }
+            }
+            for (int e : members.get(q)) {
+                if (mark[e] != stamp) {
+                    newQ.add(e);
+                }
+            }
+            int stayP = newP.size();
+            int stayQ = newQ.size();
+            for (int i = 0; i < chainSize; i++) {
+                int c = chain[i];
+                (period[c] == p ? newQ : newP).add(c);
+            }
+
+            Packed packedP = refit(newP, stayP, mark, stamp, p);
+            Packed packedQ = packedP == null ? null : refit(newQ, stayQ, mark, stamp, q);
+            if (packedQ == null) {
+                packedP = pack(newP, p);
+                packedQ = packedP == null ? null : pack(newQ, q);
+                if (packedQ == null) {
+                    return false;
+                }
+            }
+            apply(p, packedP);
+            apply(q, packedQ);
+            for (int i = 0; i < chainSize; i++) {
+                int c = chain[i];
+                period[c] = period[c] == p ? q : p;
+            }
+            return true;
+        }
+
+        // Keeps the first stay exams of a period in their rooms, frees the rooms of the marked
+        // exams moving out and fits the rest in largest first, or returns null if they do not all
+        // fit in a room each, so that a split is only made by packing from scratch
+        private Packed refit(List<Integer> exams, int stay, int[] mark, int stamp, int p) {
+            RoomPacking packing = new RoomPacking(packings[p]);
+            for (int e : members.get(p)) {
+                if (mark[e] == stamp) {
+                    packing.remove(rooms[e], size[e]);
+                }
+            }
+            int[][] assigned = new int[exams.size()][];
+            for (int i = 0; i < stay; i++) {
+                assigned[i] = rooms[exams.get(i)];
+            }
+            Integer[] byPosition = new Integer[exams.size() - stay];
+            for (int i = 0; i < byPosition.length; i++) {
+                byPosition[i] = stay + i;
+            }
+            Arrays.sort(byPosition, (a, b) -> Integer.compare(packOrder(exams.get(b)), packOrder(exams.get(a))));
+            for (int i : byPosition) {
+                assigned[i] = packing.place(size[exams.get(i)]);
+                if (assigned[i] == null || assigned[i].length > 1) {
+                    return null;
+                }
+            }
+            return new Packed(exams, packing, assigned);
+        }
+    }
+
+    /**
+     * Exams of one period with their rooms.
+     */
+    private static final class Packed {
+        private final List<Integer> exams;
+        private final RoomPacking packing;
+        private final int[][] assigned;
+
+        Packed(List<Integer> exams, RoomPacking packing, int[][] assigned) {
+            this.exams = exams;
+            this.packing = packing;
+            this.assigned = assigned;
+        }
+    }
+
+    /**
+     * Seats left in every room of one period. Rooms are in ascending capacity order.
+     */
+    private static final class RoomPacking {
+        private final int[] capacity;
+        private final int[] free;
+        private final boolean[] used;
+        private final boolean[] closed; // Held alone by one exam
+
+        // Rooms in shut are unavailable in the period and start out full
+        RoomPacking(int[] capacity, BitSet shut) {
+            this.capacity = capacity;
+            this.free = capacity.clone();
+            this.used = new boolean[capacity.length];
+            this.closed = new boolean[capacity.length];
+            for (int r = shut.nextSetBit(0); r >= 0; r = shut.nextSetBit(r + 1)) {
+                free[r] = 0;
+                used[r] = true;
+                closed[r] = true;
+            }
+        }
+
+        RoomPacking(RoomPacking other) {
+            this.capacity = other.capacity;
+            this.free = other.free.clone();
+            this.used = other.used.clone();
+            this.closed = other.closed.clone();
+        }
+
+        /**
+         * Gives back the rooms of an exam placed by {@link #place}.
+         */
+        void remove(int[] rooms, int students) {
+            for (int r : rooms) {
+                if (closed[r]) {
+                    free[r] = capacity[r];
+                    used[r] = false;
+                    closed[r] = false;
+                } else {
+                    free[r] += students;
+                    used[r] = free[r] < capacity[r];
+                }
+            }
+        }
+
+        /**
+         * Places an exam, or returns null and leaves the rooms unchanged if it does not fit.
+         *
+         * @param students The enrolment, or -1 for an exam that needs a room alone
+         * @return The exam's rooms
+         */
+        int[] place(int students) {
+            if (students < 0) {
+                for (int r = 0; r < capacity.length; r++) {
+                    if (!used[r]) {
+                        used[r] = true;
+                        closed[r] = true;
+                        free[r] = 0;
+                        return new int[] {r};
+                    }
+                }
+                return null;
+            }
+
+            // Best fit: the room with the fewest seats left that still holds the exam
+            int best = -1;
+            for (int r = 0; r < capacity.length; r++) {
+                if (!closed[r] && free[r] >= students && (best < 0 || free[r] < free[best])) {
+                    best = r;
+                }
+            }
+            if (best >= 0) {
+                free[best] -= students;
+                used[best] = true;
+                return new int[] {best};
+            }
+
+            // Split over empty rooms, largest first
+            int[] taken = new int[capacity.length];
+            int count = 0;
+            int seats = 0;
+            for (int r = capacity.length - 1; r >= 0 && seats < students; r--) {
+                if (!used[r] && capacity[r] > 0) {
+                    taken[count++] = r;
+                    seats += capacity[r];
+                }
+            }
+            if (seats < students) {
+                return null;
+            }
+            for (int i = 0; i < count; i++) {
+                used[taken[i]] = true;
+                closed[taken[i]] = true;
+                free[taken[i]] = 0;
+            }
+            return Arrays.copyOf(taken, count);
+        }
+    }
+}
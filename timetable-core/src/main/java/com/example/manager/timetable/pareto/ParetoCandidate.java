@@ -0,0 +1,146 @@
+package com.example.manager.timetable.pareto;
+
+import com.example.manager.timetable.TimeGrid;
+import com.example.manager.timetable.Timetable;
+import com.example.manager.timetable.TimetableSession;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * One timetable of a Pareto front together with the objective values it is compared by.
+ *
+ * All three objectives are minimised and measured on the timetable itself, so candidates from
+ * different solver runs compare directly. Periods are the hours of the grid's day, as the Choco
+ * model places its one-hour sessions, whatever the grid's slot length:
+ * <ul>
+ *   <li>day imbalance: sessions on the busiest day minus sessions on the quietest day</li>
+ *   <li>back-to-back pairs: consecutive periods a lecturer teaches on the same day</li>
+ *   <li>off-peak sessions: sessions outside the preferred middle of the day (the third to sixth
+ *       periods, the hours the Choco model's hour targets favour), standing in for lecturer
+ *       time preferences, which are not recorded</li>
+ * </ul>
+ */
+public final class ParetoCandidate {
+    private static final int SESSION_MINUTES = 60;
+
+    // Preferred periods of the day, as in the Choco generator's hour targets
+    private static final int FIRST_PREFERRED_PERIOD = 2;
+    private static final int LAST_PREFERRED_PERIOD = 5;
+
+    private final Timetable timetable;
+    private final int backToBackCap;
+    private final int dayImbalance;
+    private final int backToBackPairs;
+    private final int offPeakSessions;
+
+    private ParetoCandidate(Timetable timetable, int backToBackCap, int dayImbalance, int backToBackPairs,
+                            int offPeakSessions) {
+        this.timetable = timetable;
+        this.backToBackCap = backToBackCap;
+        this.dayImbalance = dayImbalance;
+        this.backToBackPairs = backToBackPairs;
+        this.offPeakSessions = offPeakSessions;
+    }
+
+    /**
+     * Measures a timetable's objectives.
+     *
+     * @param timetable The timetable
+     * @param grid The grid it was generated on
+     * @param backToBackCap The back-to-back cap of the run that found it, or -1 for none
+     */
+    public static ParetoCandidate evaluate(Timetable timetable, TimeGrid grid, int backToBackCap) {
+        int[] byDay = new int[grid.getDays()];
+        int offPeak = 0;
+        Map<String, TreeSet<Integer>> periodsByLecturerDay = new HashMap<>();
+        for (TimetableSession session : timetable.getSessions()) {
+            int day = grid.dayIndex(session.getDayOfWeek());
+            int start = TimeGrid.parseTime(session.getStartTime());
+            if (day < 0 || grid.slotOfDayAt(start) < 0) {
+                continue;
+            }
+            int period = (start - grid.getDayStartMinute()) / SESSION_MINUTES;
+            byDay[day]++;
+            if (period < FIRST_PREFERRED_PERIOD || period > LAST_PREFERRED_PERIOD) {
+                offPeak++;
+            }
+            if (session.getLecturerId() != null) {
+                periodsByLecturerDay.computeIfAbsent(session.getLecturerId() + "\u001f" + day,
+                        k -> new TreeSet<>()).add(period);
+            }
+        }
+
+        int busiest = 0;
+        int quietest = Integer.MAX_VALUE;
+        for (int count : byDay) {
+            busiest = Math.max(busiest, count);
+            quietest = Math.min(quietest, count);
+        }
+        int pairs = 0;
+        for (TreeSet<Integer> periods : periodsByLecturerDay.values()) {
+            for (int period : periods) {
+                if (periods.contains(period + 1)) {
+                    pairs++;
+                }
+            }
+        }
+        return new ParetoCandidate(timetable, backToBackCap, byDay.length == 0 ? 0 : busiest - quietest, pairs,
+                offPeak);
+    }
+
+    /**
+     * Checks whether this candidate is at least as good as another in every objective and
+     * better in at least one.
+     */
+    public boolean dominates(ParetoCandidate other) {
+        return dayImbalance <= other.dayImbalance && backToBackPairs <= other.backToBackPairs
+                && offPeakSessions <= other.offPeakSessions && !sameObjectives(other);
+    }
+
+    /**
+     * Checks whether both candidates have the same value for every objective.
+     */
+    public boolean sameObjectives(ParetoCandidate other) {
+        return dayImbalance == other.dayImbalance && backToBackPairs == other.backToBackPairs
+                && offPeakSessions == other.offPeakSessions;
+    }
+
+    public Timetable getTimetable() {
+        return timetable;
+    }
+
+    /**
+     * Gets the back-to-back cap of the run that found this candidate, or -1 if it had none.
+     */
+    public int getBackToBackCap() {
+        return backToBackCap;
+    }
+
+    public int getDayImbalance() {
+        return dayImbalance;
+    }
+
+    public int getBackToBackPairs() {
+        return backToBackPairs;
+    }
+
+    public int getOffPeakSessions() {
+        return offPeakSessions;
+    }
+
+    /**
+     * Describes the objective values in one line, e.g. for a picker.
+     */
+    public String describe() {
+        return String.format(Locale.ROOT, "Day imbalance %d, back-to-back %d, off-peak %d", dayImbalance,
+                backToBackPairs, offPeakSessions);
+    }
+
+    @Override
+    public String toString() {
+        return describe();
+    }
+}
@@ -0,0 +1,253 @@
+package com.example.manager.timetable.pareto;
+
+import com.example.manager.admin.model.Resource;
+import com.example.manager.model.Lecturer;
+import com.example.manager.timetable.ChocoSolverTimetableGenerator;
+import com.example.manager.timetable.Course;
+import com.example.manager.timetable.PreparedInput;
+import com.example.manager.timetable.SimpleTimetableGenerator;
+import com.example.manager.timetable.Timetable;
+import com.example.manager.timetable.TimetableGenerator;
+import com.example.manager.timetable.TimetableGeneratorOptions;
+import com.example.manager.timetable.TimetableLog;
+import com.example.manager.timetable.TimetableTrace;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Generator that returns a small set of non-dominated timetables instead of one weighted
+ * compromise, so an administrator can pick the trade-off (see {@link ParetoCandidate} for the
+ * objectives).
+ *
+ * Uses the epsilon-constraint method on two-phase Choco runs. An anchor run minimises the day
+ * and hour imbalance alone; the back-to-back pairs of its timetable bound the range. The range
+ * is then split into levels, and each level is solved again with the back-to-back total capped
+ * at that level (see {@link ChocoSolverTimetableGenerator#setBackToBackCap}). Levels run in
+ * parallel on a bounded pool and share one {@link PreparedInput}. Everything runs within one
+ * overall time budget; levels that find no solution in their share are dropped. When the options
+ * set a seed, each level gets its own seed split from it in level order (see
+ * {@link TimetableGeneratorOptions#workerSeeds}), the runs stop on Choco's fail budgets instead
+ * and every level is waited for.
+ *
+ * {@link #generateTimetable} returns the candidate the weighted single-objective run would
+ * prefer, and {@link #getLastCandidates()} the whole front.
+ */
+public class ParetoTimetableGenerator implements TimetableGenerator {
+    private static final String TAG = "ParetoTimetableGen";
+
+    private static final long DEFAULT_TIME_BUDGET_MS = 30000;
+    private static final int DEFAULT_LEVELS = 4;
+
+    // Weights used to pick the returned candidate, as in the Choco objective
+    private static final int DAY_WEIGHT = 1;
+    private static final int EVEN_DAY_WEIGHT = 3;
+    private static final int BACK_TO_BACK_WEIGHT = 2;
+
+    private long timeBudgetMs = DEFAULT_TIME_BUDGET_MS;
+    private int levels = DEFAULT_LEVELS;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private volatile List<ParetoCandidate> lastCandidates = Collections.emptyList();
+
+    /**
+     * Sets the time all runs together may take, anchor included. Defaults to 30 seconds.
+     */
+    public void setTimeBudgetMs(long timeBudgetMs) {
+        this.timeBudgetMs = timeBudgetMs;
+    }
+
+    /**
+     * Sets how many back-to-back levels are solved after the anchor. Defaults to 4.
+     */
+    public void setLevels(int levels) {
+        this.levels = Math.max(1, levels);
+    }
+
+    /**
+     * Sets how many levels are solved at the same time. Defaults to the number of processors.
+     */
+    public void setThreads(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * Gets the non-dominated candidates of the last run, fewest back-to-back pairs first, or an
+     * empty list if no run found a solution.
+     */
+    public List<ParetoCandidate> getLastCandidates() {
+        return lastCandidates;
+    }
+
+    @Override
+    public Timetable generateTimetable(List<Resource> resources, List<Lecturer> lecturers, List<Course> courses) {
+        return generateTimetable(resources, lecturers, courses, new TimetableGeneratorOptions());
+    }
+
+    @Override
+    public Timetable generateTimetable(List<Resource> resources, List<Lecturer> lecturers, List<Course> courses,
+                                       TimetableGeneratorOptions options) {
+        long start = System.currentTimeMillis();
+        long deadline = start + timeBudgetMs;
+        lastCandidates = Collections.emptyList();
+
+        // Level runs minimise the balance alone; back-to-back pairs are their epsilon constraint
+        TimetableGeneratorOptions runOptions = new TimetableGeneratorOptions(options);
+        runOptions.setAvoidBackToBackClasses(false);
+        runOptions.setTrace(TimetableTrace.DISABLED);
+        if (runOptions.getPreparedInput() == null) {
+            runOptions.setPreparedInput(PreparedInput.prepare(resources, lecturers, courses));
+        }
+
+        int waves = (levels + threads - 1) / threads;
+        long anchorBudget = timeBudgetMs / (waves + 1);
+        List<ParetoCandidate> found = new ArrayList<>();
+        ChocoSolverTimetableGenerator anchorRun = newRun(anchorBudget, -1);
+        Timetable anchorTimetable = anchorRun.generateTimetable(resources, lecturers, courses,
+                new TimetableGeneratorOptions(runOptions));
+        if (anchorRun.getLastObjective() < 0) {
+            TimetableLog.w(TAG, "Anchor run found no solution, returning its fallback timetable");
+            return anchorTimetable;
+        }
+        ParetoCandidate anchor = ParetoCandidate.evaluate(anchorTimetable, runOptions.getTimeGrid(), -1);
+        found.add(anchor);
+
+        TreeSet<Integer> caps = new TreeSet<>();
+        for (int k = 0; k < levels; k++) {
+            caps.add(anchor.getBackToBackPairs() * k / levels);
+        }
+        caps.remove(anchor.getBackToBackPairs());
+        if (!caps.isEmpty()) {
+            found.addAll(solveLevels(resources, lecturers, courses, runOptions, caps, deadline));
+        }
+
+        List<ParetoCandidate> front = nonDominated(found);
+        front.sort(Comparator.comparingInt(ParetoCandidate::getBackToBackPairs)
+                .thenComparingInt(ParetoCandidate::getDayImbalance));
+        lastCandidates = Collections.unmodifiableList(front);
+        ParetoCandidate chosen = preferred(front, options);
+        TimetableLog.i(TAG, front.size() + " non-dominated of " + found.size() + " candidates from "
+                + (caps.size() + 1) + " runs in " + (System.currentTimeMillis() - start) + " ms, returning "
+                + chosen.describe());
+        return chosen.getTimetable();
+    }
+
+    private List<ParetoCandidate> solveLevels(List<Resource> resources, List<Lecturer> lecturers,
+                                              List<Course> courses, TimetableGeneratorOptions runOptions,
+                                              TreeSet<Integer> caps, long deadline) {
+        int poolSize = Math.min(threads, caps.size());
+        int waves = (caps.size() + poolSize - 1) / poolSize;
+        long levelBudget = Math.max(1, (deadline - System.currentTimeMillis()) / waves);
+
+        List<Callable<ParetoCandidate>> tasks = new ArrayList<>(caps.size());
+        Long[] seeds = runOptions.workerSeeds(caps.size());
+        int level = 0;
+        for (int cap : caps) {
+            TimetableGeneratorOptions levelOptions = new TimetableGeneratorOptions(runOptions);
+            levelOptions.setSeed(seeds[level++]);
+            tasks.add(() -> {
+                ChocoSolverTimetableGenerator run = newRun(levelBudget, cap);
+                Timetable timetable = run.generateTimetable(resources, lecturers, courses, levelOptions);
+                return run.getLastObjective() < 0 ? null
+                        : ParetoCandidate.evaluate(timetable, runOptions.getTimeGrid(), cap);
+            });
+        }
+
+        List<ParetoCandidate> found = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(poolSize);
+        try {
+            List<Future<ParetoCandidate>> futures = new ArrayList<>(tasks.size());
+            for (Callable<ParetoCandidate> task : tasks) {
+                futures.add(executor.submit(task));
+            }
+            for (Future<ParetoCandidate> future : futures) {
+                try {
+                    // Runs stop at their own limits; the slack covers building the models. Seeded
+                    // runs stop on fail budgets, and dropping one on the clock would change the front
+                    long waitMs = Math.max(0, deadline - System.currentTimeMillis()) + levelBudget / 10;
+                    ParetoCandidate candidate = runOptions.isDeterministic() ? future.get()
+                            : future.get(waitMs, TimeUnit.MILLISECONDS);
+                    if (candidate != null) {
+                        found.add(candidate);
+                    }
+                } catch (ExecutionException e) {
+                    TimetableLog.e(TAG, "Level run failed", e.getCause());
+                } catch (TimeoutException e) {
+                    TimetableLog.w(TAG, "Level run overran the time budget, dropping it");
+                    future.cancel(true);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+        return found;
+    }
+
+    private static ChocoSolverTimetableGenerator newRun(long budgetMs, int backToBackCap) {
+        ChocoSolverTimetableGenerator run = ChocoSolverTimetableGenerator.twoPhase();
+        run.setTimeLimitMs(budgetMs);
+        run.setOptimisationTimeMs(budgetMs / 2);
+        run.setBackToBackCap(backToBackCap);
+        return run;
+    }
+
+    /**
+     * Keeps the candidates no other candidate dominates, dropping repeats of the same objective values.
+     */
+    static List<ParetoCandidate> nonDominated(List<ParetoCandidate> candidates) {
+        List<ParetoCandidate> front = new ArrayList<>();
+        for (ParetoCandidate candidate : candidates) {
+            boolean keep = true;
+            for (ParetoCandidate other : candidates) {
+                if (other.dominates(candidate)) {
+                    keep = false;
+                    break;
+                }
+            }
+            for (ParetoCandidate kept : front) {
+                if (kept.sameObjectives(candidate)) {
+                    keep = false;
+                    break;
+                }
+            }
+            if (keep) {
+                front.add(candidate);
+            }
+        }
+        return front;
+    }
+
+    // The candidate with the lowest weighted sum under the options' weights, ties to fewer off-peak sessions
+    private static ParetoCandidate preferred(List<ParetoCandidate> front, TimetableGeneratorOptions options) {
+        int dayWeight = options.shouldPreferEvenDistribution() ? EVEN_DAY_WEIGHT : DAY_WEIGHT;
+        int backToBackWeight = options.shouldAvoidBackToBackClasses() ? BACK_TO_BACK_WEIGHT : 0;
+        ParetoCandidate best = null;
+        long bestScore = Long.MAX_VALUE;
+        for (ParetoCandidate candidate : front) {
+            long score = (long) dayWeight * candidate.getDayImbalance()
+                    + (long) backToBackWeight * candidate.getBackToBackPairs();
+            if (best == null || score < bestScore
+                    || (score == bestScore && candidate.getOffPeakSessions() < best.getOffPeakSessions())) {
+                best = candidate;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public boolean hasConflicts(Timetable timetable) {
+        return new SimpleTimetableGenerator().hasConflicts(timetable);
+    }
+}
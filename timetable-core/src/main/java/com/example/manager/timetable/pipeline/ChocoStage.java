@@ -0,0 +1,41 @@
+package com.example.manager.timetable.pipeline;
+
+import com.example.manager.timetable.ChocoSolverTimetableGenerator;
+import com.example.manager.timetable.Timetable;
+
+/**
+ * Runs the Choco solver within the stage budget, using the best timetable so far as a
+ * search hint.
+ *
+ * When the options set a seed the solver counts search failures instead of the clock, so the
+ * budget is turned into a failure limit at {@link #FAILS_PER_MS}. The stage then stops at the
+ * same point on any machine and takes roughly its budget, more on a slow machine or a hard
+ * instance.
+ */
+public class ChocoStage implements PipelineStage {
+    /**
+     * Search failures a seeded run may take per millisecond of budget, the rate of the
+     * generator's defaults (300,000 failures for its 90 s limit).
+     */
+    static final long FAILS_PER_MS = 3;
+
+    @Override
+    public String getName() {
+        return "choco";
+    }
+
+    @Override
+    public Timetable run(StageContext context, long budgetMs) {
+        ChocoSolverTimetableGenerator generator = newGenerator(budgetMs);
+        generator.setHint(context.getBest());
+        return generator.generateTimetable(context.getResources(), context.getLecturers(),
+                context.getCourses(), context.getOptions());
+    }
+
+    static ChocoSolverTimetableGenerator newGenerator(long budgetMs) {
+        ChocoSolverTimetableGenerator generator = new ChocoSolverTimetableGenerator();
+        generator.setTimeLimitMs(budgetMs);
+        generator.setFailLimit(Math.max(1, budgetMs * FAILS_PER_MS));
+        return generator;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.manager.timetable.pipeline;
+
+import com.example.manager.timetable.SimpleTimetableGenerator;
+import com.example.manager.timetable.Timetable;
+
+/**
+ * Runs the greedy SimpleTimetableGenerator. It finishes in milliseconds, so the budget is not
+ * enforced; the result may leave sessions unscheduled but never double-books a room or lecturer.
+ */
+public class GreedyStage implements PipelineStage {
+
+    @Override
+    public String getName() {
+        return "greedy";
+    }
+
+    @Override
+    public Timetable run(StageContext context, long budgetMs) {
+        return new SimpleTimetableGenerator().generateTimetable(context.getResources(), context.getLecturers(),
+                context.getCourses(), context.getOptions());
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.manager.timetable.pipeline;
+
+import com.example.manager.timetable.Timetable;
+
+/**
+ * One step of a {@link PipelineTimetableGenerator}.
+ * A stage reads the inputs and the best timetable found so far from the context and returns
+ * its own timetable; the pipeline keeps whichever of the two scores better.
+ */
+public interface PipelineStage {
+
+    /**
+     * Gets a short name for logs and progress updates.
+     */
+    String getName();
+
+    /**
+     * Runs the stage.
+     *
+     * @param context Inputs, options and the current best timetable (may be null for the first stage)
+     * @param budgetMs Time the stage should stay within
+     * @return The stage's timetable, or null if it produced nothing
+     */
+    Timetable run(StageContext context, long budgetMs);
+}
@@ -0,0 +1,160 @@
+package com.example.manager.timetable.pipeline;
+
+import com.example.manager.admin.model.Resource;
+import com.example.manager.model.Lecturer;
+import com.example.manager.timetable.Course;
+import com.example.manager.timetable.SimpleTimetableGenerator;
+import com.example.manager.timetable.Timetable;
+import com.example.manager.timetable.TimetableGenerator;
+import com.example.manager.timetable.TimetableGeneratorOptions;
+import com.example.manager.timetable.TimetableLog;
+import com.example.manager.timetable.TimetableSession;
+import com.example.manager.timetable.TimetableTrace;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generator that runs a sequence of stages, each improving on the best timetable so far.
+ *
+ * The default {@link #hybrid()} pipeline runs the greedy generator first, which returns a
+ * conflict-free (possibly partial) timetable in milliseconds, then hands it to Choco as a
+ * search hint to fill the remaining sessions and improve the balance. Each stage has its own
+ * time budget, which {@link ChocoStage} turns into a failure budget when the options set a seed.
+ * After every stage the best timetable is kept, reported to the listener and
+ * available from {@link #getBestSoFar()}, so a caller can stop early or show progress.
+ *
+ * Timetables are ranked by being conflict-free first, then by the number of required
+ * sessions they schedule, then by how evenly the sessions are spread over the days.
+ */
+public class PipelineTimetableGenerator implements TimetableGenerator {
+    private static final String TAG = "PipelineTimetableGen";
+
+    /**
+     * Receives the best timetable at every stage boundary.
+     */
+    public interface StageListener {
+        void onStageFinished(String stageName, Timetable best, boolean improved);
+    }
+
+    private final List<PipelineStage> stages = new ArrayList<>();
+    private final List<Long> budgets = new ArrayList<>();
+    private StageListener stageListener;
+    private volatile Timetable bestSoFar;
+
+    /**
+     * Creates the greedy-then-Choco pipeline with the default budgets.
+     */
+    public static PipelineTimetableGenerator hybrid() {
+        return new PipelineTimetableGenerator()
+                .addStage(new GreedyStage(), 1000)
+                .addStage(new ChocoStage(), 60000);
+    }
+
+    /**
+     * Appends a stage.
+     *
+     * @param stage The stage
+     * @param budgetMs Time the stage may use
+     * @return This generator, for chaining
+     */
+    public PipelineTimetableGenerator addStage(PipelineStage stage, long budgetMs) {
+        stages.add(stage);
+        budgets.add(budgetMs);
+        return this;
+    }
+
+    public void setStageListener(StageListener stageListener) {
+        this.stageListener = stageListener;
+    }
+
+    /**
+     * Gets the best timetable found so far in the current or last run, or null before the first stage ends.
+     * Safe to call from another thread.
+     */
+    public Timetable getBestSoFar() {
+        return bestSoFar;
+    }
+
+    @Override
+    public Timetable generateTimetable(List<Resource> resources, List<Lecturer> lecturers, List<Course> courses) {
+        return generateTimetable(resources, lecturers, courses, new TimetableGeneratorOptions());
+    }
+
+    @Override
+    public Timetable generateTimetable(List<Resource> resources, List<Lecturer> lecturers, List<Course> courses,
+                                       TimetableGeneratorOptions options) {
+        TimetableTrace trace = options.getTrace();
+        bestSoFar = null;
+        long[] bestScore = null;
+
+        for (int i = 0; i < stages.size(); i++) {
+            PipelineStage stage = stages.get(i);
+            long start = System.nanoTime();
+            Timetable result;
+            try {
+                result = stage.run(new StageContext(resources, lecturers, courses, options, bestSoFar), budgets.get(i));
+            } catch (RuntimeException e) {
+                // A failing stage must not lose what earlier stages found
+                TimetableLog.e(TAG, "Stage " + stage.getName() + " failed", e);
+                result = null;
+            }
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            boolean improved = false;
+            if (result != null) {
+                long[] score = score(result, courses);
+                if (bestScore == null || compare(score, bestScore) > 0) {
+                    bestSoFar = result;
+                    bestScore = score;
+                    improved = true;
+                }
+            }
+            trace.record(TimetableTrace.Event.STAGE_FINISHED, i, improved ? 1 : 0, (int) elapsedMillis);
+            TimetableLog.i(TAG, "Stage " + stage.getName() + " finished in " + elapsedMillis + " ms"
+                    + (improved ? ", new best: " + bestScore[1] + " sessions" : ", no improvement"));
+            if (stageListener != null) {
+                stageListener.onStageFinished(stage.getName(), bestSoFar, improved);
+            }
+        }
+        return bestSoFar != null ? bestSoFar : new Timetable();
+    }
+
+    /**
+     * Scores a timetable as {conflict-free ? 1 : 0, required sessions scheduled, -sessions on the busiest day}.
+     */
+    private long[] score(Timetable timetable, List<Course> courses) {
+        Map<String, Integer> scheduledByCourse = new HashMap<>();
+        Map<String, Integer> sessionsByDay = new HashMap<>();
+        for (TimetableSession session : timetable.getSessions()) {
+            scheduledByCourse.merge(session.getCourseId(), 1, Integer::sum);
+            sessionsByDay.merge(session.getDayOfWeek(), 1, Integer::sum);
+        }
+        int busiestDay = 0;
+        for (int count : sessionsByDay.values()) {
+            busiestDay = Math.max(busiestDay, count);
+        }
+        long covered = 0;
+        for (Course course : courses) {
+            covered += Math.min(Math.max(1, course.getRequiredSessionsPerWeek()),
+                    scheduledByCourse.getOrDefault(course.getId(), 0));
+        }
+        return new long[] {hasConflicts(timetable) ? 0 : 1, covered, -busiestDay};
+    }
+
+    private static int compare(long[] a, long[] b) {
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] != b[i]) {
+                return Long.compare(a[i], b[i]);
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public boolean hasConflicts(Timetable timetable) {
+        return new SimpleTimetableGenerator().hasConflicts(timetable);
+    }
+}
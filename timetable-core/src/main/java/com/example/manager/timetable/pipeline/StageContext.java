@@ -0,0 +1,52 @@
+package com.example.manager.timetable.pipeline;
+
+import com.example.manager.admin.model.Resource;
+import com.example.manager.model.Lecturer;
+import com.example.manager.timetable.Course;
+import com.example.manager.timetable.Timetable;
+import com.example.manager.timetable.TimetableGeneratorOptions;
+
+import java.util.List;
+
+/**
+ * Inputs shared by all stages of a pipeline run, plus the best timetable so far.
+ */
+public class StageContext {
+    private final List<Resource> resources;
+    private final List<Lecturer> lecturers;
+    private final List<Course> courses;
+    private final TimetableGeneratorOptions options;
+    private final Timetable best;
+
+    StageContext(List<Resource> resources, List<Lecturer> lecturers, List<Course> courses,
+                 TimetableGeneratorOptions options, Timetable best) {
+        this.resources = resources;
+        this.lecturers = lecturers;
+        this.courses = courses;
+        this.options = options;
+        this.best = best;
+    }
+
+    public List<Resource> getResources() {
+        return resources;
+    }
+
+    public List<Lecturer> getLecturers() {
+        return lecturers;
+    }
+
+    public List<Course> getCourses() {
+        return courses;
+    }
+
+    public TimetableGeneratorOptions getOptions() {
+        return options;
+    }
+
+    /**
+     * Gets the best timetable produced by earlier stages, or null if none has run.
+     */
+    public Timetable getBest() {
+        return best;
+    }
+}
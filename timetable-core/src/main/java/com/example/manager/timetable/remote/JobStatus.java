@@ -0,0 +1,58 @@
+package com.example.manager.timetable.remote;
+
+/**
+ * Progress of a solver service job, returned by POST /jobs and GET /jobs/{id}.
+ */
+public class JobStatus {
+    public static final String QUEUED = "QUEUED";
+    public static final String RUNNING = "RUNNING";
+    public static final String CANCELLING = "CANCELLING"; // Cancelled while running, until the solver stops
+    public static final String DONE = "DONE";
+    public static final String FAILED = "FAILED";
+    public static final String CANCELLED = "CANCELLED";
+
+    private String id;
+    private String state;
+    private int queuePosition;   // Jobs ahead of this one, 0 once running
+    private long elapsedMillis;  // Time since the job was submitted
+    private String error;
+
+    // Empty constructor for deserialization
+    public JobStatus() {
+    }
+
+    public JobStatus(String id, String state, int queuePosition, long elapsedMillis, String error) {
+        this.id = id;
+        this.state = state;
+        this.queuePosition = queuePosition;
+        this.elapsedMillis = elapsedMillis;
+        this.error = error;
+    }
+
+    /**
+     * Checks whether the job has stopped, successfully or not.
+     */
+    public boolean isFinished() {
+        return DONE.equals(state) || FAILED.equals(state) || CANCELLED.equals(state);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public int getQueuePosition() {
+        return queuePosition;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.manager.timetable.remote;
+
+import com.example.manager.admin.model.Resource;
+import com.example.manager.model.Lecturer;
+import com.example.manager.timetable.Course;
+import com.example.manager.timetable.GenerationReport;
+import com.example.manager.timetable.Timetable;
+import com.example.manager.timetable.TimetableGenerator;
+import com.example.manager.timetable.TimetableGeneratorOptions;
+import com.example.manager.timetable.TimetableGenerators;
+import com.example.manager.timetable.TimetableLog;
+import com.example.manager.timetable.exam.ExamTimetableGenerator;
+import com.google.gson.Gson;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Timetable generator that solves on a remote solver service (see the SolverServer in
+ * :timetable-headless) instead of on the device.
+ *
+ * The inputs are posted as a job, the job status is polled until it finishes and the result is
+ * downloaded. If the service cannot be reached, rejects the job or the job fails, the timetable
+ * is generated locally with the same generator so the caller always gets a result.
+ */
+public class RemoteTimetableGenerator implements TimetableGenerator {
+    private static final String TAG = "RemoteTimetableGen";
+    private static final Gson GSON = new Gson();
+
+    private static final int CONNECT_TIMEOUT_MS = 3000;
+    private static final int READ_TIMEOUT_MS = 15000;
+    private static final long POLL_INTERVAL_MS = 500;
+    private static final long DEFAULT_JOB_TIMEOUT_MS = 180000; // 3 minutes
+
+    /**
+     * Receives job progress while waiting for the service.
+     */
+    public interface ProgressListener {
+        void onProgress(JobStatus status);
+    }
+
+    private final String baseUrl;
+    private final String generatorName;
+    private final TimetableGenerator localGenerator;
+    private long jobTimeoutMs = DEFAULT_JOB_TIMEOUT_MS;
+    private ProgressListener progressListener;
+    private final Map<String, Integer> enrolments = new HashMap<>();
+    private GenerationReport lastReport;
+    private Timetable lastRemoteTimetable;
+    private boolean lastRunRemote;
+
+    /**
+     * @param baseUrl Service address, e.g. "http://10.0.2.2:8085"
+     * @param generatorName Name of the generator to run, see {@link TimetableGenerators}
+     */
+    public RemoteTimetableGenerator(String baseUrl, String generatorName) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.generatorName = generatorName;
+        this.localGenerator = TimetableGenerators.create(generatorName);
+    }
+
+    public void setProgressListener(ProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    public void setJobTimeoutMs(long jobTimeoutMs) {
+        this.jobTimeoutMs = jobTimeoutMs;
+    }
+
+    /**
+     * Sets how many students sit each course's exam, sent with the job and used by the local
+     * fallback. Only the exam generator reads them, see {@link ExamTimetableGenerator#setEnrolments}.
+     */
+    public void setEnrolments(Map<String, Integer> enrolments) {
+        this.enrolments.putAll(enrolments);
+        if (localGenerator instanceof ExamTimetableGenerator) {
+            ((ExamTimetableGenerator) localGenerator).setEnrolments(enrolments);
+        }
+    }
+
+    /**
+     * Gets the service's report for the last remote run, or null if the last run was local.
+     */
+    public GenerationReport getLastReport() {
+        return lastReport;
+    }
+
+    /**
+     * Checks whether the last timetable was produced by the service rather than the local fallback.
+     */
+    public boolean wasLastRunRemote() {
+        return lastRunRemote;
+    }
+
+    @Override
+    public Timetable generateTimetable(List<Resource> resources, List<Lecturer> lecturers, List<Course> courses) {
+        return generateTimetable(resources, lecturers, courses, new TimetableGeneratorOptions());
+    }
+
+    @Override
+    public Timetable generateTimetable(List<Resource> resources, List<Lecturer> lecturers, List<Course> courses,
+                                       TimetableGeneratorOptions options) {
+        lastReport = null;
+        lastRemoteTimetable = null;
+        lastRunRemote = false;
+        try {
+            SolveRequest request = new SolveRequest(generatorName, resources, lecturers, courses, options);
+            if (!enrolments.isEmpty()) {
+                request.setEnrolments(enrolments);
+            }
+            SolveResult result = solveRemotely(request);
+            if (result != null && result.getTimetable() != null) {
+                lastReport = result.getReport();
+                lastRemoteTimetable = result.getTimetable();
+                lastRunRemote = true;
+                return result.getTimetable();
+            }
+        } catch (IOException e) {
+            TimetableLog.w(TAG, "Solver service unavailable at " + baseUrl + ": " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            TimetableLog.w(TAG, "Interrupted while waiting for solver service");
+        }
+
+        TimetableLog.i(TAG, "Falling back to on-device " + generatorName + " generator");
+        return localGenerator.generateTimetable(resources, lecturers, courses, options);
+    }
+
+    private SolveResult solveRemotely(SolveRequest request) throws IOException, InterruptedException {
+        JobStatus status = request("POST", "/jobs", GSON.toJson(request), JobStatus.class);
+        String jobId = status.getId();
+        long deadline = System.currentTimeMillis() + jobTimeoutMs;
+
+        while (!status.isFinished()) {
+            notifyProgress(status);
+            if (System.currentTimeMillis() > deadline) {
+                request("DELETE", "/jobs/" + jobId, null, JobStatus.class);
+                throw new IOException("Job " + jobId + " did not finish within " + jobTimeoutMs + " ms");
+            }
+            Thread.sleep(POLL_INTERVAL_MS);
+            status = request("GET", "/jobs/" + jobId, null, JobStatus.class);
+        }
+        notifyProgress(status);
+
+        if (!JobStatus.DONE.equals(status.getState())) {
+            TimetableLog.w(TAG, "Job " + jobId + " ended as " + status.getState() + ": " + status.getError());
+            return null;
+        }
+        return request("GET", "/jobs/" + jobId + "/result", null, SolveResult.class);
+    }
+
+    private void notifyProgress(JobStatus status) {
+        if (progressListener != null) {
+            progressListener.onProgress(status);
+        }
+    }
+
+    private <T> T request(String method, String path, String body, Class<T> responseType) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+        try {
+            connection.setRequestMethod(method);
+            connection.setConnectTimeout(CONNECT_TIMEOUT_MS);
+            connection.setReadTimeout(READ_TIMEOUT_MS);
+            connection.setRequestProperty("Accept", "application/json");
+            if (body != null) {
+                byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+                connection.setDoOutput(true);
+                connection.setRequestProperty("Content-Type", "application/json; charset=utf-8");
+                connection.setFixedLengthStreamingMode(bytes.length);
+                try (OutputStream out = connection.getOutputStream()) {
+                    out.write(bytes);
+                }
+            }
+
+            int code = connection.getResponseCode();
+            if (code < 200 || code >= 300) {
+                throw new IOException(method + " " + path + " returned HTTP " + code);
+            }
+            try (InputStream in = connection.getInputStream();
+                 Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                return GSON.fromJson(reader, responseType);
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    /**
+     * Checks the last remote timetable with the service's own check, which ran against the
+     * generator's state on the server. Other timetables, e.g. from the local fallback, are
+     * checked by the local generator.
+     */
+    @Override
+    public boolean hasConflicts(Timetable timetable) {
+        if (timetable == lastRemoteTimetable && lastReport != null) {
+            return lastReport.hasConflicts();
+        }
+        return localGenerator.hasConflicts(timetable);
+    }
+}
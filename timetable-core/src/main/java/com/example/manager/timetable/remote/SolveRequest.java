@@ -0,0 +1,120 @@
+package com.example.manager.timetable.remote;
+
+import com.example.manager.admin.model.Resource;
+import com.example.manager.model.Lecturer;
+import com.example.manager.timetable.Course;
+import com.example.manager.timetable.ResourceFilter;
+import com.example.manager.timetable.RestartPolicy;
+import com.example.manager.timetable.RoomFilter;
+import com.example.manager.timetable.SearchStrategy;
+import com.example.manager.timetable.TimeGrid;
+import com.example.manager.timetable.TimetableGeneratorOptions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Body of a POST /jobs request to the solver service.
+ * Carries the generator inputs and the serialisable subset of TimetableGeneratorOptions.
+ * A {@link RoomFilter} travels as its excluded names and IDs; resources rejected by any other
+ * ResourceFilter are left out of the request instead. Exam enrolments are only read by the
+ * exam generator.
+ */
+public class SolveRequest {
+    private String generator;
+    private boolean avoidBackToBackClasses;
+    private boolean preferEvenDistribution;
+    private int maxHoursPerDay;
+    private TimeGrid timeGrid;
+    private SearchStrategy searchStrategy;
+    private RestartPolicy restartPolicy;
+    private Boolean nogoodRecording;
+    private Long seed;
+    private List<String> excludedRooms;
+    private List<Resource> resources;
+    private List<Lecturer> lecturers;
+    private List<Course> courses;
+    private Map<String, Integer> enrolments;
+
+    // Empty constructor for deserialization
+    public SolveRequest() {
+    }
+
+    public SolveRequest(String generator, List<Resource> resources, List<Lecturer> lecturers,
+                        List<Course> courses, TimetableGeneratorOptions options) {
+        this.generator = generator;
+        this.resources = resources;
+        ResourceFilter filter = options.getFilter();
+        if (filter instanceof RoomFilter) {
+            // Sorted, so the same filter always gives the same request body
+            this.excludedRooms = new ArrayList<>(((RoomFilter) filter).getExcludedRooms());
+            Collections.sort(this.excludedRooms);
+        } else if (filter != null) {
+            this.resources = new ArrayList<>();
+            for (Resource resource : resources) {
+                if (filter.shouldUseResource(resource)) {
+                    this.resources.add(resource);
+                }
+            }
+        }
+        this.lecturers = lecturers;
+        this.courses = courses;
+        this.avoidBackToBackClasses = options.shouldAvoidBackToBackClasses();
+        this.preferEvenDistribution = options.shouldPreferEvenDistribution();
+        this.maxHoursPerDay = options.getMaxHoursPerDay();
+        this.timeGrid = options.getTimeGrid();
+        this.searchStrategy = options.getSearchStrategy();
+        this.restartPolicy = options.getRestartPolicy();
+        this.nogoodRecording = options.shouldRecordNogoods();
+        this.seed = options.getSeed();
+    }
+
+    /**
+     * Rebuilds generator options from the request fields.
+     */
+    public TimetableGeneratorOptions toOptions() {
+        TimetableGeneratorOptions options = new TimetableGeneratorOptions(avoidBackToBackClasses, preferEvenDistribution,
+                maxHoursPerDay > 0 ? maxHoursPerDay : new TimetableGeneratorOptions().getMaxHoursPerDay());
+        // Requests from older clients have no grid and get the default one
+        options.setTimeGrid(timeGrid);
+        options.setSearchStrategy(searchStrategy);
+        options.setRestartPolicy(restartPolicy);
+        if (nogoodRecording != null) {
+            options.setNogoodRecording(nogoodRecording);
+        }
+        options.setSeed(seed);
+        if (excludedRooms != null && !excludedRooms.isEmpty()) {
+            options.setFilter(new RoomFilter(excludedRooms));
+        }
+        return options;
+    }
+
+    public String getGenerator() {
+        return generator;
+    }
+
+    public List<Resource> getResources() {
+        return resources;
+    }
+
+    public List<Lecturer> getLecturers() {
+        return lecturers;
+    }
+
+    public List<Course> getCourses() {
+        return courses;
+    }
+
+    /**
+     * Gets the number of students sitting each course's exam, or null if none were sent.
+     */
+    public Map<String, Integer> getEnrolments() {
+        return enrolments;
+    }
+
+    public void setEnrolments(Map<String, Integer> enrolments) {
+        this.enrolments = enrolments;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.manager.timetable.remote;
+
+import com.example.manager.timetable.GenerationReport;
+import com.example.manager.timetable.Timetable;
+
+/**
+ * Result of a finished solver service job, returned by GET /jobs/{id}/result.
+ */
+public class SolveResult {
+    private Timetable timetable;
+    private GenerationReport report;
+
+    // Empty constructor for deserialization
+    public SolveResult() {
+    }
+
+    public SolveResult(Timetable timetable, GenerationReport report) {
+        this.timetable = timetable;
+        this.report = report;
+    }
+
+    public Timetable getTimetable() {
+        return timetable;
+    }
+
+    public GenerationReport getReport() {
+        return report;
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.manager.timetable.scenario;
+
+import com.example.manager.admin.model.Resource;
+import com.example.manager.model.Lecturer;
+import com.example.manager.timetable.TimetableGeneratorOptions;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * A what-if variation of a base generation request, e.g. "close room A5" or "cap lecturers at
+ * 5 hours a day".
+ *
+ * A scenario can close resources, remove lecturers and change options. Courses are never
+ * changed, so every scenario of a run can share the same preprocessed course data.
+ */
+public final class Scenario {
+    private final String name;
+    private final Set<String> closedResources = new LinkedHashSet<>();
+    private final Set<String> removedLecturers = new LinkedHashSet<>();
+    private final List<Consumer<TimetableGeneratorOptions>> optionChanges = new ArrayList<>();
+
+    public Scenario(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Creates the scenario that leaves the base request unchanged.
+     */
+    public static Scenario base() {
+        return new Scenario("base");
+    }
+
+    /**
+     * Closes a resource, matched by ID or by name ignoring case.
+     */
+    public Scenario closeResource(String idOrName) {
+        closedResources.add(idOrName.trim().toLowerCase(Locale.ROOT));
+        return this;
+    }
+
+    /**
+     * Removes a lecturer, matched by ID or by name ignoring case.
+     */
+    public Scenario removeLecturer(String idOrName) {
+        removedLecturers.add(idOrName.trim().toLowerCase(Locale.ROOT));
+        return this;
+    }
+
+    /**
+     * Adds a change applied to a copy of the base options, e.g. {@code o -> o.setMaxHoursPerDay(5)}.
+     */
+    public Scenario withOptions(Consumer<TimetableGeneratorOptions> change) {
+        optionChanges.add(change);
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    List<Resource> applyToResources(List<Resource> resources) {
+        if (closedResources.isEmpty()) {
+            return resources;
+        }
+        List<Resource> open = new ArrayList<>(resources.size());
+        for (Resource resource : resources) {
+            if (!matches(closedResources, resource.getId(), resource.getName())) {
+                open.add(resource);
+            }
+        }
+        return open;
+    }
+
+    List<Lecturer> applyToLecturers(List<Lecturer> lecturers) {
+        if (removedLecturers.isEmpty()) {
+            return lecturers;
+        }
+        List<Lecturer> kept = new ArrayList<>(lecturers.size());
+        for (Lecturer lecturer : lecturers) {
+            if (!matches(removedLecturers, lecturer.getId(), lecturer.getName())) {
+                kept.add(lecturer);
+            }
+        }
+        return kept;
+    }
+
+    TimetableGeneratorOptions applyToOptions(TimetableGeneratorOptions base) {
+        TimetableGeneratorOptions options = new TimetableGeneratorOptions(base);
+        for (Consumer<TimetableGeneratorOptions> change : optionChanges) {
+            change.accept(options);
+        }
+        return options;
+    }
+
+    private static boolean matches(Set<String> keys, String id, String name) {
+        return (id != null && keys.contains(id.toLowerCase(Locale.ROOT)))
+                || (name != null && keys.contains(name.trim().toLowerCase(Locale.ROOT)));
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.manager.timetable.scenario;
+
+import com.example.manager.timetable.CompactTimetable;
+import com.example.manager.timetable.GenerationReport;
+import com.example.manager.timetable.Timetable;
+
+/**
+ * Outcome of one what-if scenario: the timetable, its report and a few quality measures that
+ * do not depend on the generator, so scenarios can be compared side by side. The timetable is
+ * held as a {@link CompactTimetable} since a comparison keeps every scenario's result alive.
+ */
+public final class ScenarioResult {
+    private final String scenario;
+    private final int resourceCount;
+    private final int lecturerCount;
+    private final CompactTimetable timetable;
+    private final GenerationReport report;
+    private final long elapsedMillis;
+    private final Throwable error;
+    private int busiestDay;
+    private int busiestLecturerDay;
+
+    ScenarioResult(String scenario, int resourceCount, int lecturerCount, Timetable timetable,
+                   GenerationReport report, long elapsedMillis) {
+        this.scenario = scenario;
+        this.resourceCount = resourceCount;
+        this.lecturerCount = lecturerCount;
+        this.timetable = CompactTimetable.of(timetable);
+        this.report = report;
+        this.elapsedMillis = elapsedMillis;
+        this.error = null;
+        measure();
+    }
+
+    ScenarioResult(String scenario, int resourceCount, int lecturerCount, Throwable error, long elapsedMillis) {
+        this.scenario = scenario;
+        this.resourceCount = resourceCount;
+        this.lecturerCount = lecturerCount;
+        this.timetable = null;
+        this.report = null;
+        this.elapsedMillis = elapsedMillis;
+        this.error = error;
+    }
+
+    // Sessions on the busiest day overall and on any lecturer's busiest day
+    private void measure() {
+        int days = 0;
+        for (int i = 0; i < timetable.size(); i++) {
+            days = Math.max(days, timetable.getDayCode(i) + 1);
+        }
+        int[] byDay = new int[days + 1]; // Last slot for sessions without a day
+        int[] byLecturerDay = new int[timetable.getLecturerCount() * (days + 1)];
+        for (int i = 0; i < timetable.size(); i++) {
+            int day = timetable.getDayCode(i) < 0 ? days : timetable.getDayCode(i);
+            busiestDay = Math.max(busiestDay, ++byDay[day]);
+            int lecturer = timetable.getLecturerCode(i);
+            if (lecturer >= 0 && timetable.getLecturerId(i) != null) {
+                busiestLecturerDay = Math.max(busiestLecturerDay, ++byLecturerDay[lecturer * (days + 1) + day]);
+            }
+        }
+    }
+
+    public String getScenario() {
+        return scenario;
+    }
+
+    public int getResourceCount() {
+        return resourceCount;
+    }
+
+    public int getLecturerCount() {
+        return lecturerCount;
+    }
+
+    /**
+     * Gets a new copy of the generated timetable, or null if the scenario failed.
+     */
+    public Timetable getTimetable() {
+        return timetable != null ? timetable.toTimetable() : null;
+    }
+
+    /**
+     * Gets the generated timetable in compact form, or null if the scenario failed.
+     */
+    public CompactTimetable getCompactTimetable() {
+        return timetable;
+    }
+
+    /**
+     * Gets the generation report, or null if the scenario failed.
+     */
+    public GenerationReport getReport() {
+        return report;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Gets the error that stopped the scenario, or null if it finished.
+     */
+    public Throwable getError() {
+        return error;
+    }
+
+    public int getBusiestDay() {
+        return busiestDay;
+    }
+
+    public int getBusiestLecturerDay() {
+        return busiestLecturerDay;
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.manager.timetable.scenario;
+
+import com.example.manager.admin.model.Resource;
+import com.example.manager.model.Lecturer;
+import com.example.manager.timetable.Course;
+import com.example.manager.timetable.GenerationReport;
+import com.example.manager.timetable.PreparedInput;
+import com.example.manager.timetable.Timetable;
+import com.example.manager.timetable.TimetableGenerator;
+import com.example.manager.timetable.TimetableGeneratorOptions;
+import com.example.manager.timetable.TimetableGenerators;
+import com.example.manager.timetable.TimetableLog;
+import com.example.manager.timetable.TimetableTrace;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Generates what-if scenarios of one base request concurrently and compares them.
+ *
+ * The base inputs are preprocessed once into a {@link PreparedInput} (interned IDs, compatible
+ * room bitsets and the student-group conflict graph) that every scenario reads. Scenarios run
+ * on a fixed pool of at most {@code threads} workers, each with a new generator instance. With a
+ * seed, each scenario gets its own seed split from it in scenario order, see
+ * {@link TimetableGeneratorOptions#workerSeeds}. Traces are disabled for scenario runs, since a
+ * trace records one run at a time.
+ */
+public final class ScenarioRunner {
+    private static final String TAG = "ScenarioRunner";
+
+    private final String generatorName;
+    private final int threads;
+    private long lastPrepareMicros;
+    private long lastWallMillis;
+
+    /**
+     * @param generatorName Name of the generator to run, see {@link TimetableGenerators}
+     * @param threads Maximum number of scenarios generated at the same time
+     * @throws IllegalArgumentException if no generator has that name
+     */
+    public ScenarioRunner(String generatorName, int threads) {
+        TimetableGenerators.create(generatorName); // Fail fast on unknown names
+        this.generatorName = generatorName;
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * Generates every scenario and returns the results in scenario order.
+     */
+    public List<ScenarioResult> run(List<Resource> resources, List<Lecturer> lecturers, List<Course> courses,
+                                    TimetableGeneratorOptions baseOptions, List<Scenario> scenarios)
+            throws InterruptedException {
+        long start = System.nanoTime();
+        PreparedInput prepared = PreparedInput.prepare(resources, lecturers, courses);
+        lastPrepareMicros = prepared.getElapsedMicros();
+
+        List<Callable<ScenarioResult>> tasks = new ArrayList<>(scenarios.size());
+        Long[] seeds = baseOptions.workerSeeds(scenarios.size());
+        for (int i = 0; i < scenarios.size(); i++) {
+            Scenario scenario = scenarios.get(i);
+            Long seed = seeds[i];
+            tasks.add(() -> generate(scenario, resources, lecturers, courses, baseOptions, seed, prepared));
+        }
+        List<ScenarioResult> results = new ArrayList<>(scenarios.size());
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, Math.max(1, scenarios.size())));
+        try {
+            List<Future<ScenarioResult>> futures = executor.invokeAll(tasks);
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    results.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    // generate() reports its own failures, so this is unexpected
+                    results.add(new ScenarioResult(scenarios.get(i).getName(), 0, 0, e.getCause(), 0));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        lastWallMillis = (System.nanoTime() - start) / 1_000_000;
+        TimetableLog.i(TAG, "Generated " + scenarios.size() + " scenarios with '" + generatorName + "' in "
+                + lastWallMillis + " ms");
+        return results;
+    }
+
+    private ScenarioResult generate(Scenario scenario, List<Resource> resources, List<Lecturer> lecturers,
+                                    List<Course> courses, TimetableGeneratorOptions baseOptions, Long seed,
+                                    PreparedInput prepared) {
+        List<Resource> scenarioResources = scenario.applyToResources(resources);
+        List<Lecturer> scenarioLecturers = scenario.applyToLecturers(lecturers);
+        TimetableGeneratorOptions options = scenario.applyToOptions(baseOptions);
+        options.setSeed(seed);
+        options.setTrace(TimetableTrace.DISABLED);
+        options.setPreparedInput(prepared);
+
+        long start = System.nanoTime();
+        try {
+            TimetableGenerator generator = TimetableGenerators.create(generatorName);
+            Timetable timetable = generator.generateTimetable(scenarioResources, scenarioLecturers, courses, options);
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            GenerationReport report = GenerationReport.create(generatorName, scenarioResources, scenarioLecturers,
+                    courses, options, timetable, generator.hasConflicts(timetable), elapsedMillis);
+            return new ScenarioResult(scenario.getName(), scenarioResources.size(), scenarioLecturers.size(),
+                    timetable, report, elapsedMillis);
+        } catch (RuntimeException e) {
+            TimetableLog.e(TAG, "Scenario " + scenario.getName() + " failed", e);
+            return new ScenarioResult(scenario.getName(), scenarioResources.size(), scenarioLecturers.size(), e,
+                    (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    /**
+     * Formats results as a Markdown comparison table, one row per scenario.
+     */
+    public static String compare(List<ScenarioResult> results) {
+        StringBuilder table = new StringBuilder();
+        table.append("| scenario | rooms | lecturers | sessions | conflicts | busiest day | busiest lecturer day "
+                + "| time (ms) |\n");
+        table.append("|---|---|---|---|---|---|---|---|\n");
+        for (ScenarioResult result : results) {
+            GenerationReport report = result.getReport();
+            if (report == null) {
+                table.append(String.format(Locale.ROOT, "| %s | %d | %d | failed: %s | | | | %d |%n",
+                        result.getScenario(), result.getResourceCount(), result.getLecturerCount(),
+                        result.getError(), result.getElapsedMillis()));
+                continue;
+            }
+            table.append(String.format(Locale.ROOT, "| %s | %d | %d | %d/%d | %s | %d | %d | %d |%n",
+                    result.getScenario(), result.getResourceCount(), result.getLecturerCount(),
+                    report.getScheduledSessions(), report.getRequiredSessions(), report.hasConflicts() ? "yes" : "no",
+                    result.getBusiestDay(), result.getBusiestLecturerDay(), result.getElapsedMillis()));
+        }
+        return table.toString();
+    }
+
+    /**
+     * Gets the time spent preprocessing the base inputs in the last run, shared by all its scenarios.
+     */
+    public long getLastPrepareMicros() {
+        return lastPrepareMicros;
+    }
+
+    /**
+     * Gets the wall-clock time of the last run, from preprocessing to the last scenario.
+     */
+    public long getLastWallMillis() {
+        return lastWallMillis;
+    }
+}
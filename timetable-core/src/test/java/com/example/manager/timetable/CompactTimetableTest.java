@@ -0,0 +1,112 @@
+package com.example.manager.timetable;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link CompactTimetable}.
+ */
+public class CompactTimetableTest {
+    private static final String UUID_ID = "0f8fad5b-d9cb-469f-a165-70867728950e";
+
+    private static TimetableSession session(String id, String courseId, String lecturerId, String roomId,
+                                            String day, String start, String end) {
+        String lecturerName = lecturerId == null ? null : "Lecturer " + lecturerId;
+        TimetableSession session = new TimetableSession(id, courseId, "Course " + courseId, lecturerId,
+                lecturerName, roomId, "Room " + roomId, day, start, end, "LECTURE");
+        session.setTimetableId("T1");
+        return session;
+    }
+
+    private static Timetable timetable() {
+        Timetable timetable = new Timetable("Spring", "2026");
+        timetable.addSession(session(UUID_ID, "C1", "L1", "R1", "Monday", "09:00", "10:00"));
+        timetable.addSession(session("manual-7", "C2", "L1", "R1", "Tuesday", "10:00", "11:00"));
+        timetable.addSession(session(UUID.randomUUID().toString(), "C1", "L2", "R2", "Monday", "11:00", "12:00"));
+        // Upper-case UUIDs do not print back identically, so they are kept as strings
+        timetable.addSession(session(UUID_ID.toUpperCase(), "C3", null, "R1", "Friday", "09:00", "10:00"));
+        TimetableSession empty = new TimetableSession();
+        timetable.addSession(empty);
+        return timetable;
+    }
+
+    private static void assertSameSession(TimetableSession expected, TimetableSession actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getCourseId(), actual.getCourseId());
+        assertEquals(expected.getCourseName(), actual.getCourseName());
+        assertEquals(expected.getLecturerId(), actual.getLecturerId());
+        assertEquals(expected.getLecturerName(), actual.getLecturerName());
+        assertEquals(expected.getResourceId(), actual.getResourceId());
+        assertEquals(expected.getResourceName(), actual.getResourceName());
+        assertEquals(expected.getDayOfWeek(), actual.getDayOfWeek());
+        assertEquals(expected.getStartTime(), actual.getStartTime());
+        assertEquals(expected.getEndTime(), actual.getEndTime());
+        assertEquals(expected.getSessionType(), actual.getSessionType());
+        assertEquals(expected.getTimetableId(), actual.getTimetableId());
+    }
+
+    @Test
+    public void roundTripKeepsEverySession() {
+        Timetable original = timetable();
+
+        Timetable copy = CompactTimetable.of(original).toTimetable();
+
+        assertEquals("Spring", copy.getAcademicTerm());
+        assertEquals("2026", copy.getAcademicYear());
+        assertEquals(original.getSessions().size(), copy.getSessions().size());
+        for (int i = 0; i < original.getSessions().size(); i++) {
+            assertSameSession(original.getSessions().get(i), copy.getSessions().get(i));
+        }
+    }
+
+    @Test
+    public void repeatedValuesShareCodes() {
+        CompactTimetable compact = CompactTimetable.of(timetable());
+
+        assertEquals(3, compact.getCourseCount());
+        assertEquals(2, compact.getLecturerCount());
+        assertEquals(2, compact.getRoomCount());
+        assertEquals(compact.getCourseCode(0), compact.getCourseCode(2));
+        assertEquals(compact.getLecturerCode(0), compact.getLecturerCode(1));
+        assertEquals(compact.getRoomCode(0), compact.getRoomCode(3));
+        assertEquals(compact.getDayCode(0), compact.getDayCode(2));
+        assertNotEquals(compact.getDayCode(0), compact.getDayCode(1));
+        assertEquals(-1, compact.getLecturerCode(3));
+        assertEquals(-1, compact.getCourseCode(4));
+        assertNull(compact.getId(4));
+    }
+
+    @Test
+    public void sessionsViewCreatesNewObjects() {
+        CompactTimetable compact = CompactTimetable.of(timetable());
+        List<TimetableSession> sessions = compact.sessions();
+
+        TimetableSession first = sessions.get(0);
+        first.setDayOfWeek("Sunday");
+
+        assertNotSame(first, sessions.get(0));
+        assertEquals("Monday", compact.getDayOfWeek(0));
+        assertEquals(5, sessions.size());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void sessionsViewChecksBounds() {
+        CompactTimetable.of(timetable()).sessions().get(5);
+    }
+
+    @Test
+    public void copyIsUnaffectedByLaterChanges() {
+        Timetable original = timetable();
+        CompactTimetable compact = CompactTimetable.of(original);
+
+        original.getSessions().get(0).setResourceId("R9");
+        original.addSession(session("late", "C9", "L9", "R9", "Monday", "13:00", "14:00"));
+
+        assertEquals("R1", compact.getResourceId(0));
+        assertEquals(5, compact.size());
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.manager.timetable;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ConflictIndex}.
+ */
+public class ConflictIndexTest {
+    private static final List<String> MONDAY = Collections.singletonList("Monday");
+    private static final List<String> MONDAY_WEDNESDAY = Arrays.asList("Monday", "Wednesday");
+
+    private final ConflictIndex index = new ConflictIndex();
+
+    @Test
+    public void overlappingTimesClashAndTouchingTimesDoNot() {
+        assertTrue(index.put("a", "R1", "L1", MONDAY_WEDNESDAY, "09:00", "10:30"));
+
+        assertFalse(index.isRoomFree("R1", MONDAY, "10:00", "11:00", null));
+        assertFalse(index.isLecturerFree("L1", Collections.singletonList("Wednesday"), "08:00", "09:05", null));
+        assertTrue(index.isRoomFree("R1", MONDAY, "10:30", "11:00", null));
+        assertTrue(index.isRoomFree("R1", MONDAY, "08:00", "09:00", null));
+        assertTrue(index.isRoomFree("R1", Collections.singletonList("Tuesday"), "09:00", "10:30", null));
+        assertTrue(index.isRoomFree("R2", MONDAY, "09:00", "10:30", null));
+        assertTrue(index.isLecturerFree("L2", MONDAY, "09:00", "10:30", null));
+    }
+
+    @Test
+    public void editedEntryDoesNotClashWithItself() {
+        index.put("a", "R1", "L1", MONDAY, "09:00-10:00");
+
+        assertTrue(index.isRoomFree("R1", MONDAY, "09:30", "10:30", "a"));
+        assertFalse(index.isRoomFree("R1", MONDAY, "09:30", "10:30", "b"));
+
+        index.put("b", "R1", "L2", MONDAY, "09:30-10:30");
+        assertFalse(index.isRoomFree("R1", MONDAY, "09:30", "10:00", "a"));
+    }
+
+    @Test
+    public void putWithSameKeyMovesTheEntry() {
+        index.put("a", "R1", "L1", MONDAY, "09:00", "10:00");
+        index.put("a", "R2", "L1", MONDAY, "11:00", "12:00");
+
+        assertEquals(1, index.size());
+        assertTrue(index.isRoomFree("R1", MONDAY, "09:00", "10:00", null));
+        assertTrue(index.isLecturerFree("L1", MONDAY, "09:00", "10:00", null));
+        assertFalse(index.isRoomFree("R2", MONDAY, "11:00", "12:00", null));
+        assertEquals("R2", index.get("a").getRoomId());
+    }
+
+    @Test
+    public void removeFreesTheSlots() {
+        index.put("a", "R1", "L1", MONDAY, "09:00", "10:00");
+
+        assertTrue(index.remove("a"));
+        assertFalse(index.remove("a"));
+        assertTrue(index.isRoomFree("R1", MONDAY, "09:00", "10:00", null));
+        assertNull(index.roomOccupant("R1", "Monday", "09:30"));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void unreadableEntriesAreNotIndexed() {
+        assertFalse(index.put("a", "R1", "L1", MONDAY, "10:00", "09:00"));
+        assertFalse(index.put("b", "R1", "L1", Collections.singletonList("Someday"), "09:00", "10:00"));
+        assertFalse(index.put("c", "R1", "L1", MONDAY, "09:00"));
+        assertFalse(index.put("d", "R1", "L1", Collections.<String>emptyList(), "09:00", "10:00"));
+
+        assertEquals(0, index.size());
+        assertTrue(index.isRoomFree("R1", MONDAY, "09:00", "10:00", null));
+    }
+
+    @Test
+    public void occupantIsHandedOverWhenTheOwnerLeaves() {
+        index.put("a", "R1", "L1", MONDAY, "09:00", "11:00");
+        index.put("b", "R1", "L2", MONDAY, "10:00", "12:00");
+        assertEquals("b", index.roomOccupant("R1", "Monday", "10:30"));
+
+        // Slots b owned that a still covers go back to a; the rest are free
+        index.remove("b");
+        assertEquals("a", index.roomOccupant("R1", "Monday", "10:30"));
+        assertNull(index.roomOccupant("R1", "Monday", "11:30"));
+        assertEquals("a", index.roomOccupant("R1", "Monday", "09:15"));
+
+        // With a as the only occupant again, editing a must not clash
+        assertTrue(index.isRoomFree("R1", MONDAY, "10:00", "11:00", "a"));
+    }
+
+    @Test
+    public void removingTheNonOwnerKeepsTheOwner() {
+        index.put("a", "R1", "L1", MONDAY, "09:00", "11:00");
+        index.put("b", "R1", "L2", MONDAY, "10:00", "12:00");
+
+        index.remove("a");
+
+        assertEquals("b", index.roomOccupant("R1", "Monday", "10:30"));
+        assertNull(index.roomOccupant("R1", "Monday", "09:30"));
+        assertTrue(index.isRoomFree("R1", MONDAY, "10:00", "12:00", "b"));
+    }
+
+    @Test
+    public void conflictsNameEveryClashingEntry() {
+        index.put("a", "R1", "L1", MONDAY, "09:00", "10:00");
+        index.put("b", "R2", "L2", MONDAY, "09:30", "10:30");
+        index.put("c", "R3", "L3", MONDAY, "09:00", "10:00");
+        index.put("d", "R1", "L2", MONDAY, "11:00", "12:00");
+
+        List<String> keys = index.conflictsWith("R1", "L2", MONDAY, "09:45", "10:15", null);
+        Collections.sort(keys);
+
+        assertEquals(Arrays.asList("a", "b"), keys);
+        assertEquals(Collections.singletonList("b"),
+                index.conflictsWith("R1", "L2", MONDAY, "09:45", "10:15", "a"));
+        assertTrue(index.conflictsWith("R1", "L2", MONDAY, "12:00", "13:00", null).isEmpty());
+    }
+
+    @Test
+    public void sessionsAreKeyedById() {
+        TimetableSession session = new TimetableSession("s1", "C1", "Course", "L1", "Lecturer", "R1", "Room",
+                "Friday", "14:00", "15:00", "LECTURE");
+
+        assertTrue(index.put(session));
+
+        assertEquals("s1", index.lecturerOccupant("L1", "Friday", "14:59"));
+        assertNull(index.lecturerOccupant("L1", "Friday", "15:00"));
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.manager.timetable;
+
+import org.jgrapht.graph.DefaultEdge;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link CourseConflictGraph}.
+ */
+public class CourseConflictGraphTest {
+
+    private static Course course(int index, String... groups) {
+        Course course = new Course("C" + index, "Course " + index, "C" + index, 3, "CS", 2, null, null, null);
+        course.setStudentGroups(Arrays.asList(groups));
+        return course;
+    }
+
+    @Test
+    public void groupCoursesFormAClique() {
+        List<Course> courses = Arrays.asList(course(0, "Y1"), course(1, "Y1"), course(2, "Y1"), course(3, "Y2"));
+
+        CourseConflictGraph conflicts = CourseConflictGraph.build(courses);
+
+        assertEquals(3, conflicts.getGraph().edgeSet().size());
+        assertTrue(conflicts.conflicts(0, 2));
+        assertFalse(conflicts.conflicts(0, 3));
+        assertArrayEquals(new int[] {0, 2}, conflicts.getNeighbours(1));
+        assertEquals(0, conflicts.getNeighbours(3).length);
+        assertEquals(1, conflicts.getCliques().size());
+        assertArrayEquals(new int[] {0, 1, 2}, conflicts.getCliques().get(0));
+    }
+
+    @Test
+    public void cliquesGrowBeyondASingleGroup() {
+        // Each pair shares a different group, so no group holds all three
+        List<Course> courses = Arrays.asList(course(0, "A", "C"), course(1, "A", "B"), course(2, "B", "C"));
+
+        CourseConflictGraph conflicts = CourseConflictGraph.build(courses);
+
+        assertEquals(1, conflicts.getCliques().size());
+        assertArrayEquals(new int[] {0, 1, 2}, conflicts.getCliques().get(0));
+    }
+
+    @Test
+    public void cliquesCoverEveryConflict() {
+        Random random = new Random(7);
+        List<Course> courses = new ArrayList<>();
+        for (int c = 0; c < 40; c++) {
+            courses.add(course(c, "G" + random.nextInt(15), "G" + random.nextInt(15)));
+        }
+
+        CourseConflictGraph conflicts = CourseConflictGraph.build(courses);
+
+        assertFalse(conflicts.isEmpty());
+        for (int[] clique : conflicts.getCliques()) {
+            for (int i = 0; i < clique.length; i++) {
+                for (int j = i + 1; j < clique.length; j++) {
+                    assertTrue(conflicts.conflicts(clique[i], clique[j]));
+                }
+            }
+        }
+        for (DefaultEdge edge : conflicts.getGraph().edgeSet()) {
+            int a = conflicts.getGraph().getEdgeSource(edge);
+            int b = conflicts.getGraph().getEdgeTarget(edge);
+            boolean covered = false;
+            for (int[] clique : conflicts.getCliques()) {
+                if (Arrays.binarySearch(clique, a) >= 0 && Arrays.binarySearch(clique, b) >= 0) {
+                    covered = true;
+                    break;
+                }
+            }
+            assertTrue("Edge " + a + "-" + b + " is not in any clique", covered);
+        }
+    }
+
+    @Test
+    public void cliquesContainedInOthersAreDropped() {
+        List<Course> courses = Arrays.asList(course(0, "Y1", "Y2"), course(1, "Y1", "Y2"), course(2, "Y2"));
+
+        CourseConflictGraph conflicts = CourseConflictGraph.build(courses);
+
+        assertEquals(1, conflicts.getCliques().size());
+        assertArrayEquals(new int[] {0, 1, 2}, conflicts.getCliques().get(0));
+    }
+
+    @Test
+    public void duplicateGroupsAreCountedOnce() {
+        // A group listed twice on one course must not make the course conflict with itself
+        List<Course> courses = Arrays.asList(course(0, "Y1", "Y1"), course(1, "Y1"), course(2, "Y3"),
+                course(3, "Y2", "Y2"));
+
+        CourseConflictGraph conflicts = CourseConflictGraph.build(courses);
+
+        assertEquals(1, conflicts.getGraph().edgeSet().size());
+        assertFalse(conflicts.conflicts(0, 0));
+        assertFalse(conflicts.conflicts(3, 3));
+        assertArrayEquals(new int[] {1}, conflicts.getNeighbours(0));
+        assertEquals(1, conflicts.getCliques().size());
+    }
+
+    @Test
+    public void groupsWithTheSameCoursesGiveOneClique() {
+        List<Course> courses = Arrays.asList(course(0, "Y1", "Y2"), course(1, "Y1", "Y2"));
+
+        CourseConflictGraph conflicts = CourseConflictGraph.build(courses);
+
+        assertEquals(1, conflicts.getGraph().edgeSet().size());
+        assertEquals(1, conflicts.getCliques().size());
+        assertArrayEquals(new int[] {0, 1}, conflicts.getCliques().get(0));
+    }
+
+    @Test
+    public void blankGroupsAreIgnored() {
+        List<Course> courses = Arrays.asList(course(0, "", null), course(1, "", null));
+
+        CourseConflictGraph conflicts = CourseConflictGraph.build(courses);
+
+        assertTrue(conflicts.isEmpty());
+        assertTrue(conflicts.getCliques().isEmpty());
+    }
+}
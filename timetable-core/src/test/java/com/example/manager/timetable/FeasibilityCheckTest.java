@@ -0,0 +1,123 @@
+package com.example.manager.timetable;
+
+import com.example.manager.admin.model.Resource;
+import com.example.manager.model.Lecturer;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link FeasibilityCheck} on a week of 5 days x 2 hours, which is 10 slots.
+ */
+public class FeasibilityCheckTest {
+    private final FeasibilityCheck check = new FeasibilityCheck(5, 2);
+    private final TimetableGeneratorOptions options = new TimetableGeneratorOptions(false, false, 2);
+
+    private static Resource room(String id, String type) {
+        return new Resource(id, "Room " + id, type, "30", "admin", "", "true");
+    }
+
+    private static Lecturer lecturer(String id) {
+        return new Lecturer(id, "Lecturer " + id, "", 0);
+    }
+
+    private static Course course(String id, int sessions, String roomType, String lecturerId, String resourceId) {
+        return new Course(id, "Course " + id, id, 3, "CS", sessions, roomType, lecturerId, resourceId);
+    }
+
+    @Test
+    public void inputWithinCapacityIsFeasible() {
+        List<Resource> rooms = Arrays.asList(room("R1", "LECTURE_HALL"), room("L1", "LAB"));
+        List<Lecturer> lecturers = Arrays.asList(lecturer("A"), lecturer("B"));
+        List<Course> courses = Arrays.asList(course("C1", 5, "LECTURE_HALL", "A", null),
+                course("C2", 5, "LAB", null, null), course("C3", 5, null, null, null));
+
+        FeasibilityCheck.Result result = check.check(rooms, lecturers, courses, options);
+
+        assertTrue(result.getBottlenecks().toString(), result.isFeasible());
+    }
+
+    @Test
+    public void pinnedLecturerOverloadIsReported() {
+        List<Course> courses = Collections.singletonList(course("C1", 11, null, "A", null));
+
+        FeasibilityCheck.Result result = check.check(Arrays.asList(room("R1", null), room("R2", null)),
+                Arrays.asList(lecturer("A"), lecturer("B")), courses, options);
+
+        FeasibilityCheck.Bottleneck bottleneck = only(result, FeasibilityCheck.Kind.LECTURER_LOAD);
+        assertEquals(Collections.singletonList("A"), bottleneck.getIds());
+        assertEquals(11, bottleneck.getDemand());
+        assertEquals(10, bottleneck.getCapacity());
+    }
+
+    @Test
+    public void lecturerPoolShortageIsReported() {
+        List<Course> courses = Arrays.asList(course("C1", 6, null, null, null), course("C2", 6, null, null, null));
+
+        FeasibilityCheck.Result result = check.check(Arrays.asList(room("R1", null), room("R2", null)),
+                Collections.singletonList(lecturer("A")), courses, options);
+
+        FeasibilityCheck.Bottleneck bottleneck = only(result, FeasibilityCheck.Kind.LECTURER_POOL);
+        assertEquals(12, bottleneck.getDemand());
+        assertEquals(10, bottleneck.getCapacity());
+    }
+
+    @Test
+    public void roomTypeShortageIsReported() {
+        List<Resource> rooms = Arrays.asList(room("L1", "LAB"), room("R1", "LECTURE_HALL"));
+        List<Course> courses = Arrays.asList(course("C1", 6, "LAB", null, null), course("C2", 6, "LAB", null, null));
+
+        FeasibilityCheck.Result result = check.check(rooms, Arrays.asList(lecturer("A"), lecturer("B")),
+                courses, options);
+
+        FeasibilityCheck.Bottleneck bottleneck = only(result, FeasibilityCheck.Kind.ROOM_TYPE);
+        assertEquals(Collections.singletonList("L1"), bottleneck.getIds());
+        assertEquals(12, bottleneck.getDemand());
+        assertEquals(10, bottleneck.getCapacity());
+    }
+
+    @Test
+    public void hallViolationNamesTheSaturatedGroup() {
+        // Two courses pinned to one room need 12 of its 10 slots; the free room cannot help them
+        List<Resource> rooms = Arrays.asList(room("R1", null), room("R2", null));
+        List<Course> courses = Arrays.asList(course("C1", 6, null, null, "R1"), course("C2", 6, null, null, "R1"),
+                course("C3", 2, null, null, null));
+
+        FeasibilityCheck.Result result = check.check(rooms, Arrays.asList(lecturer("A"), lecturer("B")),
+                courses, options);
+
+        FeasibilityCheck.Bottleneck bottleneck = only(result, FeasibilityCheck.Kind.ROOM_GROUP);
+        assertEquals(Arrays.asList("C1", "C2", "R1"), bottleneck.getIds());
+        assertEquals(12, bottleneck.getDemand());
+        assertEquals(10, bottleneck.getCapacity());
+    }
+
+    @Test
+    public void studentGroupCliqueOverSlotsIsReported() {
+        Course first = course("C1", 6, null, null, null);
+        Course second = course("C2", 5, null, null, null);
+        first.setStudentGroups(Collections.singletonList("Y1"));
+        second.setStudentGroups(Collections.singletonList("Y1"));
+
+        FeasibilityCheck.Result result = check.check(Arrays.asList(room("R1", null), room("R2", null)),
+                Arrays.asList(lecturer("A"), lecturer("B")), Arrays.asList(first, second), options);
+
+        FeasibilityCheck.Bottleneck bottleneck = only(result, FeasibilityCheck.Kind.STUDENT_GROUP);
+        assertEquals(Arrays.asList("C1", "C2"), bottleneck.getIds());
+        assertEquals(11, bottleneck.getDemand());
+        assertEquals(10, bottleneck.getCapacity());
+    }
+
+    private static FeasibilityCheck.Bottleneck only(FeasibilityCheck.Result result, FeasibilityCheck.Kind kind) {
+        assertFalse(result.isFeasible());
+        assertEquals(result.getBottlenecks().toString(), 1, result.getBottlenecks().size());
+        FeasibilityCheck.Bottleneck bottleneck = result.getBottlenecks().get(0);
+        assertEquals(kind, bottleneck.getKind());
+        return bottleneck;
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.manager.timetable;
+
+import com.example.manager.admin.model.Resource;
+import com.example.manager.model.Lecturer;
+import com.example.manager.timetable.exam.ExamTimetableGenerator;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link GenerationReport}.
+ */
+public class GenerationReportTest {
+    private static List<Resource> rooms() {
+        return Arrays.asList(
+                new Resource("R1", "Room 1", "CLASSROOM", "40", "admin", "", "yes"),
+                new Resource("R2", "Room 2", "CLASSROOM", "60", "admin", "", "yes"));
+    }
+
+    private static List<Course> courses(int count, int sessions) {
+        List<Course> courses = new ArrayList<>();
+        for (int c = 0; c < count; c++) {
+            Course course = new Course("C" + c, "Course " + c, "C" + c, 3, "CS", sessions);
+            course.setStudentGroups(Collections.singletonList("G" + c));
+            courses.add(course);
+        }
+        return courses;
+    }
+
+    private static TimetableGeneratorOptions options() {
+        TimetableGeneratorOptions options = new TimetableGeneratorOptions();
+        options.setTimeGrid(new TimeGrid(1, 60, 9 * 60, 13 * 60));
+        options.setSeed(1L);
+        return options;
+    }
+
+    @Test
+    public void splitExamCountsOnce() {
+        List<Course> courses = courses(3, 3);
+        ExamTimetableGenerator generator = new ExamTimetableGenerator();
+        generator.setMoveLimit(100);
+        generator.setEnrolment("C0", 90);
+        generator.setEnrolment("C1", 20);
+        generator.setEnrolment("C2", 20);
+        Timetable timetable = generator.generateTimetable(rooms(), Collections.<Lecturer>emptyList(), courses,
+                options());
+
+        GenerationReport report = GenerationReport.create(ExamTimetableGenerator.NAME, rooms(),
+                Collections.<Lecturer>emptyList(), courses, options(), timetable, generator.hasConflicts(timetable), 0);
+
+        // C0 needs both rooms, C1 and C2 share a room
+        assertEquals(4, timetable.getSessions().size());
+        assertEquals(3, report.getRequiredSessions());
+        assertEquals(3, report.getScheduledSessions());
+        assertTrue(report.isComplete());
+        assertTrue(report.getNotes().isEmpty());
+    }
+
+    @Test
+    public void unplacedExamIsMissing() {
+        List<Course> courses = courses(2, 3);
+        Timetable timetable = new Timetable();
+        timetable.addSession(new TimetableSession("s1", "C0", "Course 0", null, null, "R1", "Room 1", "Monday",
+                "09:00", "11:00", "EXAM"));
+
+        GenerationReport report = GenerationReport.create(ExamTimetableGenerator.NAME, rooms(),
+                Collections.<Lecturer>emptyList(), courses, options(), timetable, false, 0);
+
+        assertEquals(2, report.getRequiredSessions());
+        assertEquals(1, report.getScheduledSessions());
+        assertEquals(Collections.singletonMap("C1", 1), report.getMissingSessionsByCourse());
+        assertFalse(report.isComplete());
+    }
+
+    @Test
+    public void lectureRunsNeedEverySession() {
+        List<Course> courses = courses(1, 3);
+        Timetable timetable = new Timetable();
+        timetable.addSession(new TimetableSession("s1", "C0", "Course 0", null, null, "R1", "Room 1", "Monday",
+                "09:00", "10:00", "LECTURE"));
+
+        GenerationReport report = GenerationReport.create("simple", rooms(), Collections.<Lecturer>emptyList(),
+                courses, options(), timetable, false, 0);
+
+        assertEquals(3, report.getRequiredSessions());
+        assertEquals(Collections.singletonMap("C0", 2), report.getMissingSessionsByCourse());
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.manager.timetable;
+
+import com.example.manager.model.Lecturer;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link LecturerAssignment}.
+ */
+public class LecturerAssignmentTest {
+
+    private static List<Lecturer> lecturers(int count) {
+        List<Lecturer> lecturers = new ArrayList<>();
+        for (int l = 0; l < count; l++) {
+            lecturers.add(new Lecturer("L" + l, "Lecturer " + l, "", 0));
+        }
+        return lecturers;
+    }
+
+    private static Course course(String id, String department, int sessions, String lecturerId) {
+        return new Course(id, "Course " + id, id, 3, department, sessions, null, lecturerId, null);
+    }
+
+    private static Set<Integer> lecturersOf(LecturerAssignment assignment, int course, int sessions) {
+        Set<Integer> lecturers = new HashSet<>();
+        for (int s = 0; s < sessions; s++) {
+            lecturers.add(assignment.getLecturer(course, s));
+        }
+        return lecturers;
+    }
+
+    @Test
+    public void courseStaysWithOneLecturerWhenCapacityAllows() {
+        List<Course> courses = Arrays.asList(course("C1", "CS", 3, null), course("C2", "CS", 3, null),
+                course("C3", "CS", 3, null));
+
+        LecturerAssignment assignment = LecturerAssignment.compute(lecturers(3), courses,
+                new TimetableGeneratorOptions());
+
+        assertEquals(3, assignment.getAssignedCourses());
+        Set<Integer> used = new HashSet<>();
+        for (int c = 0; c < courses.size(); c++) {
+            Set<Integer> lecturers = lecturersOf(assignment, c, 3);
+            assertEquals("Course " + c + " was split", 1, lecturers.size());
+            used.addAll(lecturers);
+        }
+        // The load is spread a course at a time
+        assertEquals(3, used.size());
+        assertArrayEquals(new int[] {3, 3, 3}, assignment.getLoads());
+    }
+
+    @Test
+    public void departmentAffinityPicksTheLecturer() {
+        List<Course> courses = Arrays.asList(course("P1", "MATH", 2, "L1"), course("C1", "MATH", 3, null));
+
+        LecturerAssignment assignment = LecturerAssignment.compute(lecturers(2), courses,
+                new TimetableGeneratorOptions());
+
+        assertFalse(assignment.isAssigned(0));
+        assertEquals(-1, assignment.getLecturer(0, 0));
+        assertEquals(1, assignment.getAssignedCourses());
+        assertEquals(new HashSet<>(Arrays.asList(1)), lecturersOf(assignment, 1, 3));
+    }
+
+    @Test
+    public void courseMovesToALecturerWithRoom() {
+        // One hour a day gives every lecturer 5 sessions a week; L0 has 3 left after its pinned course
+        TimetableGeneratorOptions options = new TimetableGeneratorOptions(false, false, 1);
+        List<Course> courses = Arrays.asList(course("P1", "CS", 2, "L0"), course("C1", "CS", 4, null));
+
+        LecturerAssignment assignment = LecturerAssignment.compute(lecturers(2), courses, options);
+
+        assertEquals(new HashSet<>(Arrays.asList(1)), lecturersOf(assignment, 1, 4));
+        assertArrayEquals(new int[] {2, 4}, assignment.getLoads());
+    }
+
+    @Test
+    public void courseIsSplitOnlyWhenNoLecturerHasRoom() {
+        TimetableGeneratorOptions options = new TimetableGeneratorOptions(false, false, 1);
+        List<Course> courses = Arrays.asList(course("C1", "CS", 8, null));
+
+        LecturerAssignment assignment = LecturerAssignment.compute(lecturers(2), courses, options);
+
+        assertEquals(2, lecturersOf(assignment, 0, 8).size());
+        int[] loads = assignment.getLoads();
+        assertEquals(8, loads[0] + loads[1]);
+        assertEquals(5, Math.max(loads[0], loads[1]));
+    }
+}
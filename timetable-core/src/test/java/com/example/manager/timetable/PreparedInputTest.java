@@ -0,0 +1,64 @@
+package com.example.manager.timetable;
+
+import com.example.manager.admin.model.Resource;
+import com.example.manager.model.Lecturer;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link PreparedInput.Rooms}, which must agree with {@link RoomTypes#compatibleResources}.
+ */
+public class PreparedInputTest {
+    private final List<Resource> resources = Arrays.asList(room("H1", "LECTURE_HALL"), room("L1", "LAB"),
+            room("H2", "LECTURE_HALL"), room("L2", "COMPUTER_LAB"), room("S1", "SEMINAR_ROOM"));
+    private final List<Course> courses = Arrays.asList(course("C1", "LAB"), course("C2", "LECTURE_HALL"),
+            course("C3", null), course("C4", "STUDIO"));
+    private final PreparedInput prepared = PreparedInput.prepare(resources, Collections.<Lecturer>emptyList(), courses);
+
+    private static Resource room(String id, String type) {
+        return new Resource(id, "Room " + id, type, "30", "admin", "", "true");
+    }
+
+    private static Course course(String id, String roomType) {
+        return new Course(id, "Course " + id, id, 3, "CS", 2, roomType);
+    }
+
+    private void assertMatchesRoomTypes(List<Resource> list) {
+        PreparedInput.Rooms rooms = prepared.roomsFor(list);
+        for (Course course : courses) {
+            assertArrayEquals(course.getId() + " in " + list.size() + " rooms",
+                    RoomTypes.compatibleResources(course, list), rooms.compatible(course));
+        }
+    }
+
+    @Test
+    public void preparedListGivesTheSameRooms() {
+        assertMatchesRoomTypes(resources);
+    }
+
+    @Test
+    public void subsetGivesTheSameRooms() {
+        // Closing both labs leaves lab courses with the fallback of every room
+        assertMatchesRoomTypes(Arrays.asList(resources.get(0), resources.get(2), resources.get(4)));
+    }
+
+    @Test
+    public void reorderedAndUnpreparedRoomsGiveTheSameRooms() {
+        List<Resource> list = new ArrayList<>(resources);
+        Collections.reverse(list);
+        list.add(2, room("L9", "LAB"));
+        assertMatchesRoomTypes(list);
+    }
+
+    @Test
+    public void unpreparedCourseHasNoRooms() {
+        assertNull(prepared.roomsFor(resources).compatible(course("C1", "LAB")));
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.manager.timetable;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link RoomMatching}.
+ */
+public class RoomMatchingTest {
+
+    @Test
+    public void augmentingPathGivesEverySessionARoom() {
+        // A greedy choice of room 0 for session 0 would leave session 1 without a room
+        int[] slots = {0, 0};
+        int[][] rooms = {{0, 1}, {0}};
+
+        RoomMatching matching = RoomMatching.match(slots, rooms, 4);
+
+        assertEquals(0, matching.getUnmatched());
+        assertEquals(1, matching.getRoom(0));
+        assertEquals(0, matching.getRoom(1));
+        assertEquals(1, matching.getSlotsMatched());
+    }
+
+    @Test
+    public void sessionsInDifferentSlotsShareARoom() {
+        int[] slots = {0, 1, 3};
+        int[][] rooms = {{2}, {2}, {2}};
+
+        RoomMatching matching = RoomMatching.match(slots, rooms, 4);
+
+        assertEquals(0, matching.getUnmatched());
+        for (int s = 0; s < slots.length; s++) {
+            assertEquals(2, matching.getRoom(s));
+        }
+        assertEquals(3, matching.getSlotsMatched());
+    }
+
+    @Test
+    public void overfullSlotLeavesSessionsUnmatched() {
+        int[] slots = {1, 1, 1};
+        int[][] rooms = {{0, 1}, {0, 1}, {0, 1}};
+
+        RoomMatching matching = RoomMatching.match(slots, rooms, 2);
+
+        assertEquals(1, matching.getUnmatched());
+        assertNotEquals(matching.getRoom(0), matching.getRoom(1));
+    }
+
+    @Test
+    public void unplacedSessionsAreSkipped() {
+        int[] slots = {-1, 0};
+        int[][] rooms = {{0}, {0}};
+
+        RoomMatching matching = RoomMatching.match(slots, rooms, 1);
+
+        assertEquals(-1, matching.getRoom(0));
+        assertEquals(0, matching.getRoom(1));
+        assertEquals(0, matching.getUnmatched());
+    }
+
+    @Test
+    public void overlapUnionsCapTheSetsThatShareRooms() {
+        // Two sessions each on {0, 1} and {1, 2} fit both sets' own caps and all six rooms,
+        // but only three rooms can take them
+        List<Set<Integer>> family = Arrays.asList(rooms(0, 1), rooms(1, 2), rooms(3, 4, 5));
+        int[] slots = {0, 0, 0, 0};
+        int[][] compatible = {{0, 1}, {0, 1}, {1, 2}, {1, 2}};
+        assertEquals(1, RoomMatching.match(slots, compatible, 1).getUnmatched());
+
+        List<Set<Integer>> unions = RoomMatching.overlapUnions(family, 100);
+
+        assertEquals(family, unions.subList(0, 3));
+        assertTrue(unions.contains(rooms(0, 1, 2)));
+        assertEquals(4, unions.size());
+    }
+
+    @Test
+    public void overlapUnionsJoinChains() {
+        List<Set<Integer>> family = Arrays.asList(rooms(0, 1), rooms(1, 2), rooms(2, 3));
+
+        List<Set<Integer>> unions = RoomMatching.overlapUnions(family, 100);
+
+        assertTrue(unions.contains(rooms(0, 1, 2)));
+        assertTrue(unions.contains(rooms(1, 2, 3)));
+        assertTrue(unions.contains(rooms(0, 1, 2, 3)));
+        assertEquals(6, unions.size());
+    }
+
+    @Test
+    public void overlapUnionsStopAtTheLimit() {
+        List<Set<Integer>> family = Arrays.asList(rooms(0, 1), rooms(1, 2), rooms(2, 3), rooms(3, 4));
+
+        assertEquals(5, RoomMatching.overlapUnions(family, 5).size());
+        assertEquals(family, RoomMatching.overlapUnions(family, 2));
+    }
+
+    private static Set<Integer> rooms(Integer... rooms) {
+        return new HashSet<>(Arrays.asList(rooms));
+    }
+}
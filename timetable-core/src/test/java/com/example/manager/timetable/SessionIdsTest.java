@@ -0,0 +1,79 @@
+package com.example.manager.timetable;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link SessionIds}.
+ */
+public class SessionIdsTest {
+    private static TimetableSession session(String courseId, String resourceId, String day, String start) {
+        return new TimetableSession(SessionIds.random(), courseId, "Course " + courseId, "L1", "Lecturer 1",
+                resourceId, "Room " + resourceId, day, start, "10:00", "LECTURE");
+    }
+
+    private static Timetable timetable(TimetableSession... sessions) {
+        Timetable timetable = new Timetable();
+        for (TimetableSession session : sessions) {
+            timetable.addSession(session);
+        }
+        return timetable;
+    }
+
+    @Test
+    public void identicalSessionsGetDistinctIds() {
+        Timetable timetable = timetable(session("C1", "R1", "Monday", "09:00"), session("C1", "R1", "Monday", "09:00"),
+                session("C1", "R1", "Monday", "09:00"));
+
+        SessionIds.assign(timetable);
+
+        Set<String> ids = new HashSet<>();
+        for (TimetableSession session : timetable.getSessions()) {
+            ids.add(session.getId());
+        }
+        assertEquals(3, ids.size());
+    }
+
+    @Test
+    public void sameContentGivesSameIds() {
+        Timetable first = timetable(session("C1", "R1", "Monday", "09:00"), session("C1", "R1", "Monday", "09:00"),
+                session("C2", "R2", "Tuesday", "09:00"));
+        Timetable second = timetable(session("C1", "R1", "Monday", "09:00"), session("C1", "R1", "Monday", "09:00"),
+                session("C2", "R2", "Tuesday", "09:00"));
+
+        SessionIds.assign(first);
+        SessionIds.assign(second);
+
+        for (int i = 0; i < first.getSessions().size(); i++) {
+            assertEquals(first.getSessions().get(i).getId(), second.getSessions().get(i).getId());
+        }
+    }
+
+    @Test
+    public void contentChangesTheId() {
+        Timetable timetable = timetable(session("C1", "R1", "Monday", "09:00"), session("C1", "R2", "Monday", "09:00"),
+                session("C1", "R1", "Tuesday", "09:00"));
+
+        SessionIds.assign(timetable);
+
+        Set<String> ids = new HashSet<>();
+        for (TimetableSession session : timetable.getSessions()) {
+            ids.add(session.getId());
+        }
+        assertEquals(3, ids.size());
+    }
+
+    @Test
+    public void unseededOptionsKeepIds() {
+        TimetableSession session = session("C1", "R1", "Monday", "09:00");
+        String id = session.getId();
+
+        SessionIds.assign(timetable(session), new TimetableGeneratorOptions());
+
+        assertEquals(id, session.getId());
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.manager.timetable;
+
+import com.example.manager.admin.model.Resource;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link SessionMoves}.
+ */
+public class SessionMovesTest {
+    private static final TimeGrid WINDOW = new TimeGrid(5, 60, 9 * 60, 17 * 60);
+
+    private static TimetableSession session(String id, String courseId, String lecturerId, String roomId,
+                                            String day, String start, String end) {
+        return new TimetableSession(id, courseId, "Course " + courseId, lecturerId, "Lecturer " + lecturerId,
+                roomId, "Room " + roomId, day, start, end, "LECTURE");
+    }
+
+    private static List<TimetableSession> sessions() {
+        return Arrays.asList(session("a", "C1", "L1", "R1", "Monday", "09:00", "10:00"),
+                session("b", "C1", "L2", "R2", "Tuesday", "09:00", "10:00"),
+                session("c", "C2", "L3", "R2", "Monday", "11:00", "12:00"),
+                session("d", "C3", "L1", "R3", "Wednesday", "13:00", "15:00"));
+    }
+
+    private static RoomAvailability availability(List<String> r1Windows) {
+        Resource r1 = new Resource("R1", "Room R1", "LECTURE_HALL", "30", "admin", "", "true");
+        r1.setUnavailableWindows(r1Windows);
+        Resource r2 = new Resource("R2", "Room R2", "LECTURE_HALL", "30", "admin", "", "no");
+        TimetableGeneratorOptions options = new TimetableGeneratorOptions();
+        options.setTimeGrid(new TimeGrid(7, 5, 0, 24 * 60));
+        return RoomAvailability.compile(Arrays.asList(r1, r2), options);
+    }
+
+    @Test
+    public void verdictsNameTheClash() {
+        SessionMoves moves = new SessionMoves(sessions(), WINDOW, null);
+
+        assertEquals(SessionMoves.Verdict.FREE, moves.check("a", "Thursday", 9 * 60));
+        assertEquals(SessionMoves.Verdict.SAME_DAY, moves.check("a", "Tuesday", 14 * 60));
+        assertEquals(SessionMoves.Verdict.ROOM_BUSY, moves.check("b", "Monday", 11 * 60 + 30));
+        assertEquals(SessionMoves.Verdict.LECTURER_BUSY, moves.check("a", "Wednesday", 14 * 60));
+        // Moving within its own slot does not clash with itself
+        assertEquals(SessionMoves.Verdict.FREE, moves.check("a", "Monday", 9 * 60 + 30));
+    }
+
+    @Test
+    public void targetsOutsideTheWindowAreRejected() {
+        SessionMoves moves = new SessionMoves(sessions(), WINDOW, null);
+
+        assertEquals(SessionMoves.Verdict.FREE, moves.check("d", "Friday", 15 * 60));
+        assertEquals(SessionMoves.Verdict.OUTSIDE, moves.check("d", "Friday", 15 * 60 + 30));
+        assertEquals(SessionMoves.Verdict.OUTSIDE, moves.check("a", "Friday", 8 * 60));
+        assertEquals(SessionMoves.Verdict.OUTSIDE, moves.check("a", "Saturday", 10 * 60));
+        assertEquals(SessionMoves.Verdict.OUTSIDE, moves.check("a", "Someday", 10 * 60));
+        assertEquals(SessionMoves.Verdict.OUTSIDE, moves.check("x", "Monday", 10 * 60));
+        assertNull(moves.move("d", "Friday", 16 * 60));
+        assertEquals("Wednesday", moves.get("d").getDayOfWeek());
+    }
+
+    @Test
+    public void withoutAWindowAnyTimeOfAnyDayFits() {
+        SessionMoves moves = new SessionMoves(sessions());
+
+        assertEquals(SessionMoves.Verdict.FREE, moves.check("d", "Saturday", 22 * 60));
+        assertEquals(SessionMoves.Verdict.OUTSIDE, moves.check("d", "Saturday", 22 * 60 + 1));
+    }
+
+    @Test
+    public void closedRoomsAreRejected() {
+        SessionMoves moves = new SessionMoves(sessions(), WINDOW,
+                availability(Collections.singletonList("Thursday 10:30-11:00")));
+
+        assertEquals(SessionMoves.Verdict.FREE, moves.check("a", "Thursday", 9 * 60 + 30));
+        assertEquals(SessionMoves.Verdict.ROOM_CLOSED, moves.check("a", "Thursday", 10 * 60));
+        assertEquals(SessionMoves.Verdict.FREE, moves.check("a", "Thursday", 11 * 60));
+        // R2 is marked unavailable altogether
+        assertEquals(SessionMoves.Verdict.ROOM_CLOSED, moves.check("b", "Thursday", 9 * 60));
+        // R3 is not in the availability, so it counts as open
+        assertEquals(SessionMoves.Verdict.FREE, moves.check("d", "Thursday", 9 * 60));
+        assertNull(moves.move("a", "Thursday", 10 * 60));
+    }
+
+    @Test
+    public void targetsRateEveryCell() {
+        SessionMoves moves = new SessionMoves(sessions(), WINDOW,
+                availability(Collections.singletonList("Friday")));
+        TimeGrid grid = new TimeGrid(5, 60, 8 * 60, 18 * 60);
+
+        SessionMoves.Verdict[] targets = moves.targets("a", grid);
+
+        assertEquals(grid.getSlotCount(), targets.length);
+        assertEquals(SessionMoves.Verdict.OUTSIDE, targets[grid.slot(3, 0)]);
+        assertEquals(SessionMoves.Verdict.FREE, targets[grid.slot(3, 1)]);
+        assertEquals(SessionMoves.Verdict.FREE, targets[grid.slot(3, 8)]);
+        assertEquals(SessionMoves.Verdict.OUTSIDE, targets[grid.slot(3, 9)]);
+        assertEquals(SessionMoves.Verdict.SAME_DAY, targets[grid.slot(1, 3)]);
+        assertEquals(SessionMoves.Verdict.LECTURER_BUSY, targets[grid.slot(2, 5)]);
+        assertEquals(SessionMoves.Verdict.ROOM_CLOSED, targets[grid.slot(4, 3)]);
+        for (int s = 0; s < grid.getSlotsPerDay(); s++) {
+            assertEquals(targets[grid.slot(3, s)], moves.check("a", "Thursday", grid.startMinuteOf(s)));
+        }
+    }
+
+    @Test
+    public void moveUpdatesTheSessionAndTheIndex() {
+        SessionMoves moves = new SessionMoves(sessions(), WINDOW, null);
+
+        TimetableSession moved = moves.move("a", "Thursday", 14 * 60);
+
+        assertSame(moves.get("a"), moved);
+        assertEquals("Thursday", moved.getDayOfWeek());
+        assertEquals("14:00", moved.getStartTime());
+        assertEquals("15:00", moved.getEndTime());
+        // The old slot is free and the new one is taken
+        assertEquals(SessionMoves.Verdict.FREE, moves.check("c", "Monday", 9 * 60));
+        assertEquals(SessionMoves.Verdict.LECTURER_BUSY, moves.check("d", "Thursday", 13 * 60));
+        // C1 no longer meets on Monday, but now meets on Thursday
+        assertEquals(SessionMoves.Verdict.FREE, moves.check("b", "Monday", 14 * 60));
+        assertEquals(SessionMoves.Verdict.SAME_DAY, moves.check("b", "Thursday", 9 * 60));
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.manager.timetable;
+
+import com.example.manager.admin.model.Resource;
+import com.example.manager.model.Lecturer;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link SimpleTimetableGenerator}.
+ */
+public class SimpleTimetableGeneratorTest {
+    private final SimpleTimetableGenerator generator = new SimpleTimetableGenerator();
+
+    private static Timetable timetable(TimetableSession... sessions) {
+        Timetable timetable = new Timetable();
+        for (TimetableSession session : sessions) {
+            timetable.addSession(session);
+        }
+        return timetable;
+    }
+
+    private static TimetableSession session(String id, String lecturerId, String resourceId, String day,
+                                            String start, String end) {
+        return new TimetableSession(id, "C" + id, "Course " + id, lecturerId, lecturerId, resourceId, resourceId,
+                day, start, end, "LECTURE");
+    }
+
+    // Every session's ID, course, lecturer, room and start, in timetable order
+    private static List<String> placements(Timetable timetable) {
+        List<String> placements = new ArrayList<>();
+        for (TimetableSession session : timetable.getSessions()) {
+            placements.add(session.getId() + " " + session.getCourseId() + " " + session.getLecturerId() + " "
+                    + session.getResourceId() + " " + session.getDayOfWeek() + " " + session.getStartTime());
+        }
+        return placements;
+    }
+
+    private Timetable generate(Long seed) {
+        List<Resource> rooms = new ArrayList<>();
+        for (int r = 0; r < 4; r++) {
+            rooms.add(new Resource("R" + r, "Room " + r, "LECTURE_HALL", "30", "admin", "", "true"));
+        }
+        List<Lecturer> lecturers = Arrays.asList(new Lecturer("A", "Lecturer A", "", 0),
+                new Lecturer("B", "Lecturer B", "", 0), new Lecturer("C", "Lecturer C", "", 0));
+        List<Course> courses = new ArrayList<>();
+        for (int c = 0; c < 8; c++) {
+            courses.add(new Course("C" + c, "Course " + c, "C" + c, 3, "CS", 3));
+        }
+        TimetableGeneratorOptions options = new TimetableGeneratorOptions();
+        options.setSeed(seed);
+        return generator.generateTimetable(rooms, lecturers, courses, options);
+    }
+
+    @Test
+    public void sameSeedGivesSameTimetable() {
+        List<String> first = placements(generate(17L));
+        List<String> second = placements(generate(17L));
+
+        assertEquals(24, first.size());
+        assertEquals(first, second);
+    }
+
+    @Test
+    public void differentSeedGivesAnotherTimetable() {
+        assertNotEquals(placements(generate(17L)), placements(generate(18L)));
+    }
+
+    @Test
+    public void unseededRunsGetRandomIds() {
+        Timetable first = generate(null);
+        Timetable second = generate(null);
+
+        assertNotEquals(first.getSessions().get(0).getId(), second.getSessions().get(0).getId());
+    }
+
+    @Test
+    public void backToBackSessionsDoNotClash() {
+        assertFalse(generator.hasConflicts(timetable(
+                session("1", "L1", "R1", "Monday", "09:00", "10:00"),
+                session("2", "L1", "R1", "Monday", "10:00", "11:00"),
+                session("3", "L1", "R1", "Tuesday", "09:00", "10:00"))));
+    }
+
+    @Test
+    public void sessionInsideLongerSessionClashes() {
+        assertTrue(generator.hasConflicts(timetable(
+                session("1", "L1", "R1", "Monday", "09:00", "12:00"),
+                session("2", "L2", "R1", "Monday", "10:00", "11:00"))));
+    }
+
+    @Test
+    public void longSessionStaysBusyAfterShorterOnesElsewhere() {
+        // The lecturer's short session in another room ends first; the room stays busy until 12:00
+        assertTrue(generator.hasConflicts(timetable(
+                session("1", "L1", "R1", "Monday", "09:00", "12:00"),
+                session("2", "L2", "R2", "Monday", "09:00", "09:30"),
+                session("3", "L2", "R1", "Monday", "11:00", "11:30"))));
+        assertTrue(generator.hasConflicts(timetable(
+                session("1", "L1", "R1", "Monday", "09:00", "12:00"),
+                session("2", "L3", "R2", "Monday", "09:30", "10:00"),
+                session("3", "L1", "R3", "Monday", "11:30", "12:30"))));
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.manager.timetable;
+
+import com.example.manager.admin.model.Resource;
+import com.example.manager.model.Lecturer;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link SlotColouring} on a week of 5 days x 4 one-hour periods, which is 20 slots.
+ */
+public class SlotColouringTest {
+    private final TimetableGeneratorOptions options = new TimetableGeneratorOptions();
+
+    public SlotColouringTest() {
+        options.setTimeGrid(new TimeGrid(5, 60, 9 * 60, 13 * 60));
+    }
+
+    private static List<Resource> rooms(int count) {
+        List<Resource> rooms = new ArrayList<>();
+        for (int r = 0; r < count; r++) {
+            rooms.add(new Resource("R" + r, "Room " + r, "LECTURE_HALL", "30", "admin", "", "true"));
+        }
+        return rooms;
+    }
+
+    private static List<Lecturer> lecturers() {
+        return Arrays.asList(new Lecturer("A", "Lecturer A", "", 0), new Lecturer("B", "Lecturer B", "", 0));
+    }
+
+    private static Course course(String id, int sessions, String lecturerId) {
+        return new Course(id, "Course " + id, id, 3, "CS", sessions, null, lecturerId, null);
+    }
+
+    @Test
+    public void lowerBoundIsSessionsPerRoom() {
+        List<Course> courses = Arrays.asList(course("C1", 4, null), course("C2", 3, null));
+
+        SlotColouring colouring = SlotColouring.compute(rooms(2), lecturers(), courses, options);
+
+        assertEquals(4, colouring.getLowerBound());
+        assertEquals(20, colouring.getAvailableSlots());
+        assertTrue(colouring.isEnoughSlots());
+        assertTrue(colouring.fits());
+        assertTrue(colouring.getSlotsUsed() >= colouring.getLowerBound());
+    }
+
+    @Test
+    public void pinnedLecturerSessionsGetDistinctSlots() {
+        List<Course> courses = Arrays.asList(course("C1", 6, "A"), course("C2", 3, "A"), course("C3", 4, null));
+
+        SlotColouring colouring = SlotColouring.compute(rooms(3), lecturers(), courses, options);
+
+        assertEquals(9, colouring.getLowerBound());
+        assertTrue(colouring.fits());
+        Set<Integer> slots = new HashSet<>();
+        for (int c = 0; c < 2; c++) {
+            for (int s = 0; s < courses.get(c).getRequiredSessionsPerWeek(); s++) {
+                assertTrue("Lecturer A is double-booked",
+                        slots.add(colouring.getDay(c, s) * 100 + colouring.getPeriod(c, s)));
+            }
+        }
+    }
+
+    @Test
+    public void studentGroupCliqueSetsTheBound() {
+        Course first = course("C1", 5, null);
+        Course second = course("C2", 5, null);
+        first.setStudentGroups(Collections.singletonList("Y1"));
+        second.setStudentGroups(Collections.singletonList("Y1"));
+        List<Course> courses = Arrays.asList(first, second);
+
+        SlotColouring colouring = SlotColouring.compute(rooms(4), lecturers(), courses, options);
+
+        assertEquals(10, colouring.getLowerBound());
+        Set<Integer> slots = new HashSet<>();
+        for (int c = 0; c < 2; c++) {
+            for (int s = 0; s < 5; s++) {
+                assertTrue(slots.add(colouring.getDay(c, s) * 100 + colouring.getPeriod(c, s)));
+            }
+        }
+    }
+
+    @Test
+    public void slotsNeverHoldMoreSessionsThanRooms() {
+        List<Course> courses = Arrays.asList(course("C1", 5, null), course("C2", 5, null), course("C3", 5, null));
+
+        SlotColouring colouring = SlotColouring.compute(rooms(2), lecturers(), courses, options);
+
+        int[] perSlot = new int[1000];
+        for (int c = 0; c < courses.size(); c++) {
+            for (int s = 0; s < 5; s++) {
+                int day = colouring.getDay(c, s);
+                int period = colouring.getPeriod(c, s);
+                assertTrue(day >= 0 && day < 5);
+                assertTrue(period >= 0 && period < 4);
+                assertTrue(++perSlot[day * 100 + period] <= 2);
+            }
+        }
+    }
+
+    @Test
+    public void reportBoundLeavesOutClosedAndFilteredRooms() {
+        List<Course> courses = Arrays.asList(course("C1", 4, null), course("C2", 4, null));
+        List<Resource> resources = rooms(4);
+        resources.get(1).setIsAvailable("no");
+        options.setFilter(RoomFilter.parse("Room 2"));
+
+        GenerationReport report = GenerationReport.create("simple", resources, lecturers(), courses, options,
+                new Timetable(), false, 0);
+
+        // Only Room 0 and Room 3 take sessions, so 8 sessions need 4 slots
+        assertEquals(4, report.getSlotLowerBound());
+        assertEquals(SlotColouring.compute(RoomAvailability.compile(resources, options).getRooms(), lecturers(),
+                courses, options).getLowerBound(), report.getSlotLowerBound());
+        assertEquals(4, report.getResourceCount());
+    }
+
+    @Test
+    public void overloadedLecturerProvesTheWeekTooShort() {
+        List<Course> courses = Collections.singletonList(course("C1", 21, "A"));
+
+        SlotColouring colouring = SlotColouring.compute(rooms(2), lecturers(), courses, options);
+
+        assertEquals(21, colouring.getLowerBound());
+        assertFalse(colouring.isEnoughSlots());
+        assertFalse(colouring.fits());
+        assertEquals(-1, colouring.getDay(0, 0));
+        assertEquals(-1, colouring.getPeriod(0, 0));
+    }
+}
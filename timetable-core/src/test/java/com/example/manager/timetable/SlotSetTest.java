@@ -0,0 +1,111 @@
+package com.example.manager.timetable;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link SlotSet}.
+ */
+public class SlotSetTest {
+
+    @Test
+    public void sixtyFourSlotsFitOneWordAndSixtyFiveDoNot() {
+        assertEquals(SlotSet.create(1).getClass(), SlotSet.create(64).getClass());
+        assertNotEquals(SlotSet.create(64).getClass(), SlotSet.create(65).getClass());
+    }
+
+    @Test
+    public void lastSlotOfASingleWord() {
+        SlotSet slots = SlotSet.create(64);
+
+        slots.set(63);
+
+        assertTrue(slots.get(63));
+        assertFalse(slots.get(62));
+        assertEquals(1, slots.cardinality());
+        assertFalse(slots.isRangeClear(0, 64));
+        assertTrue(slots.isRangeClear(0, 63));
+        slots.clear(63);
+        assertEquals(0, slots.cardinality());
+    }
+
+    @Test
+    public void fullRangeOfASingleWord() {
+        SlotSet slots = SlotSet.create(64);
+
+        slots.setRange(0, 64);
+
+        assertEquals(64, slots.cardinality());
+        assertEquals(64, slots.countRange(0, 64));
+    }
+
+    @Test
+    public void sixtyFifthSlotIsInTheSecondWord() {
+        SlotSet slots = SlotSet.create(65);
+
+        slots.set(64);
+
+        assertTrue(slots.get(64));
+        assertFalse(slots.get(0));
+        assertEquals(1, slots.cardinality());
+        assertTrue(slots.isRangeClear(0, 64));
+        assertFalse(slots.isRangeClear(60, 65));
+    }
+
+    @Test
+    public void rangesSpanTheWordBoundary() {
+        SlotSet slots = SlotSet.create(130);
+
+        slots.setRange(62, 66);
+
+        for (int k = 62; k < 66; k++) {
+            assertTrue(slots.get(k));
+        }
+        assertFalse(slots.get(61));
+        assertFalse(slots.get(66));
+        assertEquals(4, slots.cardinality());
+        assertEquals(2, slots.countRange(60, 64));
+        assertEquals(2, slots.countRange(64, 70));
+        assertFalse(slots.isRangeClear(50, 63));
+        assertFalse(slots.isRangeClear(65, 80));
+        assertTrue(slots.isRangeClear(66, 130));
+        assertTrue(slots.isRangeClear(0, 62));
+    }
+
+    @Test
+    public void isRangeClearSeesABusySlotOnlyAcrossTheBoundary() {
+        SlotSet slots = SlotSet.create(128);
+        slots.set(64);
+
+        assertTrue(slots.isRangeClear(60, 64));
+        assertFalse(slots.isRangeClear(60, 65));
+        assertFalse(slots.isRangeClear(63, 128));
+    }
+
+    @Test
+    public void emptyRangesAreClear() {
+        SlotSet slots = SlotSet.create(65);
+        slots.setRange(0, 65);
+
+        assertTrue(slots.isRangeClear(10, 10));
+        assertEquals(0, slots.countRange(10, 10));
+        slots.setRange(5, 5);
+        assertEquals(65, slots.cardinality());
+    }
+
+    @Test
+    public void copiesAreIndependent() {
+        for (int size : new int[] {40, 100}) {
+            SlotSet slots = SlotSet.create(size);
+            slots.set(3);
+
+            SlotSet copy = slots.copy();
+            copy.set(size - 1);
+
+            assertTrue(copy.get(3));
+            assertFalse(slots.get(size - 1));
+            assertEquals(size, copy.size());
+        }
+    }
+}
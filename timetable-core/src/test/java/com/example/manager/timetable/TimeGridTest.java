@@ -0,0 +1,88 @@
+package com.example.manager.timetable;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link TimeGrid}.
+ */
+public class TimeGridTest {
+
+    @Test
+    public void defaultWeekFitsOneWord() {
+        assertEquals(40, TimeGrid.DEFAULT.getSlotCount());
+        assertEquals(SlotSet.create(64).getClass(), TimeGrid.DEFAULT.newSlotSet().getClass());
+    }
+
+    @Test
+    public void halfHourWeekNeedsSeveralWords() {
+        // Five days of 8:00-18:00 in half hours is 100 slots
+        TimeGrid grid = new TimeGrid(5, 30, 8 * 60, 18 * 60);
+        SlotSet slots = grid.newSlotSet();
+
+        slots.set(grid.slot(3, 4));
+
+        assertEquals(100, slots.size());
+        assertTrue(slots.get(64));
+        assertEquals(SlotSet.create(65).getClass(), slots.getClass());
+    }
+
+    @Test
+    public void slotOfDayAtOnAHalfHourGrid() {
+        TimeGrid grid = new TimeGrid(5, 30, 8 * 60 + 30, 17 * 60);
+
+        assertEquals(0, grid.slotOfDayAt(8 * 60 + 30));
+        assertEquals(0, grid.slotOfDayAt(8 * 60 + 59));
+        assertEquals(1, grid.slotOfDayAt(9 * 60));
+        assertEquals(16, grid.slotOfDayAt(16 * 60 + 45));
+        assertEquals(-1, grid.slotOfDayAt(8 * 60 + 29));
+        assertEquals(-1, grid.slotOfDayAt(17 * 60));
+    }
+
+    @Test
+    public void slotOfDayAtOnAFortyFiveMinuteGrid() {
+        TimeGrid grid = new TimeGrid(5, 45, 8 * 60, 17 * 60);
+
+        assertEquals(12, grid.getSlotsPerDay());
+        assertEquals(0, grid.slotOfDayAt(8 * 60 + 44));
+        assertEquals(1, grid.slotOfDayAt(8 * 60 + 45));
+        assertEquals(4, grid.slotOfDayAt(11 * 60));
+        assertEquals(11 * 60, grid.startMinuteOf(4));
+    }
+
+    @Test
+    public void weekSlotsRoundTrip() {
+        TimeGrid grid = new TimeGrid(6, 30, 9 * 60, 13 * 60);
+
+        int slot = grid.slot(4, 7);
+
+        assertEquals(39, slot);
+        assertEquals(4, grid.dayOf(slot));
+        assertEquals(7, grid.slotOfDay(slot));
+        assertEquals(48, grid.getSlotCount());
+    }
+
+    @Test
+    public void slotsForRoundsUp() {
+        TimeGrid grid = new TimeGrid(5, 30, 9 * 60, 17 * 60);
+
+        assertEquals(2, grid.slotsFor(60));
+        assertEquals(3, grid.slotsFor(61));
+        assertEquals(1, grid.slotsFor(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void windowMustBeWholeSlots() {
+        new TimeGrid(5, 45, 9 * 60, 17 * 60);
+    }
+
+    @Test
+    public void parsesAndFormatsTimes() {
+        assertEquals(9 * 60, TimeGrid.parseTime("9:00"));
+        assertEquals(9 * 60 + 30, TimeGrid.parseTime("09:30"));
+        assertEquals(14 * 60, TimeGrid.parseTime("14"));
+        assertEquals(-1, TimeGrid.parseTime("noon"));
+        assertEquals("08:05", TimeGrid.formatTime(8 * 60 + 5));
+    }
+}
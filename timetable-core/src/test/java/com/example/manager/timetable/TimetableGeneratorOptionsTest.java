@@ -0,0 +1,50 @@
+package com.example.manager.timetable;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the seed handling of {@link TimetableGeneratorOptions}.
+ */
+public class TimetableGeneratorOptionsTest {
+    private static TimetableGeneratorOptions seeded(Long seed) {
+        TimetableGeneratorOptions options = new TimetableGeneratorOptions();
+        options.setSeed(seed);
+        return options;
+    }
+
+    @Test
+    public void sameSeedGivesSameWorkerSeeds() {
+        Long[] first = seeded(42L).workerSeeds(8);
+
+        assertArrayEquals(first, seeded(42L).workerSeeds(8));
+        assertEquals(8, new HashSet<>(Arrays.asList(first)).size());
+    }
+
+    @Test
+    public void workerSeedsArePrefixesOfLongerRuns() {
+        assertArrayEquals(seeded(42L).workerSeeds(3), Arrays.copyOf(seeded(42L).workerSeeds(6), 3));
+    }
+
+    @Test
+    public void differentSeedGivesOtherWorkerSeeds() {
+        assertFalse(Arrays.equals(seeded(42L).workerSeeds(4), seeded(43L).workerSeeds(4)));
+    }
+
+    @Test
+    public void workerSeedsAreNullWithoutASeed() {
+        TimetableGeneratorOptions options = seeded(null);
+
+        assertFalse(options.isDeterministic());
+        assertArrayEquals(new Long[3], options.workerSeeds(3));
+    }
+
+    @Test
+    public void sameSeedGivesSameRandom() {
+        assertEquals(seeded(7L).newRandom().nextLong(), seeded(7L).newRandom().nextLong());
+    }
+}
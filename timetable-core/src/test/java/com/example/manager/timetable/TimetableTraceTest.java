@@ -0,0 +1,111 @@
+package com.example.manager.timetable;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link TimetableTrace}.
+ */
+public class TimetableTraceTest {
+
+    private static String[] dumpLines(TimetableTrace trace) throws IOException {
+        StringBuilder out = new StringBuilder();
+        trace.dump(out);
+        return out.toString().split("\n");
+    }
+
+    @Test
+    public void wrapsAroundKeepingTheNewestEvents() throws IOException {
+        TimetableTrace trace = new TimetableTrace(TimetableTrace.DETAIL, 4);
+        for (int i = 0; i < 6; i++) {
+            trace.record(TimetableTrace.Event.SESSION_MISSING_VALUE, i);
+        }
+
+        assertEquals(4, trace.size());
+        assertEquals(6, trace.getRecordedCount());
+        String[] lines = dumpLines(trace);
+        assertEquals(5, lines.length);
+        assertEquals("... 2 earlier events dropped", lines[0]);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(lines[i + 1], lines[i + 1].endsWith("SESSION_MISSING_VALUE session=" + (i + 2)));
+        }
+    }
+
+    @Test
+    public void wrapsAroundMoreThanOnce() throws IOException {
+        TimetableTrace trace = new TimetableTrace(TimetableTrace.DETAIL, 2);
+        for (int i = 0; i < 7; i++) {
+            trace.record(TimetableTrace.Event.ROOMS_MATCHED, i, i * 10, i * 100);
+        }
+
+        String[] lines = dumpLines(trace);
+
+        assertEquals("... 5 earlier events dropped", lines[0]);
+        assertTrue(lines[1].endsWith("ROOMS_MATCHED slots=5 unmatched=50 micros=500"));
+        assertTrue(lines[2].endsWith("ROOMS_MATCHED slots=6 unmatched=60 micros=600"));
+    }
+
+    @Test
+    public void capacityRoundsUpToAPowerOfTwo() {
+        TimetableTrace trace = new TimetableTrace(TimetableTrace.SUMMARY, 5);
+        for (int i = 0; i < 20; i++) {
+            trace.record(TimetableTrace.Event.SESSION_MISSING_VALUE, i);
+        }
+
+        assertEquals(8, trace.size());
+    }
+
+    @Test
+    public void eventsAboveTheLevelAreNotRecorded() {
+        TimetableTrace trace = new TimetableTrace(TimetableTrace.SUMMARY, 8);
+
+        trace.record(TimetableTrace.Event.SESSION_ASSIGNED, 1, 2, 3, 4);
+        trace.record(TimetableTrace.Event.SESSION_MISSING_VALUE, 1);
+
+        assertEquals(1, trace.getRecordedCount());
+        assertFalse(trace.isEnabled(TimetableTrace.DETAIL));
+        assertEquals(0, TimetableTrace.DISABLED.getRecordedCount());
+    }
+
+    @Test
+    public void clearStartsOver() throws IOException {
+        TimetableTrace trace = new TimetableTrace(TimetableTrace.DETAIL, 2);
+        for (int i = 0; i < 3; i++) {
+            trace.record(TimetableTrace.Event.SESSION_MISSING_VALUE, i);
+        }
+
+        trace.clear();
+        trace.record(TimetableTrace.Event.SESSION_MISSING_VALUE, 9);
+
+        String[] lines = dumpLines(trace);
+        assertEquals(1, lines.length);
+        assertTrue(lines[0].endsWith("session=9"));
+    }
+
+    @Test
+    public void dumpToLogWritesAtInfoLevel() {
+        TimetableTrace trace = new TimetableTrace(TimetableTrace.SUMMARY, 4);
+        trace.record(TimetableTrace.Event.SESSION_MISSING_VALUE, 3);
+        List<Integer> priorities = new ArrayList<>();
+        List<String> messages = new ArrayList<>();
+        TimetableLog.Sink previous = TimetableLog.getSink();
+        TimetableLog.setSink((priority, tag, message, error) -> {
+            priorities.add(priority);
+            messages.add(message);
+        });
+        try {
+            trace.dumpToLog();
+        } finally {
+            TimetableLog.setSink(previous);
+        }
+
+        assertEquals(1, priorities.size());
+        assertEquals(TimetableLog.INFO, (int) priorities.get(0));
+        assertTrue(messages.get(0).contains("SESSION_MISSING_VALUE session=3"));
+    }
+}
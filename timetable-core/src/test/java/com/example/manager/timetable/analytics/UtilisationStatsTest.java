@@ -0,0 +1,145 @@
+package com.example.manager.timetable.analytics;
+
+import com.example.manager.timetable.TimeGrid;
+import com.example.manager.timetable.TimetableSession;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link UtilisationStats}.
+ */
+public class UtilisationStatsTest {
+    private static final double DELTA = 1e-9;
+
+    // Monday to Friday, 9:00 to 17:00 in one-hour slots
+    private final TimeGrid grid = new TimeGrid(5, 60, 9 * 60, 17 * 60);
+    private final UtilisationStats stats = new UtilisationStats(grid);
+
+    private static TimetableSession session(String id, String lecturerId, String roomId,
+                                            String day, String start, String end) {
+        return new TimetableSession(id, "C1", "Course C1", lecturerId, "Lecturer " + lecturerId, roomId,
+                "Room " + roomId, day, start, end, "LECTURE");
+    }
+
+    @Test
+    public void roomOccupancyCountsEachBusySlotOnce() {
+        stats.put(session("a", "L1", "R1", "Monday", "09:00", "11:00"));
+        stats.put(session("b", "L2", "R1", "Monday", "10:00", "12:00"));
+
+        assertEquals(2, stats.getRoomLoad("R1", grid.slot(0, 1)));
+        assertEquals(2, stats.getRoomSessionCount("R1"));
+        assertEquals(3.0 / 40, stats.getRoomOccupancy("R1"), DELTA);
+        assertEquals(3.0 / 8, stats.getRoomDayOccupancy("R1", 0), DELTA);
+        assertEquals(0, stats.getRoomDayOccupancy("R1", 1), DELTA);
+        // Unused rooms count as empty
+        assertEquals(3.0 / 160, stats.getRoomOccupancy(4), DELTA);
+
+        stats.remove("a");
+        assertEquals(2.0 / 40, stats.getRoomOccupancy("R1"), DELTA);
+        assertEquals(1, stats.getRoomLoad("R1", grid.slot(0, 1)));
+    }
+
+    @Test
+    public void peakLoadFollowsAddsMovesAndRemoves() {
+        stats.put(session("a", "L1", "R1", "Monday", "09:00", "10:00"));
+        stats.put(session("b", "L2", "R2", "Monday", "09:00", "10:00"));
+        stats.put(session("c", "L3", "R3", "Tuesday", "09:00", "10:00"));
+
+        assertEquals(2, stats.getPeakLoad());
+        assertEquals(Collections.singletonList(grid.slot(0, 0)), stats.getPeakSlots());
+
+        // Moving b keeps the peak of 2, now on Tuesday
+        stats.put(session("b", "L2", "R2", "Tuesday", "09:00", "10:00"));
+        assertEquals(3, stats.size());
+        assertEquals(2, stats.getPeakLoad());
+        assertEquals(Collections.singletonList(grid.slot(1, 0)), stats.getPeakSlots());
+
+        stats.remove("c");
+        assertEquals(1, stats.getPeakLoad());
+        assertEquals(Arrays.asList(grid.slot(0, 0), grid.slot(1, 0)), stats.getPeakSlots());
+
+        stats.remove("a");
+        stats.remove("b");
+        assertEquals(0, stats.getPeakLoad());
+        assertTrue(stats.getPeakSlots().isEmpty());
+    }
+
+    @Test
+    public void peakLoadGrowsPastTheInitialHistogram() {
+        for (int i = 0; i < 12; i++) {
+            stats.put(session("s" + i, "L" + i, "R" + i, "Wednesday", "13:00", "14:00"));
+        }
+        assertEquals(12, stats.getPeakLoad());
+        assertEquals(12, stats.getSlotLoad(grid.slot(2, 4)));
+
+        stats.remove("s0");
+        assertEquals(11, stats.getPeakLoad());
+
+        stats.clear();
+        assertEquals(0, stats.size());
+        assertEquals(0, stats.getPeakLoad());
+        assertEquals(0, stats.getSlotLoad(grid.slot(2, 4)));
+        assertTrue(stats.getRooms().isEmpty());
+    }
+
+    @Test
+    public void lecturerGapsAreKeptPerDay() {
+        stats.put(session("a", "L1", "R1", "Monday", "09:00", "10:00"));
+        stats.put(session("b", "L1", "R2", "Monday", "12:00", "13:00"));
+
+        assertEquals(120, stats.getLecturerGapMinutes("L1"));
+        assertEquals(120, stats.getLecturerDayGapMinutes("L1", 0));
+
+        stats.put(session("c", "L1", "R1", "Monday", "10:00", "11:00"));
+        assertEquals(60, stats.getLecturerGapMinutes("L1"));
+
+        // Moving b to Tuesday closes Monday's gap and leaves Tuesday without one
+        stats.put(session("b", "L1", "R2", "Tuesday", "12:00", "13:00"));
+        assertEquals(0, stats.getLecturerGapMinutes("L1"));
+        assertEquals(0, stats.getLecturerDayGapMinutes("L1", 1));
+
+        stats.put(session("d", "L1", "R2", "Tuesday", "15:00", "16:00"));
+        assertEquals(120, stats.getLecturerDayGapMinutes("L1", 1));
+        stats.remove("d");
+        assertEquals(0, stats.getLecturerGapMinutes("L1"));
+
+        assertEquals(180, stats.getLecturerWeeklyMinutes("L1"));
+        assertEquals(120, stats.getLecturerDayMinutes("L1", 0));
+        assertEquals(60, stats.getLecturerDayMinutes("L1", 1));
+        assertEquals(3, stats.getLecturerSessionCount("L1"));
+    }
+
+    @Test
+    public void minutesOutsideTheGridCountOnlyAsTeaching() {
+        stats.put(session("a", "L1", "R1", "Saturday", "10:00", "12:00"));
+        stats.put(session("b", "L1", "R1", "Monday", "16:30", "18:00"));
+
+        assertEquals(210, stats.getLecturerWeeklyMinutes("L1"));
+        assertEquals(120, stats.getLecturerDayMinutes("L1", 5));
+        assertEquals(2, stats.getRoomSessionCount("R1"));
+        // Only Monday's 16:00 slot is inside the grid
+        assertEquals(1.0 / 40, stats.getRoomOccupancy("R1"), DELTA);
+        assertEquals(1, stats.getSlotLoad(grid.slot(0, 7)));
+        assertEquals(1, stats.getPeakLoad());
+    }
+
+    @Test
+    public void unreadableSessionsAreCountedWithoutSlots() {
+        assertFalse(stats.put(new TimetableSession()));
+        assertTrue(stats.put(session("a", "L1", "R1", "Someday", "09:00", "10:00")));
+        assertTrue(stats.put(session("b", "L1", "R1", "Monday", "10:00", "09:00")));
+
+        assertEquals(2, stats.size());
+        assertEquals(2, stats.getLecturerSessionCount("L1"));
+        assertEquals(0, stats.getLecturerWeeklyMinutes("L1"));
+        assertEquals(0, stats.getRoomOccupancy("R1"), DELTA);
+        assertEquals(0, stats.getPeakLoad());
+        assertTrue(stats.remove("a"));
+        assertFalse(stats.remove("a"));
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.manager.timetable.benchmark;
+
+import com.example.manager.timetable.Course;
+import com.example.manager.timetable.TimeGrid;
+import com.example.manager.timetable.Timetable;
+import com.example.manager.timetable.TimetableSession;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link CttFormat} on the bundled ITC-2007 "Toy" instance.
+ */
+public class CttFormatTest {
+
+    static BenchmarkInstance toy() throws IOException {
+        try (Reader reader = new InputStreamReader(
+                CttFormatTest.class.getResourceAsStream("/benchmarks/toy.ctt"), StandardCharsets.UTF_8)) {
+            return CttFormat.read(reader);
+        }
+    }
+
+    static TimetableSession lecture(BenchmarkInstance instance, String courseId, String roomId, int day, int period) {
+        TimeGrid grid = instance.getGrid();
+        String teacher = null;
+        for (Course course : instance.getCourses()) {
+            if (course.getId().equals(courseId)) {
+                teacher = course.getAssignedLecturerId();
+            }
+        }
+        int start = grid.startMinuteOf(period);
+        return new TimetableSession(null, courseId, courseId, teacher, teacher, roomId, roomId, grid.dayName(day),
+                TimeGrid.formatTime(start), TimeGrid.formatTime(start + 60), "LECTURE");
+    }
+
+    @Test
+    public void readsTheToyInstance() throws IOException {
+        BenchmarkInstance instance = toy();
+
+        assertEquals("Toy", instance.getName());
+        assertEquals(BenchmarkInstance.Format.CTT, instance.getFormat());
+        assertEquals(new TimeGrid(5, 60, 9 * 60, 13 * 60), instance.getGrid());
+        assertEquals(4, instance.getCourses().size());
+        assertEquals(3, instance.getResources().size());
+        assertEquals(4, instance.getLecturers().size());
+        assertEquals(2, instance.getCurricula().size());
+        assertEquals(Arrays.asList("SceCosC", "ArcTec", "TecCos"), instance.getCurricula().get("Cur1"));
+        assertEquals(Arrays.asList("TecCos", "Geotec"), instance.getCurricula().get("Cur2"));
+
+        int unavailable = 0;
+        for (Course course : instance.getCourses()) {
+            for (int slot = 0; slot < instance.getGrid().getSlotCount(); slot++) {
+                if (instance.isUnavailable(course.getId(), slot)) {
+                    unavailable++;
+                }
+            }
+        }
+        assertEquals(8, unavailable);
+        assertTrue(instance.isUnavailable("TecCos", instance.getGrid().slot(2, 0)));
+        assertTrue(instance.isUnavailable("ArcTec", instance.getGrid().slot(4, 3)));
+        assertFalse(instance.isUnavailable("ArcTec", instance.getGrid().slot(3, 3)));
+    }
+
+    @Test
+    public void coursesKeepTeacherCurriculaAndEnrolment() throws IOException {
+        BenchmarkInstance instance = toy();
+
+        Map<String, Course> courses = new HashMap<>();
+        int lectures = 0;
+        for (Course course : instance.getCourses()) {
+            courses.put(course.getId(), course);
+            lectures += course.getRequiredSessionsPerWeek();
+        }
+        assertEquals(16, lectures);
+        Course tecCos = courses.get("TecCos");
+        assertEquals("Rosa", tecCos.getAssignedLecturerId());
+        assertEquals(Arrays.asList("Cur1", "Cur2"), tecCos.getStudentGroups());
+        assertEquals(5, tecCos.getRequiredSessionsPerWeek());
+        assertEquals(40, instance.getStudents("TecCos"));
+        assertEquals(4, instance.getMinWorkingDays("TecCos"));
+        assertEquals(Collections.singletonList("Cur1"), courses.get("SceCosC").getStudentGroups());
+        assertEquals("50", instance.getResources().get(1).getCapacity());
+    }
+
+    @Test
+    public void solutionRoundTripKeepsEveryPlacedLecture() throws IOException {
+        BenchmarkInstance instance = toy();
+        Timetable placed = new Timetable();
+        placed.addSession(lecture(instance, "SceCosC", "A", 0, 0));
+        placed.addSession(lecture(instance, "ArcTec", "B", 0, 0));
+        placed.addSession(lecture(instance, "TecCos", "C", 1, 2));
+        placed.addSession(lecture(instance, "Geotec", "A", 4, 3));
+        Timetable timetable = new Timetable();
+        timetable.getSessions().addAll(placed.getSessions());
+        // Left out: no room, and a day the grid does not have
+        timetable.addSession(lecture(instance, "Geotec", null, 1, 0));
+        TimetableSession saturday = lecture(instance, "Geotec", "A", 0, 1);
+        saturday.setDayOfWeek("Saturday");
+        timetable.addSession(saturday);
+
+        StringWriter out = new StringWriter();
+        CttFormat.writeSolution(instance, timetable, out);
+
+        assertEquals("SceCosC A 0 0\nArcTec B 0 0\nTecCos C 1 2\nGeotec A 4 3\n", out.toString());
+
+        Timetable read = new Timetable();
+        for (String line : out.toString().split("\n")) {
+            String[] fields = line.split(" ");
+            read.addSession(lecture(instance, fields[0], fields[1], Integer.parseInt(fields[2]),
+                    Integer.parseInt(fields[3])));
+        }
+        assertEquals(placed.getSessions().size(), read.getSessions().size());
+        for (int i = 0; i < read.getSessions().size(); i++) {
+            TimetableSession expected = placed.getSessions().get(i);
+            TimetableSession actual = read.getSessions().get(i);
+            assertEquals(expected.getCourseId(), actual.getCourseId());
+            assertEquals(expected.getResourceId(), actual.getResourceId());
+            assertEquals(instance.slotOf(expected), instance.slotOf(actual));
+        }
+        assertEquals(CttPenalty.evaluate(instance, placed).toString(), CttPenalty.evaluate(instance, read).toString());
+    }
+
+    @Test(expected = IOException.class)
+    public void shortCurriculumIsRejected() throws IOException {
+        CttFormat.read(new StringReader("Name: Bad\nDays: 5\nPeriods_per_day: 4\n\nCURRICULA:\nCur1 3 A B\n\nEND.\n"));
+    }
+
+    @Test(expected = IOException.class)
+    public void missingHeaderIsRejected() throws IOException {
+        CttFormat.read(new StringReader("Name: Bad\nDays: 5\n\nEND.\n"));
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.manager.timetable.benchmark;
+
+import com.example.manager.timetable.Timetable;
+
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static com.example.manager.timetable.benchmark.CttFormatTest.lecture;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link CttPenalty} on hand-built timetables of the Toy instance.
+ *
+ * Toy has rooms A (32 seats), B (50) and C (40), curricula Cur1 = SceCosC, ArcTec, TecCos and
+ * Cur2 = TecCos, Geotec, and 16 lectures (3 + 3 + 5 + 5).
+ */
+public class CttPenaltyTest {
+
+    @Test
+    public void emptyTimetableOnlyMissesLectures() throws IOException {
+        CttPenalty penalty = CttPenalty.evaluate(CttFormatTest.toy(), new Timetable());
+
+        assertEquals(16, penalty.getUnscheduled());
+        assertEquals(16, penalty.getHardViolations());
+        assertEquals(0, penalty.getCompactness());
+        assertEquals(0, penalty.getRoomStability());
+        // 5 per missing working day: 3 + 2 + 4 + 4
+        assertEquals(65, penalty.getMinWorkingDays());
+        assertEquals(65, penalty.getSoftPenalty());
+    }
+
+    @Test
+    public void countsEveryTerm() throws IOException {
+        BenchmarkInstance instance = CttFormatTest.toy();
+        Timetable timetable = new Timetable();
+        // Ocra teaches SceCosC twice in one period and room A holds both
+        timetable.addSession(lecture(instance, "SceCosC", "A", 0, 0));
+        timetable.addSession(lecture(instance, "SceCosC", "A", 0, 0));
+        // Same Cur1 period as both SceCosC lectures
+        timetable.addSession(lecture(instance, "ArcTec", "B", 0, 0));
+        // Cur2 lectures in neighbouring periods are not isolated
+        timetable.addSession(lecture(instance, "TecCos", "C", 1, 2));
+        timetable.addSession(lecture(instance, "Geotec", "A", 1, 3));
+        // TecCos is unavailable on day 2 period 0, and its 40 students do not fit room A
+        timetable.addSession(lecture(instance, "TecCos", "A", 2, 0));
+
+        CttPenalty penalty = CttPenalty.evaluate(instance, timetable);
+
+        assertEquals(1 + 2 + 3 + 4, penalty.getUnscheduled());
+        // One teacher pair (Ocra) and two Cur1 pairs across courses; the SceCosC pair counts once
+        assertEquals(3, penalty.getConflicts());
+        assertEquals(1, penalty.getRoomOccupancy());
+        assertEquals(1, penalty.getUnavailable());
+        assertEquals(15, penalty.getHardViolations());
+
+        assertEquals(8, penalty.getRoomCapacity());
+        // Missing days: SceCosC 2, ArcTec 1, TecCos 2, Geotec 3
+        assertEquals(40, penalty.getMinWorkingDays());
+        // Cur1 is isolated on days 0, 1 and 2, Cur2 on day 2
+        assertEquals(8, penalty.getCompactness());
+        assertEquals(1, penalty.getRoomStability());
+        assertEquals(57, penalty.getSoftPenalty());
+    }
+
+    @Test
+    public void feasiblePlacementHasNoHardViolations() throws IOException {
+        BenchmarkInstance instance = CttFormatTest.toy();
+        Timetable timetable = new Timetable();
+        int[][] slots = {{0, 0}, {1, 0}, {2, 0}};
+        for (int[] slot : slots) {
+            timetable.addSession(lecture(instance, "SceCosC", "A", slot[0], slot[1]));
+            timetable.addSession(lecture(instance, "ArcTec", "B", slot[0], slot[1] + 1));
+        }
+        for (int day = 0; day < 5; day++) {
+            // TecCos is closed in periods 0-1 of day 2 and 2-3 of day 3
+            int period = day == 2 ? 2 : day == 3 ? 0 : 3;
+            timetable.addSession(lecture(instance, "TecCos", "C", day, period));
+            timetable.addSession(lecture(instance, "Geotec", "A", day, period == 3 ? 2 : 3));
+        }
+
+        CttPenalty penalty = CttPenalty.evaluate(instance, timetable);
+
+        assertEquals(penalty.toString(), 0, penalty.getHardViolations());
+        assertEquals(0, penalty.getRoomStability());
+        assertEquals(0, penalty.getMinWorkingDays());
+    }
+}
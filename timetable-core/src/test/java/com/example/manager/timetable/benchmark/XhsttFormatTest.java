@@ -0,0 +1,132 @@
+package com.example.manager.timetable.benchmark;
+
+import com.example.manager.timetable.Course;
+import com.example.manager.timetable.TimeGrid;
+import com.example.manager.timetable.Timetable;
+import com.example.manager.timetable.TimetableSession;
+
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link XhsttFormat} on the bundled small-school archive.
+ */
+public class XhsttFormatTest {
+
+    private static BenchmarkInstance school() throws IOException {
+        try (InputStream in = XhsttFormatTest.class.getResourceAsStream("/benchmarks/small-school.xml")) {
+            return XhsttFormat.read(in);
+        }
+    }
+
+    private static Map<String, Course> byId(BenchmarkInstance instance) {
+        Map<String, Course> courses = new HashMap<>();
+        for (Course course : instance.getCourses()) {
+            courses.put(course.getId(), course);
+        }
+        return courses;
+    }
+
+    @Test
+    public void readsTheSmallSchool() throws IOException {
+        BenchmarkInstance instance = school();
+
+        assertEquals("SmallSchool", instance.getName());
+        assertEquals(BenchmarkInstance.Format.XHSTT, instance.getFormat());
+        assertEquals(new TimeGrid(5, 60, 8 * 60, 14 * 60), instance.getGrid());
+        assertEquals(15, instance.getCourses().size());
+        assertEquals(3, instance.getResources().size());
+        assertEquals(4, instance.getLecturers().size());
+        assertEquals(3, instance.getCurricula().size());
+        assertEquals(Arrays.asList("C8-Mat", "C8-Eng", "C8-Sci", "C8-His", "C8-Art"),
+                instance.getCurricula().get("C8"));
+        assertEquals("Mo1", instance.getTimeId(0));
+        assertEquals("Fr6", instance.getTimeId(29));
+
+        // Every day has all six times, so no slot is unavailable
+        for (Course course : instance.getCourses()) {
+            for (int slot = 0; slot < instance.getGrid().getSlotCount(); slot++) {
+                assertFalse(instance.isUnavailable(course.getId(), slot));
+            }
+        }
+    }
+
+    @Test
+    public void eventsKeepPreassignedAndOpenResources() throws IOException {
+        BenchmarkInstance instance = school();
+        Map<String, Course> courses = byId(instance);
+
+        Course maths = courses.get("C7-Mat");
+        assertEquals(5, maths.getRequiredSessionsPerWeek());
+        assertEquals("T1", maths.getAssignedLecturerId());
+        assertNull(maths.getAssignedResourceId());
+        assertEquals(Collections.singletonList("C7"), maths.getStudentGroups());
+        assertEquals("Room", instance.getOpenRoomRole("C7-Mat"));
+        assertNull(instance.getOpenTeacherRole("C7-Mat"));
+
+        Course science = courses.get("C9-Sci");
+        assertEquals("Lab", science.getAssignedResourceId());
+        assertNull(instance.getOpenRoomRole("C9-Sci"));
+
+        Course art = courses.get("C8-Art");
+        assertNull(art.getAssignedLecturerId());
+        assertEquals("Teacher", instance.getOpenTeacherRole("C8-Art"));
+    }
+
+    @Test
+    public void solutionFillsTimesAndOpenRoles() throws Exception {
+        BenchmarkInstance instance = school();
+        TimeGrid grid = instance.getGrid();
+        Timetable timetable = new Timetable();
+        timetable.addSession(new TimetableSession(null, "C7-Art", "C7-Art", "T2", "Teacher 2", "R1", "R1",
+                grid.dayName(1), TimeGrid.formatTime(grid.startMinuteOf(2)), TimeGrid.formatTime(grid.startMinuteOf(3)),
+                "LECTURE"));
+        timetable.addSession(new TimetableSession(null, "C7-Sci", "C7-Sci", "T3", "Teacher 3", "Lab", "Lab",
+                grid.dayName(4), TimeGrid.formatTime(grid.startMinuteOf(5)), "14:00", "LECTURE"));
+        // Off the grid, so not written
+        timetable.addSession(new TimetableSession(null, "C7-Mat", "C7-Mat", "T1", "Teacher 1", "R2", "R2",
+                "Sunday", "08:00", "09:00", "LECTURE"));
+
+        StringWriter out = new StringWriter();
+        XhsttFormat.writeSolution(instance, timetable, "simple", out);
+
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        Document document = factory.newDocumentBuilder()
+                .parse(new ByteArrayInputStream(out.toString().getBytes(StandardCharsets.UTF_8)));
+        Element solution = (Element) document.getElementsByTagName("Solution").item(0);
+        assertEquals("SmallSchool", solution.getAttribute("Reference"));
+        NodeList events = solution.getElementsByTagName("Event");
+        assertEquals(2, events.getLength());
+
+        Element art = (Element) events.item(0);
+        assertEquals("C7-Art", art.getAttribute("Reference"));
+        assertEquals("Tu3", ((Element) art.getElementsByTagName("Time").item(0)).getAttribute("Reference"));
+        NodeList artResources = art.getElementsByTagName("Resource");
+        assertEquals(2, artResources.getLength());
+        assertEquals("R1", ((Element) artResources.item(0)).getAttribute("Reference"));
+        assertEquals("Room", artResources.item(0).getTextContent());
+        assertEquals("T2", ((Element) artResources.item(1)).getAttribute("Reference"));
+        assertEquals("Teacher", artResources.item(1).getTextContent());
+
+        // Lab and teacher are preassigned, so only the time is written
+        Element science = (Element) events.item(1);
+        assertEquals("Fr6", ((Element) science.getElementsByTagName("Time").item(0)).getAttribute("Reference"));
+        assertEquals(0, science.getElementsByTagName("Resource").getLength());
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.manager.timetable.cache;
+
+import com.example.manager.admin.model.Resource;
+import com.example.manager.model.Lecturer;
+import com.example.manager.timetable.Course;
+import com.example.manager.timetable.Timetable;
+import com.example.manager.timetable.TimetableGenerator;
+import com.example.manager.timetable.TimetableGeneratorOptions;
+import com.example.manager.timetable.TimetableSession;
+import com.example.manager.timetable.remote.RemoteTimetableGenerator;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link CachingTimetableGenerator}.
+ */
+public class CachingTimetableGeneratorTest {
+    private final List<Resource> resources = Collections.singletonList(
+            new Resource("R1", "Room 1", "LECTURE_HALL", "30", "admin", "", "true"));
+    private final List<Lecturer> lecturers = Collections.singletonList(new Lecturer("L1", "Lecturer 1", "", 0));
+    private final List<Course> courses = Collections.singletonList(
+            new Course("C1", "Course 1", "C1", 3, "CS", 1, null, "L1", null));
+
+    /**
+     * Delegate that returns a fixed timetable and counts its runs.
+     */
+    private static final class FixedGenerator implements TimetableGenerator {
+        private final boolean conflicts;
+        private int runs;
+
+        FixedGenerator(boolean conflicts) {
+            this.conflicts = conflicts;
+        }
+
+        @Override
+        public Timetable generateTimetable(List<Resource> resources, List<Lecturer> lecturers, List<Course> courses) {
+            return generateTimetable(resources, lecturers, courses, new TimetableGeneratorOptions());
+        }
+
+        @Override
+        public Timetable generateTimetable(List<Resource> resources, List<Lecturer> lecturers, List<Course> courses,
+                                           TimetableGeneratorOptions options) {
+            runs++;
+            Timetable timetable = new Timetable();
+            timetable.addSession(new TimetableSession("s1", "C1", "Course 1", "L1", "Lecturer 1",
+                    "R1", "Room 1", "Monday", "09:00", "10:00", "LECTURE"));
+            return timetable;
+        }
+
+        @Override
+        public boolean hasConflicts(Timetable timetable) {
+            return conflicts;
+        }
+    }
+
+    @Test
+    public void conflictFreeResultIsCached() {
+        FixedGenerator delegate = new FixedGenerator(false);
+        CachingTimetableGenerator generator = new CachingTimetableGenerator(delegate, "fixed", new TimetableCache(4));
+
+        generator.generateTimetable(resources, lecturers, courses);
+        assertFalse(generator.wasLastRunCached());
+        generator.generateTimetable(resources, lecturers, courses);
+
+        assertTrue(generator.wasLastRunCached());
+        assertEquals(1, delegate.runs);
+    }
+
+    @Test
+    public void resultWithConflictsIsNotCached() {
+        FixedGenerator delegate = new FixedGenerator(true);
+        CachingTimetableGenerator generator = new CachingTimetableGenerator(delegate, "fixed", new TimetableCache(4));
+
+        Timetable first = generator.generateTimetable(resources, lecturers, courses);
+        generator.generateTimetable(resources, lecturers, courses);
+
+        assertEquals(1, first.getSessions().size());
+        assertFalse(generator.wasLastRunCached());
+        assertEquals(2, delegate.runs);
+    }
+
+    @Test
+    public void onDeviceFallbackOfTheRemoteGeneratorIsNotCached() {
+        // Nothing listens on port 1, so every run falls back to the local generator
+        RemoteTimetableGenerator remote = new RemoteTimetableGenerator("http://127.0.0.1:1", "simple");
+        TimetableCache cache = new TimetableCache(4);
+        CachingTimetableGenerator generator = new CachingTimetableGenerator(remote, "simple", cache);
+
+        Timetable timetable = generator.generateTimetable(resources, lecturers, courses);
+        generator.generateTimetable(resources, lecturers, courses);
+
+        assertFalse(remote.wasLastRunRemote());
+        assertFalse(timetable.getSessions().isEmpty());
+        assertFalse(generator.wasLastRunCached());
+    }
+}
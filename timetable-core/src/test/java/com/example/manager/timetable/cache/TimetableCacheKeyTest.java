@@ -0,0 +1,131 @@
+package com.example.manager.timetable.cache;
+
+import com.example.manager.admin.model.Resource;
+import com.example.manager.model.Lecturer;
+import com.example.manager.timetable.Course;
+import com.example.manager.timetable.RestartPolicy;
+import com.example.manager.timetable.RoomFilter;
+import com.example.manager.timetable.SearchStrategy;
+import com.example.manager.timetable.TimeGrid;
+import com.example.manager.timetable.TimetableGeneratorOptions;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link TimetableCacheKey}.
+ */
+public class TimetableCacheKeyTest {
+
+    private static List<Resource> resources() {
+        return new ArrayList<>(Arrays.asList(
+                new Resource("R1", "Room 1", "CLASSROOM", "40", "admin", "Main", "yes"),
+                new Resource("R2", "Lab 1", "LAB", "30", "admin", "Main", "yes"),
+                new Resource("R3", "Gym", "CLASSROOM", "200", "admin", "Sports", "yes")));
+    }
+
+    private static List<Lecturer> lecturers() {
+        return new ArrayList<>(Arrays.asList(
+                new Lecturer("L1", "Lecturer 1", "", 0), new Lecturer("L2", "Lecturer 2", "", 2)));
+    }
+
+    private static List<Course> courses() {
+        Course first = new Course("C1", "Course 1", "CS101", 3, "CS", 2, null, "L1", null);
+        first.setStudentGroups(new ArrayList<>(Arrays.asList("Y1", "Y2")));
+        Course second = new Course("C2", "Course 2", "CS102", 3, "CS", 3, "LAB", null, null);
+        return new ArrayList<>(Arrays.asList(first, second));
+    }
+
+    private static String key(TimetableGeneratorOptions options) {
+        return TimetableCacheKey.compute("choco", resources(), lecturers(), courses(), options);
+    }
+
+    private static String keyWith(Consumer<TimetableGeneratorOptions> change) {
+        TimetableGeneratorOptions options = new TimetableGeneratorOptions();
+        change.accept(options);
+        return key(options);
+    }
+
+    @Test
+    public void keyIgnoresListOrder() {
+        List<Resource> resources = resources();
+        List<Lecturer> lecturers = lecturers();
+        List<Course> courses = courses();
+        String key = TimetableCacheKey.compute("choco", resources, lecturers, courses,
+                new TimetableGeneratorOptions());
+
+        Collections.reverse(resources);
+        Collections.reverse(lecturers);
+        Collections.reverse(courses);
+        Collections.reverse(courses.get(1).getStudentGroups());
+
+        assertEquals(key, TimetableCacheKey.compute("choco", resources, lecturers, courses,
+                new TimetableGeneratorOptions()));
+        assertEquals(64, key.length());
+    }
+
+    @Test
+    public void everyOptionChangesTheKey() {
+        List<String> keys = Arrays.asList(
+                keyWith(o -> { }),
+                keyWith(o -> o.setAvoidBackToBackClasses(!o.shouldAvoidBackToBackClasses())),
+                keyWith(o -> o.setPreferEvenDistribution(!o.shouldPreferEvenDistribution())),
+                keyWith(o -> o.setMaxHoursPerDay(o.getMaxHoursPerDay() + 1)),
+                keyWith(o -> o.setSearchStrategy(SearchStrategy.DOM_WDEG)),
+                keyWith(o -> o.setRestartPolicy(RestartPolicy.GEOMETRIC)),
+                keyWith(o -> o.setNogoodRecording(!o.shouldRecordNogoods())),
+                keyWith(o -> o.setSeed(1L)),
+                keyWith(o -> o.setSeed(2L)),
+                keyWith(o -> o.setTimeGrid(new TimeGrid(6, 60, 9 * 60, 17 * 60))),
+                keyWith(o -> o.setTimeGrid(new TimeGrid(5, 30, 9 * 60, 17 * 60))),
+                keyWith(o -> o.setTimeGrid(new TimeGrid(5, 60, 8 * 60, 17 * 60))),
+                keyWith(o -> o.setTimeGrid(new TimeGrid(5, 60, 9 * 60, 18 * 60))),
+                keyWith(o -> o.setFilter(RoomFilter.parse("gym"))));
+
+        assertEquals(keys.size(), keys.stream().distinct().count());
+        assertNotEquals(keys.get(0), TimetableCacheKey.compute("simple", resources(), lecturers(), courses(),
+                new TimetableGeneratorOptions()));
+    }
+
+    @Test
+    public void filterOnlyMattersForRoomsItRemoves() {
+        String unfiltered = keyWith(o -> { });
+
+        assertEquals(unfiltered, keyWith(o -> o.setFilter(RoomFilter.parse("a5"))));
+        assertEquals(keyWith(o -> o.setFilter(RoomFilter.parse("gym"))),
+                keyWith(o -> o.setFilter(RoomFilter.parse("R3"))));
+    }
+
+    @Test
+    public void everyInputFieldChangesTheKey() {
+        TimetableGeneratorOptions options = new TimetableGeneratorOptions();
+        String key = key(options);
+
+        List<Resource> resources = resources();
+        resources.get(0).setCapacity("41");
+        assertNotEquals(key, TimetableCacheKey.compute("choco", resources, lecturers(), courses(), options));
+
+        resources = resources();
+        resources.get(1).setUnavailableWindows(Collections.singletonList("Monday 09:00-11:00"));
+        assertNotEquals(key, TimetableCacheKey.compute("choco", resources, lecturers(), courses(), options));
+
+        List<Lecturer> lecturers = lecturers();
+        lecturers.set(1, new Lecturer("L2", "Lecturer 2", "", 3));
+        assertNotEquals(key, TimetableCacheKey.compute("choco", resources(), lecturers, courses(), options));
+
+        List<Course> courses = courses();
+        courses.get(1).setAssignedLecturerId("L2");
+        assertNotEquals(key, TimetableCacheKey.compute("choco", resources(), lecturers(), courses, options));
+
+        courses = courses();
+        courses.get(0).setStudentGroups(Collections.singletonList("Y1"));
+        assertNotEquals(key, TimetableCacheKey.compute("choco", resources(), lecturers(), courses, options));
+    }
+}
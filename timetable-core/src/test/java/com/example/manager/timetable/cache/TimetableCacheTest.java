@@ -0,0 +1,156 @@
+package com.example.manager.timetable.cache;
+
+import com.example.manager.timetable.Timetable;
+import com.example.manager.timetable.TimetableSession;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link TimetableCache}.
+ */
+public class TimetableCacheTest {
+
+    private static Timetable timetable(String courseId) {
+        Timetable timetable = new Timetable("Spring", "2026");
+        timetable.addSession(new TimetableSession("s1", courseId, "Course " + courseId, "L1", "Lecturer 1",
+                "R1", "Room 1", "Monday", "09:00", "10:00", "LECTURE"));
+        timetable.addSession(new TimetableSession("s2", courseId, "Course " + courseId, "L1", "Lecturer 1",
+                "R2", "Room 2", "Wednesday", "11:00", "12:00", "LECTURE"));
+        return timetable;
+    }
+
+    private static File newDirectory() throws IOException {
+        return Files.createTempDirectory("timetable-cache").toFile();
+    }
+
+    private static void delete(File directory) {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    @Test
+    public void missReturnsNull() {
+        assertNull(new TimetableCache(4).get("absent"));
+    }
+
+    @Test
+    public void hitReturnsAFreshCopy() {
+        TimetableCache cache = new TimetableCache(4);
+        Timetable original = timetable("C1");
+        cache.put("k", original);
+
+        // Neither the stored timetable nor an earlier hit shares state with the cache
+        original.getSessions().get(0).setDayOfWeek("Friday");
+        Timetable first = cache.get("k");
+        assertEquals("Monday", first.getSessions().get(0).getDayOfWeek());
+
+        first.getSessions().get(0).setDayOfWeek("Tuesday");
+        first.getSessions().remove(1);
+        Timetable second = cache.get("k");
+
+        assertNotSame(first, second);
+        assertEquals(2, second.getSessions().size());
+        assertEquals("Monday", second.getSessions().get(0).getDayOfWeek());
+        assertEquals("Spring", second.getAcademicTerm());
+    }
+
+    @Test
+    public void memoryEvictsLeastRecentlyUsed() {
+        TimetableCache cache = new TimetableCache(2);
+        cache.put("a", timetable("A"));
+        cache.put("b", timetable("B"));
+        assertNotNull(cache.get("a")); // b is now the eldest
+        cache.put("c", timetable("C"));
+
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("c"));
+    }
+
+    @Test
+    public void diskEntriesSurviveANewCache() throws IOException {
+        File directory = newDirectory();
+        try {
+            new TimetableCache(4, directory, 4).put("k", timetable("C1"));
+            assertTrue(new File(directory, "k.json").isFile());
+
+            Timetable loaded = new TimetableCache(4, directory, 4).get("k");
+
+            assertNotNull(loaded);
+            assertEquals(2, loaded.getSessions().size());
+            assertEquals("C1", loaded.getSessions().get(1).getCourseId());
+            assertEquals("Wednesday", loaded.getSessions().get(1).getDayOfWeek());
+        } finally {
+            delete(directory);
+        }
+    }
+
+    @Test
+    public void diskKeepsTheMostRecentEntries() throws IOException {
+        File directory = newDirectory();
+        try {
+            TimetableCache cache = new TimetableCache(1, directory, 2);
+            cache.put("a", timetable("A"));
+            cache.put("b", timetable("B"));
+            new File(directory, "a.json").setLastModified(System.currentTimeMillis() - 60_000);
+            new File(directory, "b.json").setLastModified(System.currentTimeMillis() - 30_000);
+            cache.put("c", timetable("C"));
+
+            assertFalse(new File(directory, "a.json").exists());
+            assertTrue(new File(directory, "b.json").exists());
+            assertTrue(new File(directory, "c.json").exists());
+            // b was evicted from memory but is still read back from disk
+            assertEquals("B", cache.get("b").getSessions().get(0).getCourseId());
+            assertNull(new TimetableCache(1, directory, 2).get("a"));
+        } finally {
+            delete(directory);
+        }
+    }
+
+    @Test
+    public void unreadableDiskEntryIsDropped() throws IOException {
+        File directory = newDirectory();
+        try {
+            File entry = new File(directory, "k.json");
+            try (FileOutputStream out = new FileOutputStream(entry)) {
+                out.write("{not json".getBytes(StandardCharsets.UTF_8));
+            }
+
+            assertNull(new TimetableCache(4, directory, 4).get("k"));
+            assertFalse(entry.exists());
+        } finally {
+            delete(directory);
+        }
+    }
+
+    @Test
+    public void clearEmptiesBothLevels() throws IOException {
+        File directory = newDirectory();
+        try {
+            TimetableCache cache = new TimetableCache(4, directory, 4);
+            cache.put("a", timetable("A"));
+            cache.put("b", timetable("B"));
+
+            cache.clear();
+
+            assertNull(cache.get("a"));
+            assertNull(cache.get("b"));
+            assertEquals(0, directory.listFiles().length);
+        } finally {
+            delete(directory);
+        }
+    }
+}
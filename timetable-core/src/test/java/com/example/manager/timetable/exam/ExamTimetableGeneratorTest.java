@@ -0,0 +1,323 @@
+package com.example.manager.timetable.exam;
+
+import com.example.manager.admin.model.Resource;
+import com.example.manager.model.Lecturer;
+import com.example.manager.timetable.Course;
+import com.example.manager.timetable.TimeGrid;
+import com.example.manager.timetable.Timetable;
+import com.example.manager.timetable.TimetableGeneratorOptions;
+import com.example.manager.timetable.TimetableSession;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ExamTimetableGenerator} on 80 exams of 16 student groups, 5 rooms and
+ * 5 days of four two-hour periods.
+ */
+public class ExamTimetableGeneratorTest {
+    private static final int EXAM_MINUTES = 120;
+    private static final TimeGrid GRID = new TimeGrid(5, 60, 9 * 60, 17 * 60);
+    private static final int PERIODS_PER_DAY = 4;
+
+    private final List<Resource> rooms = new ArrayList<>();
+    private final List<Course> courses = new ArrayList<>();
+    private final Map<String, Integer> enrolments = new HashMap<>();
+    private final Map<String, Integer> capacities = new HashMap<>();
+
+    public ExamTimetableGeneratorTest() {
+        int[] seats = {30, 60, 80, 120, 200};
+        for (int r = 0; r < seats.length; r++) {
+            rooms.add(new Resource("R" + r, "Room " + r, "CLASSROOM", Integer.toString(seats[r]), "admin", "", "yes"));
+            capacities.put("R" + r, seats[r]);
+        }
+        Random random = new Random(7);
+        for (int c = 0; c < 80; c++) {
+            Course course = new Course("C" + c, "Course " + c, "E" + c, 3, "Exams", 1);
+            int first = random.nextInt(16);
+            int second = (first + 1 + random.nextInt(15)) % 16;
+            course.setStudentGroups(Arrays.asList("G" + first, "G" + second));
+            courses.add(course);
+            // Every tenth exam has no enrolment and takes a room alone, and four are too big for one room
+            if (c % 20 == 5) {
+                enrolments.put(course.getId(), 260);
+            } else if (c % 10 != 0) {
+                enrolments.put(course.getId(), 10 + random.nextInt(100));
+            }
+        }
+    }
+
+    private ExamTimetableGenerator generator() {
+        ExamTimetableGenerator generator = new ExamTimetableGenerator();
+        generator.setExamMinutes(EXAM_MINUTES);
+        generator.setEnrolments(enrolments);
+        return generator;
+    }
+
+    private static TimetableGeneratorOptions options(Long seed) {
+        TimetableGeneratorOptions options = new TimetableGeneratorOptions();
+        options.setTimeGrid(GRID);
+        options.setSeed(seed);
+        return options;
+    }
+
+    private Timetable generate(ExamTimetableGenerator generator, TimetableGeneratorOptions options) {
+        return generator.generateTimetable(rooms, Collections.<Lecturer>emptyList(), courses, options);
+    }
+
+    private static int periodOf(TimetableSession session) {
+        int day = GRID.dayIndex(session.getDayOfWeek());
+        int start = TimeGrid.parseTime(session.getStartTime());
+        return day * PERIODS_PER_DAY + (start - GRID.getDayStartMinute()) / EXAM_MINUTES;
+    }
+
+    private static Map<String, Integer> periods(Timetable timetable) {
+        Map<String, Integer> periods = new HashMap<>();
+        for (TimetableSession session : timetable.getSessions()) {
+            Integer previous = periods.put(session.getCourseId(), periodOf(session));
+            assertTrue("Split exam sits in two periods", previous == null || previous == periodOf(session));
+        }
+        return periods;
+    }
+
+    // Every session's ID, exam, room and period, in timetable order
+    private static List<String> placements(Timetable timetable) {
+        List<String> placements = new ArrayList<>();
+        for (TimetableSession session : timetable.getSessions()) {
+            placements.add(session.getId() + " " + session.getCourseId() + " " + session.getResourceId() + " "
+                    + periodOf(session));
+        }
+        return placements;
+    }
+
+    private static boolean shareGroup(Course a, Course b) {
+        return !Collections.disjoint(a.getStudentGroups(), b.getStudentGroups());
+    }
+
+    // Spread penalty recounted from the sessions: 3 for consecutive periods, 1 for others on the same day
+    private int recount(Timetable timetable) {
+        Map<String, Integer> periods = periods(timetable);
+        int penalty = 0;
+        for (int i = 0; i < courses.size(); i++) {
+            for (int j = i + 1; j < courses.size(); j++) {
+                Integer p = periods.get(courses.get(i).getId());
+                Integer q = periods.get(courses.get(j).getId());
+                if (p == null || q == null || !shareGroup(courses.get(i), courses.get(j))
+                        || p / PERIODS_PER_DAY != q / PERIODS_PER_DAY) {
+                    continue;
+                }
+                penalty += Math.abs(p - q) == 1 ? 3 : 1;
+            }
+        }
+        return penalty;
+    }
+
+    @Test
+    public void examsSharingAGroupNeverShareAPeriod() {
+        ExamTimetableGenerator generator = generator();
+        generator.setMoveLimit(20000);
+
+        Timetable timetable = generate(generator, options(11L));
+
+        assertEquals(0, generator.getLastUnplaced());
+        Map<String, Integer> periods = periods(timetable);
+        assertEquals(courses.size(), periods.size());
+        for (int i = 0; i < courses.size(); i++) {
+            for (int j = i + 1; j < courses.size(); j++) {
+                if (shareGroup(courses.get(i), courses.get(j))) {
+                    assertNotEquals(courses.get(i).getId() + " and " + courses.get(j).getId(),
+                            periods.get(courses.get(i).getId()), periods.get(courses.get(j).getId()));
+                }
+            }
+        }
+        assertFalse(generator.hasConflicts(timetable));
+    }
+
+    @Test
+    public void roomSeatsAreNeverExceeded() {
+        ExamTimetableGenerator generator = generator();
+        generator.setMoveLimit(20000);
+
+        Timetable timetable = generate(generator, options(12L));
+
+        Map<String, Integer> roomsPerExam = new HashMap<>();
+        for (TimetableSession session : timetable.getSessions()) {
+            roomsPerExam.merge(session.getCourseId(), 1, Integer::sum);
+        }
+        Map<String, List<String>> examsPerRoom = new HashMap<>();
+        for (TimetableSession session : timetable.getSessions()) {
+            examsPerRoom.computeIfAbsent(periodOf(session) + "|" + session.getResourceId(), k -> new ArrayList<>())
+                    .add(session.getCourseId());
+        }
+        Map<String, Integer> seatsPerExam = new HashMap<>();
+        for (Map.Entry<String, List<String>> entry : examsPerRoom.entrySet()) {
+            String room = entry.getKey().substring(entry.getKey().indexOf('|') + 1);
+            List<String> exams = entry.getValue();
+            if (exams.size() > 1) {
+                int students = 0;
+                for (String exam : exams) {
+                    assertTrue(exam + " shares a room without an enrolment", enrolments.containsKey(exam));
+                    assertEquals(exam + " shares a room while split", 1, (int) roomsPerExam.get(exam));
+                    students += enrolments.get(exam);
+                }
+                assertTrue(entry.getKey() + " holds " + students, students <= capacities.get(room));
+            }
+            for (String exam : exams) {
+                seatsPerExam.merge(exam, capacities.get(room), Integer::sum);
+            }
+        }
+        for (Map.Entry<String, Integer> entry : enrolments.entrySet()) {
+            assertTrue(entry.getKey() + " has too few seats", seatsPerExam.get(entry.getKey()) >= entry.getValue());
+        }
+        int largest = Collections.max(capacities.values());
+        for (Map.Entry<String, Integer> entry : enrolments.entrySet()) {
+            if (entry.getValue() > largest) {
+                assertTrue(entry.getKey() + " is not split", roomsPerExam.get(entry.getKey()) > 1);
+            }
+        }
+    }
+
+    @Test
+    public void constructionPenaltyMatchesRecount() {
+        ExamTimetableGenerator generator = generator();
+        generator.setMoveLimit(0);
+
+        Timetable timetable = generate(generator, options(3L));
+
+        assertEquals(0, generator.getLastMoves());
+        assertEquals(generator.getLastInitialPenalty(), generator.getLastPenalty());
+        assertEquals(recount(timetable), generator.getLastInitialPenalty());
+    }
+
+    @Test
+    public void kempeSearchPenaltyMatchesRecount() {
+        ExamTimetableGenerator generator = generator();
+        generator.setMoveLimit(50000);
+
+        Timetable timetable = generate(generator, options(5L));
+
+        assertTrue(generator.getLastMoves() > 0);
+        assertEquals(recount(timetable), generator.getLastPenalty());
+        assertTrue(generator.getLastPenalty() <= generator.getLastInitialPenalty());
+        assertFalse(generator.hasConflicts(timetable));
+    }
+
+    @Test
+    public void timedSearchPenaltyMatchesRecount() {
+        ExamTimetableGenerator generator = generator();
+        generator.setTimeLimitMs(300);
+
+        Timetable timetable = generate(generator, options(null));
+
+        assertEquals(recount(timetable), generator.getLastPenalty());
+        assertFalse(generator.hasConflicts(timetable));
+    }
+
+    @Test
+    public void interruptStopsTheSearch() {
+        ExamTimetableGenerator generator = generator();
+        generator.setMoveLimit(Long.MAX_VALUE);
+
+        Thread.currentThread().interrupt();
+        Timetable timetable;
+        try {
+            timetable = generate(generator, options(6L));
+        } finally {
+            Thread.interrupted();
+        }
+
+        // Construction still places every exam; only the search stops
+        assertEquals(0, generator.getLastMoves());
+        assertEquals(0, generator.getLastUnplaced());
+        assertEquals(recount(timetable), generator.getLastPenalty());
+    }
+
+    @Test
+    public void closedRoomIsNotUsed() {
+        Resource hall = rooms.get(rooms.size() - 1);
+        hall.setUnavailableWindows(Arrays.asList("Monday", "Tuesday 13:00-14:00"));
+        ExamTimetableGenerator generator = generator();
+        generator.setMoveLimit(20000);
+
+        Timetable timetable = generate(generator, options(9L));
+
+        Set<Integer> hallPeriods = new HashSet<>();
+        for (TimetableSession session : timetable.getSessions()) {
+            if (hall.getId().equals(session.getResourceId())) {
+                hallPeriods.add(periodOf(session));
+            }
+        }
+        assertFalse(hallPeriods.isEmpty());
+        for (int period : hallPeriods) {
+            assertTrue("Hall used on Monday", period >= PERIODS_PER_DAY);
+            assertNotEquals("Hall used in Tuesday's 13:00 exam", PERIODS_PER_DAY + 2, period);
+        }
+    }
+
+    @Test
+    public void sameSeedGivesSameTimetable() {
+        ExamTimetableGenerator generator = generator();
+        generator.setMoveLimit(5000);
+
+        List<String> first = placements(generate(generator, options(21L)));
+        List<String> second = placements(generate(generator, options(21L)));
+
+        assertEquals(first, second);
+    }
+
+    @Test
+    public void differentSeedGivesAnotherTimetable() {
+        ExamTimetableGenerator generator = generator();
+        generator.setMoveLimit(5000);
+
+        List<String> first = placements(generate(generator, options(21L)));
+        List<String> second = placements(generate(generator, options(22L)));
+
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    public void hasConflictsFindsASharedPeriod() {
+        ExamTimetableGenerator generator = generator();
+        generator.setMoveLimit(1000);
+        Timetable timetable = generate(generator, options(4L));
+        assertFalse(generator.hasConflicts(timetable));
+
+        // Move one exam into the period of an exam sharing its group
+        Course first = courses.get(0);
+        Course other = null;
+        for (Course course : courses) {
+            if (course != first && shareGroup(first, course)) {
+                other = course;
+                break;
+            }
+        }
+        assertNotNull(other);
+        TimetableSession target = null;
+        for (TimetableSession session : timetable.getSessions()) {
+            if (session.getCourseId().equals(other.getId())) {
+                target = session;
+            }
+        }
+        for (TimetableSession session : timetable.getSessions()) {
+            if (session.getCourseId().equals(first.getId())) {
+                session.setDayOfWeek(target.getDayOfWeek());
+                session.setStartTime(target.getStartTime());
+                session.setEndTime(target.getEndTime());
+            }
+        }
+
+        assertTrue(generator.hasConflicts(timetable));
+    }
+}
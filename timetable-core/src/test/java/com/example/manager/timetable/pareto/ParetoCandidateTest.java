@@ -0,0 +1,84 @@
+package com.example.manager.timetable.pareto;
+
+import com.example.manager.timetable.TimeGrid;
+import com.example.manager.timetable.Timetable;
+import com.example.manager.timetable.TimetableSession;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ParetoCandidate}.
+ */
+public class ParetoCandidateTest {
+    private static final TimeGrid HOURS = new TimeGrid(5, 60, 9 * 60, 17 * 60);
+    private static final TimeGrid HALF_HOURS = new TimeGrid(5, 30, 9 * 60, 17 * 60);
+
+    private static TimetableSession session(String lecturerId, String day, String start, String end) {
+        return new TimetableSession(day + start, "C1", "Course 1", lecturerId, lecturerId, "R1", "Room 1", day,
+                start, end, "LECTURE");
+    }
+
+    private static Timetable timetable(TimetableSession... sessions) {
+        Timetable timetable = new Timetable();
+        for (TimetableSession session : sessions) {
+            timetable.addSession(session);
+        }
+        return timetable;
+    }
+
+    // Lecturer A teaches 11:00, 12:00 and 14:00 on Monday; lecturer B teaches 9:00 and 16:00 on Tuesday
+    private static Timetable week() {
+        return timetable(
+                session("A", "Monday", "11:00", "12:00"),
+                session("A", "Monday", "12:00", "13:00"),
+                session("A", "Monday", "14:00", "15:00"),
+                session("B", "Tuesday", "09:00", "10:00"),
+                session("B", "Tuesday", "16:00", "17:00"));
+    }
+
+    @Test
+    public void countsObjectivesOnAnHourGrid() {
+        ParetoCandidate candidate = ParetoCandidate.evaluate(week(), HOURS, 4);
+
+        assertEquals(3, candidate.getDayImbalance());
+        assertEquals(1, candidate.getBackToBackPairs());
+        assertEquals(2, candidate.getOffPeakSessions());
+        assertEquals(4, candidate.getBackToBackCap());
+    }
+
+    @Test
+    public void periodsAreHoursOnAHalfHourGrid() {
+        ParetoCandidate hours = ParetoCandidate.evaluate(week(), HOURS, -1);
+        ParetoCandidate halfHours = ParetoCandidate.evaluate(week(), HALF_HOURS, -1);
+
+        assertTrue(halfHours.sameObjectives(hours));
+    }
+
+    @Test
+    public void sessionsOutsideTheGridAreSkipped() {
+        ParetoCandidate candidate = ParetoCandidate.evaluate(timetable(
+                session("A", "Monday", "08:00", "09:00"),
+                session("A", "Sunday", "10:00", "11:00"),
+                session("A", "Monday", "11:00", "12:00")), HOURS, -1);
+
+        assertEquals(1, candidate.getDayImbalance());
+        assertEquals(0, candidate.getBackToBackPairs());
+        assertEquals(0, candidate.getOffPeakSessions());
+    }
+
+    @Test
+    public void dominatesNeedsOneStrictlyBetterObjective() {
+        ParetoCandidate better = ParetoCandidate.evaluate(timetable(
+                session("A", "Monday", "11:00", "12:00"),
+                session("A", "Tuesday", "11:00", "12:00")), HOURS, -1);
+        ParetoCandidate worse = ParetoCandidate.evaluate(timetable(
+                session("A", "Monday", "11:00", "12:00"),
+                session("A", "Monday", "12:00", "13:00")), HOURS, -1);
+
+        assertTrue(better.dominates(worse));
+        assertFalse(worse.dominates(better));
+        assertFalse(better.dominates(better));
+    }
+}
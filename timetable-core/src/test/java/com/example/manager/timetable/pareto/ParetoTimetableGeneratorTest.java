@@ -0,0 +1,67 @@
+package com.example.manager.timetable.pareto;
+
+import com.example.manager.timetable.TimeGrid;
+import com.example.manager.timetable.Timetable;
+import com.example.manager.timetable.TimetableSession;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ParetoTimetableGenerator#nonDominated}.
+ */
+public class ParetoTimetableGeneratorTest {
+    private static final TimeGrid GRID = new TimeGrid(5, 60, 9 * 60, 17 * 60);
+
+    // A candidate with the given sessions, each "lecturer day hour"
+    private static ParetoCandidate candidate(String... sessions) {
+        Timetable timetable = new Timetable();
+        for (String spec : sessions) {
+            String[] parts = spec.split(" ");
+            int hour = Integer.parseInt(parts[2]);
+            timetable.addSession(new TimetableSession(spec, "C1", "Course 1", parts[0], parts[0], "R1", "Room 1",
+                    parts[1], TimeGrid.formatTime(hour * 60), TimeGrid.formatTime(hour * 60 + 60), "LECTURE"));
+        }
+        return ParetoCandidate.evaluate(timetable, GRID, -1);
+    }
+
+    @Test
+    public void keepsTradeOffsAndDropsDominated() {
+        // Back-to-back 1, day imbalance 2
+        ParetoCandidate packed = candidate("A Monday 11", "A Monday 12");
+        // Back-to-back 0, day imbalance 1
+        ParetoCandidate spread = candidate("A Monday 11", "A Tuesday 11");
+        // Back-to-back 0, day imbalance 1, but off-peak 2
+        ParetoCandidate early = candidate("A Monday 9", "A Tuesday 9");
+
+        List<ParetoCandidate> front = ParetoTimetableGenerator.nonDominated(Arrays.asList(packed, spread, early));
+
+        assertEquals(Arrays.asList(spread), front);
+    }
+
+    @Test
+    public void keepsIncomparableCandidates() {
+        // Back-to-back 1, off-peak 0
+        ParetoCandidate packed = candidate("A Monday 11", "A Monday 12");
+        // Back-to-back 0, off-peak 1
+        ParetoCandidate early = candidate("A Monday 9", "A Monday 11");
+
+        List<ParetoCandidate> front = ParetoTimetableGenerator.nonDominated(Arrays.asList(packed, early));
+
+        assertEquals(Arrays.asList(packed, early), front);
+    }
+
+    @Test
+    public void dropsRepeatsOfTheSameObjectives() {
+        ParetoCandidate first = candidate("A Monday 11", "A Tuesday 11");
+        ParetoCandidate repeat = candidate("B Wednesday 13", "B Thursday 13");
+
+        List<ParetoCandidate> front = ParetoTimetableGenerator.nonDominated(Arrays.asList(first, repeat));
+
+        assertEquals(Arrays.asList(first), front);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.manager.timetable.pipeline;
+
+import com.example.manager.timetable.ChocoSolverTimetableGenerator;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests that {@link ChocoStage} keeps its budget in seeded runs, where the solver counts
+ * failures instead of the clock.
+ */
+public class ChocoStageTest {
+
+    @Test
+    public void budgetSetsTimeAndFailureLimits() {
+        ChocoSolverTimetableGenerator generator = ChocoStage.newGenerator(60000);
+
+        assertEquals(60000, generator.getTimeLimitMs());
+        assertEquals(60000 * ChocoStage.FAILS_PER_MS, generator.getFailLimit());
+    }
+
+    @Test
+    public void smallerBudgetGivesFewerFailures() {
+        long small = ChocoStage.newGenerator(1000).getFailLimit();
+        long large = ChocoStage.newGenerator(10000).getFailLimit();
+
+        assertEquals(10 * small, large);
+        assertTrue(large < new ChocoSolverTimetableGenerator().getFailLimit());
+    }
+
+    @Test
+    public void zeroBudgetStillAllowsAFailure() {
+        assertEquals(1, ChocoStage.newGenerator(0).getFailLimit());
+    }
+}
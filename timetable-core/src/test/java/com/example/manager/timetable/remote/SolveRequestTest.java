@@ -0,0 +1,136 @@
+package com.example.manager.timetable.remote;
+
+import com.example.manager.admin.model.Resource;
+import com.example.manager.model.Lecturer;
+import com.example.manager.timetable.Course;
+import com.example.manager.timetable.RoomAvailability;
+import com.example.manager.timetable.RoomFilter;
+import com.example.manager.timetable.SimpleTimetableGenerator;
+import com.example.manager.timetable.TimeGrid;
+import com.example.manager.timetable.Timetable;
+import com.example.manager.timetable.TimetableGeneratorOptions;
+import com.example.manager.timetable.TimetableSession;
+import com.google.gson.Gson;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests that a {@link SolveRequest} sent as JSON, the way the solver service reads it, rebuilds
+ * the client's options.
+ */
+public class SolveRequestTest {
+    private static final Gson GSON = new Gson();
+
+    private static List<Resource> resources() {
+        return new ArrayList<>(Arrays.asList(
+                new Resource("r-gym", "GY", "CLASSROOM", "200", "admin", "Sports", "yes"),
+                new Resource("r-a5", "A5", "CLASSROOM", "40", "admin", "Main", "yes"),
+                new Resource("r-b1", "B1", "CLASSROOM", "40", "admin", "Main", "yes"),
+                new Resource("r-b2", "B2", "CLASSROOM", "40", "admin", "Main", "yes")));
+    }
+
+    private static List<Lecturer> lecturers() {
+        return Collections.singletonList(new Lecturer("L1", "Lecturer 1", "", 0));
+    }
+
+    private static List<Course> courses() {
+        List<Course> courses = new ArrayList<>();
+        for (int c = 0; c < 4; c++) {
+            courses.add(new Course("C" + c, "Course " + c, "CS10" + c, 3, "CS", 3));
+        }
+        return courses;
+    }
+
+    // Serialises the request as RemoteTimetableGenerator does and reads it back as SolverServer does
+    private static SolveRequest roundTrip(SolveRequest request) {
+        return GSON.fromJson(GSON.toJson(request), SolveRequest.class);
+    }
+
+    @Test
+    public void optionsSurviveTheRoundTrip() {
+        TimetableGeneratorOptions options = new TimetableGeneratorOptions(true, true, 5);
+        options.setTimeGrid(new TimeGrid(6, 30, 8 * 60, 18 * 60));
+        options.setSeed(42L);
+
+        TimetableGeneratorOptions rebuilt = roundTrip(new SolveRequest("simple", resources(), lecturers(), courses(),
+                options)).toOptions();
+
+        assertTrue(rebuilt.shouldAvoidBackToBackClasses());
+        assertTrue(rebuilt.shouldPreferEvenDistribution());
+        assertEquals(5, rebuilt.getMaxHoursPerDay());
+        assertEquals(options.getTimeGrid(), rebuilt.getTimeGrid());
+        assertEquals(options.getSearchStrategy(), rebuilt.getSearchStrategy());
+        assertEquals(Long.valueOf(42L), rebuilt.getSeed());
+        assertNull(rebuilt.getFilter());
+    }
+
+    @Test
+    public void roomFilterSurvivesTheRoundTrip() {
+        TimetableGeneratorOptions options = new TimetableGeneratorOptions();
+        options.setFilter(new RoomFilter(Arrays.asList("gy", " A5 ")));
+
+        SolveRequest request = roundTrip(new SolveRequest("simple", resources(), lecturers(), courses(), options));
+        TimetableGeneratorOptions rebuilt = request.toOptions();
+
+        // Every room is still sent, and the server leaves out the same ones as the client
+        assertEquals(4, request.getResources().size());
+        assertTrue(rebuilt.getFilter() instanceof RoomFilter);
+        assertEquals(((RoomFilter) options.getFilter()).getExcludedRooms(),
+                ((RoomFilter) rebuilt.getFilter()).getExcludedRooms());
+        List<Resource> rooms = RoomAvailability.compile(request.getResources(), rebuilt).getRooms();
+        assertEquals(2, rooms.size());
+        assertEquals("r-b1", rooms.get(0).getId());
+        assertEquals("r-b2", rooms.get(1).getId());
+    }
+
+    @Test
+    public void serverNeverBooksExcludedRooms() {
+        TimetableGeneratorOptions options = new TimetableGeneratorOptions();
+        options.setFilter(RoomFilter.parse("gy,r-a5"));
+        options.setSeed(1L);
+        SolveRequest request = roundTrip(new SolveRequest("simple", resources(), lecturers(), courses(), options));
+
+        Timetable timetable = new SimpleTimetableGenerator().generateTimetable(request.getResources(),
+                request.getLecturers(), request.getCourses(), request.toOptions());
+
+        assertFalse(timetable.getSessions().isEmpty());
+        for (TimetableSession session : timetable.getSessions()) {
+            assertNotEquals("r-gym", session.getResourceId());
+            assertNotEquals("r-a5", session.getResourceId());
+        }
+    }
+
+    @Test
+    public void otherFiltersAreAppliedBeforeSending() {
+        TimetableGeneratorOptions options = new TimetableGeneratorOptions();
+        options.setFilter(resource -> !"Sports".equals(resource.getLocation()));
+
+        SolveRequest request = roundTrip(new SolveRequest("simple", resources(), lecturers(), courses(), options));
+
+        assertEquals(3, request.getResources().size());
+        for (Resource resource : request.getResources()) {
+            assertNotEquals("r-gym", resource.getId());
+        }
+        assertNull(request.toOptions().getFilter());
+    }
+
+    @Test
+    public void enrolmentsSurviveTheRoundTrip() {
+        SolveRequest request = new SolveRequest("exam", resources(), lecturers(), courses(),
+                new TimetableGeneratorOptions());
+        assertNull(roundTrip(request).getEnrolments());
+
+        request.setEnrolments(Collections.singletonMap("C1", 35));
+        Map<String, Integer> enrolments = roundTrip(request).getEnrolments();
+
+        assertEquals(Collections.singletonMap("C1", 35), enrolments);
+    }
+}
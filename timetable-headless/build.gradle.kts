@@ -0,0 +1,82 @@
+plugins {
+    application
+}
+
+// Command-line tools that run the timetable engine without the Android app.
+java {
+    sourceCompatibility = JavaVersion.VERSION_17
+    targetCompatibility = JavaVersion.VERSION_17
+}
+
+application {
+    mainClass.set("com.example.manager.timetable.headless.BatchSolver")
+}
+
+// Second launcher for the HTTP solver service, installed next to the batch solver
+val solverServerScripts by tasks.registering(CreateStartScripts::class) {
+    mainClass.set("com.example.manager.timetable.headless.SolverServer")
+    applicationName = "solver-server"
+    outputDir = layout.buildDirectory.dir("solver-server-scripts").get().asFile
+    classpath = tasks.named<CreateStartScripts>("startScripts").get().classpath
+}
+
+// Third launcher for the search strategy scaling benchmark
+val scalingBenchmarkScripts by tasks.registering(CreateStartScripts::class) {
+    mainClass.set("com.example.manager.timetable.headless.ScalingBenchmark")
+    applicationName = "scaling-benchmark"
+    outputDir = layout.buildDirectory.dir("scaling-benchmark-scripts").get().asFile
+    classpath = tasks.named<CreateStartScripts>("startScripts").get().classpath
+}
+
+// Fourth launcher for the ITC-2007 / XHSTT benchmark
+val standardBenchmarkScripts by tasks.registering(CreateStartScripts::class) {
+    mainClass.set("com.example.manager.timetable.headless.StandardBenchmark")
+    applicationName = "standard-benchmark"
+    outputDir = layout.buildDirectory.dir("standard-benchmark-scripts").get().asFile
+    classpath = tasks.named<CreateStartScripts>("startScripts").get().classpath
+}
+
+// Fifth launcher for comparing what-if scenarios of one snapshot
+val whatIfScripts by tasks.registering(CreateStartScripts::class) {
+    mainClass.set("com.example.manager.timetable.headless.WhatIf")
+    applicationName = "what-if"
+    outputDir = layout.buildDirectory.dir("what-if-scripts").get().asFile
+    classpath = tasks.named<CreateStartScripts>("startScripts").get().classpath
+}
+
+// Sixth launcher for the multi-process solver portfolio
+val portfolioScripts by tasks.registering(CreateStartScripts::class) {
+    mainClass.set("com.example.manager.timetable.headless.Portfolio")
+    applicationName = "portfolio"
+    outputDir = layout.buildDirectory.dir("portfolio-scripts").get().asFile
+    classpath = tasks.named<CreateStartScripts>("startScripts").get().classpath
+}
+
+distributions {
+    main {
+        contents {
+            from(solverServerScripts) {
+                into("bin")
+            }
+            from(scalingBenchmarkScripts) {
+                into("bin")
+            }
+            from(standardBenchmarkScripts) {
+                into("bin")
+            }
+            from(whatIfScripts) {
+                into("bin")
+            }
+            from(portfolioScripts) {
+                into("bin")
+            }
+        }
+    }
+}
+
+dependencies {
+    implementation(project(":timetable-core"))
+    implementation(libs.gson)
+
+    testImplementation(libs.junit)
+}
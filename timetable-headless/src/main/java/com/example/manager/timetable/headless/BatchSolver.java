@@ -0,0 +1,286 @@
+package com.example.manager.timetable.headless;
+
+import com.example.manager.timetable.ChocoSolverTimetableGenerator;
+import com.example.manager.timetable.GenerationReport;
+import com.example.manager.timetable.RestartPolicy;
+import com.example.manager.timetable.RoomFilter;
+import com.example.manager.timetable.SearchStrategy;
+import com.example.manager.timetable.Timetable;
+import com.example.manager.timetable.TimetableGenerator;
+import com.example.manager.timetable.TimetableGeneratorOptions;
+import com.example.manager.timetable.TimetableGenerators;
+import com.example.manager.timetable.TimetableLog;
+import com.example.manager.timetable.TimetableTrace;
+import com.example.manager.timetable.exam.ExamTimetableGenerator;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Command-line entry point that generates timetables for many snapshot files in parallel.
+ *
+ * Each input is a JSON export of the Firebase "resources", "Users" and "courses" nodes
+ * (see {@link Snapshot}). For every input NAME.json the solver writes NAME.timetable.json
+ * and NAME.report.json to the output directory. Snapshots are solved on a fixed-size
+ * thread pool; nothing requires network access.
+ *
+ * Usage: BatchSolver [options] FILE_OR_DIR...
+ */
+public class BatchSolver {
+    private static final String TAG = "BatchSolver";
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private String generatorName = "simple";
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private Path outputDir = Paths.get("out");
+    private boolean trace = false;
+    private final TimetableGeneratorOptions baseOptions = new TimetableGeneratorOptions();
+    private final List<Path> inputs = new ArrayList<>();
+
+    public static void main(String[] args) {
+        BatchSolver solver = new BatchSolver();
+        try {
+            solver.parseArgs(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            printUsage();
+            System.exit(2);
+        }
+        try {
+            System.exit(solver.run() ? 0 : 1);
+        } catch (IOException | InterruptedException e) {
+            TimetableLog.e(TAG, "Batch run failed", e);
+            System.exit(1);
+        }
+    }
+
+    private static void printUsage() {
+        System.err.println("Usage: BatchSolver [options] FILE_OR_DIR...\n"
+                + "  --generator NAME        one of " + TimetableGenerators.names() + " (default simple)\n"
+                + "  --threads N             parallel solves (default: number of cores)\n"
+                + "  --out DIR               output directory (default out)\n"
+                + "  --avoid-back-to-back    avoid back-to-back classes for lecturers\n"
+                + "  --even-distribution     prefer evenly distributed classes\n"
+                + "  --max-hours N           maximum teaching hours per day (default 6)\n"
+                + "  --search NAME           Choco search strategy, one of " + Arrays.toString(SearchStrategy.values()) + "\n"
+                + "  --restarts NAME         Choco restart policy, one of " + Arrays.toString(RestartPolicy.values()) + "\n"
+                + "  --no-nogoods            do not record nogoods from restarts\n"
+                + "  --exclude-rooms LIST    comma-separated room names or IDs to leave out\n"
+                + "  --seed N                seed random choices, making runs and session IDs reproducible\n"
+                + "  --trace                 write a detailed trace next to each timetable");
+    }
+
+    void parseArgs(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            switch (arg) {
+                case "--generator":
+                    generatorName = value(args, ++i, arg);
+                    TimetableGenerators.create(generatorName); // Fail fast on unknown names
+                    break;
+                case "--threads":
+                    threads = Math.max(1, intValue(args, ++i, arg));
+                    break;
+                case "--out":
+                    outputDir = Paths.get(value(args, ++i, arg));
+                    break;
+                case "--avoid-back-to-back":
+                    baseOptions.setAvoidBackToBackClasses(true);
+                    break;
+                case "--even-distribution":
+                    baseOptions.setPreferEvenDistribution(true);
+                    break;
+                case "--max-hours":
+                    baseOptions.setMaxHoursPerDay(intValue(args, ++i, arg));
+                    break;
+                case "--search":
+                    baseOptions.setSearchStrategy(enumValue(SearchStrategy.class, args, ++i, arg));
+                    break;
+                case "--restarts":
+                    baseOptions.setRestartPolicy(enumValue(RestartPolicy.class, args, ++i, arg));
+                    break;
+                case "--no-nogoods":
+                    baseOptions.setNogoodRecording(false);
+                    break;
+                case "--exclude-rooms":
+                    baseOptions.setFilter(RoomFilter.parse(value(args, ++i, arg)));
+                    break;
+                case "--seed":
+                    baseOptions.setSeed(longValue(args, ++i, arg));
+                    break;
+                case "--trace":
+                    trace = true;
+                    break;
+                default:
+                    if (arg.startsWith("--")) {
+                        throw new IllegalArgumentException("Unknown option " + arg);
+                    }
+                    inputs.add(Paths.get(arg));
+            }
+        }
+        if (inputs.isEmpty()) {
+            throw new IllegalArgumentException("No input files given");
+        }
+    }
+
+    private static String value(String[] args, int index, String option) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + option);
+        }
+        return args[index];
+    }
+
+    private static int intValue(String[] args, int index, String option) {
+        try {
+            return Integer.parseInt(value(args, index, option));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Expected a number for " + option);
+        }
+    }
+
+    private static long longValue(String[] args, int index, String option) {
+        try {
+            return Long.parseLong(value(args, index, option));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Expected a number for " + option);
+        }
+    }
+
+    private static <E extends Enum<E>> E enumValue(Class<E> type, String[] args, int index, String option) {
+        String name = value(args, index, option);
+        try {
+            return Enum.valueOf(type, name.toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown value " + name + " for " + option);
+        }
+    }
+
+    /**
+     * Solves every input snapshot and writes the results.
+     *
+     * @return true if all snapshots were solved and written
+     */
+    boolean run() throws IOException, InterruptedException {
+        List<Path> files = collectInputs();
+        Files.createDirectories(outputDir);
+        TimetableLog.i(TAG, "Solving " + files.size() + " snapshots with '" + generatorName
+                + "' on " + threads + " threads");
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, Math.max(1, files.size())));
+        CompletionService<GenerationReport> completion = new ExecutorCompletionService<>(executor);
+        for (Path file : files) {
+            completion.submit(() -> solve(file));
+        }
+
+        boolean allSucceeded = true;
+        try {
+            for (int i = 0; i < files.size(); i++) {
+                try {
+                    GenerationReport report = completion.take().get();
+                    if (!report.isComplete()) {
+                        allSucceeded = false;
+                    }
+                } catch (ExecutionException e) {
+                    TimetableLog.e(TAG, "Snapshot failed", e.getCause());
+                    allSucceeded = false;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return allSucceeded;
+    }
+
+    private List<Path> collectInputs() throws IOException {
+        List<Path> files = new ArrayList<>();
+        for (Path input : inputs) {
+            if (Files.isDirectory(input)) {
+                List<Path> children = new ArrayList<>();
+                try (DirectoryStream<Path> stream = Files.newDirectoryStream(input, "*.json")) {
+                    for (Path child : stream) {
+                        children.add(child);
+                    }
+                }
+                Collections.sort(children);
+                files.addAll(children);
+            } else {
+                files.add(input);
+            }
+        }
+        return files;
+    }
+
+    private GenerationReport solve(Path file) throws IOException {
+        Snapshot snapshot = Snapshot.read(file);
+
+        TimetableGeneratorOptions options = new TimetableGeneratorOptions(
+                baseOptions.shouldAvoidBackToBackClasses(),
+                baseOptions.shouldPreferEvenDistribution(),
+                baseOptions.getMaxHoursPerDay());
+        TimetableTrace runTrace = trace ? new TimetableTrace(TimetableTrace.DETAIL, 1 << 16) : TimetableTrace.DISABLED;
+        options.setSearchStrategy(baseOptions.getSearchStrategy());
+        options.setRestartPolicy(baseOptions.getRestartPolicy());
+        options.setNogoodRecording(baseOptions.shouldRecordNogoods());
+        options.setFilter(baseOptions.getFilter());
+        options.setSeed(baseOptions.getSeed());
+        options.setTrace(runTrace);
+
+        TimetableGenerator generator = TimetableGenerators.create(generatorName);
+        if (generator instanceof ExamTimetableGenerator) {
+            ((ExamTimetableGenerator) generator).setEnrolments(snapshot.getEnrolments());
+        }
+        long start = System.nanoTime();
+        Timetable timetable = generator.generateTimetable(
+                snapshot.getResources(), snapshot.getLecturers(), snapshot.getCourses(), options);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        GenerationReport report = GenerationReport.create(generatorName, snapshot.getResources(),
+                snapshot.getLecturers(), snapshot.getCourses(), options, timetable,
+                generator.hasConflicts(timetable), elapsedMillis);
+        if (generator instanceof ChocoSolverTimetableGenerator) {
+            ChocoSolverTimetableGenerator choco = (ChocoSolverTimetableGenerator) generator;
+            report.addBottlenecks(choco.getLastFeasibility());
+            if (choco.getLastUnmatchedRooms() > 0) {
+                report.addNote(choco.getLastUnmatchedRooms()
+                        + " sessions left out: no free compatible room in their slot");
+            }
+        }
+
+        writeJson(outputDir.resolve(snapshot.getName() + ".timetable.json"), timetable);
+        writeJson(outputDir.resolve(snapshot.getName() + ".report.json"), report);
+        if (trace) {
+            try (Writer writer = Files.newBufferedWriter(outputDir.resolve(snapshot.getName() + ".trace.txt"),
+                    StandardCharsets.UTF_8)) {
+                runTrace.dump(writer);
+            }
+        }
+
+        TimetableLog.i(TAG, snapshot.getName() + ": " + report.getScheduledSessions() + "/"
+                + report.getRequiredSessions() + " sessions, conflicts=" + report.hasConflicts()
+                + ", " + elapsedMillis + " ms");
+        return report;
+    }
+
+    private static void writeJson(Path file, Object value) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            GSON.toJson(value, writer);
+        }
+    }
+}
@@ -0,0 +1,414 @@
+package com.example.manager.timetable.headless;
+
+import com.example.manager.timetable.RestartPolicy;
+import com.example.manager.timetable.SearchStrategy;
+import com.example.manager.timetable.Timetable;
+import com.example.manager.timetable.TimetableGeneratorOptions;
+import com.example.manager.timetable.TimetableLog;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Command-line coordinator that solves one snapshot with a portfolio of worker processes.
+ *
+ * Starts K {@link PortfolioWorker} JVMs on this machine, so they scale across cores without
+ * sharing one heap. Each worker gets a Choco search strategy and restart policy, and its own
+ * seed from {@link TimetableGeneratorOptions#workerSeeds}. Once every configuration is taken,
+ * further workers cycle through those whose strategy uses the seed. Workers
+ * report every improving objective value over a loopback socket; the coordinator forwards
+ * each new best value to the others, which then only search for better solutions. When all
+ * workers have finished, the timetable with the lowest objective is written out.
+ *
+ * Usage: Portfolio [--workers K] [--seed N] [--time-limit MS] [--two-phase] [--worker-heap SIZE]
+ * [--worker-logs DIR] [--out FILE] [solve options] SNAPSHOT
+ */
+public class Portfolio {
+    private static final String TAG = "Portfolio";
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    // Time allowed on top of the solve limit for JVM start-up, model building and the result
+    private static final long GRACE_MS = 30000;
+
+    private int workers = Math.max(1, Runtime.getRuntime().availableProcessors());
+    private Long seed;
+    private long timeLimitMs = 60000;
+    private boolean twoPhase;
+    private String workerHeap;
+    private Path workerLogs;
+    private Path outputFile = Paths.get("portfolio.timetable.json");
+    private final List<String> solveOptions = new ArrayList<>();
+    private Path snapshotFile;
+
+    private final Object lock = new Object();
+    private final List<Connection> connections = new ArrayList<>();
+    private int bestBound = Integer.MAX_VALUE;
+    private int sharedBounds;
+
+    public static void main(String[] args) {
+        Portfolio portfolio = new Portfolio();
+        try {
+            portfolio.parseArgs(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: Portfolio [options] SNAPSHOT\n"
+                    + "  --workers K             worker processes (default: number of cores)\n"
+                    + "  --seed N                seed the workers' seeds (default: random)\n"
+                    + "  --time-limit MS         solve time limit of each worker (default 60000)\n"
+                    + "  --two-phase             solve times first, then match rooms\n"
+                    + "  --worker-heap SIZE      maximum heap of each worker, e.g. 512m\n"
+                    + "  --worker-logs DIR       write each worker's output to DIR/worker-N.log\n"
+                    + "  --out FILE              best timetable (default portfolio.timetable.json)\n"
+                    + "  --avoid-back-to-back, --even-distribution, --max-hours N  as for BatchSolver");
+            System.exit(2);
+        }
+        try {
+            System.exit(portfolio.run() ? 0 : 1);
+        } catch (IOException | InterruptedException e) {
+            TimetableLog.e(TAG, "Portfolio run failed", e);
+            System.exit(1);
+        }
+    }
+
+    void parseArgs(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            switch (arg) {
+                case "--workers":
+                    workers = Math.max(1, intValue(args, ++i, arg));
+                    break;
+                case "--seed":
+                    try {
+                        seed = Long.parseLong(value(args, ++i, arg));
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Expected a number for " + arg);
+                    }
+                    break;
+                case "--time-limit":
+                    timeLimitMs = Math.max(1, intValue(args, ++i, arg));
+                    break;
+                case "--two-phase":
+                    twoPhase = true;
+                    break;
+                case "--worker-heap":
+                    workerHeap = value(args, ++i, arg);
+                    break;
+                case "--worker-logs":
+                    workerLogs = Paths.get(value(args, ++i, arg));
+                    break;
+                case "--out":
+                    outputFile = Paths.get(value(args, ++i, arg));
+                    break;
+                case "--avoid-back-to-back":
+                case "--even-distribution":
+                    solveOptions.add(arg);
+                    break;
+                case "--max-hours":
+                    solveOptions.add(arg);
+                    solveOptions.add(String.valueOf(intValue(args, ++i, arg)));
+                    break;
+                default:
+                    if (arg.startsWith("--")) {
+                        throw new IllegalArgumentException("Unknown option " + arg);
+                    }
+                    snapshotFile = Paths.get(arg);
+            }
+        }
+        if (snapshotFile == null) {
+            throw new IllegalArgumentException("No snapshot given");
+        }
+    }
+
+    private static String value(String[] args, int index, String option) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + option);
+        }
+        return args[index];
+    }
+
+    private static int intValue(String[] args, int index, String option) {
+        try {
+            return Integer.parseInt(value(args, index, option));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Expected a number for " + option);
+        }
+    }
+
+    /**
+     * Gets the configurations of the first {@code count} workers: every search strategy with
+     * Luby restarts first, since that is the most robust policy, then geometric, then none.
+     * Beyond those, workers cycle through the configurations whose strategy uses the seed, as
+     * the others would repeat a search already running.
+     */
+    static List<Configuration> configurations(int count) {
+        SearchStrategy[] strategies = {SearchStrategy.MOST_CONSTRAINED, SearchStrategy.DOM_WDEG,
+                SearchStrategy.ACTIVITY, SearchStrategy.CONFLICT_HISTORY, SearchStrategy.DEFAULT};
+        RestartPolicy[] policies = {RestartPolicy.LUBY, RestartPolicy.GEOMETRIC, RestartPolicy.NONE};
+        List<Configuration> distinct = new ArrayList<>();
+        List<Configuration> seeded = new ArrayList<>();
+        for (RestartPolicy policy : policies) {
+            for (SearchStrategy strategy : strategies) {
+                Configuration configuration = new Configuration(strategy, policy);
+                distinct.add(configuration);
+                if (strategy.usesSeed()) {
+                    seeded.add(configuration);
+                }
+            }
+        }
+        List<Configuration> configurations = new ArrayList<>(distinct.subList(0, Math.min(count, distinct.size())));
+        for (int i = 0; configurations.size() < count; i++) {
+            configurations.add(seeded.get(i % seeded.size()));
+        }
+        return configurations;
+    }
+
+    /**
+     * Runs the portfolio and writes the best timetable.
+     *
+     * @return true if any worker found a solution
+     */
+    boolean run() throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        List<Configuration> configurations = configurations(workers);
+        // A random base seed when none is given, so that repeated runs explore differently
+        TimetableGeneratorOptions seedOptions = new TimetableGeneratorOptions();
+        seedOptions.setSeed(seed != null ? seed : new SplittableRandom().nextLong());
+        Long[] seeds = seedOptions.workerSeeds(workers);
+        if (workerLogs != null) {
+            Files.createDirectories(workerLogs);
+        }
+
+        try (ServerSocket server = new ServerSocket(0, workers, InetAddress.getLoopbackAddress())) {
+            Thread acceptor = new Thread(() -> accept(server), "portfolio-accept");
+            acceptor.setDaemon(true);
+            acceptor.start();
+
+            List<Process> processes = new ArrayList<>();
+            for (int i = 0; i < workers; i++) {
+                processes.add(launch(i, configurations.get(i), seeds[i], server.getLocalPort()));
+            }
+            TimetableLog.i(TAG, "Started " + workers + " workers on port " + server.getLocalPort() + " with seed "
+                    + seedOptions.getSeed());
+
+            long waitUntil = System.currentTimeMillis() + timeLimitMs + GRACE_MS;
+            for (int i = 0; i < processes.size(); i++) {
+                Process process = processes.get(i);
+                long remaining = Math.max(0, waitUntil - System.currentTimeMillis());
+                if (!process.waitFor(remaining, TimeUnit.MILLISECONDS)) {
+                    TimetableLog.w(TAG, "Worker " + i + " overran its time limit, stopping it");
+                    process.destroyForcibly();
+                }
+            }
+
+            // Let the connection threads take in the last results
+            List<Connection> finished;
+            synchronized (lock) {
+                finished = new ArrayList<>(connections);
+            }
+            for (Connection connection : finished) {
+                connection.thread.join(1000);
+            }
+        }
+
+        Connection best = null;
+        StringBuilder summary = new StringBuilder();
+        summary.append("| worker | search | restarts | seed | objective |\n|---|---|---|---|---|\n");
+        synchronized (lock) {
+            connections.sort((a, b) -> Integer.compare(a.id, b.id));
+            for (Connection connection : connections) {
+                Configuration configuration = configurations.get(connection.id);
+                summary.append(String.format(Locale.ROOT, "| %d | %s | %s | %d | %s |%n", connection.id,
+                        configuration.strategy, configuration.restarts, seeds[connection.id],
+                        connection.objective < 0 ? "none" : String.valueOf(connection.objective)));
+                if (connection.timetable != null && connection.objective >= 0
+                        && (best == null || connection.objective < best.objective)) {
+                    best = connection;
+                }
+            }
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        System.out.print(summary);
+        if (best == null) {
+            System.out.println("No worker found a solution in " + elapsedMillis + " ms");
+            return false;
+        }
+        try (Writer writer = Files.newBufferedWriter(outputFile, StandardCharsets.UTF_8)) {
+            GSON.toJson(best.timetable, writer);
+        }
+        System.out.println("Best objective " + best.objective + " from worker " + best.id + " ("
+                + sharedBounds + " bounds shared) in " + elapsedMillis + " ms, written to " + outputFile);
+        return true;
+    }
+
+    private Process launch(int id, Configuration configuration, long workerSeed, int port) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        if (workerHeap != null) {
+            command.add("-Xmx" + workerHeap);
+        }
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(PortfolioWorker.class.getName());
+        command.add("--port");
+        command.add(String.valueOf(port));
+        command.add("--id");
+        command.add(String.valueOf(id));
+        command.add("--seed");
+        command.add(String.valueOf(workerSeed));
+        command.add("--time-limit");
+        command.add(String.valueOf(timeLimitMs));
+        command.add("--search");
+        command.add(configuration.strategy.name());
+        command.add("--restarts");
+        command.add(configuration.restarts.name());
+        if (twoPhase) {
+            command.add("--two-phase");
+        }
+        command.addAll(solveOptions);
+        command.add(snapshotFile.toString());
+
+        ProcessBuilder builder = new ProcessBuilder(command).redirectErrorStream(true);
+        if (workerLogs != null) {
+            builder.redirectOutput(workerLogs.resolve("worker-" + id + ".log").toFile());
+        } else {
+            builder.redirectOutput(ProcessBuilder.Redirect.DISCARD);
+        }
+        return builder.start();
+    }
+
+    private void accept(ServerSocket server) {
+        try {
+            for (int i = 0; i < workers; i++) {
+                Socket socket = server.accept();
+                socket.setTcpNoDelay(true);
+                Connection connection = new Connection(socket);
+                connection.thread = new Thread(connection::serve, "portfolio-worker");
+                connection.thread.setDaemon(true);
+                connection.thread.start();
+            }
+        } catch (SocketException e) {
+            // Closed once all workers have finished
+        } catch (IOException e) {
+            TimetableLog.e(TAG, "Accepting workers failed", e);
+        }
+    }
+
+    // Forwards an improved bound to every worker except the one that found it
+    private void share(Connection from, int bound) {
+        List<Connection> others = new ArrayList<>();
+        synchronized (lock) {
+            if (bound >= bestBound) {
+                return;
+            }
+            bestBound = bound;
+            sharedBounds++;
+            for (Connection connection : connections) {
+                if (connection != from) {
+                    others.add(connection);
+                }
+            }
+        }
+        for (Connection connection : others) {
+            connection.send("BOUND " + bound);
+        }
+    }
+
+    /**
+     * A worker configuration.
+     */
+    static final class Configuration {
+        final SearchStrategy strategy;
+        final RestartPolicy restarts;
+
+        Configuration(SearchStrategy strategy, RestartPolicy restarts) {
+            this.strategy = strategy;
+            this.restarts = restarts;
+        }
+    }
+
+    /**
+     * The coordinator's side of one worker's socket.
+     */
+    private final class Connection {
+        private final Socket socket;
+        private final BufferedWriter out;
+        private Thread thread;
+        private int id = -1;
+        private int objective = -1;
+        private Timetable timetable;
+
+        Connection(Socket socket) throws IOException {
+            this.socket = socket;
+            this.out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+        }
+
+        void serve() {
+            try (BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                    StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = in.readLine()) != null) {
+                    if (line.startsWith("WORKER ")) {
+                        id = Integer.parseInt(line.substring(7).trim());
+                        synchronized (lock) {
+                            connections.add(this);
+                        }
+                        // A late starter begins from the best bound so far
+                        int bound;
+                        synchronized (lock) {
+                            bound = bestBound;
+                        }
+                        if (bound < Integer.MAX_VALUE) {
+                            send("BOUND " + bound);
+                        }
+                    } else if (line.startsWith("BOUND ")) {
+                        share(this, Integer.parseInt(line.substring(6).trim()));
+                    } else if (line.startsWith("RESULT ")) {
+                        int value = Integer.parseInt(line.substring(7).trim());
+                        Timetable result = GSON.fromJson(in.readLine(), Timetable.class);
+                        synchronized (lock) {
+                            objective = value;
+                            timetable = result;
+                        }
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                TimetableLog.w(TAG, "Lost worker " + id + ": " + e.getMessage());
+            } finally {
+                try {
+                    socket.close();
+                } catch (IOException e) {
+                    TimetableLog.w(TAG, "Could not close worker " + id + ": " + e.getMessage());
+                }
+            }
+        }
+
+        synchronized void send(String line) {
+            try {
+                out.write(line);
+                out.write('\n');
+                out.flush();
+            } catch (IOException e) {
+                // The worker has finished and closed its socket
+            }
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.manager.timetable.headless;
+
+import com.example.manager.timetable.ChocoSolverTimetableGenerator;
+import com.example.manager.timetable.RestartPolicy;
+import com.example.manager.timetable.SearchStrategy;
+import com.example.manager.timetable.Timetable;
+import com.example.manager.timetable.TimetableGeneratorOptions;
+import com.example.manager.timetable.TimetableLog;
+import com.google.gson.Gson;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One worker process of a {@link Portfolio} run. Solves a snapshot with Choco and exchanges
+ * incumbent objective values with the coordinator over a loopback socket.
+ *
+ * The protocol is line based: the worker sends "WORKER id" once, "BOUND value" for every
+ * improving solution, and "RESULT value" followed by the timetable as one line of JSON at the
+ * end ("RESULT -1" and "null" if it found no solution). The coordinator sends "BOUND value"
+ * whenever another worker improves on the best known value.
+ *
+ * A seed varies the tie-breaking of the seeded search strategies, so workers sharing a strategy
+ * still explore differently. Workers keep their time limit when seeded.
+ *
+ * Usage: PortfolioWorker --port PORT --id N [--seed N] [solve options] SNAPSHOT
+ */
+public class PortfolioWorker {
+    private static final String TAG = "PortfolioWorker";
+    private static final Gson GSON = new Gson();
+
+    private int port = -1;
+    private int id;
+    private long timeLimitMs = 60000;
+    private boolean twoPhase;
+    private final TimetableGeneratorOptions options = new TimetableGeneratorOptions();
+    private Path snapshotFile;
+
+    private final AtomicInteger sharedBound = new AtomicInteger(Integer.MAX_VALUE);
+    private BufferedWriter out;
+
+    public static void main(String[] args) {
+        PortfolioWorker worker = new PortfolioWorker();
+        try {
+            worker.parseArgs(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: PortfolioWorker --port PORT --id N [--seed N] [--time-limit MS] [--two-phase]\n"
+                    + "  [--search NAME] [--restarts NAME] [--avoid-back-to-back] [--even-distribution]\n"
+                    + "  [--max-hours N] SNAPSHOT");
+            System.exit(2);
+        }
+        try {
+            worker.run();
+        } catch (IOException e) {
+            TimetableLog.e(TAG, "Worker failed", e);
+            System.exit(1);
+        }
+    }
+
+    void parseArgs(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            switch (arg) {
+                case "--port":
+                    port = intValue(args, ++i, arg);
+                    break;
+                case "--id":
+                    id = intValue(args, ++i, arg);
+                    break;
+                case "--seed":
+                    options.setSeed(longValue(args, ++i, arg));
+                    break;
+                case "--time-limit":
+                    timeLimitMs = intValue(args, ++i, arg);
+                    break;
+                case "--two-phase":
+                    twoPhase = true;
+                    break;
+                case "--search":
+                    options.setSearchStrategy(enumValue(SearchStrategy.class, args, ++i, arg));
+                    break;
+                case "--restarts":
+                    options.setRestartPolicy(enumValue(RestartPolicy.class, args, ++i, arg));
+                    break;
+                case "--avoid-back-to-back":
+                    options.setAvoidBackToBackClasses(true);
+                    break;
+                case "--even-distribution":
+                    options.setPreferEvenDistribution(true);
+                    break;
+                case "--max-hours":
+                    options.setMaxHoursPerDay(intValue(args, ++i, arg));
+                    break;
+                default:
+                    if (arg.startsWith("--")) {
+                        throw new IllegalArgumentException("Unknown option " + arg);
+                    }
+                    snapshotFile = Paths.get(arg);
+            }
+        }
+        if (port < 0) {
+            throw new IllegalArgumentException("No coordinator port given");
+        }
+        if (snapshotFile == null) {
+            throw new IllegalArgumentException("No snapshot given");
+        }
+    }
+
+    private static String value(String[] args, int index, String option) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + option);
+        }
+        return args[index];
+    }
+
+    private static int intValue(String[] args, int index, String option) {
+        try {
+            return Integer.parseInt(value(args, index, option));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Expected a number for " + option);
+        }
+    }
+
+    private static long longValue(String[] args, int index, String option) {
+        try {
+            return Long.parseLong(value(args, index, option));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Expected a number for " + option);
+        }
+    }
+
+    private static <E extends Enum<E>> E enumValue(Class<E> type, String[] args, int index, String option) {
+        String name = value(args, index, option);
+        try {
+            return Enum.valueOf(type, name.toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown value " + name + " for " + option);
+        }
+    }
+
+    void run() throws IOException {
+        Snapshot snapshot = Snapshot.read(snapshotFile);
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            socket.setTcpNoDelay(true);
+            out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                    StandardCharsets.UTF_8));
+            send("WORKER " + id);
+
+            Thread reader = new Thread(() -> readBounds(in), "portfolio-bounds");
+            reader.setDaemon(true);
+            reader.start();
+
+            ChocoSolverTimetableGenerator generator = twoPhase ? ChocoSolverTimetableGenerator.twoPhase()
+                    : new ChocoSolverTimetableGenerator();
+            generator.setTimeLimitMs(timeLimitMs);
+            generator.setOptimisationTimeMs(timeLimitMs);
+            generator.setTimeLimitsWithSeed(true);
+            generator.setSharedBound(sharedBound::get);
+            generator.setIncumbentListener(objective -> {
+                sharedBound.accumulateAndGet(objective, Math::min);
+                send("BOUND " + objective);
+            });
+            Timetable timetable = generator.generateTimetable(snapshot.getResources(), snapshot.getLecturers(),
+                    snapshot.getCourses(), options);
+
+            int objective = generator.getLastObjective();
+            TimetableLog.i(TAG, "Worker " + id + " (" + options.getSearchStrategy() + ", "
+                    + options.getRestartPolicy() + ", seed " + options.getSeed() + ") finished with objective " + objective);
+            send("RESULT " + objective);
+            send(objective < 0 ? "null" : GSON.toJson(timetable));
+        }
+    }
+
+    // Bounds from the coordinator; the socket closes when the run ends
+    private void readBounds(BufferedReader in) {
+        try {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.startsWith("BOUND ")) {
+                    int bound = Integer.parseInt(line.substring(6).trim());
+                    sharedBound.accumulateAndGet(bound, Math::min);
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            TimetableLog.w(TAG, "Stopped reading bounds: " + e.getMessage());
+        }
+    }
+
+    private synchronized void send(String line) {
+        try {
+            out.write(line);
+            out.write('\n');
+            out.flush();
+        } catch (IOException e) {
+            TimetableLog.w(TAG, "Could not send to coordinator: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.manager.timetable.headless;
+
+import com.example.manager.admin.model.Resource;
+import com.example.manager.model.Lecturer;
+import com.example.manager.timetable.ChocoSolverTimetableGenerator;
+import com.example.manager.timetable.Course;
+import com.example.manager.timetable.RestartPolicy;
+import com.example.manager.timetable.SearchStrategy;
+import com.example.manager.timetable.Timetable;
+import com.example.manager.timetable.TimetableGeneratorOptions;
+import com.example.manager.timetable.TimetableLog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Command-line harness that measures the Choco generator's search configurations on synthetic
+ * instances of growing size.
+ *
+ * Instances are shaped like the campus snapshots: a third of the rooms and courses are labs,
+ * half of the courses have a pinned lecturer, and courses are grouped into cohorts of five that
+ * share a student group. Rooms are sized so the sessions fill about 60% of the room slots of the
+ * week. For each size, seed, search strategy and restart policy the harness records the time to
+ * the first solution and prints a Markdown table of medians.
+ *
+ * Usage: ScalingBenchmark [--sizes 20,40,80] [--seeds N] [--time-limit MS] [--two-phase]
+ */
+public class ScalingBenchmark {
+    private static final String TAG = "ScalingBenchmark";
+    private static final double TARGET_UTILISATION = 0.6;
+    private static final int COHORT_SIZE = 5;
+
+    private int[] sizes = {20, 40, 80, 120};
+    private int seeds = 3;
+    private long timeLimitMs = 10000;
+    private boolean twoPhase = false;
+
+    public static void main(String[] args) {
+        ScalingBenchmark benchmark = new ScalingBenchmark();
+        try {
+            benchmark.parseArgs(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: ScalingBenchmark [--sizes 20,40,80] [--seeds N] [--time-limit MS] [--two-phase]");
+            System.exit(2);
+        }
+        System.out.println(benchmark.run());
+    }
+
+    void parseArgs(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            switch (arg) {
+                case "--sizes":
+                    sizes = Arrays.stream(value(args, ++i, arg).split(",")).mapToInt(Integer::parseInt).toArray();
+                    break;
+                case "--seeds":
+                    seeds = Math.max(1, Integer.parseInt(value(args, ++i, arg)));
+                    break;
+                case "--time-limit":
+                    timeLimitMs = Long.parseLong(value(args, ++i, arg));
+                    break;
+                case "--two-phase":
+                    twoPhase = true;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + arg);
+            }
+        }
+    }
+
+    private static String value(String[] args, int index, String option) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + option);
+        }
+        return args[index];
+    }
+
+    /**
+     * Runs every configuration and returns the result table.
+     */
+    String run() {
+        StringBuilder table = new StringBuilder();
+        table.append("| courses | sessions | strategy | restarts | solved | median first solution (ms) | worst (ms) |\n");
+        table.append("|---|---|---|---|---|---|---|\n");
+        for (int size : sizes) {
+            for (SearchStrategy strategy : SearchStrategy.values()) {
+                for (RestartPolicy restarts : RestartPolicy.values()) {
+                    List<Long> times = new ArrayList<>();
+                    int solved = 0;
+                    int sessions = 0;
+                    for (int seed = 0; seed < seeds; seed++) {
+                        Snapshot instance = instance(size, seed);
+                        sessions = 0;
+                        for (Course course : instance.getCourses()) {
+                            sessions += course.getRequiredSessionsPerWeek();
+                        }
+                        long elapsed = firstSolutionMs(instance, strategy, restarts);
+                        if (elapsed >= 0) {
+                            solved++;
+                            times.add(elapsed);
+                        } else {
+                            times.add(timeLimitMs);
+                        }
+                    }
+                    Collections.sort(times);
+                    table.append(String.format(Locale.ROOT, "| %d | %d | %s | %s | %d/%d | %d | %d |%n", size, sessions,
+                            strategy, restarts, solved, seeds, times.get(times.size() / 2), times.get(times.size() - 1)));
+                }
+            }
+        }
+        return table.toString();
+    }
+
+    /**
+     * Solves an instance until its first solution, or returns -1 if there is none within the time limit.
+     */
+    private long firstSolutionMs(Snapshot instance, SearchStrategy strategy, RestartPolicy restarts) {
+        ChocoSolverTimetableGenerator generator = twoPhase
+                ? ChocoSolverTimetableGenerator.twoPhase() : new ChocoSolverTimetableGenerator();
+        generator.setTimeLimitMs(timeLimitMs * 3);
+        generator.setOptimisationTimeMs(0);
+        TimetableGeneratorOptions options = new TimetableGeneratorOptions();
+        options.setSearchStrategy(strategy);
+        options.setRestartPolicy(restarts);
+        options.setNogoodRecording(restarts != RestartPolicy.NONE);
+        Timetable timetable = generator.generateTimetable(instance.getResources(), instance.getLecturers(),
+                instance.getCourses(), options);
+        TimetableLog.d(TAG, instance.getName() + " " + strategy + "/" + restarts + ": "
+                + timetable.getSessions().size() + " sessions");
+        return generator.getLastFirstSolutionMs();
+    }
+
+    /**
+     * Builds a synthetic instance with the given number of courses.
+     */
+    static Snapshot instance(int courseCount, long seed) {
+        Random random = new Random(seed * 7919 + courseCount);
+        List<Course> courses = new ArrayList<>();
+        int sessions = 0;
+        int lecturerCount = Math.max(2, courseCount / 4);
+        for (int c = 0; c < courseCount; c++) {
+            boolean lab = c % 3 == 0;
+            Course course = new Course("c" + c, "Course " + c, (lab ? "LAB" : "LEC") + c, 3,
+                    c % 2 == 0 ? "CS" : "MA", lab ? 3 : 1 + random.nextInt(3), lab ? "LAB" : "LECTURE_HALL");
+            if (random.nextBoolean()) {
+                course.setAssignedLecturerId("l" + random.nextInt(lecturerCount));
+            }
+            course.setStudentGroups(Collections.singletonList("cohort" + c / COHORT_SIZE));
+            courses.add(course);
+            sessions += course.getRequiredSessionsPerWeek();
+        }
+
+        int roomCount = Math.max(3, (int) Math.ceil(sessions / (40 * TARGET_UTILISATION)));
+        List<Resource> resources = new ArrayList<>();
+        for (int r = 0; r < roomCount; r++) {
+            String type = r % 3 == 0 ? "LAB" : "LECTURE_HALL";
+            resources.add(new Resource("r" + r, "Room " + r, type, "40", "admin", "Building", "yes"));
+        }
+        List<Lecturer> lecturers = new ArrayList<>();
+        for (int l = 0; l < lecturerCount; l++) {
+            lecturers.add(new Lecturer("l" + l, "Lecturer " + l, "", random.nextInt(10)));
+        }
+        return new Snapshot("synthetic-" + courseCount + "-" + seed, resources, lecturers, courses);
+    }
+}
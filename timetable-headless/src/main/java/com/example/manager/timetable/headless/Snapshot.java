@@ -0,0 +1,177 @@
+package com.example.manager.timetable.headless;
+
+import com.example.manager.admin.model.CourseItem;
+import com.example.manager.admin.model.Resource;
+import com.example.manager.model.Lecturer;
+import com.example.manager.timetable.Course;
+import com.example.manager.timetable.CourseConverter;
+import com.example.manager.timetable.TimetableLog;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generator inputs loaded from a JSON export of the Firebase database.
+ *
+ * The file is expected to contain the "resources", "Users" and "courses" nodes in the same
+ * shape as the realtime database (objects keyed by push ID); arrays are accepted as well.
+ * Lecturers and courses are filtered and converted the same way ConstraintSolverActivity does.
+ * An optional "enrolments" object maps course IDs to the number of students sitting the course's
+ * exam, for the exam generator; the database has no such node.
+ */
+public class Snapshot {
+    private static final String TAG = "Snapshot";
+    private static final Gson GSON = new Gson();
+
+    private final String name;
+    private final List<Resource> resources;
+    private final List<Lecturer> lecturers;
+    private final List<Course> courses;
+    private final Map<String, Integer> enrolments;
+
+    public Snapshot(String name, List<Resource> resources, List<Lecturer> lecturers, List<Course> courses) {
+        this(name, resources, lecturers, courses, new HashMap<>());
+    }
+
+    public Snapshot(String name, List<Resource> resources, List<Lecturer> lecturers, List<Course> courses,
+                    Map<String, Integer> enrolments) {
+        this.name = name;
+        this.resources = resources;
+        this.lecturers = lecturers;
+        this.courses = courses;
+        this.enrolments = enrolments;
+    }
+
+    /**
+     * Reads a snapshot from a JSON file. The snapshot name is the file name without extension.
+     */
+    public static Snapshot read(Path file) throws IOException {
+        String fileName = file.getFileName().toString();
+        String name = fileName.endsWith(".json") ? fileName.substring(0, fileName.length() - 5) : fileName;
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return parse(name, JsonParser.parseReader(reader).getAsJsonObject());
+        }
+    }
+
+    /**
+     * Builds a snapshot from a parsed JSON object holding the Firebase nodes.
+     */
+    public static Snapshot parse(String name, JsonObject root) {
+        List<Resource> resources = new ArrayList<>();
+        for (Map.Entry<String, JsonObject> entry : children(root.get("resources"))) {
+            Resource resource = GSON.fromJson(entry.getValue(), Resource.class);
+            if (resource.getId() == null || resource.getId().isEmpty()) {
+                resource.setId(entry.getKey());
+            }
+            resources.add(resource);
+        }
+
+        // Only accepted lecturers take part in generation
+        List<Lecturer> lecturers = new ArrayList<>();
+        for (Map.Entry<String, JsonObject> entry : children(root.get("Users"))) {
+            JsonObject user = entry.getValue();
+            if (!"lecture".equals(string(user, "role")) || !"accepted".equals(string(user, "status"))) {
+                continue;
+            }
+            String id = string(user, "id");
+            lecturers.add(new Lecturer(id != null ? id : entry.getKey(), string(user, "name"),
+                    string(user, "contact"), 0));
+        }
+
+        List<Course> courses = new ArrayList<>();
+        Set<String> courseIds = new HashSet<>();
+        Set<String> courseNames = new HashSet<>();
+        for (Map.Entry<String, JsonObject> entry : children(root.get("courses"))) {
+            CourseItem item = GSON.fromJson(entry.getValue(), CourseItem.class);
+            if (item.getId() == null || item.getId().isEmpty()) {
+                item.setId(entry.getKey());
+            }
+            Course course = CourseConverter.convertToCourse(item);
+            if (course == null) {
+                continue;
+            }
+            // Keep the first instance of duplicate IDs or names (case-insensitive)
+            if (!courseIds.add(course.getId()) || !courseNames.add(course.getName().toLowerCase())) {
+                TimetableLog.w(TAG, name + ": skipping duplicate course " + course.getName());
+                continue;
+            }
+            courses.add(course);
+        }
+
+        Map<String, Integer> enrolments = new HashMap<>();
+        JsonElement enrolmentNode = root.get("enrolments");
+        if (enrolmentNode != null && enrolmentNode.isJsonObject()) {
+            for (Map.Entry<String, JsonElement> entry : enrolmentNode.getAsJsonObject().entrySet()) {
+                if (entry.getValue().isJsonPrimitive() && entry.getValue().getAsJsonPrimitive().isNumber()) {
+                    enrolments.put(entry.getKey(), entry.getValue().getAsInt());
+                }
+            }
+        }
+
+        return new Snapshot(name, resources, lecturers, courses, enrolments);
+    }
+
+    private static List<Map.Entry<String, JsonObject>> children(JsonElement node) {
+        List<Map.Entry<String, JsonObject>> result = new ArrayList<>();
+        if (node == null || node.isJsonNull()) {
+            return result;
+        }
+        if (node.isJsonArray()) {
+            JsonArray array = node.getAsJsonArray();
+            for (int i = 0; i < array.size(); i++) {
+                if (array.get(i).isJsonObject()) {
+                    result.add(Map.entry(String.valueOf(i), array.get(i).getAsJsonObject()));
+                }
+            }
+        } else {
+            for (Map.Entry<String, JsonElement> entry : node.getAsJsonObject().entrySet()) {
+                if (entry.getValue().isJsonObject()) {
+                    result.add(Map.entry(entry.getKey(), entry.getValue().getAsJsonObject()));
+                }
+            }
+        }
+        return result;
+    }
+
+    private static String string(JsonObject object, String key) {
+        JsonElement value = object.get(key);
+        return value == null || value.isJsonNull() ? null : value.getAsString();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<Resource> getResources() {
+        return resources;
+    }
+
+    public List<Lecturer> getLecturers() {
+        return lecturers;
+    }
+
+    public List<Course> getCourses() {
+        return courses;
+    }
+
+    /**
+     * Gets the exam enrolment of each course that has one, keyed by course ID.
+     */
+    public Map<String, Integer> getEnrolments() {
+        return enrolments;
+    }
+}
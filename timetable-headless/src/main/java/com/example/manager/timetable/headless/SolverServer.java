@@ -0,0 +1,434 @@
+package com.example.manager.timetable.headless;
+
+import com.example.manager.admin.model.Resource;
+import com.example.manager.model.Lecturer;
+import com.example.manager.timetable.Course;
+import com.example.manager.timetable.ChocoSolverTimetableGenerator;
+import com.example.manager.timetable.GenerationReport;
+import com.example.manager.timetable.Timetable;
+import com.example.manager.timetable.TimetableGenerator;
+import com.example.manager.timetable.TimetableGeneratorOptions;
+import com.example.manager.timetable.TimetableGenerators;
+import com.example.manager.timetable.TimetableLog;
+import com.example.manager.timetable.exam.ExamTimetableGenerator;
+import com.example.manager.timetable.remote.JobStatus;
+import com.example.manager.timetable.remote.SolveRequest;
+import com.example.manager.timetable.remote.SolveResult;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Small HTTP service that runs the timetable engine in a long-lived JVM.
+ *
+ * The app posts its inputs as a job and polls for the result, so heavy solves run on a
+ * workstation with a warm JIT instead of on the phone. Jobs wait in a bounded queue; when it
+ * is full new jobs are rejected with 503 and the client falls back to solving locally.
+ *
+ * Endpoints:
+ *   POST   /jobs              submit a {@link SolveRequest}, returns 202 and a {@link JobStatus}
+ *   GET    /jobs/{id}         job status
+ *   GET    /jobs/{id}/result  {@link SolveResult} once the job is DONE (409 before)
+ *   DELETE /jobs/{id}         cancel a queued or running job
+ *   GET    /health            liveness check
+ *
+ * Cancelling a running job interrupts its thread. The generators check for interruption in their
+ * search loops, so the job reports CANCELLING until its solver returns and its worker is free again,
+ * then CANCELLED.
+ *
+ * The service has no authentication, so it listens on the loopback interface only (the emulator
+ * reaches it as 10.0.2.2). {@code --host} binds another address, e.g. 0.0.0.0 for every interface.
+ *
+ * Usage: SolverServer [--host ADDRESS] [--port N] [--workers N] [--queue N] [--no-warmup]
+ */
+public class SolverServer {
+    private static final String TAG = "SolverServer";
+    private static final Gson GSON = new Gson();
+    private static final int MAX_FINISHED_JOBS = 256;
+
+    private String host;
+    private int port = 8085;
+    private int workers = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    private int queueCapacity = 16;
+    private boolean warmup = true;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final AtomicLong nextJobId = new AtomicLong(1);
+    private ThreadPoolExecutor executor;
+    private ExecutorService httpExecutor;
+    private HttpServer server;
+
+    /**
+     * A submitted solve and its outcome.
+     */
+    private static class Job {
+        final String id;
+        final long sequence;
+        final long submittedAt = System.currentTimeMillis();
+        final SolveRequest request;
+        volatile String state = JobStatus.QUEUED;
+        volatile String error;
+        volatile SolveResult result;
+        volatile Future<?> future;
+
+        Job(String id, long sequence, SolveRequest request) {
+            this.id = id;
+            this.sequence = sequence;
+            this.request = request;
+        }
+    }
+
+    public static void main(String[] args) {
+        SolverServer solverServer = new SolverServer();
+        try {
+            solverServer.parseArgs(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: SolverServer [--host ADDRESS] [--port N] [--workers N] [--queue N] [--no-warmup]");
+            System.exit(2);
+        }
+        try {
+            solverServer.start();
+        } catch (IOException e) {
+            TimetableLog.e(TAG, "Could not start server", e);
+            System.exit(1);
+        }
+    }
+
+    void parseArgs(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            switch (arg) {
+                case "--host":
+                    if (++i >= args.length) {
+                        throw new IllegalArgumentException("Missing value for " + arg);
+                    }
+                    host = args[i];
+                    break;
+                case "--port":
+                    port = intValue(args, ++i, arg);
+                    break;
+                case "--workers":
+                    workers = Math.max(1, intValue(args, ++i, arg));
+                    break;
+                case "--queue":
+                    queueCapacity = Math.max(1, intValue(args, ++i, arg));
+                    break;
+                case "--no-warmup":
+                    warmup = false;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + arg);
+            }
+        }
+    }
+
+    private static int intValue(String[] args, int index, String option) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + option);
+        }
+        try {
+            return Integer.parseInt(args[index]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Expected a number for " + option);
+        }
+    }
+
+    /**
+     * Warms up the engine and starts serving requests.
+     */
+    void start() throws IOException {
+        if (warmup) {
+            warmUp();
+        }
+
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity));
+
+        InetAddress address = host != null ? InetAddress.getByName(host) : InetAddress.getLoopbackAddress();
+        server = HttpServer.create(new InetSocketAddress(address, port), 0);
+        server.createContext("/jobs", this::handleJobs);
+        server.createContext("/health", exchange -> send(exchange, 200, "{\"status\":\"ok\"}"));
+        httpExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(httpExecutor);
+        server.start();
+        TimetableLog.i(TAG, "Listening on " + address.getHostAddress() + ":" + port + " with " + workers
+                + " workers, queue " + queueCapacity);
+    }
+
+    /**
+     * Stops accepting requests and cancels outstanding jobs.
+     */
+    void stop() {
+        if (server != null) {
+            server.stop(0);
+        }
+        if (httpExecutor != null) {
+            httpExecutor.shutdownNow();
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Runs every generator once on a small synthetic instance so the first real job does not pay
+     * for class loading and JIT compilation.
+     */
+    private void warmUp() {
+        List<Resource> resources = new ArrayList<>();
+        resources.add(new Resource("warm-r1", "Room 1", "CLASSROOM", "40", "warmup", "Building", "yes"));
+        resources.add(new Resource("warm-r2", "Lab 1", "LAB", "30", "warmup", "Building", "yes"));
+        List<Lecturer> lecturers = new ArrayList<>();
+        lecturers.add(new Lecturer("warm-l1", "Lecturer 1", "", 0));
+        lecturers.add(new Lecturer("warm-l2", "Lecturer 2", "", 0));
+        List<Course> courses = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            Course course = new Course("warm-c" + i, "Course " + i, "WC" + i, 3, "Warmup", 2);
+            course.setAssignedLecturerId(i % 2 == 0 ? "warm-l1" : "warm-l2");
+            courses.add(course);
+        }
+
+        long start = System.nanoTime();
+        for (String name : TimetableGenerators.names()) {
+            try {
+                TimetableGenerators.create(name).generateTimetable(resources, lecturers, courses,
+                        new TimetableGeneratorOptions());
+            } catch (RuntimeException e) {
+                TimetableLog.w(TAG, "Warm-up of '" + name + "' failed: " + e.getMessage());
+            }
+        }
+        TimetableLog.i(TAG, "Warm-up finished in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    private void handleJobs(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            // Path is /jobs, /jobs/{id} or /jobs/{id}/result
+            String[] parts = exchange.getRequestURI().getPath().split("/");
+            List<String> segments = new ArrayList<>(Arrays.asList(parts).subList(Math.min(2, parts.length), parts.length));
+
+            if (segments.isEmpty() && "POST".equals(method)) {
+                submit(exchange);
+                return;
+            }
+            if (segments.isEmpty()) {
+                send(exchange, 405, error("Use POST to submit a job"));
+                return;
+            }
+
+            Job job = jobs.get(segments.get(0));
+            if (job == null) {
+                send(exchange, 404, error("Unknown job " + segments.get(0)));
+                return;
+            }
+
+            if (segments.size() == 1 && "GET".equals(method)) {
+                send(exchange, 200, GSON.toJson(status(job)));
+            } else if (segments.size() == 1 && "DELETE".equals(method)) {
+                cancel(job);
+                send(exchange, 200, GSON.toJson(status(job)));
+            } else if (segments.size() == 2 && "result".equals(segments.get(1)) && "GET".equals(method)) {
+                if (JobStatus.DONE.equals(job.state)) {
+                    send(exchange, 200, GSON.toJson(job.result));
+                } else {
+                    send(exchange, 409, error("Job " + job.id + " is " + job.state));
+                }
+            } else {
+                send(exchange, 404, error("Not found"));
+            }
+        } catch (RuntimeException e) {
+            TimetableLog.e(TAG, "Request failed", e);
+            send(exchange, 500, error(e.getMessage()));
+        }
+    }
+
+    private void submit(HttpExchange exchange) throws IOException {
+        SolveRequest request;
+        try (Reader reader = new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8)) {
+            request = GSON.fromJson(reader, SolveRequest.class);
+        } catch (JsonParseException e) {
+            send(exchange, 400, error("Invalid request body: " + e.getMessage()));
+            return;
+        }
+        if (request == null || request.getResources() == null || request.getLecturers() == null
+                || request.getCourses() == null) {
+            send(exchange, 400, error("Request needs resources, lecturers and courses"));
+            return;
+        }
+        String generatorName = request.getGenerator() != null ? request.getGenerator() : "simple";
+        try {
+            TimetableGenerators.create(generatorName);
+        } catch (IllegalArgumentException e) {
+            send(exchange, 400, error(e.getMessage()));
+            return;
+        }
+
+        long sequence = nextJobId.getAndIncrement();
+        Job job = new Job(Long.toString(sequence), sequence, request);
+        try {
+            jobs.put(job.id, job);
+            job.future = executor.submit(() -> runJob(job, generatorName));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            send(exchange, 503, error("Job queue is full"));
+            return;
+        }
+        pruneFinishedJobs();
+
+        TimetableLog.i(TAG, "Job " + job.id + " queued: " + request.getCourses().size() + " courses, '"
+                + generatorName + "'");
+        send(exchange, 202, GSON.toJson(status(job)));
+    }
+
+    private void runJob(Job job, String generatorName) {
+        synchronized (job) {
+            if (!JobStatus.QUEUED.equals(job.state)) {
+                return; // Cancelled while queued
+            }
+            job.state = JobStatus.RUNNING;
+        }
+        try {
+            SolveRequest request = job.request;
+            TimetableGeneratorOptions options = request.toOptions();
+            TimetableGenerator generator = TimetableGenerators.create(generatorName);
+            if (generator instanceof ExamTimetableGenerator && request.getEnrolments() != null) {
+                ((ExamTimetableGenerator) generator).setEnrolments(request.getEnrolments());
+            }
+
+            long start = System.nanoTime();
+            Timetable timetable = generator.generateTimetable(request.getResources(), request.getLecturers(),
+                    request.getCourses(), options);
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            GenerationReport report = GenerationReport.create(generatorName, request.getResources(),
+                    request.getLecturers(), request.getCourses(), options, timetable,
+                    generator.hasConflicts(timetable), elapsedMillis);
+            if (generator instanceof ChocoSolverTimetableGenerator) {
+                ChocoSolverTimetableGenerator choco = (ChocoSolverTimetableGenerator) generator;
+                report.addBottlenecks(choco.getLastFeasibility());
+                if (choco.getLastUnmatchedRooms() > 0) {
+                    report.addNote(choco.getLastUnmatchedRooms()
+                            + " sessions left out: no free compatible room in their slot");
+                }
+            }
+            synchronized (job) {
+                if (JobStatus.CANCELLING.equals(job.state)) {
+                    job.state = JobStatus.CANCELLED;
+                    TimetableLog.i(TAG, "Job " + job.id + " cancelled after " + elapsedMillis + " ms");
+                    return;
+                }
+                job.result = new SolveResult(timetable, report);
+                job.state = JobStatus.DONE;
+            }
+            TimetableLog.i(TAG, "Job " + job.id + " done: " + report.getScheduledSessions() + "/"
+                    + report.getRequiredSessions() + " sessions in " + elapsedMillis + " ms");
+        } catch (RuntimeException e) {
+            synchronized (job) {
+                if (JobStatus.CANCELLING.equals(job.state)) {
+                    job.state = JobStatus.CANCELLED;
+                    return;
+                }
+                TimetableLog.e(TAG, "Job " + job.id + " failed", e);
+                job.error = e.getMessage();
+                job.state = JobStatus.FAILED;
+            }
+        }
+    }
+
+    // A queued job is cancelled at once; a running one is interrupted and stays CANCELLING until it returns
+    private void cancel(Job job) {
+        synchronized (job) {
+            if (JobStatus.QUEUED.equals(job.state)) {
+                job.state = JobStatus.CANCELLED;
+            } else if (JobStatus.RUNNING.equals(job.state)) {
+                job.state = JobStatus.CANCELLING;
+            } else {
+                return;
+            }
+        }
+        Future<?> future = job.future;
+        if (future != null) {
+            future.cancel(true);
+        }
+        executor.purge();
+    }
+
+    private JobStatus status(Job job) {
+        int queuePosition = 0;
+        if (JobStatus.QUEUED.equals(job.state)) {
+            for (Job other : jobs.values()) {
+                if (other.sequence < job.sequence && JobStatus.QUEUED.equals(other.state)) {
+                    queuePosition++;
+                }
+            }
+        }
+        return new JobStatus(job.id, job.state, queuePosition,
+                System.currentTimeMillis() - job.submittedAt, job.error);
+    }
+
+    /**
+     * Drops the oldest finished jobs so results of abandoned jobs do not accumulate.
+     */
+    private void pruneFinishedJobs() {
+        int finished = 0;
+        for (Job job : jobs.values()) {
+            if (isFinished(job)) {
+                finished++;
+            }
+        }
+        while (finished > MAX_FINISHED_JOBS) {
+            Job oldest = null;
+            for (Job job : jobs.values()) {
+                if (isFinished(job) && (oldest == null || job.sequence < oldest.sequence)) {
+                    oldest = job;
+                }
+            }
+            if (oldest == null) {
+                break;
+            }
+            jobs.remove(oldest.id);
+            finished--;
+        }
+    }
+
+    private static boolean isFinished(Job job) {
+        return JobStatus.DONE.equals(job.state) || JobStatus.FAILED.equals(job.state)
+                || JobStatus.CANCELLED.equals(job.state);
+    }
+
+    private static String error(String message) {
+        return "{\"error\":" + GSON.toJson(message) + "}";
+    }
+
+    private static void send(HttpExchange exchange, int code, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(code, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.manager.timetable.headless;
+
+import com.example.manager.timetable.Course;
+import com.example.manager.timetable.Timetable;
+import com.example.manager.timetable.TimetableGenerator;
+import com.example.manager.timetable.TimetableGenerators;
+import com.example.manager.timetable.TimetableLog;
+import com.example.manager.timetable.benchmark.BenchmarkInstance;
+import com.example.manager.timetable.benchmark.CttFormat;
+import com.example.manager.timetable.benchmark.CttPenalty;
+import com.example.manager.timetable.benchmark.XhsttFormat;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Command-line harness that runs the generators on public benchmark instances and reports
+ * penalty against time.
+ *
+ * Inputs are ITC-2007 curriculum-based course timetabling files (.ctt) and XHSTT archives
+ * (.xml), or directories of them; a few small instances are bundled under the module's test
+ * resources. Every instance is solved by each generator in turn and scored with
+ * {@link CttPenalty}. With --out, solutions are written in the instance's own format as
+ * NAME.GENERATOR.sol or NAME.GENERATOR.xml.
+ *
+ * Usage: StandardBenchmark [--generators simple,choco] [--out DIR] FILE_OR_DIR...
+ */
+public class StandardBenchmark {
+    private static final String TAG = "StandardBenchmark";
+
+    private List<String> generators = Arrays.asList("simple", "choco", "choco-two-phase");
+    private Path outputDir;
+    private final List<Path> inputs = new ArrayList<>();
+
+    public static void main(String[] args) {
+        StandardBenchmark benchmark = new StandardBenchmark();
+        try {
+            benchmark.parseArgs(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: StandardBenchmark [--generators simple,choco] [--out DIR] FILE_OR_DIR...");
+            System.exit(2);
+        }
+        try {
+            System.out.println(benchmark.run());
+        } catch (IOException e) {
+            TimetableLog.e(TAG, "Benchmark failed", e);
+            System.exit(1);
+        }
+    }
+
+    void parseArgs(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            switch (arg) {
+                case "--generators":
+                    generators = Arrays.asList(value(args, ++i, arg).split(","));
+                    for (String name : generators) {
+                        TimetableGenerators.create(name); // Fail fast on unknown names
+                    }
+                    break;
+                case "--out":
+                    outputDir = Paths.get(value(args, ++i, arg));
+                    break;
+                default:
+                    if (arg.startsWith("--")) {
+                        throw new IllegalArgumentException("Unknown option " + arg);
+                    }
+                    inputs.add(Paths.get(arg));
+            }
+        }
+        if (inputs.isEmpty()) {
+            throw new IllegalArgumentException("No instance files given");
+        }
+    }
+
+    private static String value(String[] args, int index, String option) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + option);
+        }
+        return args[index];
+    }
+
+    /**
+     * Solves every instance with every generator and returns the result table.
+     */
+    String run() throws IOException {
+        if (outputDir != null) {
+            Files.createDirectories(outputDir);
+        }
+        StringBuilder table = new StringBuilder();
+        table.append("| instance | format | generator | lectures placed | hard violations | soft penalty | time (ms) |\n");
+        table.append("|---|---|---|---|---|---|---|\n");
+        for (Path file : collectInputs()) {
+            BenchmarkInstance instance = read(file);
+            int lectures = 0;
+            for (Course course : instance.getCourses()) {
+                lectures += Math.max(1, course.getRequiredSessionsPerWeek());
+            }
+            TimetableLog.i(TAG, "Solving " + instance);
+            for (String name : generators) {
+                TimetableGenerator generator = TimetableGenerators.create(name);
+                long start = System.nanoTime();
+                Timetable timetable = generator.generateTimetable(instance.getResources(), instance.getLecturers(),
+                        instance.getCourses(), instance.newOptions());
+                long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+                CttPenalty penalty = CttPenalty.evaluate(instance, timetable);
+                TimetableLog.i(TAG, instance.getName() + " / " + name + ": " + penalty);
+
+                boolean ctt = instance.getFormat() == BenchmarkInstance.Format.CTT;
+                table.append(String.format(Locale.ROOT, "| %s | %s | %s | %d/%d | %d | %s | %d |%n",
+                        instance.getName(), instance.getFormat(), name, lectures - penalty.getUnscheduled(), lectures,
+                        penalty.getHardViolations(), ctt ? Integer.toString(penalty.getSoftPenalty()) : "-",
+                        elapsedMillis));
+                if (outputDir != null) {
+                    write(instance, timetable, name);
+                }
+            }
+        }
+        return table.toString();
+    }
+
+    private List<Path> collectInputs() throws IOException {
+        List<Path> files = new ArrayList<>();
+        for (Path input : inputs) {
+            if (Files.isDirectory(input)) {
+                List<Path> children = new ArrayList<>();
+                try (DirectoryStream<Path> stream = Files.newDirectoryStream(input, "*.{ctt,xml}")) {
+                    for (Path child : stream) {
+                        children.add(child);
+                    }
+                }
+                Collections.sort(children);
+                files.addAll(children);
+            } else {
+                files.add(input);
+            }
+        }
+        return files;
+    }
+
+    private static BenchmarkInstance read(Path file) throws IOException {
+        String fileName = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        return fileName.endsWith(".xml") ? XhsttFormat.read(file) : CttFormat.read(file);
+    }
+
+    private void write(BenchmarkInstance instance, Timetable timetable, String generator) throws IOException {
+        boolean ctt = instance.getFormat() == BenchmarkInstance.Format.CTT;
+        Path file = outputDir.resolve(instance.getName() + "." + generator + (ctt ? ".sol" : ".xml"));
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            if (ctt) {
+                CttFormat.writeSolution(instance, timetable, writer);
+            } else {
+                XhsttFormat.writeSolution(instance, timetable, generator, writer);
+            }
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.manager.timetable.headless;
+
+import com.example.manager.timetable.RestartPolicy;
+import com.example.manager.timetable.SearchStrategy;
+import com.example.manager.timetable.TimetableGeneratorOptions;
+import com.example.manager.timetable.TimetableGenerators;
+import com.example.manager.timetable.TimetableLog;
+import com.example.manager.timetable.scenario.Scenario;
+import com.example.manager.timetable.scenario.ScenarioResult;
+import com.example.manager.timetable.scenario.ScenarioRunner;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Command-line entry point that compares what-if scenarios of one snapshot.
+ *
+ * Each SCENARIO is a comma-separated list of changes to the base snapshot and options:
+ * close=ROOM, drop-lecturer=LECTURER (IDs or names), max-hours=N, avoid-back-to-back,
+ * even-distribution, search=STRATEGY and restarts=POLICY. The unchanged base is always
+ * included as the first scenario. With --seed, each scenario runs with its own seed split from
+ * it, so the comparison is reproducible.
+ *
+ * Usage: WhatIf [--generator NAME] [--threads N] [--seed N] SNAPSHOT SCENARIO...
+ */
+public class WhatIf {
+    private static final String TAG = "WhatIf";
+
+    private String generatorName = "choco";
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private final TimetableGeneratorOptions baseOptions = new TimetableGeneratorOptions();
+    private Path snapshotFile;
+    private final List<Scenario> scenarios = new ArrayList<>();
+
+    public static void main(String[] args) {
+        WhatIf whatIf = new WhatIf();
+        try {
+            whatIf.parseArgs(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: WhatIf [--generator NAME] [--threads N] [--seed N] SNAPSHOT SCENARIO...\n"
+                    + "  SCENARIO is a comma-separated list of close=ROOM, drop-lecturer=LECTURER, max-hours=N,\n"
+                    + "  avoid-back-to-back, even-distribution, search=STRATEGY, restarts=POLICY");
+            System.exit(2);
+        }
+        try {
+            System.out.println(whatIf.run());
+        } catch (IOException | InterruptedException e) {
+            TimetableLog.e(TAG, "What-if run failed", e);
+            System.exit(1);
+        }
+    }
+
+    void parseArgs(String[] args) {
+        scenarios.add(Scenario.base());
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            switch (arg) {
+                case "--generator":
+                    generatorName = value(args, ++i, arg);
+                    TimetableGenerators.create(generatorName); // Fail fast on unknown names
+                    break;
+                case "--threads":
+                    try {
+                        threads = Math.max(1, Integer.parseInt(value(args, ++i, arg)));
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Expected a number for " + arg);
+                    }
+                    break;
+                case "--seed":
+                    try {
+                        baseOptions.setSeed(Long.parseLong(value(args, ++i, arg)));
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Expected a number for " + arg);
+                    }
+                    break;
+                default:
+                    if (arg.startsWith("--")) {
+                        throw new IllegalArgumentException("Unknown option " + arg);
+                    }
+                    if (snapshotFile == null) {
+                        snapshotFile = Paths.get(arg);
+                    } else {
+                        scenarios.add(parseScenario(arg));
+                    }
+            }
+        }
+        if (snapshotFile == null) {
+            throw new IllegalArgumentException("No snapshot given");
+        }
+    }
+
+    private static String value(String[] args, int index, String option) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + option);
+        }
+        return args[index];
+    }
+
+    static Scenario parseScenario(String spec) {
+        Scenario scenario = new Scenario(spec);
+        for (String change : spec.split(",")) {
+            int equals = change.indexOf('=');
+            String key = (equals < 0 ? change : change.substring(0, equals)).trim();
+            String value = equals < 0 ? null : change.substring(equals + 1).trim();
+            switch (key) {
+                case "close":
+                    scenario.closeResource(required(value, key));
+                    break;
+                case "drop-lecturer":
+                    scenario.removeLecturer(required(value, key));
+                    break;
+                case "max-hours":
+                    int hours;
+                    try {
+                        hours = Integer.parseInt(required(value, key));
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Expected a number for max-hours in " + spec);
+                    }
+                    scenario.withOptions(o -> o.setMaxHoursPerDay(hours));
+                    break;
+                case "avoid-back-to-back":
+                    scenario.withOptions(o -> o.setAvoidBackToBackClasses(true));
+                    break;
+                case "even-distribution":
+                    scenario.withOptions(o -> o.setPreferEvenDistribution(true));
+                    break;
+                case "search":
+                    SearchStrategy strategy = enumValue(SearchStrategy.class, required(value, key), spec);
+                    scenario.withOptions(o -> o.setSearchStrategy(strategy));
+                    break;
+                case "restarts":
+                    RestartPolicy restarts = enumValue(RestartPolicy.class, required(value, key), spec);
+                    scenario.withOptions(o -> o.setRestartPolicy(restarts));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown change '" + key + "' in " + spec);
+            }
+        }
+        return scenario;
+    }
+
+    private static String required(String value, String key) {
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException("Missing value for " + key);
+        }
+        return value;
+    }
+
+    private static <E extends Enum<E>> E enumValue(Class<E> type, String name, String spec) {
+        try {
+            return Enum.valueOf(type, name.toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown value " + name + " in " + spec);
+        }
+    }
+
+    String run() throws IOException, InterruptedException {
+        Snapshot snapshot = Snapshot.read(snapshotFile);
+        ScenarioRunner runner = new ScenarioRunner(generatorName, threads);
+        List<ScenarioResult> results = runner.run(snapshot.getResources(), snapshot.getLecturers(),
+                snapshot.getCourses(), baseOptions, scenarios);
+        long sumMillis = 0;
+        for (ScenarioResult result : results) {
+            sumMillis += result.getElapsedMillis();
+        }
+        return ScenarioRunner.compare(results) + "\n" + scenarios.size() + " scenarios in " + runner.getLastWallMillis()
+                + " ms wall time (" + sumMillis + " ms of generation, shared preprocessing "
+                + runner.getLastPrepareMicros() + " us)";
+    }
+}